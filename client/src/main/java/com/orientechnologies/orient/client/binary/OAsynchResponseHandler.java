@@ -0,0 +1,43 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.binary;
+
+import java.io.IOException;
+
+/**
+ * Handles the response of a request sent with {@link OChannelBinaryAsynchClient#readResponseAsynch(int, OAsynchResponseHandler)},
+ * both the methods are called by the response reader thread of the channel.
+ */
+public interface OAsynchResponseHandler {
+
+  /**
+   * Reads the response, from the header to the end of the payload.
+   */
+  void read(OChannelBinaryAsynchClient network) throws IOException;
+
+  /**
+   * Called when the response is read or cannot be read anymore.
+   *
+   * @param error null if the response was read, an {@link IOException} if the channel is broken, otherwise the error sent by the
+   *              server
+   */
+  void completed(Throwable error);
+
+}
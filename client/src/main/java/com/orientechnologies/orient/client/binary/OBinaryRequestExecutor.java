@@ -63,6 +63,10 @@ public interface OBinaryRequestExecutor {
 
   OBinaryResponse executeBatchOperations(OBatchOperationsRequest request);
 
+  OBinaryResponse executeBulkInsert(OBulkInsertRequest request);
+
+  OBinaryResponse executeConsistencyToken(OConsistencyTokenRequest request);
+
   OBinaryResponse executeGetGlobalConfiguration(OGetGlobalConfigurationRequest request);
 
   OBinaryResponse executeListGlobalConfigurations(OListGlobalConfigurationsRequest request);
@@ -137,5 +141,7 @@ public interface OBinaryRequestExecutor {
 
   OBinaryResponse executeSubscribeSequences(OSubscribeSequencesRequest request);
 
+  OBinaryResponse executeSubscribeRecordInvalidation(OSubscribeRecordInvalidationRequest request);
+
   OBinaryResponse executeExperimental(OExperimentalRequest request);
 }
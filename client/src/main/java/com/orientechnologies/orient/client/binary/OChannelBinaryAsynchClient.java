@@ -24,6 +24,7 @@ import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.common.exception.OSystemException;
 import com.orientechnologies.common.io.OIOException;
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.util.OUncaughtExceptionHandler;
 import com.orientechnologies.orient.client.remote.OStorageRemoteNodeSession;
 import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
 import com.orientechnologies.orient.client.remote.message.OError37Response;
@@ -34,6 +35,7 @@ import com.orientechnologies.orient.core.serialization.OMemoryInputStream;
 import com.orientechnologies.orient.enterprise.channel.OSocketFactory;
 import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinary;
 import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelCompression;
 import com.orientechnologies.orient.enterprise.channel.binary.ONetworkProtocolException;
 import com.orientechnologies.orient.enterprise.channel.binary.OResponseProcessingException;
 
@@ -43,7 +45,15 @@ import java.lang.reflect.InvocationTargetException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class OChannelBinaryAsynchClient extends OChannelBinary {
   private         int    socketTimeout;                                               // IN MS
@@ -52,6 +62,19 @@ public class OChannelBinaryAsynchClient extends OChannelBinary {
   private         byte   currentStatus;
   private         int    currentSessionId;
   private         byte   currentMessage;
+  private         int    currentRequestId;
+
+  // MULTIPLEXING: THE RESPONSES ARE READ IN TURN BY THE REQUESTERS, A REQUESTER THAT READS THE HEADER OF A RESPONSE FOR ANOTHER
+  // REQUEST LEAVES IT PENDING AND WAKES UP THE OTHER REQUESTERS
+  private volatile boolean       multiplexed;
+  private final    AtomicInteger requestIds       = new AtomicInteger();
+  private final    Lock          responseLock     = new ReentrantLock();
+  private final    Condition     responseReceived = responseLock.newCondition();
+  private          boolean       responsePending;
+
+  // ASYNCHRONOUS REQUESTS: THEIR RESPONSES ARE READ BY A READER THREAD OF THE CHANNEL, STARTED ON DEMAND
+  private final Map<Integer, OAsynchResponseHandler> responseHandlers = new ConcurrentHashMap<Integer, OAsynchResponseHandler>();
+  private       Thread                               responseReader;
 
   public OChannelBinaryAsynchClient(final String remoteHost, final int remotePort, final String iDatabaseName,
       final OContextConfiguration iConfig, final int iProtocolVersion) throws IOException {
@@ -96,6 +119,15 @@ public class OChannelBinaryAsynchClient extends OChannelBinary {
             "Cannot read protocol version from remote server " + socket.getRemoteSocketAddress() + ": " + e);
       }
 
+      final String compression = iConfig.getValueAsString(OGlobalConfiguration.CLIENT_CHANNEL_COMPRESSION);
+      if (compression != null && !compression.isEmpty() && !OChannelCompression.NONE.equals(compression))
+        try {
+          negotiateCompression(compression, iConfig);
+        } catch (IOException e) {
+          throw new ONetworkProtocolException(
+              "Cannot negotiate the compression with remote server " + socket.getRemoteSocketAddress() + ": " + e);
+        }
+
       if (srvProtocolVersion != iProtocolVersion) {
         OLogManager.instance().warn(this,
             "The Client driver version is different than Server version: client=" + iProtocolVersion + ", server="
@@ -110,6 +142,21 @@ public class OChannelBinaryAsynchClient extends OChannelBinary {
     }
   }
 
+  /**
+   * Asks the server to compress the payloads of the channel, the server answers with the compression it accepted.
+   */
+  private void negotiateCompression(final String compression, final OContextConfiguration iConfig) throws IOException {
+    writeByte(OChannelBinaryProtocol.REQUEST_COMPRESSION);
+    writeString(compression);
+    flush();
+    final String accepted = readString();
+    if (compression.equals(accepted))
+      enableCompression(new OChannelCompression(iConfig.getValueAsInteger(OGlobalConfiguration.NETWORK_BINARY_COMPRESSION_THRESHOLD)));
+    else
+      OLogManager.instance()
+          .warn(this, "Compression '%s' not supported by the server %s, the payloads are sent uncompressed", compression, serverURL);
+  }
+
   @SuppressWarnings("unchecked")
   private static RuntimeException createException(final String iClassName, final String iMessage, final Exception iPrevious) {
     RuntimeException rootException = null;
@@ -154,27 +201,44 @@ public class OChannelBinaryAsynchClient extends OChannelBinary {
   }
 
   public byte[] beginResponse(final int iRequesterId, final long iTimeout, final boolean token) throws IOException {
-    try {
-      // WAIT FOR THE RESPONSE
-      if (iTimeout <= 0)
-        acquireReadLock();
+    return beginResponse(iRequesterId, 0, iTimeout, token);
+  }
 
-      if (!isConnected()) {
-        releaseReadLock();
-        throw new IOException("Channel is closed");
-      }
+  public byte[] beginResponse(final int iRequesterId, final int iRequestId, final boolean token) throws IOException {
+    return beginResponse(iRequesterId, iRequestId, timeout, token);
+  }
 
-      try {
-        setWaitResponseTimeout();
-        currentStatus = readByte();
-        currentSessionId = readInt();
+  /**
+   * @param iRequesterId the session id of the request
+   * @param iRequestId   the id returned by {@link #beginRequest(byte, int, byte[])}, used only if the channel is multiplexed
+   */
+  public byte[] beginResponse(final int iRequesterId, final int iRequestId, final long iTimeout, final boolean token)
+      throws IOException {
+    try {
+      if (multiplexed)
+        waitResponse(iRequestId);
+      else {
+        // WAIT FOR THE RESPONSE
+        if (iTimeout <= 0)
+          acquireReadLock();
+
+        if (!isConnected()) {
+          releaseReadLock();
+          throw new IOException("Channel is closed");
+        }
 
-        if (debug)
-          OLogManager.instance()
-              .debug(this, "%s - Read response: %d-%d", socket.getLocalAddress(), (int) currentStatus, currentSessionId);
+        try {
+          setWaitResponseTimeout();
+          currentStatus = readByte();
+          currentSessionId = readInt();
 
-      } finally {
-        setReadResponseTimeout();
+          if (debug)
+            OLogManager.instance()
+                .debug(this, "%s - Read response: %d-%d", socket.getLocalAddress(), (int) currentStatus, currentSessionId);
+
+        } finally {
+          setReadResponseTimeout();
+        }
       }
 
       assert (currentSessionId == iRequesterId);
@@ -198,10 +262,185 @@ public class OChannelBinaryAsynchClient extends OChannelBinary {
     return null;
   }
 
+  /**
+   * Waits until the header of the response of a request is read, by the current thread or by another requester. On return the
+   * current thread owns the response lock, released by {@link #endResponse()}.
+   */
+  private void waitResponse(final int iRequestId) throws IOException {
+    final long timeout = TimeUnit.MILLISECONDS.toNanos(OGlobalConfiguration.NETWORK_REQUEST_TIMEOUT.getValueAsInteger());
+    long remaining = timeout;
+    responseLock.lock();
+    boolean owner = false;
+    try {
+      while (true) {
+        if (!isConnected())
+          throw new IOException("Channel is closed");
+
+        if (!responsePending) {
+          readResponseHeader();
+          remaining = timeout;
+        }
+
+        if (currentRequestId == iRequestId) {
+          responsePending = false;
+          owner = true;
+          return;
+        }
+
+        // THE RESPONSE IS FOR ANOTHER REQUEST: WAKE UP ITS REQUESTER
+        responseReceived.signalAll();
+        if (timeout > 0) {
+          if (remaining <= 0)
+            throw new IOException("Timeout on waiting the reading of the response of request " + currentRequestId);
+          remaining = responseReceived.awaitNanos(remaining);
+        } else
+          responseReceived.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted on waiting the response of request " + iRequestId, e);
+    } finally {
+      if (!owner)
+        responseLock.unlock();
+    }
+  }
+
+  /**
+   * Waits until the header of the response of an asynchronous request is read, leaving the response pending for the
+   * {@link #waitResponse(int)} of its handler. On return the current thread owns the response lock.
+   *
+   * @return the id of the request
+   */
+  private int waitAsynchResponse() throws IOException {
+    final long timeout = TimeUnit.MILLISECONDS.toNanos(OGlobalConfiguration.NETWORK_REQUEST_TIMEOUT.getValueAsInteger());
+    long remaining = timeout;
+    responseLock.lock();
+    boolean owner = false;
+    try {
+      while (true) {
+        if (!isConnected())
+          throw new IOException("Channel is closed");
+
+        if (!responsePending) {
+          readResponseHeader();
+          remaining = timeout;
+        }
+
+        if (responseHandlers.containsKey(currentRequestId)) {
+          owner = true;
+          return currentRequestId;
+        }
+
+        // THE RESPONSE IS FOR A SYNCHRONOUS REQUEST (OR FOR A HANDLER NOT REGISTERED YET): WAKE UP ITS REQUESTER
+        responseReceived.signalAll();
+        if (timeout > 0) {
+          if (remaining <= 0)
+            throw new IOException("Timeout on waiting the reading of the response of request " + currentRequestId);
+          remaining = responseReceived.awaitNanos(remaining);
+        } else
+          responseReceived.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted on waiting the asynchronous responses", e);
+    } finally {
+      if (!owner)
+        responseLock.unlock();
+    }
+  }
+
+  private void readResponseHeader() throws IOException {
+    try {
+      setWaitResponseTimeout();
+      currentStatus = readByte();
+      currentSessionId = readInt();
+      currentRequestId = readInt();
+    } finally {
+      setReadResponseTimeout();
+    }
+    if (debug)
+      OLogManager.instance()
+          .debug(this, "%s - Read response: %d-%d-%d", socket.getLocalAddress(), (int) currentStatus, currentSessionId,
+              currentRequestId);
+    responsePending = true;
+  }
+
+  /**
+   * Reads the response of a request in the response reader thread of the channel, without blocking the current thread. On a
+   * multiplexed channel the responses of many asynchronous requests can be pending at the same time, together with the synchronous
+   * ones.
+   *
+   * @param iRequestId the id returned by {@link #beginRequest(byte, int, byte[])}
+   */
+  public void readResponseAsynch(final int iRequestId, final OAsynchResponseHandler handler) {
+    responseHandlers.put(iRequestId, handler);
+    synchronized (responseHandlers) {
+      if (responseReader == null) {
+        responseReader = new Thread(this::readAsynchResponses, "OrientDB response reader " + serverURL);
+        responseReader.setDaemon(true);
+        responseReader.setUncaughtExceptionHandler(new OUncaughtExceptionHandler());
+        responseReader.start();
+        return;
+      }
+    }
+    if (multiplexed && responseLock.tryLock()) {
+      // THE READER COULD BE WAITING FOR THE HANDLER OF A RESPONSE ALREADY READ
+      try {
+        responseReceived.signalAll();
+      } finally {
+        responseLock.unlock();
+      }
+    }
+  }
+
+  private void readAsynchResponses() {
+    try {
+      while (true) {
+        synchronized (responseHandlers) {
+          if (responseHandlers.isEmpty()) {
+            responseReader = null;
+            return;
+          }
+        }
+
+        // A CHANNEL NOT MULTIPLEXED HAS AT MOST ONE REQUEST IN FLIGHT
+        final int requestId = multiplexed ? waitAsynchResponse() : 0;
+        final OAsynchResponseHandler handler = responseHandlers.remove(requestId);
+        Throwable error = null;
+        try {
+          handler.read(this);
+        } catch (RuntimeException | IOException e) {
+          error = e;
+        } finally {
+          if (multiplexed)
+            responseLock.unlock();
+        }
+        handler.completed(error);
+        if (error instanceof IOException)
+          throw (IOException) error;
+      }
+    } catch (IOException e) {
+      close();
+
+      final List<OAsynchResponseHandler> failed;
+      synchronized (responseHandlers) {
+        responseReader = null;
+        failed = new ArrayList<OAsynchResponseHandler>(responseHandlers.values());
+        responseHandlers.clear();
+      }
+      for (OAsynchResponseHandler handler : failed)
+        handler.completed(e);
+    }
+  }
+
   public void endResponse() throws IOException {
     // WAKE UP ALL THE WAITING THREADS
     try {
-      releaseReadLock();
+      if (multiplexed) {
+        responseReceived.signalAll();
+        responseLock.unlock();
+      } else
+        releaseReadLock();
     } catch (IllegalMonitorStateException e) {
       // IGNORE IT
       OLogManager.instance().debug(this, "Error on unlocking network channel after reading response");
@@ -221,6 +460,34 @@ public class OChannelBinaryAsynchClient extends OChannelBinary {
     } catch (Exception e) {
       // IGNORE IT
     }
+    if (multiplexed && responseLock.tryLock()) {
+      // WAKE UP THE REQUESTERS WAITING FOR A PENDING RESPONSE
+      try {
+        responseReceived.signalAll();
+      } finally {
+        responseLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Enables the multiplexing of the requests: from now on every request gets an id that the server sends back with the response, so
+   * the requests of many sessions can be written back-to-back on the channel and answered out of order. Requires a server that
+   * supports {@link OChannelBinaryProtocol#REQUEST_MULTIPLEX}.
+   */
+  public void enableMultiplexing() throws IOException {
+    acquireWriteLock();
+    try {
+      writeByte(OChannelBinaryProtocol.REQUEST_MULTIPLEX);
+      flush();
+      multiplexed = true;
+    } finally {
+      releaseWriteLock();
+    }
+  }
+
+  public boolean isMultiplexed() {
+    return multiplexed;
   }
 
   @Override
@@ -255,6 +522,11 @@ public class OChannelBinaryAsynchClient extends OChannelBinary {
   }
 
   public boolean tryLock() {
+    if (multiplexed) {
+      // SHARED CHANNEL: WAIT FOR THE OTHER WRITERS
+      acquireWriteLock();
+      return true;
+    }
     return getLockWrite().tryAcquireLock();
   }
 
@@ -334,18 +606,33 @@ public class OChannelBinaryAsynchClient extends OChannelBinary {
               throwable.getClass().getName() : "null"), null);
   }
 
-  public void beginRequest(final byte iCommand, final OStorageRemoteSession session) throws IOException {
+  public int beginRequest(final byte iCommand, final OStorageRemoteSession session) throws IOException {
     final OStorageRemoteNodeSession nodeSession = session.getServerSession(getServerURL());
-    beginRequest(iCommand, nodeSession);
+    return beginRequest(iCommand, nodeSession);
   }
 
-  public void beginRequest(byte iCommand, OStorageRemoteNodeSession nodeSession) throws IOException {
+  public int beginRequest(byte iCommand, OStorageRemoteNodeSession nodeSession) throws IOException {
     if (nodeSession == null)
       throw new OIOException("Invalid session for URL '" + getServerURL() + "'");
 
+    return beginRequest(iCommand, nodeSession.getSessionId(), nodeSession.getToken());
+  }
+
+  /**
+   * Writes the header of a request.
+   *
+   * @return the id of the request, to pass to {@link #beginResponse(int, int, boolean)} if the channel is multiplexed
+   */
+  public int beginRequest(byte iCommand, int sessionId, byte[] token) throws IOException {
     writeByte(iCommand);
-    writeInt(nodeSession.getSessionId());
-    writeBytes(nodeSession.getToken());
+    writeInt(sessionId);
+    int requestId = 0;
+    if (multiplexed) {
+      requestId = requestIds.incrementAndGet();
+      writeInt(requestId);
+    }
+    writeBytes(token);
+    return requestId;
   }
 
   public int getSocketTimeout() {
@@ -0,0 +1,255 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote;
+
+import com.orientechnologies.common.concur.lock.OInterruptedException;
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.common.io.OIOException;
+import com.orientechnologies.orient.client.binary.OAsynchResponseHandler;
+import com.orientechnologies.orient.client.binary.OChannelBinaryAsynchClient;
+import com.orientechnologies.orient.client.remote.message.OBulkInsertRequest;
+import com.orientechnologies.orient.client.remote.message.OBulkInsertResponse;
+import com.orientechnologies.orient.core.db.OBulkInsert;
+import com.orientechnologies.orient.core.exception.ODatabaseException;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.record.ORecord;
+import com.orientechnologies.orient.core.record.ORecordInternal;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk insert of a remote session: every batch is sent as a {@link OBulkInsertRequest} without waiting for the response of the
+ * previous ones, up to a window of batches not acknowledged yet. The responses are read by the response reader thread of the
+ * channel, that is reserved to the session until the bulk insert is closed.
+ */
+public class ORemoteBulkInsert implements OBulkInsert {
+
+  private final OStorageRemote             storage;
+  private final OChannelBinaryAsynchClient network;
+  private final OStorageRemoteSession      session;
+  private final String                     clusterName;
+  private final int                        batchSize;
+  private final int                        window;
+  private final Semaphore                  inFlight;
+  // THE BATCHES WAITING FOR THE RESPONSE ON A CHANNEL NOT MULTIPLEXED, WHERE THE RESPONSES ARRIVE IN ORDER
+  private final Deque<Batch>               pending  = new ArrayDeque<Batch>();
+  private final AtomicLong                 inserted = new AtomicLong();
+  private       List<ORecord>              records  = new ArrayList<ORecord>();
+  private volatile RuntimeException        failure;
+  private volatile boolean                 broken;
+  private          boolean                 failureReported;
+  private          boolean                 closed;
+
+  public ORemoteBulkInsert(OStorageRemote storage, OChannelBinaryAsynchClient network, OStorageRemoteSession session,
+      String clusterName, int batchSize, int window) {
+    this.storage = storage;
+    this.network = network;
+    this.session = session;
+    this.clusterName = clusterName;
+    this.batchSize = Math.max(1, batchSize);
+    this.window = Math.max(1, window);
+    this.inFlight = new Semaphore(this.window);
+  }
+
+  @Override
+  public void insert(ORecord record) {
+    if (closed)
+      throw new ODatabaseException("The bulk insert is closed");
+    checkFailure();
+    if (record.getIdentity().isPersistent())
+      throw new ODatabaseException("Cannot bulk insert the record " + record.getIdentity() + " that is already persistent");
+
+    records.add(record);
+    if (records.size() >= batchSize)
+      send();
+  }
+
+  @Override
+  public void flush() {
+    send();
+    awaitBatches();
+    checkFailure();
+  }
+
+  @Override
+  public long getInserted() {
+    return inserted.get();
+  }
+
+  @Override
+  public void close() {
+    if (closed)
+      return;
+    closed = true;
+    final boolean reported = failureReported;
+    try {
+      try {
+        send();
+      } finally {
+        awaitBatches();
+      }
+      checkFailure();
+    } catch (RuntimeException e) {
+      // A FAILURE ALREADY THROWN BY A PREVIOUS CALL IS NOT THROWN AGAIN
+      if (!reported || e != failure)
+        throw e;
+    } finally {
+      // THE CHANNEL CANNOT BE REUSED IF A RESPONSE IS STILL PENDING
+      storage.endBulkInsert(network, session, broken || inFlight.availablePermits() < window);
+    }
+  }
+
+  private void awaitBatches() {
+    try {
+      // ALL THE PERMITS ARE BACK WHEN ALL THE BATCHES ARE ACKNOWLEDGED
+      inFlight.acquire(window);
+      inFlight.release(window);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw OException.wrapException(new OInterruptedException("Interrupted on waiting the batches of a bulk insert"), e);
+    }
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      failureReported = true;
+      throw failure;
+    }
+  }
+
+  private void send() {
+    if (records.isEmpty())
+      return;
+    final Batch batch = new Batch(records);
+    records = new ArrayList<ORecord>();
+
+    try {
+      inFlight.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw OException.wrapException(new OInterruptedException("Interrupted on sending a batch of a bulk insert"), e);
+    }
+    if (failure != null) {
+      inFlight.release();
+      failureReported = true;
+      throw failure;
+    }
+
+    try {
+      network.acquireWriteLock();
+      try {
+        batch.requestId = network.beginRequest(batch.request.getCommand(), session);
+        batch.request.write(network, session);
+      } finally {
+        network.endRequest();
+      }
+    } catch (IOException e) {
+      broken = true;
+      failure = OException.wrapException(new OIOException("Error on sending a batch of a bulk insert"), e);
+      inFlight.release();
+      failureReported = true;
+      throw failure;
+    } catch (RuntimeException e) {
+      inFlight.release();
+      throw e;
+    }
+
+    if (network.isMultiplexed())
+      network.readResponseAsynch(batch.requestId, batch);
+    else {
+      final boolean first;
+      synchronized (pending) {
+        pending.add(batch);
+        first = pending.size() == 1;
+      }
+      if (first)
+        network.readResponseAsynch(batch.requestId, batch);
+    }
+  }
+
+  private final class Batch implements OAsynchResponseHandler {
+    private final List<ORecord>       records;
+    private final OBulkInsertRequest  request;
+    private final OBulkInsertResponse response = new OBulkInsertResponse();
+    private       int                 requestId;
+
+    private Batch(List<ORecord> records) {
+      this.records = records;
+      this.request = new OBulkInsertRequest(clusterName, records);
+    }
+
+    @Override
+    public void read(OChannelBinaryAsynchClient network) throws IOException {
+      try {
+        storage.beginResponse(network, session, requestId);
+        response.read(network, session);
+      } finally {
+        storage.endResponse(network);
+      }
+    }
+
+    @Override
+    public void completed(final Throwable error) {
+      if (error == null) {
+        for (int i = 0; i < records.size(); i++) {
+          final ORecord record = records.get(i);
+          final ORecordId identity = response.getIdentities().get(i);
+          final ORecordId rid = (ORecordId) record.getIdentity();
+          rid.setClusterId(identity.getClusterId());
+          rid.setClusterPosition(identity.getClusterPosition());
+          ORecordInternal.setVersion(record, response.getVersions().get(i));
+          ORecordInternal.unsetDirty(record);
+        }
+        inserted.addAndGet(records.size());
+      } else if (failure == null) {
+        if (error instanceof IOException)
+          failure = OException.wrapException(new OIOException("Error on reading the response of a bulk insert"), error);
+        else if (error instanceof RuntimeException)
+          failure = (RuntimeException) error;
+        else
+          failure = OException.wrapException(new ODatabaseException("Error on bulk insert"), error);
+      }
+      if (error instanceof IOException)
+        broken = true;
+      inFlight.release();
+
+      if (!network.isMultiplexed()) {
+        final Batch next;
+        synchronized (pending) {
+          pending.poll();
+          next = pending.peek();
+        }
+        if (next != null) {
+          if (error instanceof IOException)
+            // THE RESPONSE WILL NEVER ARRIVE
+            next.completed(error);
+          else
+            network.readResponseAsynch(next.requestId, next);
+        }
+      }
+    }
+  }
+}
@@ -57,6 +57,18 @@ public class ORemoteConnectionManager {
   }
 
   public OChannelBinaryAsynchClient acquire(String iServerURL, final OContextConfiguration clientConfiguration) {
+    return acquire(iServerURL, clientConfiguration, false);
+  }
+
+  /**
+   * Acquires a channel that is never shared with other requesters, even if the multiplexing is enabled.
+   */
+  public OChannelBinaryAsynchClient acquireExclusive(String iServerURL, final OContextConfiguration clientConfiguration) {
+    return acquire(iServerURL, clientConfiguration, true);
+  }
+
+  private OChannelBinaryAsynchClient acquire(String iServerURL, final OContextConfiguration clientConfiguration,
+      final boolean exclusive) {
     if (iServerURL.startsWith(OEngineRemote.PREFIX))
       iServerURL = iServerURL.substring(OEngineRemote.PREFIX.length());
 
@@ -90,7 +102,9 @@ public class ORemoteConnectionManager {
 
     try {
       // RETURN THE RESOURCE
-      OChannelBinaryAsynchClient ret = pool.acquire(iServerURL, localTimeout, clientConfiguration);
+      OChannelBinaryAsynchClient ret = exclusive ?
+          pool.acquireExclusive(iServerURL, localTimeout, clientConfiguration) :
+          pool.acquire(iServerURL, localTimeout, clientConfiguration);
       return ret;
 
     } catch (RuntimeException e) {
@@ -109,7 +123,11 @@ public class ORemoteConnectionManager {
 
     final ORemoteConnectionPool pool = connections.get(conn.getServerURL());
     if (pool != null) {
-      if (!conn.isConnected()) {
+      if (conn.isMultiplexed()) {
+        // SHARED CHANNEL: NOTHING TO RETURN TO THE POOL
+        if (!conn.isConnected())
+          remove(conn);
+      } else if (!conn.isConnected()) {
         OLogManager.instance().debug(this, "Network connection pool is receiving a closed connection to reuse: discard it");
         remove(conn);
       } else {
@@ -126,7 +144,10 @@ public class ORemoteConnectionManager {
     if (pool == null)
       throw new IllegalStateException("Connection cannot be released because the pool doesn't exist anymore");
 
-    pool.getPool().remove(conn);
+    if (conn.isMultiplexed())
+      pool.removeMultiplexed(conn);
+    else
+      pool.getPool().remove(conn);
 
     try {
       conn.unlock();
@@ -188,6 +209,9 @@ public class ORemoteConnectionManager {
 
   protected void closePool(ORemoteConnectionPool pool) {
     final List<OChannelBinaryAsynchClient> conns = new ArrayList<OChannelBinaryAsynchClient>(pool.getPool().getAllResources());
+    final OChannelBinaryAsynchClient multiplexed = pool.getMultiplexed();
+    if (multiplexed != null)
+      conns.add(multiplexed);
     for (OChannelBinaryAsynchClient c : conns)
       try {
         // Unregister the listener that make the connection return to the closing pool.
@@ -7,14 +7,18 @@ import com.orientechnologies.common.io.OIOException;
 import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.orient.client.binary.OChannelBinaryAsynchClient;
 import com.orientechnologies.orient.core.config.OContextConfiguration;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
 
+import java.io.IOException;
+
 /**
  * Created by tglman on 01/10/15.
  */
 public class ORemoteConnectionPool implements OResourcePoolListener<String, OChannelBinaryAsynchClient> {
 
-  private OResourcePool<String, OChannelBinaryAsynchClient> pool;
+  private          OResourcePool<String, OChannelBinaryAsynchClient> pool;
+  private volatile OChannelBinaryAsynchClient                        multiplexed;
 
   public ORemoteConnectionPool(int iMaxResources) {
     pool = new OResourcePool<>(iMaxResources, this);
@@ -85,9 +89,51 @@ public class ORemoteConnectionPool implements OResourcePoolListener<String, OCha
     return pool;
   }
 
+  /**
+   * Acquires a channel: the multiplexed channel shared by all the requesters if {@link OGlobalConfiguration#CLIENT_CHANNEL_MULTIPLEXING}
+   * is enabled, otherwise a channel of the pool, used exclusively until it is released.
+   */
   public OChannelBinaryAsynchClient acquire(final String iServerURL, final long timeout,
       final OContextConfiguration clientConfiguration) {
+    if (clientConfiguration != null && clientConfiguration.getValueAsBoolean(OGlobalConfiguration.CLIENT_CHANNEL_MULTIPLEXING))
+      return acquireMultiplexed(iServerURL, clientConfiguration);
+    return acquireExclusive(iServerURL, timeout, clientConfiguration);
+  }
+
+  /**
+   * Acquires a channel of the pool, used exclusively until it is released (eg. the channel of the push messages).
+   */
+  public OChannelBinaryAsynchClient acquireExclusive(final String iServerURL, final long timeout,
+      final OContextConfiguration clientConfiguration) {
     return pool.getResource(iServerURL, timeout, clientConfiguration);
   }
-  
+
+  private synchronized OChannelBinaryAsynchClient acquireMultiplexed(final String iServerURL,
+      final OContextConfiguration clientConfiguration) {
+    OChannelBinaryAsynchClient channel = multiplexed;
+    if (channel == null || !channel.isConnected()) {
+      channel = createNetworkConnection(iServerURL, clientConfiguration);
+      try {
+        channel.enableMultiplexing();
+      } catch (IOException e) {
+        channel.close();
+        throw OException.wrapException(new OIOException("Error on connecting to " + iServerURL), e);
+      }
+      multiplexed = channel;
+    }
+    return channel;
+  }
+
+  /**
+   * Forgets the multiplexed channel, if it is the passed one, so the next requester opens a new one.
+   */
+  public synchronized void removeMultiplexed(final OChannelBinaryAsynchClient channel) {
+    if (multiplexed == channel)
+      multiplexed = null;
+  }
+
+  public OChannelBinaryAsynchClient getMultiplexed() {
+    return multiplexed;
+  }
+
 }
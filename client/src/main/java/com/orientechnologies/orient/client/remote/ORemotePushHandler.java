@@ -9,7 +9,7 @@ import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinary;
  */
 public interface ORemotePushHandler {
 
-  OChannelBinary getNetwork(String host);
+  OChannelBinary getPushNetwork(String host);
 
   OBinaryPushRequest createPush(byte push);
 
@@ -32,4 +32,6 @@ public interface ORemotePushHandler {
   OBinaryPushResponse executeUpdateFunction(OPushFunctionsRequest request);
 
   OBinaryPushResponse executeUpdateSequences(OPushSequencesRequest request);
+
+  OBinaryPushResponse executeInvalidateRecords(OPushRecordInvalidationRequest request);
 }
@@ -0,0 +1,177 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote;
+
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.storage.ORawBuffer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Near cache of the records read by a remote storage, shared by all its sessions. It holds the least recently used records up to
+ * a total size in bytes; the records changed on the server are removed when their invalidation is pushed, and every record is
+ * read again from the server after a maximum age, in case its invalidation was late or lost.
+ * <p>
+ * The cache is disabled until the server acknowledges the subscription to the invalidations. A record read from the server is
+ * cached only if it was not invalidated after the read was started, see {@link #getGeneration()}.
+ */
+public class ORemoteRecordCache {
+
+  // MAXIMUM NUMBER OF RECENT INVALIDATIONS REMEMBERED ONE BY ONE, THE OLDER ONES ARE ONLY COUNTED IN THE FLOOR
+  private static final int MAX_TRACKED_INVALIDATIONS = 10000;
+
+  private final long                    maxSize;
+  private final long                    maxAge;
+  private final Map<ORID, CachedRecord> records       = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<ORID, Long>         invalidations = new LinkedHashMap<ORID, Long>() {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<ORID, Long> eldest) {
+      if (size() <= MAX_TRACKED_INVALIDATIONS)
+        return false;
+      invalidationFloor = eldest.getValue();
+      return true;
+    }
+  };
+  private       long                    size;
+  private       boolean                 enabled;
+  private       long                    generation;
+  private       long                    invalidationFloor;
+
+  /**
+   * @param maxSize maximum total size of the cached records, in bytes
+   * @param maxAge  maximum time a record stays in the cache, in ms
+   */
+  public ORemoteRecordCache(long maxSize, long maxAge) {
+    this.maxSize = maxSize;
+    this.maxAge = maxAge;
+  }
+
+  /**
+   * @return a copy of the cached record, null if the record is not cached or is too old
+   */
+  public synchronized ORawBuffer get(ORID rid) {
+    if (!enabled)
+      return null;
+    CachedRecord record = records.get(rid);
+    if (record == null)
+      return null;
+    if (System.currentTimeMillis() - record.timestamp > maxAge) {
+      remove(rid);
+      return null;
+    }
+    return new ORawBuffer(record.content.clone(), record.version, record.recordType);
+  }
+
+  /**
+   * @return the current generation of the invalidations, to pass to {@link #put(ORID, ORawBuffer, long)} for a record read from
+   * now on
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Caches a record read from the server, unless it was invalidated after the read was started: in that case the read can have
+   * returned the content before the change.
+   *
+   * @param readGeneration the generation returned by {@link #getGeneration()} before the read was sent
+   */
+  public synchronized void put(ORID rid, ORawBuffer record, long readGeneration) {
+    if (!enabled || record == null || record.buffer == null || record.buffer.length > maxSize)
+      return;
+    if (readGeneration < invalidationFloor)
+      return;
+    final Long invalidated = invalidations.get(rid);
+    if (invalidated != null && invalidated > readGeneration)
+      return;
+    final CachedRecord previous = records.get(rid);
+    if (previous != null) {
+      if (previous.version > record.version)
+        // A NEWER VERSION IS ALREADY CACHED
+        return;
+      remove(rid);
+    }
+    records.put(rid.copy(), new CachedRecord(record.buffer.clone(), record.version, record.recordType));
+    size += record.buffer.length;
+
+    final Iterator<CachedRecord> eldest = records.values().iterator();
+    while (size > maxSize && eldest.hasNext()) {
+      size -= eldest.next().content.length;
+      eldest.remove();
+    }
+  }
+
+  public synchronized void invalidate(ORID rid) {
+    remove(rid);
+    invalidations.remove(rid);
+    invalidations.put(rid.copy(), ++generation);
+  }
+
+  public synchronized void clear() {
+    records.clear();
+    size = 0;
+    // THE READS IN PROGRESS CAN HAVE MISSED THE INVALIDATIONS TOO
+    invalidations.clear();
+    invalidationFloor = ++generation;
+  }
+
+  /**
+   * Enables the cache when the server acknowledges the subscription to the invalidations, disables it when the subscription is
+   * refused or lost. The cache is cleared in both cases, and the reads in progress are not cached: they can have been sent while
+   * the changes were not pushed.
+   */
+  public synchronized void setEnabled(boolean enabled) {
+    clear();
+    this.enabled = enabled;
+  }
+
+  public synchronized boolean isEnabled() {
+    return enabled;
+  }
+
+  public synchronized int getRecords() {
+    return records.size();
+  }
+
+  public synchronized long getSize() {
+    return size;
+  }
+
+  private void remove(ORID rid) {
+    final CachedRecord removed = records.remove(rid);
+    if (removed != null)
+      size -= removed.content.length;
+  }
+
+  private static final class CachedRecord {
+    private final byte[] content;
+    private final int    version;
+    private final byte   recordType;
+    private final long   timestamp = System.currentTimeMillis();
+
+    private CachedRecord(byte[] content, int version, byte recordType) {
+      this.content = content;
+      this.version = version;
+      this.recordType = recordType;
+    }
+  }
+}
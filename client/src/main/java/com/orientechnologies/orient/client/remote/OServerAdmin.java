@@ -125,15 +125,16 @@ public class OServerAdmin {
 
     networkAdminOperation((network, session) -> {
       OStorageRemoteNodeSession nodeSession = session.getOrCreateServerSession(network.getServerURL());
+      final int requestId;
       try {
-        network.beginRequest(request.getCommand(), session);
+        requestId = network.beginRequest(request.getCommand(), session);
         request.write(network, session);
       } finally {
         network.endRequest();
       }
       OConnectResponse response = request.createResponse();
       try {
-        network.beginResponse(nodeSession.getSessionId(), true);
+        network.beginResponse(nodeSession.getSessionId(), requestId, true);
         response.read(network, session);
       } finally {
         storage.endResponse(network);
@@ -443,15 +444,16 @@ public class OServerAdmin {
     return networkAdminOperation(new OStorageRemoteOperation<T>() {
       @Override
       public T execute(OChannelBinaryAsynchClient network, OStorageRemoteSession session) throws IOException {
+        final int requestId;
         try {
-          network.beginRequest(request.getCommand(), session);
+          requestId = network.beginRequest(request.getCommand(), session);
           request.write(network, session);
         } finally {
           network.endRequest();
         }
         T response = request.createResponse();
         try {
-          storage.beginResponse(network, session);
+          storage.beginResponse(network, session, requestId);
           response.read(network, session);
         } finally {
           storage.endResponse(network);
@@ -27,6 +27,7 @@ import com.orientechnologies.common.io.OIOException;
 import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.common.thread.OScheduledThreadPoolExecutorWithLogging;
 import com.orientechnologies.common.util.OCommonConst;
+import com.orientechnologies.orient.client.binary.OAsynchResponseHandler;
 import com.orientechnologies.orient.client.binary.OChannelBinaryAsynchClient;
 import com.orientechnologies.orient.client.remote.message.*;
 import com.orientechnologies.orient.core.command.OCommandOutputListener;
@@ -77,6 +78,7 @@ import java.io.OutputStream;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -97,11 +99,16 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
   private static final String        LOCALHOST         = "localhost";
   private static       AtomicInteger sessionSerialId   = new AtomicInteger(-1);
 
+  /**
+   * With BALANCED_READS the session works on its server like with STICKY, but the records are read from the least loaded server
+   * that applied the writes of the session.
+   */
   public enum CONNECTION_STRATEGY {
-    STICKY, ROUND_ROBIN_CONNECT, ROUND_ROBIN_REQUEST
+    STICKY, ROUND_ROBIN_CONNECT, ROUND_ROBIN_REQUEST, BALANCED_READS
   }
 
   private CONNECTION_STRATEGY connectionStrategy = CONNECTION_STRATEGY.STICKY;
+  private final AtomicInteger readServerIndex    = new AtomicInteger();
 
   private final OSBTreeCollectionManagerRemote sbTreeCollectionManager = new OSBTreeCollectionManagerRemote(this);
   private final List<String>                   serverURLs              = new ArrayList<String>();
@@ -121,6 +128,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
   private final Map<Integer, OLiveQueryClientListener> liveQueryListener = new ConcurrentHashMap<>();
   private volatile OStorageRemotePushThread pushThread;
   private final    OrientDBRemote           context;
+  private final    ORemoteRecordCache       recordCache;
 
   public OStorageRemote(final String iURL, OrientDBRemote context, final String iMode, ORemoteConnectionManager connectionManager)
       throws IOException {
@@ -142,12 +150,20 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
 
     asynchExecutor = new OScheduledThreadPoolExecutorWithLogging(1);
 
+    final long nearCacheSize = clientConfiguration.getValueAsLong(OGlobalConfiguration.CLIENT_NEAR_CACHE_SIZE);
+    if (nearCacheSize > 0)
+      recordCache = new ORemoteRecordCache(nearCacheSize,
+          clientConfiguration.getValueAsInteger(OGlobalConfiguration.CLIENT_NEAR_CACHE_MAX_AGE));
+    else
+      recordCache = null;
+
     this.connectionManager = connectionManager;
     this.context = context;
   }
 
   public <T extends OBinaryResponse> T asyncNetworkOperationNoRetry(final OBinaryAsyncRequest<T> request, int mode,
       final ORecordId recordId, final ORecordCallback<T> callback, final String errorMessage) {
+    checkWrite(request);
     return asyncNetworkOperationRetry(request, mode, recordId, callback, errorMessage, 0);
   }
 
@@ -162,8 +178,9 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     request.setMode((byte) pMode);
     return baseNetworkOperation((network, session) -> {
       // Send The request
+      final int requestId;
       try {
-        network.beginRequest(request.getCommand(), session);
+        requestId = network.beginRequest(request.getCommand(), session);
         request.write(network, session);
       } finally {
         network.endRequest();
@@ -173,7 +190,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       if (pMode == 0) {
         // SYNC
         try {
-          beginResponse(network, session);
+          beginResponse(network, session, requestId);
           response.read(network, session);
         } finally {
           endResponse(network);
@@ -185,7 +202,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
         asynchExecutor.submit(() -> {
           try {
             try {
-              beginResponse(network, session);
+              beginResponse(network, session, requestId);
               response.read(network, session);
             } finally {
               endResponse(network);
@@ -211,9 +228,16 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
 
   public <T extends OBinaryResponse> T networkOperationRetryTimeout(final OBinaryRequest<T> request, final String errorMessage,
       int retry, int timeout) {
-    return baseNetworkOperation((network, session) -> {
+    checkWrite(request);
+    return baseNetworkOperation(requestOperation(request, timeout), errorMessage, retry);
+  }
+
+  private <T extends OBinaryResponse> OStorageRemoteOperation<T> requestOperation(final OBinaryRequest<T> request,
+      final int timeout) {
+    return (network, session) -> {
+      final int requestId;
       try {
-        network.beginRequest(request.getCommand(), session);
+        requestId = network.beginRequest(request.getCommand(), session);
         request.write(network, session);
       } finally {
         network.endRequest();
@@ -223,7 +247,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       try {
         if (timeout > 0)
           network.setSocketTimeout(timeout);
-        beginResponse(network, session);
+        beginResponse(network, session, requestId);
         response.read(network, session);
       } finally {
         endResponse(network);
@@ -232,7 +256,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       }
       connectionManager.release(network);
       return response;
-    }, errorMessage, retry);
+    };
   }
 
   public <T extends OBinaryResponse> T networkOperationNoRetry(final OBinaryRequest<T> request, final String errorMessage) {
@@ -243,13 +267,205 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     return networkOperationRetryTimeout(request, errorMessage, connectionRetry, 0);
   }
 
+  public <T extends OBinaryResponse> CompletableFuture<T> networkOperationAsync(final OBinaryRequest<T> request,
+      final String errorMessage) {
+    return networkOperationAsync(request, errorMessage, connectionRetry);
+  }
+
+  public <T extends OBinaryResponse> CompletableFuture<T> networkOperationAsyncNoRetry(final OBinaryRequest<T> request,
+      final String errorMessage) {
+    return networkOperationAsync(request, errorMessage, 0);
+  }
+
+  /**
+   * Sends a request without waiting for its response, that is read by the response reader thread of the channel. Only the sending
+   * of the request is retried. The session cannot execute other requests until the returned future is completed.
+   */
+  private <T extends OBinaryResponse> CompletableFuture<T> networkOperationAsync(final OBinaryRequest<T> request,
+      final String errorMessage, int retry) {
+    checkWrite(request);
+    final CompletableFuture<T> future = new CompletableFuture<T>();
+    final Runnable readResponse;
+    try {
+      readResponse = baseNetworkOperation((network, session) -> {
+        final int requestId;
+        try {
+          requestId = network.beginRequest(request.getCommand(), session);
+          request.write(network, session);
+        } finally {
+          network.endRequest();
+        }
+        final T response = request.createResponse();
+        return () -> network.readResponseAsynch(requestId, new OAsynchResponseHandler() {
+          @Override
+          public void read(OChannelBinaryAsynchClient network) throws IOException {
+            try {
+              beginResponse(network, session, requestId);
+              response.read(network, session);
+            } finally {
+              endResponse(network);
+            }
+          }
+
+          @Override
+          public void completed(Throwable error) {
+            if (error instanceof IOException)
+              connectionManager.remove(network);
+            else
+              connectionManager.release(network);
+            session.commandExecuting = false;
+
+            if (error == null)
+              future.complete(response);
+            else if (error instanceof OException)
+              future.completeExceptionally(error);
+            else if (error instanceof IOException)
+              future.completeExceptionally(OException.wrapException(new OIOException(error.getMessage()), error));
+            else
+              future.completeExceptionally(OException.wrapException(new OStorageException(errorMessage), error));
+          }
+        });
+      }, errorMessage, retry);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      return future;
+    }
+    // THE SESSION IS BUSY UNTIL THE RESPONSE IS READ
+    getCurrentSession().commandExecuting = true;
+    readResponse.run();
+    return future;
+  }
+
+  /**
+   * Executes a read request: with the {@link CONNECTION_STRATEGY#BALANCED_READS} strategy on the least loaded server that applied
+   * the writes of the session, otherwise like {@link #networkOperation(OBinaryRequest, String)}.
+   */
+  public <T extends OBinaryResponse> T readNetworkOperation(final OBinaryRequest<T> request, final String errorMessage) {
+    final OStorageRemoteSession session = getCurrentSession();
+    if (connectionStrategy != CONNECTION_STRATEGY.BALANCED_READS || session.isStickToSession() || session.getServerUrl() == null)
+      return networkOperation(request, errorMessage);
+
+    return baseNetworkOperation(getReadServerURL(session), requestOperation(request, 0), errorMessage, connectionRetry);
+  }
+
+  /**
+   * Selects the server of a read. The consistency token of the session, that is asked again to the server of the session after
+   * its writes, is sent once to the selected server: if the server does not apply the writes of the session in
+   * {@link OGlobalConfiguration#CLIENT_READ_CONSISTENCY_TIMEOUT} ms the read is executed by the server of the session.
+   */
+  private String getReadServerURL(final OStorageRemoteSession session) {
+    final String writeURL = session.getServerUrl();
+    final String url = getLeastLoadedServerURL();
+    if (url == null || url.equals(writeURL))
+      return writeURL;
+
+    try {
+      if (session.consistencyTokenExpired) {
+        final OConsistencyTokenResponse response = baseNetworkOperation(writeURL,
+            requestOperation(new OConsistencyTokenRequest(session.consistencyToken, 0), 0), "Error on reading the consistency token",
+            connectionRetry);
+        session.consistencyToken = response.getToken();
+        session.consistencyTokenExpired = false;
+      }
+
+      if (session.consistencyToken == null)
+        // NO WRITES TO WAIT FOR
+        return url;
+
+      final OStorageRemoteNodeSession nodeSession = session.getServerSession(url);
+      if (nodeSession != null && nodeSession.consistencyToken == session.consistencyToken)
+        // ALREADY APPLIED
+        return url;
+
+      final int timeout = clientConfiguration.getValueAsInteger(OGlobalConfiguration.CLIENT_READ_CONSISTENCY_TIMEOUT);
+      final OConsistencyTokenResponse response = baseNetworkOperation(url,
+          requestOperation(new OConsistencyTokenRequest(session.consistencyToken, timeout), 0),
+          "Error on sending the consistency token", 0);
+      if (!response.isApplied())
+        return writeURL;
+
+      final OStorageRemoteNodeSession readSession = session.getServerSession(url);
+      if (readSession != null)
+        readSession.consistencyToken = session.consistencyToken;
+      return url;
+
+    } catch (OException e) {
+      OLogManager.instance().debug(this, "Cannot read from server %s, reading from %s", e, url, writeURL);
+      return writeURL;
+    }
+  }
+
+  /**
+   * Returns the server with less connections in use, starting from a different server at every call to balance the idle ones.
+   */
+  private String getLeastLoadedServerURL() {
+    synchronized (serverURLs) {
+      if (serverURLs.isEmpty())
+        return null;
+
+      final int start = Math.abs(readServerIndex.getAndIncrement() % serverURLs.size());
+      String selected = null;
+      int selectedInUse = Integer.MAX_VALUE;
+      for (int i = 0; i < serverURLs.size(); i++) {
+        final String url = serverURLs.get((start + i) % serverURLs.size()) + "/" + getName();
+        final int inUse = connectionManager.getMaxResources(url) - connectionManager.getAvailableConnections(url);
+        if (inUse < selectedInUse) {
+          selected = url;
+          selectedInUse = inUse;
+        }
+      }
+      return selected;
+    }
+  }
+
+  /**
+   * With the {@link CONNECTION_STRATEGY#BALANCED_READS} strategy, a request that can write expires the consistency token of the
+   * session.
+   */
+  private void checkWrite(final OBinaryRequest<?> request) {
+    if (connectionStrategy == CONNECTION_STRATEGY.BALANCED_READS && !isReadOnly(request))
+      getCurrentSession().consistencyTokenExpired = true;
+  }
+
+  private static boolean isReadOnly(final OBinaryRequest<?> request) {
+    switch (request.getCommand()) {
+    case OChannelBinaryProtocol.REQUEST_QUERY:
+      return ((OQueryRequest) request).getOperationType() == OQueryRequest.QUERY;
+    case OChannelBinaryProtocol.REQUEST_RECORD_LOAD:
+    case OChannelBinaryProtocol.REQUEST_RECORD_LOAD_IF_VERSION_NOT_LATEST:
+    case OChannelBinaryProtocol.REQUEST_RECORD_METADATA:
+    case OChannelBinaryProtocol.REQUEST_QUERY_NEXT_PAGE:
+    case OChannelBinaryProtocol.REQUEST_CLOSE_QUERY:
+    case OChannelBinaryProtocol.REQUEST_POSITIONS_HIGHER:
+    case OChannelBinaryProtocol.REQUEST_POSITIONS_LOWER:
+    case OChannelBinaryProtocol.REQUEST_POSITIONS_FLOOR:
+    case OChannelBinaryProtocol.REQUEST_POSITIONS_CEILING:
+    case OChannelBinaryProtocol.REQUEST_CLUSTER_COUNT:
+    case OChannelBinaryProtocol.REQUEST_CLUSTER_DATARANGE:
+    case OChannelBinaryProtocol.REQUEST_DB_SIZE:
+    case OChannelBinaryProtocol.REQUEST_DB_COUNTRECORDS:
+    case OChannelBinaryProtocol.REQUEST_DB_RELOAD:
+    case OChannelBinaryProtocol.REQUEST_DB_CONSISTENCY_TOKEN:
+      return true;
+    default:
+      return false;
+    }
+  }
+
   public <T> T baseNetworkOperation(final OStorageRemoteOperation<T> operation, final String errorMessage, int retry) {
+    return baseNetworkOperation(null, operation, errorMessage, retry);
+  }
+
+  /**
+   * @param serverUrl the server to use first, null to select it with the connection strategy
+   */
+  public <T> T baseNetworkOperation(String serverUrl, final OStorageRemoteOperation<T> operation, final String errorMessage,
+      int retry) {
     OStorageRemoteSession session = getCurrentSession();
     if (session.commandExecuting)
       throw new ODatabaseException(
           "Cannot execute the request because an asynchronous operation is in progress. Please use a different connection");
 
-    String serverUrl = null;
     do {
       session.commandExecuting = true;
       OChannelBinaryAsynchClient network = null;
@@ -621,9 +837,19 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       // PENDING NETWORK OPERATION, CAN'T EXECUTE IT NOW
       return new OStorageOperationResult<ORawBuffer>(null);
 
+    if (recordCache != null && !ignoreCache && fetchPlan == null) {
+      final ORawBuffer cached = recordCache.get(rid);
+      if (cached != null) {
+        if (cached.version == recordVersion)
+          return new OStorageOperationResult<ORawBuffer>(null);
+        if (cached.version > recordVersion)
+          return new OStorageOperationResult<ORawBuffer>(cached);
+      }
+    }
+
     OReadRecordIfVersionIsNotLatestRequest request = new OReadRecordIfVersionIsNotLatestRequest(rid, recordVersion, fetchPlan,
         ignoreCache);
-    OReadRecordIfVersionIsNotLatestResponse response = networkOperation(request, "Error on read record " + rid);
+    OReadRecordIfVersionIsNotLatestResponse response = readNetworkOperation(request, "Error on read record " + rid);
 
     return new OStorageOperationResult<ORawBuffer>(response.getResult());
   }
@@ -635,10 +861,28 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       // PENDING NETWORK OPERATION, CAN'T EXECUTE IT NOW
       return new OStorageOperationResult<ORawBuffer>(null);
 
+    final boolean cacheable = recordCache != null && !iIgnoreCache && iFetchPlan == null;
+    long cacheGeneration = 0;
+    if (cacheable) {
+      final ORawBuffer cached = recordCache.get(iRid);
+      if (cached != null)
+        return new OStorageOperationResult<ORawBuffer>(cached);
+      cacheGeneration = recordCache.getGeneration();
+    }
+
     OReadRecordRequest request = new OReadRecordRequest(iIgnoreCache, iRid, iFetchPlan, false);
-    OReadRecordResponse response = networkOperation(request, "Error on read record " + iRid);
+    OReadRecordResponse response = readNetworkOperation(request, "Error on read record " + iRid);
 
-    return new OStorageOperationResult<ORawBuffer>(response.getResult());
+    final ORawBuffer result = response.getResult();
+    // ONLY THE CHANGES OF THE DOCUMENTS ARE PUSHED BY THE SERVER
+    if (cacheable && result != null && result.recordType == ODocument.RECORD_TYPE)
+      recordCache.put(iRid, result, cacheGeneration);
+    return new OStorageOperationResult<ORawBuffer>(result);
+  }
+
+  public CompletableFuture<ORawBuffer> readRecordAsync(final ORecordId iRid, final String iFetchPlan, final boolean iIgnoreCache) {
+    OReadRecordRequest request = new OReadRecordRequest(iIgnoreCache, iRid, iFetchPlan, false);
+    return networkOperationAsync(request, "Error on read record " + iRid).thenApply(OReadRecordResponse::getResult);
   }
 
   @Override
@@ -666,6 +910,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       };
     }
 
+    invalidateCachedRecord(iRid);
     OUpdateRecordRequest request = new OUpdateRecordRequest(iRid, iContent, iVersion, updateContent, iRecordType);
     OUpdateRecordResponse response = asyncNetworkOperationNoRetry(request, iMode, iRid, realCallback,
         "Error on update record " + iRid);
@@ -690,6 +935,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (iCallback != null)
       realCallback = (iRID, response) -> iCallback.call(iRID, response.getResult());
 
+    invalidateCachedRecord(iRid);
     final ODeleteRecordRequest request = new ODeleteRecordRequest(iRid, iVersion);
     final ODeleteRecordResponse response = asyncNetworkOperationNoRetry(request, iMode, iRid, realCallback,
         "Error on delete record " + iRid);
@@ -707,6 +953,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (callback != null)
       realCallback = (iRID, response) -> callback.call(iRID, response.getResult());
 
+    invalidateCachedRecord(recordId);
     final OHideRecordRequest request = new OHideRecordRequest(recordId);
     final OHideRecordResponse response = asyncNetworkOperationNoRetry(request, mode, recordId, realCallback,
         "Error on hide record " + recordId);
@@ -724,6 +971,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (callback != null)
       realCallback = (iRID, response) -> callback.call(iRID, response.getResult());
 
+    invalidateCachedRecord(recordId);
     final OCleanOutRecordRequest request = new OCleanOutRecordRequest(recordVersion, recordId);
     final OCleanOutRecordResponse response = asyncNetworkOperationNoRetry(request, iMode, recordId, realCallback,
         "Error on delete record " + recordId);
@@ -863,6 +1111,19 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     return new ORemoteQueryResult(rs, response.isTxChanges(), response.isReloadMetadata());
   }
 
+  /**
+   * Sends a query without waiting for its first page, the result set is created by the caller on completion.
+   */
+  public CompletableFuture<OQueryResponse> queryAsync(ODatabaseDocumentRemote db, String query, Object[] args) {
+    stickToSession();
+    int recordsPerPage = OGlobalConfiguration.QUERY_REMOTE_RESULTSET_PAGE_SIZE.getValueAsInteger();
+    if (recordsPerPage <= 0) {
+      recordsPerPage = 100;
+    }
+    OQueryRequest request = new OQueryRequest("sql", query, args, OQueryRequest.QUERY, db.getSerializer(), recordsPerPage);
+    return networkOperationAsync(request, "Error on executing command: " + query);
+  }
+
   public ORemoteQueryResult query(ODatabaseDocumentRemote db, String query, Map args) {
     stickToSession();
     int recordsPerPage = OGlobalConfiguration.QUERY_REMOTE_RESULTSET_PAGE_SIZE.getValueAsInteger();
@@ -942,45 +1203,134 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     rs.fetched(response.getResult(), response.isHasNextPage(), response.getExecutionPlan(), response.getQueryStats());
   }
 
+  /**
+   * Asks the server to push the next pages of a query while the result set consumes the current one.
+   *
+   * @return the stream of the pages, null if the streaming is disabled or not supported by the channel of the session
+   */
+  public ORemoteQueryStream streamQuery(ODatabaseDocumentRemote database, ORemoteResultSet rs) {
+    final int window = getClientConfiguration().getValueAsInteger(OGlobalConfiguration.QUERY_REMOTE_RESULTSET_STREAM_WINDOW);
+    if (window <= 0)
+      return null;
+    int recordsPerPage = OGlobalConfiguration.QUERY_REMOTE_RESULTSET_PAGE_SIZE.getValueAsInteger();
+    if (recordsPerPage <= 0) {
+      recordsPerPage = 100;
+    }
+    final OQueryStreamRequest request = new OQueryStreamRequest(rs.getQueryId(), recordsPerPage, window);
+    return baseNetworkOperation((network, session) -> {
+      if (!network.isMultiplexed()) {
+        // THE PAGES WOULD BLOCK THE OTHER RESPONSES OF THE CHANNEL
+        connectionManager.release(network);
+        return null;
+      }
+      final ORemoteQueryStream stream = new ORemoteQueryStream(this, network, session, rs.getQueryId(), window);
+      final int requestId;
+      try {
+        requestId = network.beginRequest(request.getCommand(), session);
+        request.write(network, session);
+      } finally {
+        network.endRequest();
+      }
+      stream.start(requestId);
+      return stream;
+    }, "Error on streaming the pages of query " + rs.getQueryId(), connectionRetry);
+  }
+
+  public void cancelQueryStream(ODatabaseDocumentRemote database, ORemoteQueryStream stream) {
+    unstickToSession();
+    stream.cancel();
+  }
+
+  /**
+   * Starts a bulk insert that keeps the channel and the session busy until it is closed.
+   *
+   * @param clusterName the cluster of the records, null to use the cluster of the class of each record
+   */
+  public ORemoteBulkInsert bulkInsert(ODatabaseDocumentRemote database, String clusterName) {
+    if (connectionStrategy == CONNECTION_STRATEGY.BALANCED_READS)
+      getCurrentSession().consistencyTokenExpired = true;
+    final int batchSize = getClientConfiguration().getValueAsInteger(OGlobalConfiguration.CLIENT_BULK_INSERT_BATCH_SIZE);
+    final int window = getClientConfiguration().getValueAsInteger(OGlobalConfiguration.CLIENT_BULK_INSERT_WINDOW);
+    final ORemoteBulkInsert bulkInsert = baseNetworkOperation((network, session) -> {
+      // EVERY BATCH TAKES THE WRITE LOCK OF THE CHANNEL
+      network.releaseWriteLock();
+      return new ORemoteBulkInsert(this, network, session, clusterName, batchSize, window);
+    }, "Error on starting a bulk insert", connectionRetry);
+    getCurrentSession().commandExecuting = true;
+    return bulkInsert;
+  }
+
+  /**
+   * Gives back the channel of a closed bulk insert.
+   *
+   * @param broken true if the channel cannot be used anymore
+   */
+  public void endBulkInsert(OChannelBinaryAsynchClient network, OStorageRemoteSession session, boolean broken) {
+    if (broken)
+      connectionManager.remove(network);
+    else
+      connectionManager.release(network);
+    session.commandExecuting = false;
+  }
+
   public List<ORecordOperation> commit(final OTransactionInternal iTx) {
     try {
       OCommit37Request request = new OCommit37Request(iTx.getId(), true, iTx.isUsingLog(), iTx.getRecordOperations(),
           iTx.getIndexOperations());
 
       OCommit37Response response = networkOperationNoRetry(request, "Error on commit");
-      for (OCommit37Response.OCreatedRecordResponse created : response.getCreated()) {
-        iTx.updateIdentityAfterCommit(created.getCurrentRid(), created.getCreatedRid());
-        ORecordOperation rop = iTx.getRecordEntry(created.getCurrentRid());
-        if (rop != null) {
-          if (created.getVersion() > rop.getRecord().getVersion() + 1)
-            // IN CASE OF REMOTE CONFLICT STRATEGY FORCE UNLOAD DUE TO INVALID CONTENT
-            rop.getRecord().unload();
-          ORecordInternal.setVersion(rop.getRecord(), created.getVersion());
-        }
-      }
-      for (OCommit37Response.OUpdatedRecordResponse updated : response.getUpdated()) {
-        ORecordOperation rop = iTx.getRecordEntry(updated.getRid());
-        if (rop != null) {
-          if (updated.getVersion() > rop.getRecord().getVersion() + 1)
-            // IN CASE OF REMOTE CONFLICT STRATEGY FORCE UNLOAD DUE TO INVALID CONTENT
-            rop.getRecord().unload();
-          ORecordInternal.setVersion(rop.getRecord(), updated.getVersion());
-        }
-      }
-      updateCollectionsFromChanges(((OTransactionOptimistic) iTx).getDatabase().getSbTreeCollectionManager(),
-          response.getCollectionChanges());
-      // SET ALL THE RECORDS AS UNDIRTY
-      for (ORecordOperation txEntry : iTx.getRecordOperations())
-        ORecordInternal.unsetDirty(txEntry.getRecord());
-
-      // UPDATE THE CACHE ONLY IF THE ITERATOR ALLOWS IT.
-      OTransactionAbstract.updateCacheFromEntries(iTx.getDatabase(), iTx.getRecordOperations(), true);
+      commitCompleted(iTx, response);
     } finally {
       unstickToSession();
     }
     return null;
   }
 
+  /**
+   * Sends the commit of a transaction without waiting for its response, that has to be applied to the transaction with
+   * {@link #commitCompleted(OTransactionInternal, OCommit37Response)}.
+   */
+  public CompletableFuture<OCommit37Response> commitAsync(final OTransactionInternal iTx) {
+    OCommit37Request request = new OCommit37Request(iTx.getId(), true, iTx.isUsingLog(), iTx.getRecordOperations(),
+        iTx.getIndexOperations());
+    return networkOperationAsyncNoRetry(request, "Error on commit");
+  }
+
+  /**
+   * Updates the records of a transaction with the ids and the versions assigned by the server on commit.
+   */
+  public void commitCompleted(final OTransactionInternal iTx, final OCommit37Response response) {
+    for (OCommit37Response.OCreatedRecordResponse created : response.getCreated()) {
+      iTx.updateIdentityAfterCommit(created.getCurrentRid(), created.getCreatedRid());
+      ORecordOperation rop = iTx.getRecordEntry(created.getCurrentRid());
+      if (rop != null) {
+        if (created.getVersion() > rop.getRecord().getVersion() + 1)
+          // IN CASE OF REMOTE CONFLICT STRATEGY FORCE UNLOAD DUE TO INVALID CONTENT
+          rop.getRecord().unload();
+        ORecordInternal.setVersion(rop.getRecord(), created.getVersion());
+      }
+    }
+    for (OCommit37Response.OUpdatedRecordResponse updated : response.getUpdated()) {
+      ORecordOperation rop = iTx.getRecordEntry(updated.getRid());
+      if (rop != null) {
+        if (updated.getVersion() > rop.getRecord().getVersion() + 1)
+          // IN CASE OF REMOTE CONFLICT STRATEGY FORCE UNLOAD DUE TO INVALID CONTENT
+          rop.getRecord().unload();
+        ORecordInternal.setVersion(rop.getRecord(), updated.getVersion());
+      }
+    }
+    updateCollectionsFromChanges(((OTransactionOptimistic) iTx).getDatabase().getSbTreeCollectionManager(),
+        response.getCollectionChanges());
+    // SET ALL THE RECORDS AS UNDIRTY
+    for (ORecordOperation txEntry : iTx.getRecordOperations()) {
+      ORecordInternal.unsetDirty(txEntry.getRecord());
+      invalidateCachedRecord(txEntry.getRID());
+    }
+
+    // UPDATE THE CACHE ONLY IF THE ITERATOR ALLOWS IT.
+    OTransactionAbstract.updateCacheFromEntries(iTx.getDatabase(), iTx.getRecordOperations(), true);
+  }
+
   public void rollback(OTransactionInternal iTx) {
     try {
       if (((OTransactionOptimistic) iTx).isAlreadyCleared()) {
@@ -1271,10 +1621,9 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
           } else {
             OReopenRequest request = new OReopenRequest();
 
+            final int requestId;
             try {
-              network.writeByte(request.getCommand());
-              network.writeInt(nodeSession.getSessionId());
-              network.writeBytes(nodeSession.getToken());
+              requestId = network.beginRequest(request.getCommand(), nodeSession.getSessionId(), nodeSession.getToken());
               request.write(network, session);
             } finally {
               endRequest(network);
@@ -1282,7 +1631,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
 
             OReopenResponse response = request.createResponse();
             try {
-              byte[] newToken = network.beginResponse(nodeSession.getSessionId(), true);
+              byte[] newToken = network.beginResponse(nodeSession.getSessionId(), requestId, true);
               response.read(network, session);
               if (newToken != null && newToken.length > 0) {
                 nodeSession.setSession(response.getSessionId(), newToken);
@@ -1366,10 +1715,9 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     OStorageRemoteSession session = getCurrentSession();
     OStorageRemoteNodeSession nodeSession = session.getOrCreateServerSession(network.getServerURL());
     OOpen37Request request = new OOpen37Request(name, session.connectionUserName, session.connectionUserPassword);
+    final int requestId;
     try {
-      network.writeByte(request.getCommand());
-      network.writeInt(nodeSession.getSessionId());
-      network.writeBytes(null);
+      requestId = network.beginRequest(request.getCommand(), nodeSession.getSessionId(), null);
       request.write(network, session);
     } finally {
       endRequest(network);
@@ -1377,7 +1725,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     final int sessionId;
     OOpen37Response response = request.createResponse();
     try {
-      network.beginResponse(nodeSession.getSessionId(), true);
+      network.beginResponse(nodeSession.getSessionId(), requestId, true);
       response.read(network, session);
     } finally {
       endResponse(network);
@@ -1423,6 +1771,8 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
           subscribeIndexManager(session);
           subscribeFunctions(session);
           subscribeSequences(session);
+          if (recordCache != null)
+            subscribeRecordInvalidation(session);
         }
       } finally {
         stateLock.releaseWriteLock();
@@ -1454,6 +1804,30 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     pushThread.subscribe(new OSubscribeIndexManagerRequest(), nodeSession);
   }
 
+  private void subscribeRecordInvalidation(OStorageRemoteSession nodeSession) {
+    OSubscribeRecordInvalidationResponse response = pushThread.subscribe(new OSubscribeRecordInvalidationRequest(), nodeSession);
+    // WITHOUT THE INVALIDATIONS THE CACHED RECORDS WOULD NEVER BE REFRESHED BEFORE THEIR MAXIMUM AGE
+    final boolean subscribed = response != null && response.isSubscribed();
+    if (!subscribed)
+      OLogManager.instance().warn(this, "The server cannot push the invalidation of the records, the near cache is disabled");
+    recordCache.setEnabled(subscribed);
+  }
+
+  /**
+   * Removes the record from the near cache, if any, before it is changed by this client.
+   */
+  private void invalidateCachedRecord(ORID rid) {
+    if (recordCache != null && rid != null)
+      recordCache.invalidate(rid);
+  }
+
+  /**
+   * @return the near cache of the records, null if disabled with {@link OGlobalConfiguration#CLIENT_NEAR_CACHE_SIZE}
+   */
+  public ORemoteRecordCache getRecordCache() {
+    return recordCache;
+  }
+
   protected void openRemoteDatabase(String currentURL) {
     do {
       do {
@@ -1672,6 +2046,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     }
     switch (strategy) {
     case STICKY:
+    case BALANCED_READS:
       url = session != null ? session.getServerUrl() : null;
       if (url == null)
         url = getServerURFromList(false, session);
@@ -1738,10 +2113,25 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
   }
 
   public OChannelBinaryAsynchClient getNetwork(final String iCurrentURL) {
+    return getNetwork(iCurrentURL, false);
+  }
+
+  /**
+   * Acquires a channel that is not shared with the other requesters also when the multiplexing is enabled, because the push
+   * messages are read from it by the push thread.
+   */
+  @Override
+  public OChannelBinaryAsynchClient getPushNetwork(final String iCurrentURL) {
+    return getNetwork(iCurrentURL, true);
+  }
+
+  private OChannelBinaryAsynchClient getNetwork(final String iCurrentURL, final boolean exclusive) {
     OChannelBinaryAsynchClient network;
     do {
       try {
-        network = connectionManager.acquire(iCurrentURL, clientConfiguration);
+        network = exclusive ?
+            connectionManager.acquireExclusive(iCurrentURL, clientConfiguration) :
+            connectionManager.acquire(iCurrentURL, clientConfiguration);
       } catch (OIOException cause) {
         throw cause;
       } catch (Exception cause) {
@@ -1759,8 +2149,16 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
   }
 
   public void beginResponse(OChannelBinaryAsynchClient iNetwork, OStorageRemoteSession session) throws IOException {
+    beginResponse(iNetwork, session, 0);
+  }
+
+  /**
+   * @param requestId the id returned by {@link OChannelBinaryAsynchClient#beginRequest(byte, OStorageRemoteSession)}
+   */
+  public void beginResponse(OChannelBinaryAsynchClient iNetwork, OStorageRemoteSession session, int requestId)
+      throws IOException {
     OStorageRemoteNodeSession nodeSession = session.getServerSession(iNetwork.getServerURL());
-    byte[] newToken = iNetwork.beginResponse(nodeSession.getSessionId(), true);
+    byte[] newToken = iNetwork.beginResponse(nodeSession.getSessionId(), requestId, true);
     if (newToken != null && newToken.length > 0) {
       nodeSession.setSession(nodeSession.getSessionId(), newToken);
     }
@@ -1938,6 +2336,8 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       return new OPushFunctionsRequest();
     case OChannelBinaryProtocol.REQUEST_PUSH_SEQUENCES:
       return new OPushSequencesRequest();
+    case OChannelBinaryProtocol.REQUEST_PUSH_RECORD_INVALIDATION:
+      return new OPushRecordInvalidationRequest();
 
     }
     return null;
@@ -1961,6 +2361,15 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     return null;
   }
 
+  @Override
+  public OBinaryPushResponse executeInvalidateRecords(OPushRecordInvalidationRequest request) {
+    if (recordCache != null) {
+      for (ORID rid : request.getRids())
+        recordCache.invalidate(rid);
+    }
+    return null;
+  }
+
   @Override
   public OBinaryPushResponse executeUpdateStorageConfig(OPushStorageConfigurationRequest payload) {
     final OStorageConfiguration storageConfiguration = new OStorageConfigurationRemote(
@@ -2046,6 +2455,8 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (aValidSession != null) {
       subscribeDistributedConfiguration(aValidSession);
       subscribeStorageConfiguration(aValidSession);
+      if (recordCache != null)
+        subscribeRecordInvalidation(aValidSession);
     } else {
       OLogManager.instance().warn(this,
           "Cannot find a valid session for subscribe for event to host '%s' forward the subscribe for the next session open ",
@@ -2065,6 +2476,9 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
   @Override
   public void onPushDisconnect(OChannelBinary network, Exception e) {
     this.connectionManager.remove((OChannelBinaryAsynchClient) network);
+    if (recordCache != null)
+      // THE INVALIDATIONS PUSHED UNTIL THE RECONNECTION ARE LOST, THE CACHE IS ENABLED AGAIN BY THE NEW SUBSCRIPTION
+      recordCache.setEnabled(false);
     if (e instanceof InterruptedException) {
       for (OLiveQueryClientListener liveListener : liveQueryListener.values()) {
         liveListener.onEnd();
@@ -7,6 +7,8 @@ public class OStorageRemoteNodeSession {
   private final String serverURL;
   private Integer sessionId = -1;
   private byte[]  token     = null;
+  // THE LAST CONSISTENCY TOKEN OF THE SESSION APPLIED BY THE SERVER
+  byte[] consistencyToken;
 
   public OStorageRemoteNodeSession(String serverURL, Integer uniqueClientSessionId) {
     this.serverURL = serverURL;
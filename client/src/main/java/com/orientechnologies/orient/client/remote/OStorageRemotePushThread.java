@@ -26,7 +26,7 @@ public class OStorageRemotePushThread extends Thread {
   public OStorageRemotePushThread(ORemotePushHandler storage, String host, int retryDelay) {
     this.pushHandler = storage;
     this.host = host;
-    network = storage.getNetwork(this.host);
+    network = storage.getPushNetwork(this.host);
     this.retryDelay = retryDelay;
   }
 
@@ -73,7 +73,7 @@ public class OStorageRemotePushThread extends Thread {
           if (!currentThread().isInterrupted()) {
             try {
               synchronized (this) {
-                network = pushHandler.getNetwork(this.host);
+                network = pushHandler.getPushNetwork(this.host);
               }
               pushHandler.onPushReconnect(this.host);
               break;
@@ -31,7 +31,13 @@ public class OStorageRemoteSession {
   int                                    serverURLIndex         = -1;
   String                                 connectionUserName     = null;
   String                                 connectionUserPassword = null;
-  Map<String, OStorageRemoteNodeSession> sessions               = new HashMap<String, OStorageRemoteNodeSession>();
+  // THE FIRST SERVER IS THE ONE THE SESSION STICKS TO
+  Map<String, OStorageRemoteNodeSession> sessions               = new LinkedHashMap<String, OStorageRemoteNodeSession>();
+  /**
+   * The token of the writes of the session, used to read them on the other servers. Expired after every request that can write.
+   */
+  byte[]                                 consistencyToken;
+  boolean                                consistencyTokenExpired;
 
   private Set<OChannelBinary> connections = Collections.newSetFromMap(new WeakHashMap<OChannelBinary, Boolean>());
   private final int uniqueClientSessionId;
@@ -73,7 +79,9 @@ public class OStorageRemoteSession {
     commandExecuting = false;
     serverURLIndex = -1;
     connections = new HashSet<OChannelBinary>();
-    sessions = new HashMap<String, OStorageRemoteNodeSession>();
+    sessions = new LinkedHashMap<String, OStorageRemoteNodeSession>();
+    consistencyToken = null;
+    consistencyTokenExpired = false;
     closed = true;
   }
 
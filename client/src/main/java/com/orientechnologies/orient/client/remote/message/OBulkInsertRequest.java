@@ -0,0 +1,106 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.binary.OBinaryRequestExecutor;
+import com.orientechnologies.orient.client.remote.OBinaryRequest;
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.record.ORecord;
+import com.orientechnologies.orient.core.record.ORecordInternal;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerNetworkV37;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of new records of a bulk insert, inserted by the server as a single atomic operation. The client can send the next
+ * batches before the {@link OBulkInsertResponse} of this one.
+ */
+public final class OBulkInsertRequest implements OBinaryRequest<OBulkInsertResponse> {
+
+  private ORecordSerializerNetworkV37 serializer = ORecordSerializerNetworkV37.INSTANCE;
+  private String        clusterName;
+  private List<ORecord> records;
+
+  public OBulkInsertRequest(String clusterName, List<ORecord> records) {
+    this.clusterName = clusterName;
+    this.records = records;
+  }
+
+  public OBulkInsertRequest() {
+  }
+
+  @Override
+  public void write(OChannelDataOutput network, OStorageRemoteSession session) throws IOException {
+    network.writeString(clusterName);
+    network.writeInt(records.size());
+    for (ORecord record : records) {
+      network.writeByte(ORecordInternal.getRecordType(record));
+      network.writeBytes(serializer.toStream(record, false));
+    }
+  }
+
+  @Override
+  public void read(OChannelDataInput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+    clusterName = channel.readString();
+    final int size = channel.readInt();
+    records = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final ORecord record = Orient.instance().getRecordFactoryManager().newInstance(channel.readByte());
+      serializer.fromStream(channel.readBytes(), record, null);
+      records.add(record);
+    }
+  }
+
+  @Override
+  public byte getCommand() {
+    return OChannelBinaryProtocol.REQUEST_BULK_INSERT;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Bulk insert";
+  }
+
+  @Override
+  public OBulkInsertResponse createResponse() {
+    return new OBulkInsertResponse();
+  }
+
+  @Override
+  public OBinaryResponse execute(OBinaryRequestExecutor executor) {
+    return executor.executeBulkInsert(this);
+  }
+
+  public String getClusterName() {
+    return clusterName;
+  }
+
+  public List<ORecord> getRecords() {
+    return records;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The identities and versions of the records of a {@link OBulkInsertRequest}, in the order of the request.
+ */
+public final class OBulkInsertResponse implements OBinaryResponse {
+
+  private List<ORecordId> identities;
+  private List<Integer>   versions;
+
+  public OBulkInsertResponse(List<ORecordId> identities, List<Integer> versions) {
+    this.identities = identities;
+    this.versions = versions;
+  }
+
+  public OBulkInsertResponse() {
+  }
+
+  @Override
+  public void write(OChannelDataOutput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+    channel.writeInt(identities.size());
+    for (int i = 0; i < identities.size(); i++) {
+      channel.writeRID(identities.get(i));
+      channel.writeVersion(versions.get(i));
+    }
+  }
+
+  @Override
+  public void read(OChannelDataInput network, OStorageRemoteSession session) throws IOException {
+    final int size = network.readInt();
+    identities = new ArrayList<>(size);
+    versions = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      identities.add(network.readRID());
+      versions.add(network.readVersion());
+    }
+  }
+
+  public List<ORecordId> getIdentities() {
+    return identities;
+  }
+
+  public List<Integer> getVersions() {
+    return versions;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.binary.OBinaryRequestExecutor;
+import com.orientechnologies.orient.client.remote.OBinaryRequest;
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Exchanges the consistency token of the session with a server: the server waits up to <code>timeout</code> ms to apply the writes
+ * of the token (if any) and answers with the token of the writes the session executed or has seen on it.
+ */
+public final class OConsistencyTokenRequest implements OBinaryRequest<OConsistencyTokenResponse> {
+
+  private byte[] token;
+  private int    timeout;
+
+  public OConsistencyTokenRequest(byte[] token, int timeout) {
+    this.token = token;
+    this.timeout = timeout;
+  }
+
+  public OConsistencyTokenRequest() {
+  }
+
+  @Override
+  public void write(OChannelDataOutput network, OStorageRemoteSession session) throws IOException {
+    network.writeBytes(token);
+    network.writeInt(timeout);
+  }
+
+  @Override
+  public void read(OChannelDataInput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+    token = channel.readBytes();
+    timeout = channel.readInt();
+  }
+
+  @Override
+  public byte getCommand() {
+    return OChannelBinaryProtocol.REQUEST_DB_CONSISTENCY_TOKEN;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Consistency Token";
+  }
+
+  @Override
+  public OConsistencyTokenResponse createResponse() {
+    return new OConsistencyTokenResponse();
+  }
+
+  @Override
+  public OBinaryResponse execute(OBinaryRequestExecutor executor) {
+    return executor.executeConsistencyToken(this);
+  }
+
+  public byte[] getToken() {
+    return token;
+  }
+
+  public int getTimeout() {
+    return timeout;
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+
+/**
+ * The answer to a {@link OConsistencyTokenRequest}.
+ */
+public final class OConsistencyTokenResponse implements OBinaryResponse {
+
+  private boolean applied;
+  private byte[]  token;
+
+  public OConsistencyTokenResponse(boolean applied, byte[] token) {
+    this.applied = applied;
+    this.token = token;
+  }
+
+  public OConsistencyTokenResponse() {
+  }
+
+  @Override
+  public void write(OChannelDataOutput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+    channel.writeBoolean(applied);
+    channel.writeBytes(token);
+  }
+
+  @Override
+  public void read(OChannelDataInput network, OStorageRemoteSession session) throws IOException {
+    applied = network.readBoolean();
+    token = network.readBytes();
+  }
+
+  /**
+   * @return true if the writes of the token sent with the request are applied on the server
+   */
+  public boolean isApplied() {
+    return applied;
+  }
+
+  /**
+   * @return the token of the session on the server, null if the server does not need one
+   */
+  public byte[] getToken() {
+    return token;
+  }
+}
@@ -0,0 +1,63 @@
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.remote.ORemotePushHandler;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The records updated or deleted on the server since the previous invalidation, the clients drop them from their record cache.
+ */
+public class OPushRecordInvalidationRequest implements OBinaryPushRequest<OBinaryPushResponse> {
+
+  private List<ORID> rids;
+
+  public OPushRecordInvalidationRequest(Collection<ORID> rids) {
+    this.rids = new ArrayList<>(rids);
+  }
+
+  public OPushRecordInvalidationRequest() {
+  }
+
+  @Override
+  public void write(OChannelDataOutput channel) throws IOException {
+    channel.writeInt(rids.size());
+    for (ORID rid : rids) {
+      channel.writeRID(rid);
+    }
+  }
+
+  @Override
+  public void read(OChannelDataInput network) throws IOException {
+    int size = network.readInt();
+    rids = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      rids.add(network.readRID());
+    }
+  }
+
+  @Override
+  public OBinaryPushResponse execute(ORemotePushHandler pushHandler) {
+    return pushHandler.executeInvalidateRecords(this);
+  }
+
+  @Override
+  public OBinaryPushResponse createResponse() {
+    return null;
+  }
+
+  @Override
+  public byte getPushCommand() {
+    return OChannelBinaryProtocol.REQUEST_PUSH_RECORD_INVALIDATION;
+  }
+
+  public List<ORID> getRids() {
+    return rids;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.binary.OBinaryRequestExecutor;
+import com.orientechnologies.orient.client.remote.OBinaryRequest;
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Asks the server to push the remaining pages of a query, each one as a {@link OQueryResponse} with the id of this request, as
+ * long as the client has credit: the server sends up to <code>credit</code> pages, then waits for the client to grant more
+ * credit with a {@link OChannelBinaryProtocol#REQUEST_QUERY_CREDIT} message (a negative credit stops the stream). The last page
+ * has no next page.
+ * <p>
+ * Supported only by multiplexed connections, where the pages of the stream can be interleaved with the responses of the other
+ * requests; on other connections the request is executed as a {@link OQueryNextPageRequest}.
+ */
+public final class OQueryStreamRequest implements OBinaryRequest<OQueryResponse> {
+
+  private String queryId;
+  private int    recordsPerPage;
+  private int    credit;
+
+  public OQueryStreamRequest(String queryId, int recordsPerPage, int credit) {
+    this.queryId = queryId;
+    this.recordsPerPage = recordsPerPage;
+    this.credit = credit;
+  }
+
+  public OQueryStreamRequest() {
+  }
+
+  @Override
+  public void write(OChannelDataOutput network, OStorageRemoteSession session) throws IOException {
+    network.writeString(queryId);
+    network.writeInt(recordsPerPage);
+    network.writeInt(credit);
+  }
+
+  public void read(OChannelDataInput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+    this.queryId = channel.readString();
+    this.recordsPerPage = channel.readInt();
+    this.credit = channel.readInt();
+  }
+
+  @Override
+  public byte getCommand() {
+    return OChannelBinaryProtocol.REQUEST_QUERY_STREAM;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Stream remote query";
+  }
+
+  @Override
+  public OQueryResponse createResponse() {
+    return new OQueryResponse();
+  }
+
+  @Override
+  public OBinaryResponse execute(OBinaryRequestExecutor executor) {
+    return executor.executeQueryNextPage(toNextPageRequest());
+  }
+
+  /**
+   * @return the request of the next page of the stream
+   */
+  public OQueryNextPageRequest toNextPageRequest() {
+    return new OQueryNextPageRequest(queryId, recordsPerPage);
+  }
+
+  public String getQueryId() {
+    return queryId;
+  }
+
+  public int getRecordsPerPage() {
+    return recordsPerPage;
+  }
+
+  public int getCredit() {
+    return credit;
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.common.concur.lock.OInterruptedException;
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.common.io.OIOException;
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.client.binary.OAsynchResponseHandler;
+import com.orientechnologies.orient.client.binary.OChannelBinaryAsynchClient;
+import com.orientechnologies.orient.client.remote.OStorageRemote;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The pages of a query pushed by the server after a {@link OQueryStreamRequest}. They are read by the response reader thread of
+ * the channel and queued until the result set consumes them; every half window of consumed pages is given back to the server as
+ * credit, so the server never gets more than a window ahead of the client.
+ */
+public class ORemoteQueryStream implements OAsynchResponseHandler {
+
+  private final OStorageRemote             storage;
+  private final OChannelBinaryAsynchClient network;
+  private final OStorageRemoteSession      session;
+  private final String                     queryId;
+  private final int                        window;
+  private final BlockingQueue<Object>      pages = new LinkedBlockingQueue<Object>();
+  private       int                        requestId;
+  private       int                        consumed;
+  private       OQueryResponse             lastRead;
+  private volatile boolean                 ended;
+
+  public ORemoteQueryStream(OStorageRemote storage, OChannelBinaryAsynchClient network, OStorageRemoteSession session,
+      String queryId, int window) {
+    this.storage = storage;
+    this.network = network;
+    this.session = session;
+    this.queryId = queryId;
+    this.window = window;
+  }
+
+  /**
+   * Starts reading the pages of the stream.
+   *
+   * @param requestId the id of the {@link OQueryStreamRequest}
+   */
+  public void start(int requestId) {
+    this.requestId = requestId;
+    network.readResponseAsynch(requestId, this);
+  }
+
+  @Override
+  public void read(OChannelBinaryAsynchClient network) throws IOException {
+    OQueryResponse page = new OQueryResponse();
+    try {
+      storage.beginResponse(network, session, requestId);
+      page.read(network, session);
+    } finally {
+      storage.endResponse(network);
+    }
+    lastRead = page;
+    pages.add(page);
+  }
+
+  @Override
+  public void completed(Throwable error) {
+    if (error != null) {
+      ended = true;
+      if (error instanceof IOException)
+        error = OException.wrapException(new OIOException("Error on reading the pages of query " + queryId), error);
+      pages.add(error);
+    } else if (lastRead.isHasNextPage())
+      // WAIT FOR THE NEXT PAGE
+      network.readResponseAsynch(requestId, this);
+    else
+      ended = true;
+  }
+
+  /**
+   * Waits for the next page pushed by the server.
+   */
+  public OQueryResponse nextPage() {
+    final Object page;
+    try {
+      page = pages.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw OException.wrapException(new OInterruptedException("Interrupted on waiting the next page of query " + queryId), e);
+    }
+    if (page instanceof RuntimeException) {
+      // THE STREAM IS BROKEN: FAIL ALSO THE NEXT CALLS
+      pages.add(page);
+      throw (RuntimeException) page;
+    }
+
+    final OQueryResponse response = (OQueryResponse) page;
+    if (response.isHasNextPage() && ++consumed >= Math.max(1, window / 2)) {
+      sendCredit(consumed);
+      consumed = 0;
+    }
+    return response;
+  }
+
+  /**
+   * Stops the stream, the server closes the query.
+   */
+  public void cancel() {
+    if (ended)
+      return;
+    try {
+      sendCredit(-1);
+    } catch (OIOException e) {
+      OLogManager.instance().debug(this, "Error on stopping the stream of query %s", e, queryId);
+    }
+  }
+
+  public boolean isEnded() {
+    return ended;
+  }
+
+  private void sendCredit(int credit) {
+    try {
+      network.acquireWriteLock();
+      try {
+        network.writeByte(OChannelBinaryProtocol.REQUEST_QUERY_CREDIT);
+        network.writeString(queryId);
+        network.writeInt(credit);
+        network.flush();
+      } finally {
+        network.releaseWriteLock();
+      }
+    } catch (IOException e) {
+      throw OException.wrapException(new OIOException("Error on sending the credit of query " + queryId), e);
+    }
+  }
+}
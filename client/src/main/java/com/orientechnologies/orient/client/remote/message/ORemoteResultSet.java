@@ -22,6 +22,9 @@ public class ORemoteResultSet implements OResultSet {
   private       Optional<OExecutionPlan> executionPlan;
   private       Map<String, Long>        queryStats;
   private       boolean                  hasNextPage;
+  // THE NEXT PAGES PUSHED BY THE SERVER, NULL IF THEY ARE FETCHED ONE BY ONE
+  private       ORemoteQueryStream       stream;
+  private       boolean                  streamRequested;
 
   public ORemoteResultSet(ODatabaseDocumentRemote db, String queryId, List<OResultInternal> currentPage,
       Optional<OExecutionPlan> executionPlan, Map<String, Long> queryStats, boolean hasNextPage) {
@@ -50,7 +53,12 @@ public class ORemoteResultSet implements OResultSet {
   }
 
   private void fetchNextPage() {
-    db.fetchNextPage(this);
+    if (stream == null) {
+      db.fetchNextPage(this);
+      return;
+    }
+    OQueryResponse page = stream.nextPage();
+    fetched(page.getResult(), page.isHasNextPage(), page.getExecutionPlan(), page.getQueryStats());
   }
 
   @Override
@@ -64,12 +72,20 @@ public class ORemoteResultSet implements OResultSet {
     if (currentPage.isEmpty()) {
       throw new IllegalStateException();
     }
+    if (!streamRequested && hasNextPage) {
+      // THE SERVER PRODUCES THE NEXT PAGES WHILE THIS ONE IS CONSUMED
+      streamRequested = true;
+      stream = db.streamQuery(this);
+    }
     return currentPage.remove(0);
   }
 
   @Override
   public void close() {
-    db.closeQuery(queryId);
+    if (stream != null && !stream.isEnded())
+      db.cancelQueryStream(stream);
+    else
+      db.closeQuery(queryId);
   }
 
   @Override
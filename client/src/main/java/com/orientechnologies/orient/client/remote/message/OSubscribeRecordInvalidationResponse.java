@@ -0,0 +1,38 @@
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+
+public class OSubscribeRecordInvalidationResponse implements OBinaryResponse {
+
+  private boolean subscribed;
+
+  public OSubscribeRecordInvalidationResponse() {
+  }
+
+  public OSubscribeRecordInvalidationResponse(boolean subscribed) {
+    this.subscribed = subscribed;
+  }
+
+  @Override
+  public void write(OChannelDataOutput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+    channel.writeBoolean(subscribed);
+  }
+
+  @Override
+  public void read(OChannelDataInput network, OStorageRemoteSession session) throws IOException {
+    subscribed = network.readBoolean();
+  }
+
+  /**
+   * @return false if the server cannot push the invalidation of the records, so the near cache cannot be used
+   */
+  public boolean isSubscribed() {
+    return subscribed;
+  }
+}
@@ -26,6 +26,8 @@ import com.orientechnologies.orient.client.remote.OLiveQueryClientListener;
 import com.orientechnologies.orient.client.remote.ORemoteQueryResult;
 import com.orientechnologies.orient.client.remote.OStorageRemote;
 import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.client.remote.message.OCommit37Response;
+import com.orientechnologies.orient.client.remote.message.ORemoteQueryStream;
 import com.orientechnologies.orient.client.remote.message.ORemoteResultSet;
 import com.orientechnologies.orient.core.cache.OLocalRecordCache;
 import com.orientechnologies.orient.core.command.script.OCommandScriptException;
@@ -33,6 +35,8 @@ import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.*;
 import com.orientechnologies.orient.core.exception.OCommandExecutionException;
 import com.orientechnologies.orient.core.exception.ODatabaseException;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.index.OIndexManagerRemote;
 import com.orientechnologies.orient.core.metadata.OMetadataDefault;
 import com.orientechnologies.orient.core.metadata.schema.OSchemaRemote;
@@ -49,12 +53,16 @@ import com.orientechnologies.orient.core.sql.executor.OResultSet;
 import com.orientechnologies.orient.core.storage.OStorage;
 import com.orientechnologies.orient.core.storage.impl.local.OMicroTransaction;
 import com.orientechnologies.orient.core.tx.OTransaction;
+import com.orientechnologies.orient.core.tx.OTransactionInternal;
 import com.orientechnologies.orient.core.tx.OTransactionOptimistic;
 
 import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 /**
  * Created by tglman on 30/06/16.
@@ -65,6 +73,9 @@ public class ODatabaseDocumentRemote extends ODatabaseDocumentAbstract {
   private   OrientDBConfig        config;
   private   OStorageRemote        storage;
 
+  // SET WHILE THE RESPONSE OF AN ASYNCHRONOUS COMMIT IS APPLIED TO THE TRANSACTION
+  private CompletableFuture<OCommit37Response> asyncCommit;
+
   public ODatabaseDocumentRemote(final OStorageRemote storage) {
     activateOnCurrentThread();
 
@@ -339,6 +350,112 @@ public class ODatabaseDocumentRemote extends ODatabaseDocumentAbstract {
     return result.getResult();
   }
 
+  @Override
+  public CompletableFuture<OResultSet> queryAsync(String query, Object... args) {
+    checkOpenness();
+    if (currentTx.isActive())
+      // THE CHANGES OF THE TRANSACTION ARE SENT BEFORE THE QUERY
+      return super.queryAsync(query, args);
+
+    return storage.queryAsync(this, query, args).thenCompose(response -> {
+      OResultSet rs = executeActive(
+          () -> new ORemoteResultSet(this, response.getQueryId(), response.getResult(), response.getExecutionPlan(),
+              response.getQueryStats(), response.isHasNextPage()));
+      if (!response.isReloadMetadata())
+        return CompletableFuture.completedFuture(rs);
+
+      // RELOAD OUT OF THE RESPONSE READER, THAT HAS TO READ THE RESPONSE OF THE RELOAD TOO
+      return CompletableFuture.supplyAsync(() -> executeActive(() -> {
+        reload();
+        return rs;
+      }));
+    });
+  }
+
+  @Override
+  public OBulkInsert bulkInsert(String clusterName) {
+    checkOpenness();
+    checkIfActive();
+    if (currentTx.isActive())
+      throw new ODatabaseException("Cannot start a bulk insert inside a transaction");
+    return storage.bulkInsert(this, clusterName);
+  }
+
+  @Override
+  public <RET extends ORecord> CompletableFuture<RET> loadAsync(ORID recordId) {
+    checkOpenness();
+    checkIfActive();
+    if (currentTx.isActive() || !recordId.isPersistent() || getLocalCache().findRecord(recordId) != null)
+      return super.loadAsync(recordId);
+
+    // THE RECORD IS CREATED WITH THE USUAL READ, THAT GETS THE CONTENT ALREADY RECEIVED. IT RUNS OUT OF THE RESPONSE READER,
+    // BECAUSE HOOKS AND FETCH PLANS CAN SEND OTHER REQUESTS AND THE READER HAS TO READ THEIR RESPONSES
+    final ORecordId rid = (ORecordId) recordId;
+    return storage.readRecordAsync(rid, null, false).thenApplyAsync(buffer -> executeActive(
+        () -> executeReadRecord(rid, null, -1, null, false, true, false, OStorage.LOCKING_STRATEGY.DEFAULT,
+            (storage, id, fetchPlan, ignoreCache, version) -> buffer)));
+  }
+
+  @Override
+  public CompletableFuture<Void> commitAsync() {
+    checkOpenness();
+    checkIfActive();
+    if (!currentTx.isActive() || currentTx.amountOfNestedTxs() > 1 || browseListeners().iterator().hasNext())
+      return super.commitAsync();
+    final OTransactionOptimistic tx = (OTransactionOptimistic) currentTx;
+    if (tx.isAlreadyCleared() || (tx.getRecordOperations().isEmpty() && tx.getIndexOperations().isEmpty()))
+      // THE ROLLBACK OF A TRANSACTION BEGUN ON THE SERVER NEEDS A REQUEST
+      return super.commitAsync();
+
+    final CompletableFuture<OCommit37Response> response = storage.commitAsync(tx);
+    // THE RESPONSE (OR THE ERROR) IS APPLIED BY THE USUAL COMMIT, SEE internalCommit(). IT RUNS OUT OF THE RESPONSE READER,
+    // BECAUSE COMMIT HOOKS AND METADATA RELOADS CAN SEND OTHER REQUESTS AND THE READER HAS TO READ THEIR RESPONSES
+    return response.handleAsync((committed, error) -> executeActive(() -> {
+      asyncCommit = response;
+      try {
+        commit();
+      } finally {
+        asyncCommit = null;
+      }
+      return null;
+    }));
+  }
+
+  @Override
+  public void internalCommit(OTransactionInternal transaction) {
+    if (asyncCommit == null) {
+      super.internalCommit(transaction);
+      return;
+    }
+
+    try {
+      storage.commitCompleted(transaction, asyncCommit.join());
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      throw e;
+    } finally {
+      storage.unstickToSession();
+    }
+  }
+
+  /**
+   * Executes an operation with the session active on the current thread, used to complete the asynchronous operations in the
+   * thread that reads their response.
+   */
+  private <T> T executeActive(Supplier<T> operation) {
+    final ODatabaseDocumentInternal previous = ODatabaseRecordThreadLocal.instance().getIfDefined();
+    activateOnCurrentThread();
+    try {
+      return operation.get();
+    } finally {
+      if (previous != null)
+        ODatabaseRecordThreadLocal.instance().set(previous);
+      else
+        ODatabaseRecordThreadLocal.instance().remove();
+    }
+  }
+
   @Override
   public OResultSet query(String query, Map args) {
     checkOpenness();
@@ -414,6 +531,14 @@ public class ODatabaseDocumentRemote extends ODatabaseDocumentAbstract {
     storage.fetchNextPage(this, rs);
   }
 
+  public ORemoteQueryStream streamQuery(ORemoteResultSet rs) {
+    return storage.streamQuery(this, rs);
+  }
+
+  public void cancelQueryStream(ORemoteQueryStream stream) {
+    storage.cancelQueryStream(this, stream);
+  }
+
   @Override
   public OLiveQueryMonitor live(String query, OLiveQueryResultListener listener, Object... args) {
     return storage.liveQuery(this, query, new OLiveQueryClientListener(this.copy(), listener), args);
@@ -0,0 +1,76 @@
+package com.orientechnologies.orient.client.remote;
+
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.ORawBuffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ORemoteRecordCacheTest {
+
+  private ORemoteRecordCache cache;
+
+  @Before
+  public void before() {
+    cache = new ORemoteRecordCache(1024 * 1024, 60000);
+    cache.setEnabled(true);
+  }
+
+  @Test
+  public void testPutAndGet() {
+    ORecordId rid = new ORecordId(10, 1);
+    cache.put(rid, record(1), cache.getGeneration());
+    Assert.assertEquals(1, cache.get(rid).version);
+  }
+
+  @Test
+  public void testInvalidatedDuringTheRead() {
+    ORecordId rid = new ORecordId(10, 1);
+    ORecordId other = new ORecordId(10, 2);
+    long generation = cache.getGeneration();
+    // THE INVALIDATION IS PUSHED BEFORE THE RESPONSE OF THE READ
+    cache.invalidate(rid);
+    cache.put(rid, record(1), generation);
+    Assert.assertNull(cache.get(rid));
+
+    // THE INVALIDATION OF ANOTHER RECORD DOES NOT MATTER
+    cache.put(other, record(1), generation);
+    Assert.assertNotNull(cache.get(other));
+
+    // A READ STARTED AFTER THE INVALIDATION IS CACHED
+    cache.put(rid, record(2), cache.getGeneration());
+    Assert.assertEquals(2, cache.get(rid).version);
+  }
+
+  @Test
+  public void testForgottenInvalidations() {
+    ORecordId rid = new ORecordId(10, 1);
+    long generation = cache.getGeneration();
+    cache.invalidate(rid);
+    for (int i = 0; i < 20000; i++) {
+      cache.invalidate(new ORecordId(11, i));
+    }
+    cache.put(rid, record(1), generation);
+    Assert.assertNull(cache.get(rid));
+  }
+
+  @Test
+  public void testDisabled() {
+    ORecordId rid = new ORecordId(10, 1);
+    cache.setEnabled(false);
+    long generation = cache.getGeneration();
+    cache.put(rid, record(1), generation);
+    Assert.assertNull(cache.get(rid));
+
+    // THE READS SENT WHILE THE CACHE WAS DISABLED ARE NOT CACHED
+    cache.setEnabled(true);
+    cache.put(rid, record(1), generation);
+    Assert.assertNull(cache.get(rid));
+    Assert.assertEquals(0, cache.getRecords());
+  }
+
+  private static ORawBuffer record(int version) {
+    return new ORawBuffer(new byte[] { 1, 2, 3 }, version, ODocument.RECORD_TYPE);
+  }
+}
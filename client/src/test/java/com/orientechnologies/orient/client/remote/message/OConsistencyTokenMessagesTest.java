@@ -0,0 +1,47 @@
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class OConsistencyTokenMessagesTest {
+
+  @Test
+  public void testRequestWriteRead() throws IOException {
+    OConsistencyTokenRequest request = new OConsistencyTokenRequest(new byte[] { 1, 2, 3 }, 500);
+    MockChannel channel = new MockChannel();
+    request.write(channel, null);
+    channel.close();
+    OConsistencyTokenRequest readRequest = new OConsistencyTokenRequest();
+    readRequest.read(channel, 0, null);
+    assertArrayEquals(new byte[] { 1, 2, 3 }, readRequest.getToken());
+    assertEquals(500, readRequest.getTimeout());
+  }
+
+  @Test
+  public void testRequestWithoutToken() throws IOException {
+    OConsistencyTokenRequest request = new OConsistencyTokenRequest(null, 0);
+    MockChannel channel = new MockChannel();
+    request.write(channel, null);
+    channel.close();
+    OConsistencyTokenRequest readRequest = new OConsistencyTokenRequest();
+    readRequest.read(channel, 0, null);
+    assertNull(readRequest.getToken());
+    assertEquals(0, readRequest.getTimeout());
+  }
+
+  @Test
+  public void testResponseWriteRead() throws IOException {
+    OConsistencyTokenResponse response = new OConsistencyTokenResponse(false, new byte[] { 4, 5 });
+    MockChannel channel = new MockChannel();
+    response.write(channel, OChannelBinaryProtocol.CURRENT_PROTOCOL_VERSION, null);
+    channel.close();
+    OConsistencyTokenResponse readResponse = new OConsistencyTokenResponse();
+    readResponse.read(channel, null);
+    assertFalse(readResponse.isApplied());
+    assertArrayEquals(new byte[] { 4, 5 }, readResponse.getToken());
+  }
+}
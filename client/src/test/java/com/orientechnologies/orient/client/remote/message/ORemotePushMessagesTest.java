@@ -111,6 +111,20 @@ public class ORemotePushMessagesTest {
 
   }
 
+  @Test
+  public void testSubscribeRecordInvalidationResponse() throws IOException {
+    MockChannel channel = new MockChannel();
+
+    OSubscribeResponse response = new OSubscribeResponse(new OSubscribeRecordInvalidationResponse(true));
+    response.write(channel, 1, ORecordSerializerNetworkV37.INSTANCE);
+    channel.close();
+
+    OSubscribeResponse responseRead = new OSubscribeResponse(new OSubscribeRecordInvalidationResponse());
+    responseRead.read(channel, null);
+
+    assertTrue(((OSubscribeRecordInvalidationResponse) responseRead.getResponse()).isSubscribed());
+  }
+
   @Test
   public void testUnsubscribeRequest() throws IOException {
     MockChannel channel = new MockChannel();
@@ -0,0 +1,240 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+
+package com.orientechnologies.common.concur.lock;
+
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exclusive lock manager where every lock belongs to an owner for a limited time (lease): once the lease is expired the lock can
+ * be taken by another owner, so the locks of an owner that never unlocks, like a transaction whose coordinator crashed, are
+ * freed anyway. Before taking the lock, the {@link OExpiredLeaseListener} stops the previous owner, that must not use the lock
+ * anymore. The keys are partitioned by hash in stripes with their own monitor, so the owners locking different keys do not wait
+ * for each other. All the keys of an owner are locked in one call.
+ */
+public class OLeaseLockManager<T> {
+  private final Stripe<T>[]           stripes;
+  private final int                   mask;
+  private final long                  timeout;
+  private final long                  leaseTime;
+  private final OExpiredLeaseListener expiredLeaseListener;
+
+  /**
+   * Called when a lock is going to be taken from an owner whose lease is expired.
+   */
+  public interface OExpiredLeaseListener {
+    /**
+     * Stops the owner, that loses all its locks. It is called without holding any lock of the manager, so the owner can unlock
+     * its keys.
+     */
+    void onLeaseExpired(Object owner);
+  }
+
+  private static class OLease {
+    private final Object owner;
+    private final long   expiresOn;
+
+    private OLease(final Object owner, final long expiresOn) {
+      this.owner = owner;
+      this.expiresOn = expiresOn;
+    }
+
+    private boolean isHeldByOther(final Object iOwner, final long now) {
+      return expiresOn > now && !owner.equals(iOwner);
+    }
+  }
+
+  private static class Stripe<T> {
+    private final Lock           lock     = new ReentrantLock();
+    private final Condition      released = lock.newCondition();
+    private final Map<T, OLease> leases   = new HashMap<T, OLease>();
+  }
+
+  /**
+   * @param timeout   Maximum time in ms to wait for a lock
+   * @param leaseTime Time in ms a lock is held by its owner
+   */
+  public OLeaseLockManager(final long timeout, final long leaseTime) {
+    this(timeout, leaseTime, null);
+  }
+
+  /**
+   * @param timeout              Maximum time in ms to wait for a lock
+   * @param leaseTime            Time in ms a lock is held by its owner
+   * @param expiredLeaseListener Stops the owners whose lease is expired before their locks are taken, null to take the locks
+   *                             without notice
+   */
+  public OLeaseLockManager(final long timeout, final long leaseTime, final OExpiredLeaseListener expiredLeaseListener) {
+    this.timeout = timeout;
+    this.leaseTime = leaseTime;
+    this.expiredLeaseListener = expiredLeaseListener;
+
+    final int concurrencyLevel = OGlobalConfiguration.ENVIRONMENT_LOCK_MANAGER_CONCURRENCY_LEVEL.getValueAsInteger();
+    final int stripeCount = 1 << (32 - Integer.numberOfLeadingZeros(concurrencyLevel - 1));
+    this.mask = stripeCount - 1;
+
+    stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; ++i)
+      stripes[i] = new Stripe<T>();
+  }
+
+  /**
+   * Locks all the keys for the owner, or none of them if the timeout expires before. The keys already locked by the same owner
+   * get their lease renewed.
+   *
+   * @throws OLockException if the timeout expires
+   */
+  public void lock(final Collection<T> keys, final Object owner) {
+    final long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+
+    // stripes are always locked in the same order and the keys of a stripe all together, so owners cannot deadlock
+    final SortedMap<Integer, List<T>> keysByStripe = groupByStripe(keys);
+
+    final List<List<T>> locked = new ArrayList<List<T>>(keysByStripe.size());
+    try {
+      for (Map.Entry<Integer, List<T>> entry : keysByStripe.entrySet()) {
+        lockStripe(stripes[entry.getKey()], entry.getValue(), owner, deadline);
+        locked.add(entry.getValue());
+      }
+    } catch (RuntimeException e) {
+      for (List<T> stripeKeys : locked)
+        unlock(stripeKeys, owner);
+      throw e;
+    }
+  }
+
+  /**
+   * Unlocks the keys still locked by the owner. The keys whose lease has been taken by another owner are ignored.
+   */
+  public void unlock(final Collection<T> keys, final Object owner) {
+    for (Map.Entry<Integer, List<T>> entry : groupByStripe(keys).entrySet()) {
+      final Stripe<T> stripe = stripes[entry.getKey()];
+      stripe.lock.lock();
+      try {
+        for (T key : entry.getValue()) {
+          final OLease lease = stripe.leases.get(key);
+          if (lease != null && lease.owner.equals(owner))
+            stripe.leases.remove(key);
+        }
+        stripe.released.signalAll();
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of keys locked, including the ones with an expired lease not taken yet.
+   */
+  public int size() {
+    int total = 0;
+    for (Stripe<T> stripe : stripes) {
+      stripe.lock.lock();
+      try {
+        total += stripe.leases.size();
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+    return total;
+  }
+
+  private void lockStripe(final Stripe<T> stripe, final List<T> keys, final Object owner, final long deadline) {
+    stripe.lock.lock();
+    try {
+      final Set<Object> stoppedOwners = new HashSet<Object>();
+      long now = System.currentTimeMillis();
+      while (true) {
+        OLease busy = null;
+        T busyKey = null;
+        OLease expired = null;
+        for (T key : keys) {
+          final OLease lease = stripe.leases.get(key);
+          if (lease != null && lease.isHeldByOther(owner, now)) {
+            busy = lease;
+            busyKey = key;
+            break;
+          } else if (lease != null && expired == null && !lease.owner.equals(owner) && !stoppedOwners.contains(lease.owner))
+            expired = lease;
+        }
+
+        if (busy == null && expired != null && expiredLeaseListener != null) {
+          // the previous owner releases its locks while it is stopped, so the stripe cannot be locked meanwhile
+          stoppedOwners.add(expired.owner);
+          stripe.lock.unlock();
+          try {
+            expiredLeaseListener.onLeaseExpired(expired.owner);
+          } finally {
+            stripe.lock.lock();
+          }
+          now = System.currentTimeMillis();
+          continue;
+        }
+
+        if (busy == null)
+          break;
+
+        if (now >= deadline)
+          throw new OLockException(String.format("Time out acquire lock for resource: '%s' ", busyKey));
+
+        // wake up at the lease expiration too, because no unlock could ever come
+        stripe.released.await(Math.min(deadline, busy.expiresOn) - now, TimeUnit.MILLISECONDS);
+        now = System.currentTimeMillis();
+      }
+
+      final long expiresOn = now + leaseTime;
+      for (T key : keys) {
+        final OLease previous = stripe.leases.put(key, new OLease(owner, expiresOn));
+        if (previous != null && !previous.owner.equals(owner))
+          OLogManager.instance()
+              .warn(this, "Lock on resource '%s' taken by %s after the expiration of the lease of %s", key, owner,
+                  previous.owner);
+      }
+
+    } catch (InterruptedException e) {
+      throw OException.wrapException(new OInterruptedException("Interrupted Lock"), e);
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  private SortedMap<Integer, List<T>> groupByStripe(final Collection<T> keys) {
+    final SortedMap<Integer, List<T>> keysByStripe = new TreeMap<Integer, List<T>>();
+    for (T key : keys) {
+      final int index = key != null ? OPartitionedLockManager.shuffleHashCode(key.hashCode()) & mask : 0;
+
+      List<T> stripeKeys = keysByStripe.get(index);
+      if (stripeKeys == null) {
+        stripeKeys = new ArrayList<T>();
+        keysByStripe.put(index, stripeKeys);
+      }
+      stripeKeys.add(key);
+    }
+    return keysByStripe;
+  }
+}
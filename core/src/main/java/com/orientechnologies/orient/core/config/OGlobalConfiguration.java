@@ -458,6 +458,26 @@ public enum OGlobalConfiguration {
   NETWORK_MAX_CONCURRENT_SESSIONS("network.maxConcurrentSessions", "Maximum number of concurrent sessions", Integer.class, 1000,
       true),
 
+  NETWORK_MAX_CONCURRENT_REQUESTS("network.maxConcurrentRequests",
+      "Maximum number of client requests executed by the server at the same time, the others wait in a fair queue. 0 means unlimited",
+      Integer.class, 0),
+
+  NETWORK_MAX_CONCURRENT_REQUESTS_PER_USER("network.maxConcurrentRequestsPerUser",
+      "Maximum number of client requests of the same user executed by the server at the same time. 0 means unlimited", Integer.class,
+      0),
+
+  NETWORK_MAX_CONCURRENT_REQUESTS_PER_DATABASE("network.maxConcurrentRequestsPerDatabase",
+      "Maximum number of client requests on the same database executed by the server at the same time. 0 means unlimited",
+      Integer.class, 0),
+
+  NETWORK_REQUEST_BATCH_COST("network.requestBatchCost",
+      "Cost of a batch request (commands, batch operations, bulk inserts) in the fair queue of the client requests, the other requests cost 1. The users that send many batch requests are served less often",
+      Integer.class, 8),
+
+  NETWORK_REQUEST_QUEUE_TIMEOUT("network.requestQueueTimeout",
+      "Maximum time (in ms) a client request waits in the queue before failing, see 'network.maxConcurrentRequests'",
+      Integer.class, 30000),
+
   NETWORK_SOCKET_BUFFER_SIZE("network.socketBufferSize", "TCP/IP Socket buffer size, if 0 use the OS default", Integer.class, 0,
       true),
 
@@ -493,6 +513,22 @@ public enum OGlobalConfiguration {
       "Set the minimum enabled binary protocol version and disable all backward compatible behaviour for version previous the one specified",
       Integer.class, 26, false),
 
+  NETWORK_BINARY_EVENT_LOOP("network.binary.eventLoop",
+      "Serves the binary connections with a selector and a pool of worker threads, instead of a thread per connection. Supported only by the default (not SSL) socket factory",
+      Boolean.class, false),
+
+  NETWORK_BINARY_WORKERS("network.binary.workers",
+      "Number of worker threads that execute the binary requests when 'network.binary.eventLoop' is enabled. 0 means a virtual thread per request, if supported by the JVM",
+      Integer.class, 64),
+
+  NETWORK_BINARY_MULTIPLEX_THREADS("network.binary.multiplexThreads",
+      "Maximum number of requests of a multiplexed binary connection (see 'client.channel.multiplexing') that are executed concurrently",
+      Integer.class, 8),
+
+  NETWORK_BINARY_COMPRESSION_THRESHOLD("network.binary.compressionThreshold",
+      "Minimum size in bytes of the payloads compressed on the binary connections where the compression is enabled (see 'client.channel.compression')",
+      Integer.class, 1024),
+
   NETWORK_BINARY_DEBUG("network.binary.debug", "Debug mode: print all data incoming on the binary channel", Boolean.class, false,
       true),
 
@@ -513,6 +549,18 @@ public enum OGlobalConfiguration {
 
   NETWORK_HTTP_STREAMING("network.http.streaming", "Enable Http chunked streaming for json responses", Boolean.class, false, true),
 
+  NETWORK_HTTP_EVENT_LOOP("network.http.eventLoop",
+      "Serves the HTTP connections with a selector and a pool of worker threads, instead of a thread per connection. Supported only by the default (not SSL) socket factory",
+      Boolean.class, false),
+
+  NETWORK_HTTP_WORKERS("network.http.workers",
+      "Number of worker threads that execute the HTTP requests when 'network.http.eventLoop' is enabled. 0 means a virtual thread per request, if supported by the JVM",
+      Integer.class, 64),
+
+  NETWORK_HTTP_STREAMING_BUFFER("network.http.streamingBuffer",
+      "Size in bytes of the chunks of the streamed HTTP responses (see 'network.http.streaming'), it bounds the memory used to send a response",
+      Integer.class, 8192, true),
+
   NETWORK_HTTP_CONTENT_CHARSET("network.http.charset", "Http response charset", String.class, "utf-8", true),
 
   NETWORK_HTTP_JSON_RESPONSE_ERROR("network.http.jsonResponseError", "Http response error in json", Boolean.class, true, true),
@@ -638,6 +686,11 @@ public enum OGlobalConfiguration {
   QUERY_REMOTE_RESULTSET_PAGE_SIZE("query.remoteResultSet.pageSize", "The size of a remote ResultSet page, ie. the number of records"
       + "that are fetched together during remote query execution. This has to be set on the client.", Integer.class, 100),
 
+  QUERY_REMOTE_RESULTSET_STREAM_WINDOW("query.remoteResultSet.streamWindow",
+      "The number of pages of a remote ResultSet that the server pushes without waiting for the client to consume them, when the "
+          + "connection is multiplexed (see client.channel.multiplexing). 0 disables the streaming, the pages are fetched one by one. "
+          + "This has to be set on the client.", Integer.class, 4),
+
   QUERY_PARALLEL_AUTO("query.parallelAuto", "Auto enable parallel query, if requirements are met", Boolean.class, false),
 
   QUERY_PARALLEL_MINIMUM_RECORDS("query.parallelMinimumRecords",
@@ -664,8 +717,20 @@ public enum OGlobalConfiguration {
 
   QUERY_LIVE_SUPPORT("query.live.support", "Enable/Disable the support of live query. (Use false to disable)", Boolean.class, true),
 
+  QUERY_LIVE_DISPATCH_THREADS("query.live.dispatchThreads",
+      "Number of threads that deliver the changes to the live query subscribers (the changes for a single subscriber are always delivered in order). 0 means that the changes are delivered by the live query queue thread",
+      Integer.class, 4),
+
   STATEMENT_CACHE_SIZE("statement.cacheSize", "Number of parsed SQL statements kept in cache", Integer.class, 100),
 
+  STATEMENT_PLAN_CACHE_SIZE("statement.planCacheSize",
+      "Number of SQL execution plans kept in cache, shared by all the sessions of a database. Zero means no cache", Integer.class,
+      300),
+
+  QUERY_COMPILE_FILTERS("query.compileFilters",
+      "Compile WHERE conditions to specialized predicates (with constant folding and fast comparisons) instead of interpreting the parsed statement for each record",
+      Boolean.class, true),
+
   // GRAPH
   SQL_GRAPH_CONSISTENCY_MODE("sql.graphConsistencyMode",
       "Consistency mode for graphs. It can be 'tx' (default), 'notx_sync_repair' and 'notx_async_repair'. "
@@ -680,6 +745,29 @@ public enum OGlobalConfiguration {
   CLIENT_CHANNEL_MAX_POOL("client.channel.maxPool",
       "Maximum size of pool of network channels between client and server. A channel is a TCP/IP connection", Integer.class, 100),
 
+  CLIENT_CHANNEL_MULTIPLEXING("client.channel.multiplexing",
+      "Sends the requests of all the sessions opened to a server on a single connection, where they are executed concurrently and answered out of order. Requires a server that supports the multiplexing",
+      Boolean.class, false),
+
+  CLIENT_CHANNEL_COMPRESSION("client.channel.compression",
+      "Compression of the payloads sent on the connections to the server, negotiated when the connection is opened: 'none' or 'deflate'. Requires a server that supports the compression",
+      String.class, "none"),
+
+  CLIENT_NEAR_CACHE_SIZE("client.nearCache.size",
+      "Maximum size in bytes of the documents cached by a remote storage, shared by all its sessions and invalidated by the server when the documents change. 0 disables the cache. The cache is used only if the server can push the invalidations, that needs the live query support",
+      Long.class, 0),
+
+  CLIENT_NEAR_CACHE_MAX_AGE("client.nearCache.maxAge",
+      "Maximum time in ms a document stays in the near cache of a remote storage (see 'client.nearCache.size'), it bounds the staleness of the documents whose invalidation is late or lost",
+      Integer.class, 60000),
+
+  CLIENT_BULK_INSERT_BATCH_SIZE("client.bulkInsert.batchSize",
+      "Number of records sent in every batch of a bulk insert, the server inserts each batch as an atomic operation", Integer.class,
+      1000),
+
+  CLIENT_BULK_INSERT_WINDOW("client.bulkInsert.window",
+      "Maximum number of batches of a remote bulk insert sent to the server and not acknowledged yet", Integer.class, 4),
+
   /**
    * Maximum time, where the client should wait for a connection from the pool, when all connections busy.
    */
@@ -750,6 +838,25 @@ public enum OGlobalConfiguration {
   DISTRIBUTED_DEPLOYDB_TASK_COMPRESSION("distributed.deployDbTaskCompression",
       "Compression level (between 0 and 9) to use in backup for database deployment", Integer.class, 7, true),
 
+  DISTRIBUTED_DEPLOYDB_PAGE_SYNC("distributed.deployDbPageSync",
+      "Align a database already present on the server by receiving only the pages that differ from the copy of another server, instead of the entire database. The changed files of the local copy are replaced only once all the pages are received, and the local copy is not moved to the backup directory. If the server stops while the files are replaced, the entire database is installed at the next start",
+      Boolean.class, false, true),
+
+  DISTRIBUTED_DEPLOYDB_PAGE_SYNC_BLOCK("distributed.deployDbPageSyncBlock",
+      "Number of pages compared with a single checksum when a database is aligned by pages", Integer.class, 16, true),
+
+  DISTRIBUTED_WAL_SHIPPING_INTERVAL("distributed.walShippingInterval",
+      "Time in ms a server with role WAL_REPLICA waits before asking a master again for its write ahead log, once it is aligned",
+      Long.class, 100, true),
+
+  DISTRIBUTED_WAL_SHIPPING_BATCH("distributed.walShippingBatch",
+      "Maximum number of write ahead log records a master sends to a server with role WAL_REPLICA in a single response",
+      Integer.class, 1000, true),
+
+  DISTRIBUTED_DEPLOYCHUNK_MAX_RETRIES("distributed.deployChunkMaxRetries",
+      "Maximum number of times a database chunk is asked again after an error, before the deployment of the database fails",
+      Integer.class, 10, true),
+
   DISTRIBUTED_ASYNCH_QUEUE_SIZE("distributed.asynchQueueSize",
       "Queue size to handle distributed asynchronous operations. The bigger is the queue, the more operation are buffered, but also more memory it's consumed. 0 = dynamic allocation, which means up to 2^31-1 entries",
       Integer.class, 0),
@@ -790,7 +897,10 @@ public enum OGlobalConfiguration {
   /**
    * @Since 2.2.6
    */
-  DISTRIBUTED_REQUEST_CHANNELS("distributed.requestChannels", "Number of network channels used to send requests", Integer.class, 1),
+  DISTRIBUTED_REQUEST_CHANNELS("distributed.requestChannels",
+      "Number of network channels used to send requests. The requests of the same partition always use the same channel, but with "
+          + "more than one channel the requests of different partitions (like the two phases of a transaction) can be received in a "
+          + "different order than they are sent", Integer.class, 1),
 
   /**
    * @Since 2.2.6
@@ -798,6 +908,20 @@ public enum OGlobalConfiguration {
   DISTRIBUTED_RESPONSE_CHANNELS("distributed.responseChannels", "Number of network channels used to send responses", Integer.class,
       1),
 
+  /**
+   * @Since 3.0
+   */
+  DISTRIBUTED_CHANNEL_BATCH_SIZE("distributed.channelBatchSize",
+      "Maximum number of requests and responses queued on a network channel that are sent to the other server in a single frame",
+      Integer.class, 64),
+
+  /**
+   * @Since 3.0
+   */
+  DISTRIBUTED_CONFLICT_AWARE_SCHEDULING("distributed.conflictAwareScheduling",
+      "Executes in parallel the replicated transactions that do not modify the same records, instead of serializing them on the worker threads of their clusters",
+      Boolean.class, true),
+
   /**
    * @Since 2.2.5
    */
@@ -817,6 +941,10 @@ public enum OGlobalConfiguration {
   DISTRIBUTED_CHECK_HEALTH_EVERY("distributed.checkHealthEvery", "Time in ms to check the cluster health. Set to 0 to disable it",
       Long.class, 10000l),
 
+  DISTRIBUTED_REBALANCE_OWNERSHIP_EVERY("distributed.rebalanceOwnershipEvery",
+      "Time in ms between two moves of the ownership of a cluster, to balance the write load between the master servers. "
+          + "Disabled by default (0): set it to an interval in ms, for example 30000, to enable it", Long.class, 0l),
+
   /**
    * Since 2.2.4
    */
@@ -912,9 +1040,16 @@ public enum OGlobalConfiguration {
       String.class, null),
 
   @OApi(maturity = OApi.MATURITY.NEW) CLIENT_CONNECTION_STRATEGY("client.connection.strategy",
-      "Strategy used for open connections from a client in case of multiple servers, possible options:STICKY, ROUND_ROBIN_CONNECT, ROUND_ROBIN_REQUEST",
+      "Strategy used for open connections from a client in case of multiple servers, possible options:STICKY, ROUND_ROBIN_CONNECT, ROUND_ROBIN_REQUEST, BALANCED_READS",
       String.class, null),
 
+  /**
+   * @Since 3.0
+   */
+  CLIENT_READ_CONSISTENCY_TIMEOUT("client.readConsistencyTimeout",
+      "With the BALANCED_READS connection strategy, maximum time in ms a server waits to apply the writes of the session before executing its reads. If the time is exceeded the reads are executed by the server that executed the writes",
+      Integer.class, 500),
+
   /**
    * @Since 2.2
    */
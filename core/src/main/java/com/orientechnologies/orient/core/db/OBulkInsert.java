@@ -0,0 +1,57 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.core.db;
+
+import com.orientechnologies.orient.core.record.ORecord;
+
+/**
+ * Inserts many new records in batches, each one saved as an atomic operation, without the round trip of a transaction per record.
+ * The records get their identity when their batch is acknowledged, at the latest on {@link #flush()} and {@link #close()}. They
+ * cannot link records that are not persistent yet. The session cannot be used for other operations until the bulk insert is
+ * closed.
+ *
+ * @see ODatabaseSession#bulkInsert(String)
+ */
+public interface OBulkInsert extends AutoCloseable {
+
+  /**
+   * Adds a new record to the current batch, the batch is sent as soon as it is full.
+   */
+  void insert(ORecord record);
+
+  /**
+   * Sends the current batch and waits until all the batches are acknowledged.
+   *
+   * @throws com.orientechnologies.common.exception.OException the error of the first batch that failed, the batches sent after
+   *                                                            the failure is known are not inserted
+   */
+  void flush();
+
+  /**
+   * @return the number of records inserted and acknowledged so far
+   */
+  long getInserted();
+
+  /**
+   * Flushes the bulk insert and releases the session.
+   */
+  @Override
+  void close();
+}
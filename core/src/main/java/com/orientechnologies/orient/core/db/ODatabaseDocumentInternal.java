@@ -176,6 +176,28 @@ public interface ODatabaseDocumentInternal extends ODatabaseSession, ODatabaseIn
     return null;
   }
 
+  /**
+   * Returns the token of the writes executed by this session, used to read them on the other servers (if in distributed mode).
+   *
+   * @return the serialized token, null if the session does not need one
+   */
+  default byte[] getConsistencyToken() {
+    return null;
+  }
+
+  /**
+   * Waits until the writes of a token returned by {@link #getConsistencyToken()} on another server are applied on this one (if in
+   * distributed mode). The writes of the token are merged with the ones of this session.
+   *
+   * @param token   the serialized token
+   * @param timeout maximum time to wait in ms
+   *
+   * @return true if the writes are applied, false if the timeout is expired
+   */
+  default boolean waitForConsistencyToken(byte[] token, long timeout) {
+    return true;
+  }
+
   default Map<String, Object> getHaStatus(boolean servers, boolean db, boolean latency, boolean messages) {
     return null;
   }
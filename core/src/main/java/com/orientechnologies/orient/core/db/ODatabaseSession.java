@@ -19,10 +19,87 @@
  */
 package com.orientechnologies.orient.core.db;
 
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.ORecord;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Session for database operations with a specific user.
  */
 public interface ODatabaseSession extends ODatabaseDocument {
+
+  /**
+   * Executes a query without waiting for its result, when supported by the session (eg. a remote session). The session cannot be
+   * used until the returned future is completed, the dependent actions of the future should not block because they may be
+   * executed by the thread that reads the responses of many sessions.
+   * <p>
+   * The default implementation executes the query synchronously.
+   *
+   * @param query the query string
+   * @param args  query parameters (positional)
+   *
+   * @return the future of the result set
+   */
+  default CompletableFuture<OResultSet> queryAsync(String query, Object... args) {
+    CompletableFuture<OResultSet> future = new CompletableFuture<>();
+    try {
+      future.complete(query(query, args));
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Loads a record without waiting for it, with the same rules of {@link #queryAsync(String, Object...)}.
+   *
+   * @param recordId the id of the record
+   *
+   * @return the future of the record, completed with null if the record does not exist
+   */
+  default <RET extends ORecord> CompletableFuture<RET> loadAsync(ORID recordId) {
+    CompletableFuture<RET> future = new CompletableFuture<>();
+    try {
+      future.complete(load(recordId));
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Commits the current transaction without waiting for the server, with the same rules of
+   * {@link #queryAsync(String, Object...)}.
+   *
+   * @return the future completed when the transaction is committed
+   */
+  default CompletableFuture<Void> commitAsync() {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    try {
+      commit();
+      future.complete(null);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Starts a bulk insert of new records, sent in batches of {@link OGlobalConfiguration#CLIENT_BULK_INSERT_BATCH_SIZE} records.
+   * A remote session streams the batches to the server without waiting for each acknowledgement.
+   * <p>
+   * The default implementation commits a transaction for every batch.
+   *
+   * @param clusterName the cluster of the records, null to use the cluster of the class of each record
+   *
+   * @return the bulk insert, to close when all the records are inserted
+   */
+  default OBulkInsert bulkInsert(String clusterName) {
+    return new OTransactionalBulkInsert(this, clusterName,
+        getConfiguration().getValueAsInteger(OGlobalConfiguration.CLIENT_BULK_INSERT_BATCH_SIZE));
+  }
 }
@@ -14,6 +14,7 @@ import com.orientechnologies.orient.core.query.live.OLiveQueryHook;
 import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
 import com.orientechnologies.orient.core.schedule.OSchedulerImpl;
 import com.orientechnologies.orient.core.sql.executor.OQueryStats;
+import com.orientechnologies.orient.core.sql.parser.OExecutionPlanCache;
 import com.orientechnologies.orient.core.sql.parser.OStatementCache;
 
 /**
@@ -32,6 +33,7 @@ public abstract class OSharedContext extends OListenerManger<OMetadataUpdateList
   protected OLiveQueryHookV2.OLiveQueryOps liveQueryOpsV2;
   protected OCommandCache                  commandCache;
   protected OStatementCache                statementCache;
+  protected OExecutionPlanCache            executionPlanCache;
   protected OQueryStats                    queryStats;
   protected volatile boolean loaded = false;
 
@@ -79,6 +81,10 @@ public abstract class OSharedContext extends OListenerManger<OMetadataUpdateList
     return statementCache;
   }
 
+  public OExecutionPlanCache getExecutionPlanCache() {
+    return executionPlanCache;
+  }
+
   public OQueryStats getQueryStats() {
     return queryStats;
   }
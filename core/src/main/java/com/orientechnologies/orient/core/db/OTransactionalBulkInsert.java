@@ -0,0 +1,84 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.core.db;
+
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.exception.ODatabaseException;
+import com.orientechnologies.orient.core.record.ORecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk insert that commits a transaction for every batch of records, used when the storage of the session has no better way to
+ * insert them.
+ */
+public class OTransactionalBulkInsert implements OBulkInsert {
+
+  private final ODatabaseDocument database;
+  private final String            clusterName;
+  private final int               batchSize;
+  private final List<ORecord>     batch = new ArrayList<ORecord>();
+  private       long              inserted;
+
+  public OTransactionalBulkInsert(ODatabaseDocument database, String clusterName, int batchSize) {
+    if (database.getTransaction().isActive())
+      throw new ODatabaseException("Cannot start a bulk insert inside a transaction");
+    this.database = database;
+    this.clusterName = clusterName;
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  @Override
+  public void insert(ORecord record) {
+    batch.add(record);
+    if (batch.size() >= batchSize)
+      flush();
+  }
+
+  @Override
+  public void flush() {
+    if (batch.isEmpty())
+      return;
+    database.begin();
+    try {
+      for (ORecord record : batch)
+        database.save(record, clusterName);
+      database.commit();
+      inserted += batch.size();
+    } catch (RuntimeException e) {
+      if (database.getTransaction().isActive())
+        database.rollback();
+      throw e;
+    } finally {
+      batch.clear();
+    }
+  }
+
+  @Override
+  public long getInserted() {
+    return inserted;
+  }
+
+  @Override
+  public void close() {
+    flush();
+  }
+}
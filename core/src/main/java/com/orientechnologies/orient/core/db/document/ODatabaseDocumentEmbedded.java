@@ -604,7 +604,8 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
     ctx.setDatabase(this);
     ctx.setInputParameters(params);
 
-    OLocalResultSet result = new OLocalResultSet((OInternalExecutionPlan) plan);
+    //the plan can come from another server: its steps are bound to the context of this execution
+    OLocalResultSet result = new OLocalResultSet(((OInternalExecutionPlan) plan).copy(ctx));
     OLocalResultSetLifecycleDecorator decorator = new OLocalResultSetLifecycleDecorator(result);
     this.queryStarted(decorator.getQueryId(), decorator);
     decorator.addLifecycleListener(this);
@@ -57,6 +57,7 @@ import java.io.OutputStream;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
@@ -615,6 +616,12 @@ public class ODatabaseDocumentTx implements ODatabaseDocumentInternal {
     return internal.load(recordId);
   }
 
+  @Override
+  public <RET extends ORecord> CompletableFuture<RET> loadAsync(ORID recordId) {
+    checkOpenness();
+    return internal.loadAsync(recordId);
+  }
+
   @Override
   public <RET extends ORecord> RET load(ORID iRecordId, String iFetchPlan) {
     checkOpenness();
@@ -740,6 +747,12 @@ public class ODatabaseDocumentTx implements ODatabaseDocumentInternal {
     return this;
   }
 
+  @Override
+  public CompletableFuture<Void> commitAsync() {
+    checkOpenness();
+    return internal.commitAsync();
+  }
+
   @Override
   public ODatabase<ORecord> commit(boolean force) throws OTransactionException {
     checkOpenness();
@@ -1361,6 +1374,18 @@ public class ODatabaseDocumentTx implements ODatabaseDocumentInternal {
     return internal.query(query, args);
   }
 
+  @Override
+  public CompletableFuture<OResultSet> queryAsync(String query, Object... args) {
+    checkOpenness();
+    return internal.queryAsync(query, args);
+  }
+
+  @Override
+  public OBulkInsert bulkInsert(String clusterName) {
+    checkOpenness();
+    return internal.bulkInsert(clusterName);
+  }
+
   @Override
   public OResultSet query(String query, Map args) throws OCommandSQLParsingException, OCommandExecutionException {
     checkOpenness();
@@ -31,13 +31,18 @@ import com.orientechnologies.orient.core.db.ODatabaseListener;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
 import com.orientechnologies.orient.core.db.record.ORecordOperation;
 import com.orientechnologies.orient.core.hook.ODocumentHookAbstract;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
 import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class OLiveQueryHookV2 extends ODocumentHookAbstract implements ODatabaseListener {
@@ -47,12 +52,17 @@ public class OLiveQueryHookV2 extends ODocumentHookAbstract implements ODatabase
     public    OResult   after;
     public    byte      type;
     protected ODocument originalDoc;
+    /**
+     * the names (lower case) of the class of the record and of all its superclasses, null if the record has no class
+     */
+    protected Set<String> classNames;
 
     OLiveQueryOp(ODocument originalDoc, OResult before, OResult after, byte type) {
       this.originalDoc = originalDoc;
       this.type = type;
       this.before = before;
       this.after = after;
+      this.classNames = calculateClassNames(originalDoc);
     }
   }
 
@@ -252,6 +262,19 @@ public class OLiveQueryHookV2 extends ODocumentHookAbstract implements ODatabase
     }
   }
 
+  private static Set<String> calculateClassNames(ODocument iDocument) {
+    OClass clazz = iDocument == null ? null : ODocumentInternal.getImmutableSchemaClass(iDocument);
+    if (clazz == null) {
+      return null;
+    }
+    Set<String> result = new HashSet<String>();
+    result.add(clazz.getName().toLowerCase(Locale.ENGLISH));
+    for (OClass superClass : clazz.getAllSuperClasses()) {
+      result.add(superClass.getName().toLowerCase(Locale.ENGLISH));
+    }
+    return result;
+  }
+
   private OResultInternal calculateBefore(ODocument iDocument) {
     OResultInternal result = calculateAfter(iDocument);
     for (String prop : iDocument.getDirtyFields()) {
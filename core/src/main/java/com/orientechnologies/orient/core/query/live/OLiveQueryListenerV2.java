@@ -29,4 +29,27 @@ public interface OLiveQueryListenerV2 {
   void onLiveResultEnd();
 
   int getToken();
+
+  /**
+   * @return the name of the class whose records (including the records of its subclasses) are of interest for this listener, null
+   * if the listener has to receive the changes of all the records
+   */
+  default String getClassName() {
+    return null;
+  }
+
+  /**
+   * @return the name of a field that has to be equal to {@link #getRoutingValue()} in all the records that are of interest for this
+   * listener (eg. for <code>where name = 'foo'</code>), null if there is no such condition
+   */
+  default String getRoutingField() {
+    return null;
+  }
+
+  /**
+   * @return the value of {@link #getRoutingField()} in all the records that are of interest for this listener
+   */
+  default Object getRoutingValue() {
+    return null;
+  }
 }
@@ -20,28 +20,39 @@
 package com.orientechnologies.orient.core.query.live;
 
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.thread.OThreadPoolExecutorWithLogging;
+import com.orientechnologies.common.util.OUncaughtExceptionHandler;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Takes the changes from the queue, finds the subscribers that can be interested in each change (see {@link
+ * OLiveQuerySubscriptionIndex}) and dispatches the change to them on a pool of threads (see {@link
+ * OGlobalConfiguration#QUERY_LIVE_DISPATCH_THREADS}). All the changes for a subscriber are delivered by the same dispatch thread,
+ * so they are received in the same order they were enqueued.
+ *
  * @author Luigi Dell'Aquila (l.dellaquila-(at)-orientdb.com)
  */
 public class OLiveQueryQueueThreadV2 extends Thread {
 
-  private final BlockingQueue<OLiveQueryHookV2.OLiveQueryOp>            queue;
-  private final ConcurrentMap<Integer, OLiveQueryListenerV2> subscribers;
-  private boolean                                          stopped = false;
+  private final BlockingQueue<OLiveQueryHookV2.OLiveQueryOp> queue;
+  private final OLiveQuerySubscriptionIndex                  subscribers;
+  private boolean stopped = false;
+  private volatile ExecutorService[] dispatchers;
 
-  private OLiveQueryQueueThreadV2(BlockingQueue<OLiveQueryHookV2.OLiveQueryOp> queue, ConcurrentMap<Integer, OLiveQueryListenerV2> subscribers) {
+  private OLiveQueryQueueThreadV2(BlockingQueue<OLiveQueryHookV2.OLiveQueryOp> queue, OLiveQuerySubscriptionIndex subscribers) {
     this.queue = queue;
     this.subscribers = subscribers;
   }
 
   public OLiveQueryQueueThreadV2() {
-    this(new LinkedBlockingQueue<OLiveQueryHookV2.OLiveQueryOp>(), new ConcurrentHashMap<Integer, OLiveQueryListenerV2>());
+    this(new LinkedBlockingQueue<OLiveQueryHookV2.OLiveQueryOp>(), new OLiveQuerySubscriptionIndex());
     setName("LiveQueryQueueThreadV2");
     this.setDaemon(true);
   }
@@ -52,27 +63,65 @@ public class OLiveQueryQueueThreadV2 extends Thread {
 
   @Override
   public void run() {
-    while (!stopped) {
-      OLiveQueryHookV2.OLiveQueryOp next = null;
-      try {
-        next = queue.take();
-      } catch (InterruptedException ignore) {
-        break;
-      }
-      if (next == null) {
-        continue;
-      }
-      for (OLiveQueryListenerV2 listener : subscribers.values()) {
+    ExecutorService[] dispatchers = createDispatchers(OGlobalConfiguration.QUERY_LIVE_DISPATCH_THREADS.getValueAsInteger());
+    this.dispatchers = dispatchers;
+    try {
+      while (!stopped) {
+        OLiveQueryHookV2.OLiveQueryOp next = null;
         try {
-          listener.onLiveResult(next);
-        } catch (Exception e) {
-          OLogManager.instance().warn(this, "Error executing live query subscriber.", e);
+          next = queue.take();
+        } catch (InterruptedException ignore) {
+          break;
+        }
+        if (next == null) {
+          continue;
+        }
+        for (OLiveQueryListenerV2 listener : subscribers.getCandidates(next)) {
+          if (dispatchers == null) {
+            dispatch(listener, next);
+          } else {
+            final OLiveQueryHookV2.OLiveQueryOp op = next;
+            getDispatcher(dispatchers, listener).execute(() -> dispatch(listener, op));
+          }
         }
-
       }
+    } finally {
+      this.dispatchers = null;
+      if (dispatchers != null) {
+        for (ExecutorService dispatcher : dispatchers) {
+          dispatcher.shutdown();
+        }
+      }
+    }
+  }
+
+  private static ExecutorService getDispatcher(ExecutorService[] dispatchers, OLiveQueryListenerV2 listener) {
+    return dispatchers[Math.floorMod(listener.getToken(), dispatchers.length)];
+  }
+
+  private void dispatch(OLiveQueryListenerV2 listener, OLiveQueryHookV2.OLiveQueryOp op) {
+    try {
+      listener.onLiveResult(op);
+    } catch (Exception e) {
+      OLogManager.instance().warn(this, "Error executing live query subscriber.", e);
     }
   }
 
+  /**
+   * @return one single thread executor per dispatch thread, null if the changes have to be dispatched by this thread
+   */
+  private ExecutorService[] createDispatchers(int size) {
+    if (size <= 0) {
+      return null;
+    }
+    ExecutorService[] result = new ExecutorService[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = new OThreadPoolExecutorWithLogging(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+          new DispatchThreadFactory(getName() + " dispatcher " + i));
+    }
+    return result;
+  }
+
   public void stopExecution() {
     this.stopped = true;
     this.interrupt();
@@ -89,9 +138,20 @@ public class OLiveQueryQueueThreadV2 extends Thread {
 
   public void unsubscribe(Integer id) {
     OLiveQueryListenerV2 res = subscribers.remove(id);
-    if (res != null) {
-      res.onLiveResultEnd();
+    if (res == null) {
+      return;
+    }
+    ExecutorService[] dispatchers = this.dispatchers;
+    if (dispatchers != null) {
+      //after the changes that are still waiting to be delivered to the listener
+      try {
+        getDispatcher(dispatchers, res).execute(res::onLiveResultEnd);
+        return;
+      } catch (RejectedExecutionException ignore) {
+        //dispatcher already stopped
+      }
     }
+    res.onLiveResultEnd();
   }
 
   public boolean hasListeners() {
@@ -101,4 +161,21 @@ public class OLiveQueryQueueThreadV2 extends Thread {
   public boolean hasToken(Integer key) {
     return subscribers.containsKey(key);
   }
+
+  private static class DispatchThreadFactory implements ThreadFactory {
+    private final String name;
+
+    private DispatchThreadFactory(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r);
+      thread.setDaemon(true);
+      thread.setName(name);
+      thread.setUncaughtExceptionHandler(new OUncaughtExceptionHandler());
+      return thread;
+    }
+  }
 }
@@ -0,0 +1,184 @@
+package com.orientechnologies.orient.core.query.live;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Index of the live query subscribers, that groups them by class and by the equality condition returned by {@link
+ * OLiveQueryListenerV2#getRoutingField()}, so that a change is dispatched only to the subscribers that can match it, instead of
+ * all of them.
+ * <p>
+ * The lookup is conservative: it can return subscribers that do not match the change (the listeners still evaluate their own
+ * conditions) but never skips a subscriber that matches it. In particular, when the value of a routing field has a type that can be
+ * converted in many ways by the SQL equality operator (eg. dates or floating point numbers), all the subscribers routed on that
+ * field are returned.
+ * <p>
+ * Lookups work on an immutable snapshot of the index, that is rebuilt on every subscribe/unsubscribe, so they do not need any
+ * locking.
+ */
+class OLiveQuerySubscriptionIndex {
+
+  private final ConcurrentMap<Integer, OLiveQueryListenerV2> subscribers;
+  private volatile Snapshot                                  snapshot;
+
+  OLiveQuerySubscriptionIndex() {
+    this(new ConcurrentHashMap<Integer, OLiveQueryListenerV2>());
+  }
+
+  OLiveQuerySubscriptionIndex(ConcurrentMap<Integer, OLiveQueryListenerV2> subscribers) {
+    this.subscribers = subscribers;
+    this.snapshot = new Snapshot(subscribers.values());
+  }
+
+  public synchronized void put(Integer id, OLiveQueryListenerV2 listener) {
+    subscribers.put(id, listener);
+    snapshot = new Snapshot(subscribers.values());
+  }
+
+  public synchronized OLiveQueryListenerV2 remove(Integer id) {
+    OLiveQueryListenerV2 result = subscribers.remove(id);
+    if (result != null) {
+      snapshot = new Snapshot(subscribers.values());
+    }
+    return result;
+  }
+
+  public boolean isEmpty() {
+    return subscribers.isEmpty();
+  }
+
+  public boolean containsKey(Integer id) {
+    return subscribers.containsKey(id);
+  }
+
+  /**
+   * @param op a change
+   *
+   * @return the subscribers that can be interested in the change
+   */
+  public Collection<OLiveQueryListenerV2> getCandidates(OLiveQueryHookV2.OLiveQueryOp op) {
+    return snapshot.getCandidates(op);
+  }
+
+  /**
+   * @return the keys used to index a value of a routing field, null if the value cannot be indexed
+   */
+  static Object[] getKeys(Object value) {
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      return new Object[] { ((Number) value).longValue() };
+    }
+    if (value instanceof String) {
+      //the SQL equality operator converts strings to numbers and vice versa
+      String string = (String) value;
+      try {
+        return new Object[] { string, Long.parseLong(string.trim()) };
+      } catch (NumberFormatException ignore) {
+        return new Object[] { string };
+      }
+    }
+    return null;
+  }
+
+  private static class Snapshot {
+    private final List<OLiveQueryListenerV2>    all     = new ArrayList<>();
+    private final List<OLiveQueryListenerV2>    noClass = new ArrayList<>();
+    private final Map<String, ClassSubscribers> byClass = new HashMap<>();
+
+    Snapshot(Collection<OLiveQueryListenerV2> listeners) {
+      for (OLiveQueryListenerV2 listener : listeners) {
+        all.add(listener);
+        String className = listener.getClassName();
+        if (className == null) {
+          noClass.add(listener);
+          continue;
+        }
+        ClassSubscribers entry = byClass.computeIfAbsent(className.toLowerCase(Locale.ENGLISH), k -> new ClassSubscribers());
+        String field = listener.getRoutingField();
+        Object[] keys = field == null ? null : getKeys(listener.getRoutingValue());
+        if (keys == null || keys.length == 1 && keys[0] instanceof String && isFloatingPoint((String) keys[0])) {
+          entry.unrouted.add(listener);
+          continue;
+        }
+        FieldSubscribers fieldEntry = entry.byField.computeIfAbsent(field, k -> new FieldSubscribers());
+        fieldEntry.all.add(listener);
+        for (Object key : keys) {
+          fieldEntry.byValue.computeIfAbsent(key, k -> new ArrayList<>()).add(listener);
+        }
+      }
+    }
+
+    /**
+     * strings that are converted to floating point numbers by the equality operator cannot be indexed
+     */
+    private static boolean isFloatingPoint(String value) {
+      try {
+        Double.parseDouble(value);
+        return true;
+      } catch (NumberFormatException ignore) {
+        return false;
+      }
+    }
+
+    Collection<OLiveQueryListenerV2> getCandidates(OLiveQueryHookV2.OLiveQueryOp op) {
+      if (op.classNames == null || byClass.isEmpty()) {
+        return all;
+      }
+      Set<OLiveQueryListenerV2> result = Collections.newSetFromMap(new IdentityHashMap<>());
+      result.addAll(noClass);
+      for (String className : op.classNames) {
+        ClassSubscribers entry = byClass.get(className);
+        if (entry == null) {
+          continue;
+        }
+        result.addAll(entry.unrouted);
+        for (Map.Entry<String, FieldSubscribers> fieldEntry : entry.byField.entrySet()) {
+          //a record is sent to the subscribers that match its values before or after the change
+          if (op.before != null) {
+            fieldEntry.getValue().addCandidates(op.before.getProperty(fieldEntry.getKey()), result);
+          }
+          if (op.after != null) {
+            fieldEntry.getValue().addCandidates(op.after.getProperty(fieldEntry.getKey()), result);
+          }
+        }
+      }
+      return result;
+    }
+  }
+
+  private static class ClassSubscribers {
+    private final List<OLiveQueryListenerV2>     unrouted = new ArrayList<>();
+    private final Map<String, FieldSubscribers> byField  = new HashMap<>();
+  }
+
+  private static class FieldSubscribers {
+    private final List<OLiveQueryListenerV2>               all     = new ArrayList<>();
+    private final Map<Object, List<OLiveQueryListenerV2>> byValue = new HashMap<>();
+
+    void addCandidates(Object value, Set<OLiveQueryListenerV2> result) {
+      if (value == null) {
+        //null is never equal to anything
+        return;
+      }
+      Object[] keys = getKeys(value);
+      if (keys == null) {
+        result.addAll(all);
+        return;
+      }
+      for (Object key : keys) {
+        List<OLiveQueryListenerV2> listeners = byValue.get(key);
+        if (listeners != null) {
+          result.addAll(listeners);
+        }
+      }
+    }
+  }
+}
@@ -44,6 +44,7 @@ import com.orientechnologies.orient.core.record.*;
 import com.orientechnologies.orient.core.serialization.serializer.OStringSerializerHelper;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializerFactory;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinary;
 import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerNetwork;
 import com.orientechnologies.orient.core.sql.OSQLHelper;
 import com.orientechnologies.orient.core.sql.filter.OSQLPredicate;
@@ -2930,6 +2931,19 @@ public class ODocument extends ORecordAbstract
 
   }
 
+  /**
+   * Internal.
+   *
+   * @return the content of the document, serialized with {@link ORecordSerializerBinary}, if it was loaded from the storage and
+   * not modified after that, null otherwise
+   */
+  byte[] getSerializedContent() {
+    if (_status != ORecordElement.STATUS.LOADED || _dirty || _source == null || _source.length == 0
+        || !(_recordFormat instanceof ORecordSerializerBinary))
+      return null;
+    return _source;
+  }
+
   protected boolean checkForFields(final String... iFields) {
     if (_fields == null)
       _fields = _ordered ? new LinkedHashMap<>() : new HashMap<>();
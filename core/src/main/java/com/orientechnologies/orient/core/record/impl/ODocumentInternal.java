@@ -53,6 +53,10 @@ public class ODocumentInternal {
     return oDocument.rawContainsField(iFiledName);
   }
 
+  public static byte[] getSerializedContent(final ODocument oDocument) {
+    return oDocument.getSerializedContent();
+  }
+
   public static OImmutableClass getImmutableSchemaClass(final ODocument oDocument) {
     if (oDocument == null) {
       return null;
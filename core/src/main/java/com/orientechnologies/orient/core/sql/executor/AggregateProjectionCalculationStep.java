@@ -15,7 +15,7 @@ import java.util.*;
  */
 public class AggregateProjectionCalculationStep extends ProjectionCalculationStep {
 
-  private final OGroupBy groupBy;
+  private OGroupBy groupBy;
 
   //the key is the GROUP BY key, the value is the (partially) aggregated value
   private Map<List, OResultInternal> aggregateResults = new LinkedHashMap<>();
@@ -24,12 +24,21 @@ public class AggregateProjectionCalculationStep extends ProjectionCalculationSte
   private int  nextItem = 0;
   private long cost     = 0;
 
+  public AggregateProjectionCalculationStep() {
+    this(null, null, null, false);
+  }
+
   public AggregateProjectionCalculationStep(OProjection projection, OGroupBy groupBy, OCommandContext ctx,
       boolean profilingEnabled) {
     super(projection, ctx, profilingEnabled);
     this.groupBy = groupBy;
   }
 
+  @Override
+  public OResultBatch syncPullBatch(OCommandContext ctx, int nRecords) throws OTimeoutException {
+    return OResultBatch.fromResultSet(syncPull(ctx, nRecords), nRecords);
+  }
+
   @Override
   public OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException {
     if (finalResults == null) {
@@ -152,4 +161,28 @@ public class AggregateProjectionCalculationStep extends ProjectionCalculationSte
   public long getCost() {
     return cost;
   }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new AggregateProjectionCalculationStep(projection.copy(), groupBy == null ? null : groupBy.copy(), ctx,
+        profilingEnabled);
+  }
+
+  @Override
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    if (groupBy != null) {
+      result.setProperty("groupBy", groupBy.serialize());
+    }
+    return result;
+  }
+
+  @Override
+  public void deserialize(OResult fromResult) {
+    super.deserialize(fromResult);
+    if (fromResult.getProperty("groupBy") != null) {
+      groupBy = new OGroupBy(-1);
+      groupBy.deserialize(fromResult.getProperty("groupBy"));
+    }
+  }
 }
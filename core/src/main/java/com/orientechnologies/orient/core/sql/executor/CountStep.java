@@ -33,9 +33,9 @@ public class CountStep extends AbstractExecutionStep {
     executed = true;
     long count = 0;
     while (true) {
-      OResultSet prevResult = getPrev().get().syncPull(ctx, nRecords);
+      OResultBatch prevResult = getPrev().get().syncPullBatch(ctx, nRecords);
 
-      if (!prevResult.hasNext()) {
+      if (prevResult.isEmpty()) {
         long begin = profilingEnabled ? System.nanoTime() : 0;
         try {
           OInternalResultSet result = new OInternalResultSet();
@@ -48,10 +48,7 @@ public class CountStep extends AbstractExecutionStep {
           }
         }
       }
-      while (prevResult.hasNext()) {
-        count++;
-        prevResult.next();
-      }
+      count += prevResult.size();
     }
   }
 
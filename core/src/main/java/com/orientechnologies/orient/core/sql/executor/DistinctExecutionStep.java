@@ -155,4 +155,14 @@ public class DistinctExecutionStep extends AbstractExecutionStep {
   public long getCost() {
     return cost;
   }
+
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new DistinctExecutionStep(ctx, profilingEnabled);
+  }
 }
@@ -1,11 +1,18 @@
 package com.orientechnologies.orient.core.sql.executor;
 
 import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.exception.OCommandExecutionException;
+import com.orientechnologies.orient.core.exception.OCommandInterruptedException;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Created by luigidellaquila on 08/05/17.
@@ -17,7 +24,8 @@ public class DistributedExecutionStep extends AbstractExecutionStep {
 
   private boolean inited;
 
-  private OResultSet remoteResultSet;
+  private OResultSet         remoteResultSet;
+  private Future<OResultSet> pendingResultSet;
 
   public DistributedExecutionStep(OSelectExecutionPlan subExecutionPlan, String nodeName, OCommandContext ctx,
       boolean profilingEnabled) {
@@ -31,14 +39,20 @@ public class DistributedExecutionStep extends AbstractExecutionStep {
     init(ctx);
     getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
     return new OResultSet() {
+      int localCount = 0;
+
       @Override
       public boolean hasNext() {
-        throw new UnsupportedOperationException("Implement distributed execution step!");
+        return localCount < nRecords && remoteResultSet.hasNext();
       }
 
       @Override
       public OResult next() {
-        throw new UnsupportedOperationException("Implement distributed execution step!");
+        if (!hasNext()) {
+          throw new IllegalStateException();
+        }
+        localCount++;
+        return remoteResultSet.next();
       }
 
       @Override
@@ -58,10 +72,42 @@ public class DistributedExecutionStep extends AbstractExecutionStep {
     };
   }
 
+  /**
+   * sends the sub-plan to the remote node without waiting for its first results, so that more nodes can execute their sub-plans in
+   * parallel
+   */
+  public void start(OCommandContext ctx) {
+    if (!inited && pendingResultSet == null) {
+      pendingResultSet = Orient.instance().submit(() -> sendSerializedExecutionPlan(nodeName, subExecuitonPlan, ctx));
+    }
+  }
+
   public void init(OCommandContext ctx) {
     if (!inited) {
       inited = true;
-      this.remoteResultSet = sendSerializedExecutionPlan(nodeName, subExecuitonPlan, ctx);
+      if (pendingResultSet == null) {
+        this.remoteResultSet = sendSerializedExecutionPlan(nodeName, subExecuitonPlan, ctx);
+      } else {
+        this.remoteResultSet = waitForPendingResultSet();
+      }
+    }
+  }
+
+  private OResultSet waitForPendingResultSet() {
+    try {
+      return pendingResultSet.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw OException
+          .wrapException(new OCommandInterruptedException("Interrupted waiting for the results of node " + nodeName), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw OException
+          .wrapException(new OCommandExecutionException("Error executing the query on node " + nodeName), e.getCause());
+    } finally {
+      pendingResultSet = null;
     }
   }
 
@@ -73,6 +119,15 @@ public class DistributedExecutionStep extends AbstractExecutionStep {
   @Override
   public void close() {
     super.close();
+    if (!inited && pendingResultSet != null) {
+      // started but never pulled: the remote query has to be closed anyway
+      inited = true;
+      try {
+        this.remoteResultSet = waitForPendingResultSet();
+      } catch (RuntimeException e) {
+        OLogManager.instance().debug(this, "Error executing the query on node %s", e, nodeName);
+      }
+    }
     if (this.remoteResultSet != null) {
       this.remoteResultSet.close();
     }
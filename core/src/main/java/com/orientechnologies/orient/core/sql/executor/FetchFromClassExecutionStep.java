@@ -5,6 +5,7 @@ import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.exception.OCommandExecutionException;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.sql.parser.OSerializedRecordFilter;
 
 import java.util.*;
 
@@ -26,6 +27,14 @@ public class FetchFromClassExecutionStep extends AbstractExecutionStep {
     this(className, clusters, null, ctx, ridOrder, profilingEnabled);
   }
 
+  public FetchFromClassExecutionStep() {
+    this(null, false);
+  }
+
+  protected FetchFromClassExecutionStep(OCommandContext ctx, boolean profilingEnabled) {
+    super(ctx, profilingEnabled);
+  }
+
   /**
    * iterates over a class and its subclasses
    *
@@ -100,6 +109,19 @@ public class FetchFromClassExecutionStep extends AbstractExecutionStep {
     }
   }
 
+  /**
+   * pushes down the simple conditions of a WHERE clause to the cluster scans, so that they are checked on the serialized records
+   *
+   * @param filter the filter
+   */
+  public void setSerializedFilter(OSerializedRecordFilter filter) {
+    for (OExecutionStep step : getSubSteps()) {
+      if (step instanceof FetchFromClusterExecutionStep) {
+        ((FetchFromClusterExecutionStep) step).setSerializedFilter(filter.copy());
+      }
+    }
+  }
+
   @Override
   public OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException {
     getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
@@ -170,6 +192,31 @@ public class FetchFromClassExecutionStep extends AbstractExecutionStep {
 
   }
 
+  @Override
+  public OResultBatch syncPullBatch(OCommandContext ctx, int nRecords) throws OTimeoutException {
+    getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
+    OResultBatch result = new OResultBatch(nRecords);
+    while (result.size() < nRecords) {
+      if (currentResultSet != null && currentResultSet.hasNext()) {
+        while (result.size() < nRecords && currentResultSet.hasNext()) {
+          result.add(currentResultSet.next());
+        }
+      } else {
+        if (currentStep >= getSubSteps().size()) {
+          break;
+        }
+        int requested = nRecords - result.size();
+        OResultBatch batch = ((OExecutionStepInternal) getSubSteps().get(currentStep)).syncPullBatch(ctx, requested);
+        if (batch.size() < requested) {
+          //the sub-step is exhausted
+          currentStep++;
+        }
+        currentResultSet = batch;
+      }
+    }
+    return result;
+  }
+
   @Override
   public void sendTimeout() {
     for (OExecutionStep step : getSubSteps()) {
@@ -236,5 +283,37 @@ public class FetchFromClassExecutionStep extends AbstractExecutionStep {
   public List<OExecutionStep> getSubSteps() {
     return subSteps;
   }
+
+  @Override
+  public boolean canBeCached() {
+    for (OExecutionStep step : getSubSteps()) {
+      if (!((OExecutionStepInternal) step).canBeCached()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean canBeSerialized() {
+    for (OExecutionStep step : getSubSteps()) {
+      if (!((OExecutionStepInternal) step).canBeSerialized()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    FetchFromClassExecutionStep result = new FetchFromClassExecutionStep(ctx, profilingEnabled);
+    result.className = this.className;
+    result.orderByRidAsc = this.orderByRidAsc;
+    result.orderByRidDesc = this.orderByRidDesc;
+    for (OExecutionStep step : getSubSteps()) {
+      result.getSubSteps().add(((OExecutionStepInternal) step).copy(ctx));
+    }
+    return result;
+  }
 }
 
@@ -29,6 +29,15 @@ public class FetchFromClusterExecutionStep extends AbstractExecutionStep {
   private ORecordIteratorCluster iterator;
   private long cost = 0;
 
+  /**
+   * checks the simple conditions of the following filter on the serialized records, to skip records that do not match
+   */
+  private OSerializedRecordFilter serializedFilter;
+
+  public FetchFromClusterExecutionStep() {
+    this(-1, null, null, false);
+  }
+
   public FetchFromClusterExecutionStep(int clusterId, OCommandContext ctx, boolean profilingEnabled) {
     this(clusterId, null, ctx, profilingEnabled);
   }
@@ -45,18 +54,11 @@ public class FetchFromClusterExecutionStep extends AbstractExecutionStep {
     getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
     long begin = profilingEnabled ? System.nanoTime() : 0;
     try {
-      if (iterator == null) {
-        long minClusterPosition = calculateMinClusterPosition();
-        long maxClusterPosition = calculateMaxClusterPosition();
-        iterator = new ORecordIteratorCluster((ODatabaseDocumentInternal) ctx.getDatabase(),
-            (ODatabaseDocumentInternal) ctx.getDatabase(), clusterId, minClusterPosition, maxClusterPosition);
-        if (ORDER_DESC == order) {
-          iterator.last();
-        }
-      }
+      initIterator(ctx);
       OResultSet rs = new OResultSet() {
 
         int nFetched = 0;
+        ORecord nextRecord = null;
 
         @Override
         public boolean hasNext() {
@@ -65,11 +67,10 @@ public class FetchFromClusterExecutionStep extends AbstractExecutionStep {
             if (nFetched >= nRecords) {
               return false;
             }
-            if (ORDER_DESC == order) {
-              return iterator.hasPrevious();
-            } else {
-              return iterator.hasNext();
+            if (nextRecord == null) {
+              nextRecord = fetchNextRecord(ctx);
             }
+            return nextRecord != null;
           } finally {
             if (profilingEnabled) {
               cost += (System.nanoTime() - begin);
@@ -84,18 +85,15 @@ public class FetchFromClusterExecutionStep extends AbstractExecutionStep {
             if (nFetched >= nRecords) {
               throw new IllegalStateException();
             }
-            if (ORDER_DESC == order && !iterator.hasPrevious()) {
-              throw new IllegalStateException();
-            } else if (ORDER_DESC != order && !iterator.hasNext()) {
+            if (nextRecord == null) {
+              nextRecord = fetchNextRecord(ctx);
+            }
+            if (nextRecord == null) {
               throw new IllegalStateException();
             }
 
-            ORecord record = null;
-            if (ORDER_DESC == order) {
-              record = iterator.previous();
-            } else {
-              record = iterator.next();
-            }
+            ORecord record = nextRecord;
+            nextRecord = null;
             nFetched++;
             OResultInternal result = new OResultInternal();
             result.element = record;
@@ -133,6 +131,56 @@ public class FetchFromClusterExecutionStep extends AbstractExecutionStep {
 
   }
 
+  @Override
+  public OResultBatch syncPullBatch(OCommandContext ctx, int nRecords) throws OTimeoutException {
+    getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
+    long begin = profilingEnabled ? System.nanoTime() : 0;
+    try {
+      initIterator(ctx);
+      OResultBatch result = new OResultBatch(nRecords);
+      while (result.size() < nRecords) {
+        ORecord record = fetchNextRecord(ctx);
+        if (record == null) {
+          break;
+        }
+        OResultInternal item = new OResultInternal();
+        item.element = record;
+        result.add(item);
+      }
+      return result;
+    } finally {
+      if (profilingEnabled) {
+        cost += (System.nanoTime() - begin);
+      }
+    }
+  }
+
+  /**
+   * @return the next record of the cluster that can match the pre-filter, null if the cluster is exhausted
+   */
+  private ORecord fetchNextRecord(OCommandContext ctx) {
+    boolean desc = ORDER_DESC == order;
+    while (desc ? iterator.hasPrevious() : iterator.hasNext()) {
+      ORecord record = desc ? iterator.previous() : iterator.next();
+      if (serializedFilter == null || serializedFilter.canMatch(record, ctx)) {
+        return record;
+      }
+    }
+    return null;
+  }
+
+  private void initIterator(OCommandContext ctx) {
+    if (iterator == null) {
+      long minClusterPosition = calculateMinClusterPosition();
+      long maxClusterPosition = calculateMaxClusterPosition();
+      iterator = new ORecordIteratorCluster((ODatabaseDocumentInternal) ctx.getDatabase(),
+          (ODatabaseDocumentInternal) ctx.getDatabase(), clusterId, minClusterPosition, maxClusterPosition);
+      if (ORDER_DESC == order) {
+        iterator.last();
+      }
+    }
+  }
+
   private long calculateMinClusterPosition() {
     if (queryPlanning == null || queryPlanning.ridRangeConditions == null || queryPlanning.ridRangeConditions.isEmpty()) {
       return -1;
@@ -219,11 +267,35 @@ public class FetchFromClusterExecutionStep extends AbstractExecutionStep {
     this.order = order;
   }
 
+  public void setSerializedFilter(OSerializedRecordFilter serializedFilter) {
+    this.serializedFilter = serializedFilter;
+  }
+
   @Override
   public long getCost() {
     return cost;
   }
 
+  @Override
+  public boolean canBeCached() {
+    // RID ranges are used at planning time to select the clusters, and they could come from input parameters
+    return queryPlanning == null || queryPlanning.ridRangeConditions == null || queryPlanning.ridRangeConditions.isEmpty();
+  }
+
+  @Override
+  public boolean canBeSerialized() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    FetchFromClusterExecutionStep result = new FetchFromClusterExecutionStep(this.clusterId, this.queryPlanning, ctx,
+        profilingEnabled);
+    result.order = this.order;
+    result.serializedFilter = this.serializedFilter == null ? null : this.serializedFilter.copy();
+    return result;
+  }
+
   @Override
   public OResult serialize() {
     OResultInternal result = OExecutionStepInternal.basicSerialize(this);
@@ -19,6 +19,10 @@ public class FetchFromClustersExecutionStep extends AbstractExecutionStep {
   OResultSet currentResultSet;
   int currentStep = 0;
 
+  public FetchFromClustersExecutionStep() {
+    this(new int[0], null, null, false);
+  }
+
   /**
    * iterates over a class and its subclasses
    *
@@ -180,6 +184,27 @@ public class FetchFromClustersExecutionStep extends AbstractExecutionStep {
     return subSteps.stream().map(x -> x.getCost()).reduce((a, b) -> a + b).orElse(-1L);
   }
 
+  @Override
+  public boolean canBeSerialized() {
+    for (OExecutionStep step : subSteps) {
+      if (!((OExecutionStepInternal) step).canBeSerialized()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    FetchFromClustersExecutionStep result = new FetchFromClustersExecutionStep(new int[0], ctx, null, profilingEnabled);
+    result.orderByRidAsc = this.orderByRidAsc;
+    result.orderByRidDesc = this.orderByRidDesc;
+    for (OExecutionStep step : subSteps) {
+      result.subSteps.add(((OExecutionStepInternal) step).copy(ctx));
+    }
+    return result;
+  }
+
   @Override
   public OResult serialize() {
     OResultInternal result = OExecutionStepInternal.basicSerialize(this);
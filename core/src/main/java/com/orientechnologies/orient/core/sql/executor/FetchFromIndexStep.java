@@ -589,4 +589,16 @@ public class FetchFromIndexStep extends AbstractExecutionStep {
       throw OException.wrapException(new OCommandExecutionException(""), e);
     }
   }
+
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new FetchFromIndexStep(index, this.condition == null ? null : this.condition.copy(),
+        this.additionalRangeCondition == null ? null : this.additionalRangeCondition.copy(), this.orderAsc, ctx,
+        profilingEnabled);
+  }
 }
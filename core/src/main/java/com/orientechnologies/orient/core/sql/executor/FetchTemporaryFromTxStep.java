@@ -25,6 +25,10 @@ public class FetchTemporaryFromTxStep extends AbstractExecutionStep {
 
   private long cost = 0;
 
+  public FetchTemporaryFromTxStep() {
+    this(null, null, false);
+  }
+
   public FetchTemporaryFromTxStep(OCommandContext ctx, String className, boolean profilingEnabled) {
     super(ctx, profilingEnabled);
     this.className = className;
@@ -196,6 +200,7 @@ public class FetchTemporaryFromTxStep extends AbstractExecutionStep {
   public OResult serialize() {
     OResultInternal result = OExecutionStepInternal.basicSerialize(this);
     result.setProperty("className", className);
+    result.setProperty("order", order);
     return result;
   }
 
@@ -204,8 +209,31 @@ public class FetchTemporaryFromTxStep extends AbstractExecutionStep {
     try {
       OExecutionStepInternal.basicDeserialize(fromResult, this);
       className = fromResult.getProperty("className");
+      Object orderProp = fromResult.getProperty("order");
+      if (orderProp != null) {
+        this.order = FetchFromClusterExecutionStep.ORDER_ASC.equals(orderProp) ?
+            FetchFromClusterExecutionStep.ORDER_ASC :
+            FetchFromClusterExecutionStep.ORDER_DESC;
+      }
     } catch (Exception e) {
       throw OException.wrapException(new OCommandExecutionException(""), e);
     }
   }
+
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public boolean canBeSerialized() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    FetchTemporaryFromTxStep result = new FetchTemporaryFromTxStep(ctx, this.className, profilingEnabled);
+    result.setOrder(this.order);
+    return result;
+  }
 }
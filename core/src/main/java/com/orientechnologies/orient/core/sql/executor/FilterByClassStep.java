@@ -165,4 +165,14 @@ public class FilterByClassStep extends AbstractExecutionStep {
   public long getCost() {
     return cost;
   }
-}
\ No newline at end of file
+
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new FilterByClassStep(this.identifier.copy(), ctx, profilingEnabled);
+  }
+}
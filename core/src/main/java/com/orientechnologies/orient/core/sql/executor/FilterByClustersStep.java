@@ -28,6 +28,13 @@ public class FilterByClustersStep extends AbstractExecutionStep {
 
   }
 
+  private FilterByClustersStep(Set<String> filterClusters, Set<Integer> clusterIds, OCommandContext ctx,
+      boolean profilingEnabled) {
+    super(ctx, profilingEnabled);
+    this.clusters = filterClusters;
+    this.clusterIds = clusterIds;
+  }
+
   private void init(ODatabase db) {
     if (this.clusterIds == null) {
       this.clusterIds = clusters.stream().map(x -> db.getClusterIdByName(x)).filter(x -> x != null).collect(Collectors.toSet());
@@ -161,4 +168,14 @@ public class FilterByClustersStep extends AbstractExecutionStep {
     }
   }
 
-}
\ No newline at end of file
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new FilterByClustersStep(this.clusters, this.clusterIds, ctx, profilingEnabled);
+  }
+
+}
@@ -3,7 +3,10 @@ package com.orientechnologies.orient.core.sql.executor;
 import com.orientechnologies.common.concur.OTimeoutException;
 import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabase;
 import com.orientechnologies.orient.core.exception.OCommandExecutionException;
+import com.orientechnologies.orient.core.sql.parser.OCompiledFilter;
 import com.orientechnologies.orient.core.sql.parser.OWhereClause;
 
 import java.util.Map;
@@ -15,10 +18,19 @@ import java.util.Optional;
 public class FilterStep extends AbstractExecutionStep {
   private OWhereClause whereClause;
 
+  /**
+   * the compiled form of the where clause, lazily initialized
+   */
+  private OCompiledFilter compiledFilter;
+
   OResultSet prevResult = null;
 
   private long cost;
 
+  public FilterStep() {
+    this(null, null, false);
+  }
+
   public FilterStep(OWhereClause whereClause, OCommandContext ctx, boolean profilingEnabled) {
     super(ctx, profilingEnabled);
     this.whereClause = whereClause;
@@ -60,7 +72,7 @@ public class FilterStep extends AbstractExecutionStep {
           nextItem = prevResult.next();
           long begin = profilingEnabled ? System.nanoTime() : 0;
           try {
-            if (whereClause.matchesFilters(nextItem, ctx)) {
+            if (matches(nextItem, ctx)) {
               break;
             }
 
@@ -125,6 +137,59 @@ public class FilterStep extends AbstractExecutionStep {
 
   }
 
+  @Override
+  public OResultBatch syncPullBatch(OCommandContext ctx, int nRecords) throws OTimeoutException {
+    if (!prev.isPresent()) {
+      throw new IllegalStateException("filter step requires a previous step");
+    }
+    OExecutionStepInternal prevStep = prev.get();
+    OResultBatch result = new OResultBatch(nRecords);
+    while (result.size() < nRecords) {
+      if (prevResult == null || !prevResult.hasNext()) {
+        prevResult = prevStep.syncPullBatch(ctx, nRecords);
+        if (!prevResult.hasNext()) {
+          break;
+        }
+      }
+      long begin = profilingEnabled ? System.nanoTime() : 0;
+      try {
+        while (result.size() < nRecords && prevResult.hasNext()) {
+          OResult item = prevResult.next();
+          //the previous step fetched the whole batch in advance
+          ctx.setVariable("$current", item);
+          if (matches(item, ctx)) {
+            result.add(item);
+          }
+        }
+      } finally {
+        if (profilingEnabled) {
+          cost += (System.nanoTime() - begin);
+        }
+      }
+    }
+    return result;
+  }
+
+  private boolean matches(OResult item, OCommandContext ctx) {
+    if (compiledFilter == null) {
+      ODatabase db = ctx.getDatabase();
+      boolean compile = db == null ?
+          OGlobalConfiguration.QUERY_COMPILE_FILTERS.getValueAsBoolean() :
+          db.getConfiguration().getValueAsBoolean(OGlobalConfiguration.QUERY_COMPILE_FILTERS);
+      if (compile) {
+        compiledFilter = OCompiledFilter.compile(whereClause);
+      } else {
+        compiledFilter = new OCompiledFilter() {
+          @Override
+          public boolean matches(OResult record, OCommandContext ctx) {
+            return whereClause.matchesFilters(record, ctx);
+          }
+        };
+      }
+    }
+    return compiledFilter.matches(item, ctx);
+  }
+
   @Override
   public String prettyPrint(int depth, int indent) {
     StringBuilder result = new StringBuilder();
@@ -155,6 +220,7 @@ public class FilterStep extends AbstractExecutionStep {
       OExecutionStepInternal.basicDeserialize(fromResult, this);
       whereClause = new OWhereClause(-1);
       whereClause.deserialize(fromResult.getProperty("whereClause"));
+      compiledFilter = null;
     } catch (Exception e) {
       throw OException.wrapException(new OCommandExecutionException(""), e);
     }
@@ -164,4 +230,19 @@ public class FilterStep extends AbstractExecutionStep {
   public long getCost() {
     return cost;
   }
+
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public boolean canBeSerialized() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new FilterStep(this.whereClause.copy(), ctx, profilingEnabled);
+  }
 }
@@ -86,4 +86,14 @@ public class GetValueFromIndexEntryStep extends AbstractExecutionStep {
   public long getCost() {
     return cost;
   }
+
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new GetValueFromIndexEntryStep(ctx, profilingEnabled);
+  }
 }
@@ -43,4 +43,13 @@ public class LimitExecutionStep extends AbstractExecutionStep {
     return OExecutionStepInternal.getIndent(depth, indent) + "+ LIMIT (" + limit.toString() + ")";
   }
 
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new LimitExecutionStep(this.limit.copy(), ctx, profilingEnabled);
+  }
 }
@@ -37,6 +37,9 @@ public class LiveQueryListenerImpl implements OLiveQueryListenerV2 {
 
   private final Map<Object, Object> params;
 
+  private String routingField;
+  private Object routingValue;
+
   private int token;
   private static final Random random = new Random();
 
@@ -72,6 +75,7 @@ public class LiveQueryListenerImpl implements OLiveQueryListenerV2 {
     synchronized (random) {
       token = random.nextInt();// TODO do something better ;-)!
     }
+    initRouting();
     OLiveQueryHookV2.subscribe(token, this, (ODatabaseInternal) db);
 
     OCommandContext ctx = new OBasicCommandContext();
@@ -107,10 +111,44 @@ public class LiveQueryListenerImpl implements OLiveQueryListenerV2 {
     }
   }
 
+  /**
+   * picks a top level equality condition of the WHERE clause, so that the live query engine can dispatch to this listener only
+   * the records that have that value
+   */
+  private void initRouting() {
+    OWhereClause where = statement.getWhereClause();
+    if (where == null) {
+      return;
+    }
+    OBasicCommandContext ctx = new OBasicCommandContext();
+    ctx.setInputParameters(params);
+    Map<String, Object> equalities = where.getRequiredEqualities(ctx);
+    if (!equalities.isEmpty()) {
+      Map.Entry<String, Object> condition = equalities.entrySet().iterator().next();
+      routingField = condition.getKey();
+      routingValue = condition.getValue();
+    }
+  }
+
   public int getToken() {
     return token;
   }
 
+  @Override
+  public String getClassName() {
+    return className;
+  }
+
+  @Override
+  public String getRoutingField() {
+    return routingField;
+  }
+
+  @Override
+  public Object getRoutingValue() {
+    return routingValue;
+  }
+
   @Override
   public void onLiveResult(OLiveQueryHookV2.OLiveQueryOp iRecord) {
     execDb.activateOnCurrentThread();
@@ -27,6 +27,23 @@ public interface OExecutionStepInternal extends OExecutionStep {
 
   OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException;
 
+  /**
+   * <p>Batch oriented version of <code>syncPull()</code>, used by the execution plan to fetch results. The returned batch has
+   * to contain at most nRecords results and it can contain less results ONLY if current step cannot produce any more records.</p>
+   * <p>The default implementation is an adapter on top of <code>syncPull()</code>; steps that are batch aware override it and pull
+   * batches from the previous step, so that a chain of batch aware steps exchanges arrays of rows instead of single results.
+   * Batch aware steps that evaluate expressions have to set the <code>$current</code> context variable for each row they process,
+   * because the upstream steps fetch the whole batch in advance</p>
+   *
+   * @param ctx      the query context
+   * @param nRecords the max number of records to return
+   *
+   * @return a batch of at most nRecords results
+   */
+  default OResultBatch syncPullBatch(OCommandContext ctx, int nRecords) throws OTimeoutException {
+    return OResultBatch.fromResultSet(syncPull(ctx, nRecords), nRecords);
+  }
+
   void sendTimeout();
 
   void setPrevious(OExecutionStepInternal step);
@@ -78,6 +95,34 @@ public interface OExecutionStepInternal extends OExecutionStep {
     //do nothing
   }
 
+  /**
+   * @return true if this step holds no execution state bound to a specific query context, so that a copy of it can be stored in
+   * the execution plan cache and reused by other executions of the same statement
+   */
+  default boolean canBeCached() {
+    return false;
+  }
+
+  /**
+   * creates a fresh copy of this step, ready to be chained in a new execution plan. Invoked only if {@link #canBeCached()} or
+   * {@link #canBeSerialized()} return true
+   *
+   * @param ctx the context of the new execution (it can be null when the copy is used as a cached template)
+   *
+   * @return a copy of this step
+   */
+  default OExecutionStep copy(OCommandContext ctx) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @return true if this step can be sent to another server with {@link #serialize()} and rebuilt there with its default
+   * constructor and {@link #deserialize(OResult)}, so that it can be part of a sub-plan executed on a remote node
+   */
+  default boolean canBeSerialized() {
+    return false;
+  }
+
   default OResult serialize() {
     throw new UnsupportedOperationException();
   }
@@ -120,7 +165,7 @@ public interface OExecutionStepInternal extends OExecutionStep {
     }
 
     List<OResult> serializedPlans= serialized.getProperty("subExecutionPlans");
-    if (serializedSubsteps != null) {
+    if (serializedPlans != null) {
       for (OResult serializedSub : serializedPlans) {
         String className = serializedSub.getProperty(OInternalExecutionPlan.JAVA_TYPE);
         OInternalExecutionPlan subStep = (OInternalExecutionPlan) Class.forName(className).newInstance();
@@ -25,6 +25,24 @@ public interface OInternalExecutionPlan extends OExecutionPlan {
 
   long getCost();
 
+  /**
+   * @return true if all the steps of this plan can be copied and reused by other executions of the same statement
+   */
+  default boolean canBeCached() {
+    return false;
+  }
+
+  /**
+   * creates a copy of this plan, with new (non-executed) steps bound to the given context
+   *
+   * @param ctx the context of the new execution (it can be null when the copy is used as a cached template)
+   *
+   * @return a copy of this execution plan
+   */
+  default OInternalExecutionPlan copy(OCommandContext ctx) {
+    throw new UnsupportedOperationException();
+  }
+
   default OResult serialize() {
     throw new UnsupportedOperationException();
   }
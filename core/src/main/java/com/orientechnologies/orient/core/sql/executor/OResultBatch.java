@@ -0,0 +1,119 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An array backed block of results, exchanged between execution steps by {@link OExecutionStepInternal#syncPullBatch(com.orientechnologies.orient.core.command.OCommandContext,
+ * int)}. Steps that are batch aware (eg. filters and projections) can process the rows with a plain loop on the array, with no
+ * per-row result set dispatch.
+ * <p>
+ * A batch is also a result set, so that it can be returned to callers that use the one-row-at-a-time API.
+ */
+public class OResultBatch implements OResultSet {
+
+  private static final OResult[] EMPTY = new OResult[0];
+
+  private OResult[] rows;
+  private int       size = 0;
+  private int       next = 0;
+
+  public OResultBatch() {
+    this.rows = EMPTY;
+  }
+
+  /**
+   * @param capacity the expected number of rows
+   */
+  public OResultBatch(int capacity) {
+    this.rows = capacity > 0 ? new OResult[Math.min(capacity, 1024)] : EMPTY;
+  }
+
+  /**
+   * drains a result set in a new batch
+   *
+   * @param rs       the result set
+   * @param capacity the expected number of rows
+   *
+   * @return a batch containing all the remaining rows of the result set
+   */
+  public static OResultBatch fromResultSet(OResultSet rs, int capacity) {
+    if (rs instanceof OResultBatch) {
+      return (OResultBatch) rs;
+    }
+    OResultBatch result = new OResultBatch(capacity);
+    while (rs.hasNext()) {
+      result.add(rs.next());
+    }
+    return result;
+  }
+
+  public void add(OResult row) {
+    if (size == rows.length) {
+      rows = Arrays.copyOf(rows, Math.max(16, rows.length * 2));
+    }
+    rows[size++] = row;
+  }
+
+  public void addAll(OResultBatch other) {
+    for (int i = other.next; i < other.size; i++) {
+      add(other.rows[i]);
+    }
+  }
+
+  public OResult get(int i) {
+    return rows[i];
+  }
+
+  public void set(int i, OResult row) {
+    rows[i] = row;
+  }
+
+  /**
+   * @return the number of rows in the batch (including the ones already consumed by {@link #next()})
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return next < size;
+  }
+
+  @Override
+  public OResult next() {
+    if (next >= size) {
+      throw new IllegalStateException();
+    }
+    return rows[next++];
+  }
+
+  @Override
+  public void close() {
+    Arrays.fill(rows, 0, size, null);
+    size = 0;
+    next = 0;
+  }
+
+  @Override
+  public void reset() {
+    this.next = 0;
+  }
+
+  @Override
+  public Optional<OExecutionPlan> getExecutionPlan() {
+    return Optional.empty();
+  }
+
+  @Override
+  public Map<String, Long> getQueryStats() {
+    return Collections.emptyMap();
+  }
+}
@@ -21,6 +21,14 @@ public class OSelectExecutionPlan implements OInternalExecutionPlan {
 
   OExecutionStepInternal lastStep = null;
 
+  /**
+   * used to deserialize a plan received from another server. The plan is not bound to a context, so it has to be copied with
+   * {@link #copy(OCommandContext)} before its execution
+   */
+  public OSelectExecutionPlan() {
+    this(null);
+  }
+
   public OSelectExecutionPlan(OCommandContext ctx) {
     this.ctx = ctx;
   }
@@ -32,7 +40,7 @@ public class OSelectExecutionPlan implements OInternalExecutionPlan {
 
   @Override
   public OResultSet fetchNext(int n) {
-    return lastStep.syncPull(ctx, n);
+    return lastStep.syncPullBatch(ctx, n);
   }
 
   @Override
@@ -93,6 +101,29 @@ public class OSelectExecutionPlan implements OInternalExecutionPlan {
     return 0l;
   }
 
+  @Override
+  public boolean canBeCached() {
+    if (getClass() != OSelectExecutionPlan.class) {
+      return false;
+    }
+    for (OExecutionStepInternal step : steps) {
+      if (!step.canBeCached()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public OInternalExecutionPlan copy(OCommandContext ctx) {
+    OSelectExecutionPlan copy = new OSelectExecutionPlan(ctx);
+    copy.location = location;
+    for (OExecutionStepInternal step : steps) {
+      copy.chain((OExecutionStepInternal) step.copy(ctx));
+    }
+    return copy;
+  }
+
   public OResult serialize() {
     OResultInternal result = new OResultInternal();
     result.setProperty("type", "QueryExecutionPlan");
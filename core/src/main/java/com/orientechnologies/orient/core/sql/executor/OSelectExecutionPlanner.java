@@ -74,7 +74,10 @@ public class OSelectExecutionPlanner {
 
     handleWhere(result, info, ctx, enableProfiling);
 
-    // TODO optimization: in most cases the projections can be calculated on remote nodes
+    handlePartialAggregation(info, ctx, enableProfiling);
+
+    handleTopK(info, ctx, enableProfiling);
+
     buildDistributedExecutionPlan(result, info, ctx, enableProfiling);
 
     handleProjectionsBlock(result, info, ctx, enableProfiling);
@@ -138,27 +141,135 @@ public class OSelectExecutionPlanner {
         //everything is executed on a single remote node
         String node = info.distributedFetchExecutionPlans.keySet().iterator().next();
         OSelectExecutionPlan subPlan = info.distributedFetchExecutionPlans.get(node);
+        checkRemoteSubPlan(node, subPlan);
         DistributedExecutionStep step = new DistributedExecutionStep(subPlan, node, ctx, enableProfiling);
         result.chain(step);
       }
       info.distributedFetchExecutionPlans = null;
     } else {
       //sharded fetching
-      List<OExecutionPlan> subPlans = new ArrayList<>();
+      List<OInternalExecutionPlan> subPlans = new ArrayList<>();
       for (Map.Entry<String, OSelectExecutionPlan> entry : info.distributedFetchExecutionPlans.entrySet()) {
         if (entry.getKey().equals(currentNode)) {
           subPlans.add(entry.getValue());
         } else {
+          checkRemoteSubPlan(entry.getKey(), entry.getValue());
           DistributedExecutionStep step = new DistributedExecutionStep(entry.getValue(), entry.getKey(), ctx, enableProfiling);
           OSelectExecutionPlan subPlan = new OSelectExecutionPlan(ctx);
           subPlan.chain(step);
           subPlans.add(subPlan);
         }
       }
+      result.chain(new ParallelExecStep(subPlans, ctx, enableProfiling));
+      info.distributedFetchExecutionPlans = null;
     }
     info.distributedPlanCreated = true;
   }
 
+  /**
+   * the sub-plans of the remote nodes are serialized and rebuilt on the remote node, so they can contain only steps that support
+   * it
+   */
+  private static void checkRemoteSubPlan(String node, OSelectExecutionPlan subPlan) {
+    for (OExecutionStep step : subPlan.getSteps()) {
+      if (!((OExecutionStepInternal) step).canBeSerialized()) {
+        throw new OCommandExecutionException(
+            "Cannot execute the query on node " + node + ": " + step.getName() + " cannot be executed on a remote node");
+      }
+    }
+  }
+
+  private static boolean isShardedFetch(QueryPlanningInfo info) {
+    return !info.distributedPlanCreated && info.distributedFetchExecutionPlans != null
+        && info.distributedFetchExecutionPlans.size() > 1;
+  }
+
+  /**
+   * on a sharded query, calculates the aggregate functions that can be calculated in parts (count, sum, min, max) on each node, so
+   * that the coordinator only merges one partial result per group per node. If any of the aggregate functions cannot be calculated
+   * in parts, all the aggregation is done on the coordinator
+   */
+  static void handlePartialAggregation(QueryPlanningInfo info, OCommandContext ctx, boolean profilingEnabled) {
+    if (!isShardedFetch(info) || info.aggregateProjection == null) {
+      return;
+    }
+
+    OProjection partial = new OProjection(-1);
+    partial.setItems(new ArrayList<>());
+    OProjection merge = new OProjection(-1);
+    merge.setItems(new ArrayList<>());
+    for (OProjectionItem item : info.aggregateProjection.getItems()) {
+      OIdentifier alias = item.getProjectionAlias();
+      if (item.isAggregate()) {
+        OExpression mergeExpression = item.getExpression().getPartialAggregateMerge(alias);
+        if (mergeExpression == null) {
+          return;
+        }
+        OProjectionItem mergeItem = new OProjectionItem(-1);
+        mergeItem.setExpression(mergeExpression);
+        mergeItem.setAlias(alias.copy());
+        merge.getItems().add(mergeItem);
+      } else {
+        merge.getItems().add(projectionFromAlias(alias.copy()));
+      }
+      partial.getItems().add(item.copy());
+    }
+
+    //the GROUP BY keys are needed also on the coordinator, to merge the partial results of the same group: each node calculates
+    //them under a generated alias, and the coordinator groups by those aliases
+    OGroupBy mergeGroupBy = null;
+    if (info.groupBy != null) {
+      mergeGroupBy = new OGroupBy(-1);
+      int i = 0;
+      for (OExpression exp : info.groupBy.getItems()) {
+        OIdentifier keyAlias = new OIdentifier("_$$$PARTIAL_GROUP_BY_ALIAS$$$_" + (i++));
+        OProjectionItem keyItem = new OProjectionItem(-1);
+        keyItem.setExpression(exp.copy());
+        keyItem.setAlias(keyAlias);
+        partial.getItems().add(keyItem);
+        mergeGroupBy.getItems().add(new OExpression(keyAlias.copy()));
+      }
+    }
+
+    for (OSelectExecutionPlan shardedPlan : info.distributedFetchExecutionPlans.values()) {
+      if (info.preAggregateProjection != null) {
+        shardedPlan.chain(new ProjectionCalculationStep(info.preAggregateProjection.copy(), ctx, profilingEnabled));
+      }
+      OGroupBy groupBy = info.groupBy == null ? null : info.groupBy.copy();
+      shardedPlan.chain(new AggregateProjectionCalculationStep(partial.copy(), groupBy, ctx, profilingEnabled));
+    }
+    info.preAggregateProjection = null;
+    info.aggregateProjection = merge;
+    info.groupBy = mergeGroupBy;
+  }
+
+  /**
+   * on a sharded query with ORDER BY and LIMIT, sorts and truncates the results on each node, so that the coordinator only sorts
+   * SKIP + LIMIT results per node
+   */
+  private static void handleTopK(QueryPlanningInfo info, OCommandContext ctx, boolean profilingEnabled) {
+    if (!isShardedFetch(info) || info.limit == null || info.orderBy == null || info.orderBy.getItems() == null
+        || info.orderBy.getItems().isEmpty() || info.orderApplied || info.expand || info.unwind != null || info.distinct
+        || info.aggregateProjection != null || info.preAggregateProjection != null) {
+      return;
+    }
+    int skipSize = info.skip == null ? 0 : info.skip.getValue(ctx);
+    int limitSize = info.limit.getValue(ctx);
+    if (skipSize < 0 || limitSize < 0) {
+      return;
+    }
+
+    for (OSelectExecutionPlan shardedPlan : info.distributedFetchExecutionPlans.values()) {
+      if (info.projection != null) {
+        shardedPlan.chain(new ProjectionCalculationStep(info.projection.copy(), ctx, profilingEnabled));
+      }
+      shardedPlan.chain(new OrderByStep(info.orderBy.copy(), skipSize + limitSize, ctx, profilingEnabled));
+    }
+    if (info.projection != null) {
+      info.projectionsCalculated = true;
+    }
+  }
+
   /**
    * based on the cluster/server map and the query target, this method tries to find an optimal strategy to execute the query on the
    * cluster.
@@ -1336,15 +1447,42 @@ public class OSelectExecutionPlanner {
   private void handleWhere(OSelectExecutionPlan plan, QueryPlanningInfo info, OCommandContext ctx, boolean profilingEnabled) {
     if (info.whereClause != null) {
       if (info.distributedPlanCreated) {
+        pushDownSerializedFilter(plan, info.whereClause);
         plan.chain(new FilterStep(info.whereClause, ctx, profilingEnabled));
       } else {
         for (OSelectExecutionPlan shardedPlan : info.distributedFetchExecutionPlans.values()) {
-          shardedPlan.chain(new FilterStep(info.whereClause.copy(), ctx, profilingEnabled));
+          OWhereClause where = info.whereClause.copy();
+          pushDownSerializedFilter(shardedPlan, where);
+          shardedPlan.chain(new FilterStep(where, ctx, profilingEnabled));
         }
       }
     }
   }
 
+  /**
+   * if the filter is applied directly on a class or cluster scan, lets the scan check the simple conditions on the serialized
+   * records, so that the records that do not match are not deserialized
+   */
+  private static void pushDownSerializedFilter(OSelectExecutionPlan plan, OWhereClause where) {
+    List<OExecutionStep> steps = plan.getSteps();
+    if (steps.isEmpty()) {
+      return;
+    }
+    OExecutionStep lastStep = steps.get(steps.size() - 1);
+    if (!(lastStep instanceof FetchFromClassExecutionStep) && !(lastStep instanceof FetchFromClusterExecutionStep)) {
+      return;
+    }
+    OSerializedRecordFilter filter = OSerializedRecordFilter.create(where);
+    if (filter == null) {
+      return;
+    }
+    if (lastStep instanceof FetchFromClassExecutionStep) {
+      ((FetchFromClassExecutionStep) lastStep).setSerializedFilter(filter);
+    } else {
+      ((FetchFromClusterExecutionStep) lastStep).setSerializedFilter(filter);
+    }
+  }
+
   public static void handleOrderBy(OSelectExecutionPlan plan, QueryPlanningInfo info, OCommandContext ctx,
       boolean profilingEnabled) {
     int skipSize = info.skip == null ? 0 : info.skip.getValue(ctx);
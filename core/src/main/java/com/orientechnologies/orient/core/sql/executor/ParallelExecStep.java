@@ -15,6 +15,7 @@ public class ParallelExecStep extends AbstractExecutionStep {
 
   int current = 0;
   private OResultSet currentResultSet = null;
+  private boolean    started          = false;
 
   public ParallelExecStep(List<OInternalExecutionPlan> subExecuitonPlans, OCommandContext ctx, boolean profilingEnabled) {
     super(ctx, profilingEnabled);
@@ -24,6 +25,10 @@ public class ParallelExecStep extends AbstractExecutionStep {
   @Override
   public OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException {
     getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
+    if (!started) {
+      started = true;
+      startRemoteSubPlans(ctx);
+    }
     return new OResultSet() {
       int localCount = 0;
 
@@ -73,6 +78,19 @@ public class ParallelExecStep extends AbstractExecutionStep {
     };
   }
 
+  /**
+   * sends all the remote sub-plans before pulling the first one, so that the nodes execute them in parallel
+   */
+  private void startRemoteSubPlans(OCommandContext ctx) {
+    for (OInternalExecutionPlan plan : subExecutionPlans) {
+      for (OExecutionStep step : plan.getSteps()) {
+        if (step instanceof DistributedExecutionStep) {
+          ((DistributedExecutionStep) step).start(ctx);
+        }
+      }
+    }
+  }
+
   void fetchNext(OCommandContext ctx, int nRecords) {
     do {
       if (current >= subExecutionPlans.size()) {
@@ -1,7 +1,9 @@
 package com.orientechnologies.orient.core.sql.executor;
 
 import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.exception.OCommandExecutionException;
 import com.orientechnologies.orient.core.sql.parser.OProjection;
 
 import java.util.Map;
@@ -11,10 +13,14 @@ import java.util.Optional;
  * Created by luigidellaquila on 12/07/16.
  */
 public class ProjectionCalculationStep extends AbstractExecutionStep {
-  protected final OProjection projection;
+  protected OProjection projection;
 
   protected long cost = 0;
 
+  public ProjectionCalculationStep() {
+    this(null, null, false);
+  }
+
   public ProjectionCalculationStep(OProjection projection, OCommandContext ctx, boolean profilingEnabled) {
     super(ctx, profilingEnabled);
     this.projection = projection;
@@ -55,6 +61,22 @@ public class ProjectionCalculationStep extends AbstractExecutionStep {
     };
   }
 
+  @Override
+  public OResultBatch syncPullBatch(OCommandContext ctx, int nRecords) throws OTimeoutException {
+    if (!prev.isPresent()) {
+      throw new IllegalStateException("Cannot calculate projections without a previous source");
+    }
+
+    OResultBatch batch = prev.get().syncPullBatch(ctx, nRecords);
+    for (int i = 0; i < batch.size(); i++) {
+      OResult item = batch.get(i);
+      //the previous step fetched the whole batch in advance
+      ctx.setVariable("$current", item);
+      batch.set(i, calculateProjections(ctx, item));
+    }
+    return batch;
+  }
+
   private OResult calculateProjections(OCommandContext ctx, OResult next) {
     long begin = profilingEnabled ? System.nanoTime() : 0;
     try {
@@ -82,4 +104,41 @@ public class ProjectionCalculationStep extends AbstractExecutionStep {
   public long getCost() {
     return cost;
   }
+
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public boolean canBeSerialized() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new ProjectionCalculationStep(projection.copy(), ctx, profilingEnabled);
+  }
+
+  @Override
+  public OResult serialize() {
+    OResultInternal result = OExecutionStepInternal.basicSerialize(this);
+    if (projection != null) {
+      result.setProperty("projection", projection.serialize());
+    }
+    return result;
+  }
+
+  @Override
+  public void deserialize(OResult fromResult) {
+    try {
+      OExecutionStepInternal.basicDeserialize(fromResult, this);
+      if (fromResult.getProperty("projection") != null) {
+        projection = new OProjection(-1);
+        projection.deserialize(fromResult.getProperty("projection"));
+      }
+    } catch (Exception e) {
+      throw OException.wrapException(new OCommandExecutionException(""), e);
+    }
+  }
 }
@@ -54,4 +54,13 @@ public class SkipExecutionStep extends AbstractExecutionStep {
     return OExecutionStepInternal.getIndent(depth, indent) + "+ SKIP (" + skip.toString() + ")";
   }
 
+  @Override
+  public boolean canBeCached() {
+    return true;
+  }
+
+  @Override
+  public OExecutionStep copy(OCommandContext ctx) {
+    return new SkipExecutionStep(this.skip.copy(), ctx, profilingEnabled);
+  }
 }
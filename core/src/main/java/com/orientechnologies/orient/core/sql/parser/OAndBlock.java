@@ -7,11 +7,13 @@ import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public class OAndBlock extends OBooleanExpression {
   List<OBooleanExpression> subBlocks = new ArrayList<OBooleanExpression>();
@@ -241,5 +243,22 @@ public class OAndBlock extends OBooleanExpression {
     subBlocks.forEach(x -> x.translateLuceneOperator());
   }
 
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    if (subBlocks != null) {
+      result.setProperty("subBlocks", subBlocks.stream().map(x -> x.serialize()).collect(Collectors.toList()));
+    }
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    if (fromResult.getProperty("subBlocks") != null) {
+      List<OResult> ser = fromResult.getProperty("subBlocks");
+      subBlocks = new ArrayList<>();
+      for (OResult r : ser) {
+        subBlocks.add(OBooleanExpression.deserializeFromOResult(r));
+      }
+    }
+  }
 }
 /* JavaCC - OriginalChecksum=cf1f66cc86cfc93d357f9fcdfa4a4604 (do not edit this line) */
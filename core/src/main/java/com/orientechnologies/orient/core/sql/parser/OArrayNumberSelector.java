@@ -147,7 +147,7 @@ public class OArrayNumberSelector extends SimpleNode {
     if (fromResult.getProperty("inputValue") != null) {
       inputValue = OInputParameter.deserializeFromOResult(fromResult.getProperty("inputValue"));
     }
-    if (fromResult.getProperty("toSelector") != null) {
+    if (fromResult.getProperty("expressionValue") != null) {
       expressionValue = new OMathExpression(-1);
       expressionValue.deserialize(fromResult.getProperty("expressionValue"));
     }
@@ -397,8 +397,7 @@ public class OBaseExpression extends OMathExpression {
     super.deserialize(fromResult);
 
     if (fromResult.getProperty("number") != null) {
-      number = new ONumber(-1);
-      number.deserialize(fromResult.getProperty("number"));
+      number = ONumber.deserializeFromOResult(fromResult.getProperty("number"));
     }
     if (fromResult.getProperty("identifier") != null) {
       identifier = new OBaseIdentifier(-1);
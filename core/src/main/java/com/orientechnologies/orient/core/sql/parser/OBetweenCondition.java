@@ -6,6 +6,7 @@ import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.metadata.schema.OType;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -208,5 +209,22 @@ public class OBetweenCondition extends OBooleanExpression{
   @Override
   public void translateLuceneOperator() {
   }
+
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("first", first.serialize());
+    result.setProperty("second", second.serialize());
+    result.setProperty("third", third.serialize());
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    first = new OExpression(-1);
+    first.deserialize(fromResult.getProperty("first"));
+    second = new OExpression(-1);
+    second.deserialize(fromResult.getProperty("second"));
+    third = new OExpression(-1);
+    third.deserialize(fromResult.getProperty("third"));
+  }
 }
 /* JavaCC - OriginalChecksum=f94f4779c4a6c6d09539446045ceca89 (do not edit this line) */
@@ -350,7 +350,7 @@ public class OBinaryCondition extends OBooleanExpression {
   }
 
   public OResult serialize() {
-    OResultInternal result = new OResultInternal();
+    OResultInternal result = (OResultInternal) super.serialize();
     result.setProperty("left", left.serialize());
     result.setProperty("operator", operator.getClass().getName());
     result.setProperty("right", right.serialize());
@@ -361,7 +361,8 @@ public class OBinaryCondition extends OBooleanExpression {
     left = new OExpression(-1);
     left.deserialize(fromResult.getProperty("left"));
     try {
-      operator = (OBinaryCompareOperator) Class.forName(String.valueOf(fromResult.getProperty("operator"))).newInstance();
+      operator = (OBinaryCompareOperator) Class.forName(fromResult.getProperty("operator"))
+          .getConstructor(Integer.TYPE).newInstance(-1);
     } catch (Exception e) {
       throw OException.wrapException(new OCommandExecutionException(""), e);
     }
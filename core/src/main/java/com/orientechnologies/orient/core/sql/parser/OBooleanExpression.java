@@ -86,6 +86,14 @@ public abstract class OBooleanExpression extends SimpleNode {
       return false;
     }
 
+    @Override
+    public OResult serialize() {
+      OResultInternal result = new OResultInternal();
+      result.setProperty("__class", OBooleanExpression.class.getName());
+      result.setProperty("value", true);
+      return result;
+    }
+
   };
 
   public static final OBooleanExpression FALSE = new OBooleanExpression(0) {
@@ -158,6 +166,14 @@ public abstract class OBooleanExpression extends SimpleNode {
       return false;
     }
 
+    @Override
+    public OResult serialize() {
+      OResultInternal result = new OResultInternal();
+      result.setProperty("__class", OBooleanExpression.class.getName());
+      result.setProperty("value", false);
+      return result;
+    }
+
   };
 
   public OBooleanExpression(int id) {
@@ -243,14 +259,17 @@ public abstract class OBooleanExpression extends SimpleNode {
   }
 
   public static OBooleanExpression deserializeFromOResult(OResult doc) {
+    if (OBooleanExpression.class.getName().equals(doc.getProperty("__class"))) {
+      return Boolean.TRUE.equals(doc.getProperty("value")) ? TRUE : FALSE;
+    }
     try {
-      OBooleanExpression result = (OBooleanExpression) Class.forName(doc.getProperty("__class")).getConstructor(Integer.class)
+      OBooleanExpression result = (OBooleanExpression) Class.forName(doc.getProperty("__class")).getConstructor(Integer.TYPE)
           .newInstance(-1);
       result.deserialize(doc);
+      return result;
     } catch (Exception e) {
       throw OException.wrapException(new OCommandExecutionException(""), e);
     }
-    return null;
   }
 
   public OResult serialize() {
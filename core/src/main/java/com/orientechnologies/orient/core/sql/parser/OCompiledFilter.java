@@ -0,0 +1,341 @@
+package com.orientechnologies.orient.core.sql.parser;
+
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+
+import java.util.List;
+
+/**
+ * A WHERE condition compiled to a tree of specialized predicates, used by the executor in place of the recursive evaluation of
+ * the parsed statement.
+ * <p>
+ * Compared to {@link OWhereClause#matchesFilters(OResult, OCommandContext)}:
+ * <ul>
+ * <li>parenthesis and single element AND/OR blocks are removed</li>
+ * <li>literal expressions (eg. <code>name = 'foo'</code> or <code>a > 2 * 10</code>) are calculated once, at compile time</li>
+ * <li>plain property names and input parameters are read directly, with no dispatch through the expression tree</li>
+ * <li>comparisons between values of the same basic type (strings and numbers) skip the type conversions of the generic
+ * operators</li>
+ * </ul>
+ * Everything else (functions, methods, sub-queries, modifiers, other operators...) is delegated to the original AST, so the
+ * result is always the same as the interpreted evaluation.
+ */
+public abstract class OCompiledFilter {
+
+  public static final OCompiledFilter TRUE = new OCompiledFilter() {
+    @Override
+    public boolean matches(OResult record, OCommandContext ctx) {
+      return true;
+    }
+  };
+
+  /**
+   * @param record the current record
+   * @param ctx    the query context
+   *
+   * @return true if the record matches the condition
+   */
+  public abstract boolean matches(OResult record, OCommandContext ctx);
+
+  /**
+   * compiles a WHERE clause
+   *
+   * @param whereClause the WHERE clause (can be null)
+   *
+   * @return the compiled condition
+   */
+  public static OCompiledFilter compile(OWhereClause whereClause) {
+    if (whereClause == null || whereClause.baseExpression == null) {
+      return TRUE;
+    }
+    return compileCondition(whereClause.baseExpression);
+  }
+
+  static OCompiledFilter compileCondition(OBooleanExpression expression) {
+    if (expression == OBooleanExpression.TRUE) {
+      return TRUE;
+    }
+    if (expression instanceof OParenthesisBlock && ((OParenthesisBlock) expression).subElement != null) {
+      return compileCondition(((OParenthesisBlock) expression).subElement);
+    }
+    if (expression instanceof ONotBlock) {
+      ONotBlock not = (ONotBlock) expression;
+      if (not.sub == null) {
+        return TRUE;
+      }
+      OCompiledFilter sub = compileCondition(not.sub);
+      return not.negate ? new Not(sub) : sub;
+    }
+    if (expression instanceof OAndBlock) {
+      List<OBooleanExpression> blocks = ((OAndBlock) expression).getSubBlocks();
+      if (blocks == null) {
+        return TRUE;
+      }
+      if (blocks.size() == 1) {
+        return compileCondition(blocks.get(0));
+      }
+      return new And(compileConditions(blocks));
+    }
+    if (expression instanceof OOrBlock) {
+      List<OBooleanExpression> blocks = ((OOrBlock) expression).getSubBlocks();
+      if (blocks == null) {
+        return TRUE;
+      }
+      if (blocks.size() == 1) {
+        return compileCondition(blocks.get(0));
+      }
+      return new Or(compileConditions(blocks));
+    }
+    if (expression instanceof OBinaryCondition) {
+      OBinaryCondition condition = (OBinaryCondition) expression;
+      ComparisonKind kind = ComparisonKind.of(condition.operator);
+      if (kind != null && condition.left != null && condition.right != null) {
+        return new Comparison(compileOperand(condition.left), kind, condition.operator, compileOperand(condition.right));
+      }
+    }
+    return new Interpreted(expression);
+  }
+
+  private static OCompiledFilter[] compileConditions(List<OBooleanExpression> blocks) {
+    OCompiledFilter[] result = new OCompiledFilter[blocks.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = compileCondition(blocks.get(i));
+    }
+    return result;
+  }
+
+  static Operand compileOperand(OExpression expression) {
+    if (expression.mathExpression == null || expression.isNull || expression.rid != null
+        || expression.arrayConcatExpression != null || expression.json != null || expression.booleanValue != null) {
+      return new Expression(expression);
+    }
+    if (isLiteral(expression.mathExpression)) {
+      //constant folding
+      return new Constant(expression.execute((OResult) null, null));
+    }
+    if (expression.mathExpression instanceof OBaseExpression) {
+      OBaseExpression base = (OBaseExpression) expression.mathExpression;
+      if (base.modifier == null && base.inputParam != null) {
+        return new Parameter(base.inputParam);
+      }
+      if (base.modifier == null && base.identifier != null && base.identifier.levelZero == null && base.identifier.suffix != null
+          && base.identifier.suffix.identifier != null && !base.identifier.suffix.star) {
+        return new Property(base.identifier.suffix);
+      }
+    }
+    return new Expression(expression);
+  }
+
+  /**
+   * @return true if the expression is made only of number and string literals
+   */
+  private static boolean isLiteral(OMathExpression expression) {
+    if (expression instanceof OBaseExpression) {
+      OBaseExpression base = (OBaseExpression) expression;
+      return base.modifier == null && base.identifier == null && base.inputParam == null && (base.number != null || (
+          base.string != null && base.string.length() > 1));
+    }
+    if (expression.getClass() != OMathExpression.class || expression.childExpressions.isEmpty()) {
+      return false;
+    }
+    for (OMathExpression child : expression.childExpressions) {
+      if (!isLiteral(child)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  enum ComparisonKind {
+    EQ, NE, LT, LE, GT, GE;
+
+    static ComparisonKind of(OBinaryCompareOperator operator) {
+      if (operator instanceof OEqualsCompareOperator) {
+        return EQ;
+      }
+      if (operator instanceof ONeOperator || operator instanceof ONeqOperator) {
+        return NE;
+      }
+      if (operator instanceof OLtOperator) {
+        return LT;
+      }
+      if (operator instanceof OLeOperator) {
+        return LE;
+      }
+      if (operator instanceof OGtOperator) {
+        return GT;
+      }
+      if (operator instanceof OGeOperator) {
+        return GE;
+      }
+      return null;
+    }
+  }
+
+  static class Comparison extends OCompiledFilter {
+    private final Operand                left;
+    private final ComparisonKind         kind;
+    private final OBinaryCompareOperator operator;
+    private final Operand                right;
+
+    Comparison(Operand left, ComparisonKind kind, OBinaryCompareOperator operator, Operand right) {
+      this.left = left;
+      this.kind = kind;
+      this.operator = operator;
+      this.right = right;
+    }
+
+    @Override
+    public boolean matches(OResult record, OCommandContext ctx) {
+      Object leftValue = left.execute(record, ctx);
+      Object rightValue = right.execute(record, ctx);
+      if (leftValue != null && rightValue != null && leftValue.getClass() == rightValue.getClass() && isBasicType(leftValue)) {
+        switch (kind) {
+        case EQ:
+          return leftValue.equals(rightValue);
+        case NE:
+          return !leftValue.equals(rightValue);
+        case LT:
+          return ((Comparable<Object>) leftValue).compareTo(rightValue) < 0;
+        case LE:
+          return ((Comparable<Object>) leftValue).compareTo(rightValue) <= 0;
+        case GT:
+          return ((Comparable<Object>) leftValue).compareTo(rightValue) > 0;
+        case GE:
+          return ((Comparable<Object>) leftValue).compareTo(rightValue) >= 0;
+        }
+      }
+      return operator.execute(leftValue, rightValue);
+    }
+
+    private static boolean isBasicType(Object value) {
+      return value instanceof String || value instanceof Integer || value instanceof Long || value instanceof Short
+          || value instanceof Double || value instanceof Float;
+    }
+  }
+
+  static class And extends OCompiledFilter {
+    private final OCompiledFilter[] blocks;
+
+    And(OCompiledFilter[] blocks) {
+      this.blocks = blocks;
+    }
+
+    @Override
+    public boolean matches(OResult record, OCommandContext ctx) {
+      for (OCompiledFilter block : blocks) {
+        if (!block.matches(record, ctx)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  static class Or extends OCompiledFilter {
+    private final OCompiledFilter[] blocks;
+
+    Or(OCompiledFilter[] blocks) {
+      this.blocks = blocks;
+    }
+
+    @Override
+    public boolean matches(OResult record, OCommandContext ctx) {
+      for (OCompiledFilter block : blocks) {
+        if (block.matches(record, ctx)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  static class Not extends OCompiledFilter {
+    private final OCompiledFilter sub;
+
+    Not(OCompiledFilter sub) {
+      this.sub = sub;
+    }
+
+    @Override
+    public boolean matches(OResult record, OCommandContext ctx) {
+      return !sub.matches(record, ctx);
+    }
+  }
+
+  static class Interpreted extends OCompiledFilter {
+    private final OBooleanExpression expression;
+
+    Interpreted(OBooleanExpression expression) {
+      this.expression = expression;
+    }
+
+    @Override
+    public boolean matches(OResult record, OCommandContext ctx) {
+      return expression.evaluate(record, ctx);
+    }
+  }
+
+  /**
+   * a compiled value expression
+   */
+  abstract static class Operand {
+    abstract Object execute(OResult record, OCommandContext ctx);
+  }
+
+  static class Constant extends Operand {
+    private final Object value;
+
+    Constant(Object value) {
+      this.value = value;
+    }
+
+    @Override
+    Object execute(OResult record, OCommandContext ctx) {
+      return value;
+    }
+  }
+
+  static class Parameter extends Operand {
+    private final OInputParameter param;
+
+    Parameter(OInputParameter param) {
+      this.param = param;
+    }
+
+    @Override
+    Object execute(OResult record, OCommandContext ctx) {
+      return param.getValue(ctx.getInputParameters());
+    }
+  }
+
+  static class Property extends Operand {
+    private final OSuffixIdentifier identifier;
+
+    Property(OSuffixIdentifier identifier) {
+      this.identifier = identifier;
+    }
+
+    String getName() {
+      return identifier.identifier.getStringValue();
+    }
+
+    @Override
+    Object execute(OResult record, OCommandContext ctx) {
+      return identifier.execute(record, ctx);
+    }
+  }
+
+  static class Expression extends Operand {
+    private final OExpression expression;
+
+    Expression(OExpression expression) {
+      this.expression = expression;
+    }
+
+    @Override
+    Object execute(OResult record, OCommandContext ctx) {
+      return expression.execute(record, ctx);
+    }
+  }
+}
@@ -6,6 +6,7 @@ import com.orientechnologies.common.collection.OMultiValue;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.*;
 
@@ -295,5 +296,30 @@ public class OContainsAllCondition extends OBooleanExpression {
 
     return result.size() == 0 ? null : result;
   }
+
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("left", left.serialize());
+    if (right != null) {
+      result.setProperty("right", right.serialize());
+    }
+    if (rightBlock != null) {
+      result.setProperty("rightBlock", rightBlock.serialize());
+    }
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    left = new OExpression(-1);
+    left.deserialize(fromResult.getProperty("left"));
+    if (fromResult.getProperty("right") != null) {
+      right = new OExpression(-1);
+      right.deserialize(fromResult.getProperty("right"));
+    }
+    if (fromResult.getProperty("rightBlock") != null) {
+      rightBlock = new OOrBlock(-1);
+      rightBlock.deserialize(fromResult.getProperty("rightBlock"));
+    }
+  }
 }
 /* JavaCC - OriginalChecksum=ab7b4e192a01cda09a82d5b80ef4ec60 (do not edit this line) */
@@ -6,6 +6,7 @@ import com.orientechnologies.common.collection.OMultiValue;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 import com.orientechnologies.orient.core.sql.operator.OQueryOperatorEquals;
 
 import java.util.*;
@@ -286,5 +287,28 @@ public class OContainsCondition extends OBooleanExpression {
     return result.size() == 0 ? null : result;
   }
 
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("left", left.serialize());
+    if (right != null) {
+      result.setProperty("right", right.serialize());
+    }
+    if (condition != null) {
+      result.setProperty("condition", condition.serialize());
+    }
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    left = new OExpression(-1);
+    left.deserialize(fromResult.getProperty("left"));
+    if (fromResult.getProperty("right") != null) {
+      right = new OExpression(-1);
+      right.deserialize(fromResult.getProperty("right"));
+    }
+    if (fromResult.getProperty("condition") != null) {
+      condition = OBooleanExpression.deserializeFromOResult(fromResult.getProperty("condition"));
+    }
+  }
 }
 /* JavaCC - OriginalChecksum=bad1118296ea74860e88d66bfe9fa222 (do not edit this line) */
@@ -5,6 +5,7 @@ package com.orientechnologies.orient.core.sql.parser;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -151,5 +152,19 @@ public class OContainsTextCondition extends OBooleanExpression {
 
     return result.size() == 0 ? null : result;
   }
+
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("left", left.serialize());
+    result.setProperty("right", right.serialize());
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    left = new OExpression(-1);
+    left.deserialize(fromResult.getProperty("left"));
+    right = new OExpression(-1);
+    right.deserialize(fromResult.getProperty("right"));
+  }
 }
 /* JavaCC - OriginalChecksum=b588492ba2cbd0f932055f1f64bbbecd (do not edit this line) */
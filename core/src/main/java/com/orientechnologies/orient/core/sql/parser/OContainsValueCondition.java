@@ -2,9 +2,12 @@
 /* JavaCCOptions:MULTI=true,NODE_USES_PARSER=false,VISITOR=true,TRACK_TOKENS=true,NODE_PREFIX=O,NODE_EXTENDS=,NODE_FACTORY=,SUPPORT_CLASS_VISIBILITY_PUBLIC=true */
 package com.orientechnologies.orient.core.sql.parser;
 
+import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.exception.OCommandExecutionException;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.*;
 
@@ -205,5 +208,37 @@ public class OContainsValueCondition extends OBooleanExpression {
 
     return result.size() == 0 ? null : result;
   }
+
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("left", left.serialize());
+    result.setProperty("operator", operator.getClass().getName());
+    if (condition != null) {
+      result.setProperty("condition", condition.serialize());
+    }
+    if (expression != null) {
+      result.setProperty("expression", expression.serialize());
+    }
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    left = new OExpression(-1);
+    left.deserialize(fromResult.getProperty("left"));
+    try {
+      operator = (OContainsValueOperator) Class.forName(fromResult.getProperty("operator"))
+          .getConstructor(Integer.TYPE).newInstance(-1);
+    } catch (Exception e) {
+      throw OException.wrapException(new OCommandExecutionException(""), e);
+    }
+    if (fromResult.getProperty("condition") != null) {
+      condition = new OOrBlock(-1);
+      condition.deserialize(fromResult.getProperty("condition"));
+    }
+    if (fromResult.getProperty("expression") != null) {
+      expression = new OExpression(-1);
+      expression.deserialize(fromResult.getProperty("expression"));
+    }
+  }
 }
 /* JavaCC - OriginalChecksum=6fda752f10c8d8731f43efa706e39459 (do not edit this line) */
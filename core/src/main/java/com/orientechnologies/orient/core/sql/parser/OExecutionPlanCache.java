@@ -0,0 +1,158 @@
+package com.orientechnologies.orient.core.sql.parser;
+
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.config.OStorageConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.OMetadataUpdateListener;
+import com.orientechnologies.orient.core.index.OIndexManager;
+import com.orientechnologies.orient.core.metadata.schema.OSchemaShared;
+import com.orientechnologies.orient.core.sql.executor.OInternalExecutionPlan;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a bounded, concurrent LRU cache for SQL execution plans, shared by all the sessions of a database. Plans are
+ * stored as templates (with no execution context attached) and a fresh copy is returned on every lookup, so that parameterized
+ * statements can skip both parsing and planning.
+ * <p>
+ * The cache depends on the database metadata (eg. the clusters of a class or the available indexes), so it is invalidated on every
+ * schema, index or storage configuration change.
+ */
+public class OExecutionPlanCache implements OMetadataUpdateListener {
+
+  private final ConcurrentLinkedHashMap<String, OInternalExecutionPlan> map;
+  private final int                                                     mapSize;
+
+  /**
+   * incremented on every invalidation, so that plans calculated across a metadata change are not cached
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * @param size the size of the cache (0 to disable it)
+   */
+  public OExecutionPlanCache(int size) {
+    this.mapSize = size;
+    this.map = new ConcurrentLinkedHashMap.Builder<String, OInternalExecutionPlan>().maximumWeightedCapacity(Math.max(size, 1))
+        .build();
+  }
+
+  /**
+   * @param statement an SQL statement
+   *
+   * @return true if an execution plan for the statement is present in the cache
+   */
+  public boolean contains(String statement) {
+    return map.containsKey(statement);
+  }
+
+  /**
+   * returns a copy of the cached execution plan for a statement, if present
+   *
+   * @param statement the SQL statement, as written by the user (with parameter placeholders)
+   * @param ctx       the context that will be used to execute the plan
+   * @param db        the current DB instance
+   *
+   * @return a new execution plan bound to ctx, or null if the statement is not in the cache
+   */
+  public static OInternalExecutionPlan get(String statement, OCommandContext ctx, ODatabaseDocumentInternal db) {
+    if (db == null || statement == null) {
+      return null;
+    }
+    OExecutionPlanCache resource = db.getSharedContext().getExecutionPlanCache();
+    if (resource == null) {
+      return null;
+    }
+    return resource.getInternal(statement, ctx);
+  }
+
+  /**
+   * stores an execution plan in the cache. The plan is not stored if the metadata changed after the planning started
+   *
+   * @param statement  the SQL statement, as written by the user (with parameter placeholders)
+   * @param plan       an execution plan for the statement. The plan is copied, so it can still be used by the caller
+   * @param generation the value returned by {@link #getGeneration(ODatabaseDocumentInternal)} before the planning started
+   * @param db         the current DB instance
+   */
+  public static void put(String statement, OInternalExecutionPlan plan, long generation, ODatabaseDocumentInternal db) {
+    if (db == null || statement == null) {
+      return;
+    }
+    OExecutionPlanCache resource = db.getSharedContext().getExecutionPlanCache();
+    if (resource == null) {
+      return;
+    }
+    resource.putInternal(statement, plan, generation);
+  }
+
+  /**
+   * @param db the current DB instance
+   *
+   * @return the current invalidation counter of the cache, to be passed to {@link #put(String, OInternalExecutionPlan, long,
+   * ODatabaseDocumentInternal)}
+   */
+  public static long getGeneration(ODatabaseDocumentInternal db) {
+    if (db == null) {
+      return -1;
+    }
+    OExecutionPlanCache resource = db.getSharedContext().getExecutionPlanCache();
+    return resource == null ? -1 : resource.generation.get();
+  }
+
+  public OInternalExecutionPlan getInternal(String statement, OCommandContext ctx) {
+    if (mapSize <= 0) {
+      return null;
+    }
+    OInternalExecutionPlan template = map.get(statement);
+    if (template == null) {
+      return null;
+    }
+    return template.copy(ctx);
+  }
+
+  public void putInternal(String statement, OInternalExecutionPlan plan, long generation) {
+    if (mapSize <= 0 || generation != this.generation.get()) {
+      return;
+    }
+    OInternalExecutionPlan template = plan.copy(null);
+    map.put(statement, template);
+    if (generation != this.generation.get()) {
+      //the metadata changed in the meantime
+      map.remove(statement, template);
+    }
+  }
+
+  /**
+   * removes all the cached plans
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    map.clear();
+  }
+
+  @Override
+  public void onSchemaUpdate(String database, OSchemaShared schema) {
+    invalidate();
+  }
+
+  @Override
+  public void onIndexManagerUpdate(String database, OIndexManager indexManager) {
+    invalidate();
+  }
+
+  @Override
+  public void onFunctionLibraryUpdate(String database) {
+    invalidate();
+  }
+
+  @Override
+  public void onSequenceLibraryUpdate(String database) {
+    invalidate();
+  }
+
+  @Override
+  public void onStorageConfigurationUpdate(String database, OStorageConfiguration update) {
+    invalidate();
+  }
+}
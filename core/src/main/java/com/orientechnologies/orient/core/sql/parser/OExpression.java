@@ -12,6 +12,7 @@ import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -569,6 +570,55 @@ public class OExpression extends SimpleNode {
     return mathExpression.isCount();
   }
 
+  /**
+   * if this expression is a plain call to an aggregate function that can be calculated in parts (count, sum, min, max), returns
+   * the expression that merges the partial results of the function, eg. sum(partialAlias) for count(), otherwise null
+   *
+   * @param partialAlias the alias of the partial results
+   */
+  public OExpression getPartialAggregateMerge(OIdentifier partialAlias) {
+    if (!(mathExpression instanceof OBaseExpression)) {
+      return null;
+    }
+    OBaseExpression base = (OBaseExpression) mathExpression;
+    if (base.modifier != null || base.identifier == null || base.identifier.suffix != null || base.identifier.levelZero == null
+        || base.identifier.levelZero.functionCall == null) {
+      return null;
+    }
+    OFunctionCall function = base.identifier.levelZero.functionCall;
+    if (function.getParams().size() != 1) {
+      return null;
+    }
+    String mergeFunction;
+    switch (function.getName().getStringValue().toLowerCase(Locale.ENGLISH)) {
+    case "count":
+    case "sum":
+      mergeFunction = "sum";
+      break;
+    case "min":
+      mergeFunction = "min";
+      break;
+    case "max":
+      mergeFunction = "max";
+      break;
+    default:
+      return null;
+    }
+
+    OFunctionCall merge = new OFunctionCall(-1);
+    merge.name = new OIdentifier(mergeFunction);
+    merge.params.add(new OExpression(partialAlias.copy()));
+    OLevelZeroIdentifier levelZero = new OLevelZeroIdentifier(-1);
+    levelZero.functionCall = merge;
+    OBaseIdentifier identifier = new OBaseIdentifier(-1);
+    identifier.levelZero = levelZero;
+    OBaseExpression mergeBase = new OBaseExpression(-1);
+    mergeBase.identifier = identifier;
+    OExpression result = new OExpression(-1);
+    result.mathExpression = mergeBase;
+    return result;
+  }
+
   public OArrayConcatExpression getArrayConcatExpression() {
     return arrayConcatExpression;
   }
@@ -113,7 +113,7 @@ public class OFetchPlanItem extends SimpleNode {
       result.setProperty("rightDepth", rightDepth.serialize());
     }
     if (fieldChain != null) {
-      result.setProperty("rightDepth", fieldChain.stream().collect(Collectors.toList()));
+      result.setProperty("fieldChain", fieldChain.stream().collect(Collectors.toList()));
     }
     return result;
   }
@@ -109,7 +109,7 @@ public class OFloatingPoint extends ONumber {
   }
 
   public OResult serialize() {
-    OResultInternal result = new OResultInternal();
+    OResultInternal result = (OResultInternal) super.serialize();
     result.setProperty("sign", sign);
     result.setProperty("stringValue", stringValue);
     result.setProperty("finalValue", finalValue);
@@ -414,15 +414,14 @@ public class OFunctionCall extends SimpleNode {
       result.setProperty("name", name.serialize());
     }
     if (params != null) {
-      result.setProperty("collection", params.stream().map(x -> x.serialize()).collect(Collectors.toList()));
+      result.setProperty("params", params.stream().map(x -> x.serialize()).collect(Collectors.toList()));
     }
     return result;
   }
 
   public void deserialize(OResult fromResult) {
     if (fromResult.getProperty("name") != null) {
-      name = new OIdentifier(-1);
-      name.deserialize(fromResult.getProperty("name"));
+      name = OIdentifier.deserialize(fromResult.getProperty("name"));
     }
     if (fromResult.getProperty("params") != null) {
       params = new ArrayList<>();
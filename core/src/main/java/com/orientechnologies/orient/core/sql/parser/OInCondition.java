@@ -3,10 +3,13 @@
 package com.orientechnologies.orient.core.sql.parser;
 
 import com.orientechnologies.common.collection.OMultiValue;
+import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.command.OBasicCommandContext;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.exception.OCommandExecutionException;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
 import com.orientechnologies.orient.core.sql.operator.OQueryOperatorEquals;
 
@@ -313,6 +316,46 @@ public class OInCondition extends OBooleanExpression {
   public void setLeft(OExpression left) {
     this.left = left;
   }
+
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("left", left.serialize());
+    if (operator != null) {
+      result.setProperty("operator", operator.getClass().getName());
+    }
+    if (rightStatement != null) {
+      result.setProperty("rightStatement", rightStatement.serialize());
+    }
+    if (rightParam != null) {
+      result.setProperty("rightParam", rightParam.serialize());
+    }
+    if (rightMathExpression != null) {
+      result.setProperty("rightMathExpression", rightMathExpression.serialize());
+    }
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    left = new OExpression(-1);
+    left.deserialize(fromResult.getProperty("left"));
+    if (fromResult.getProperty("operator") != null) {
+      try {
+        operator = (OBinaryCompareOperator) Class.forName(fromResult.getProperty("operator"))
+            .getConstructor(Integer.TYPE).newInstance(-1);
+      } catch (Exception e) {
+        throw OException.wrapException(new OCommandExecutionException(""), e);
+      }
+    }
+    if (fromResult.getProperty("rightStatement") != null) {
+      rightStatement = (OSelectStatement) OStatement.deserializeFromOResult(fromResult.getProperty("rightStatement"));
+    }
+    if (fromResult.getProperty("rightParam") != null) {
+      rightParam = OInputParameter.deserializeFromOResult(fromResult.getProperty("rightParam"));
+    }
+    if (fromResult.getProperty("rightMathExpression") != null) {
+      rightMathExpression = OMathExpression.deserializeFromResult(fromResult.getProperty("rightMathExpression"));
+    }
+  }
 }
 /* JavaCC - OriginalChecksum=00df7cb1877c0a12d24205c1700653c7 (do not edit this line) */
 
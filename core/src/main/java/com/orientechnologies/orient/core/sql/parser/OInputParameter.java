@@ -157,13 +157,13 @@ public class OInputParameter extends SimpleNode {
 
   public static OInputParameter deserializeFromOResult(OResult doc) {
     try {
-      OInputParameter result = (OInputParameter) Class.forName(doc.getProperty("__class")).getConstructor(Integer.class)
+      OInputParameter result = (OInputParameter) Class.forName(doc.getProperty("__class")).getConstructor(Integer.TYPE)
           .newInstance(-1);
       result.deserialize(doc);
+      return result;
     } catch (Exception e) {
       throw OException.wrapException(new OCommandExecutionException(""), e);
     }
-    return null;
   }
 
   public OResult serialize() {
@@ -10,6 +10,7 @@ import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.serialization.serializer.OStringSerializerHelper;
 
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.Collections;
 import java.util.List;
@@ -179,5 +180,23 @@ public class OInstanceofCondition extends OBooleanExpression{
     return left == null ? null : left.getMatchPatternInvolvedAliases();
   }
 
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("left", left.serialize());
+    if (right != null) {
+      result.setProperty("right", right.serialize());
+    }
+    result.setProperty("rightString", rightString);
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    left = new OExpression(-1);
+    left.deserialize(fromResult.getProperty("left"));
+    if (fromResult.getProperty("right") != null) {
+      right = OIdentifier.deserialize(fromResult.getProperty("right"));
+    }
+    rightString = fromResult.getProperty("rightString");
+  }
 }
 /* JavaCC - OriginalChecksum=0b5eb529744f307228faa6b26f0592dc (do not edit this line) */
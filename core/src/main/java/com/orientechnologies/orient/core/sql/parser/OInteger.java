@@ -98,7 +98,7 @@ public class OInteger extends ONumber {
   }
 
   public OResult serialize() {
-    OResultInternal result = new OResultInternal();
+    OResultInternal result = (OResultInternal) super.serialize();
     result.setProperty("value", value);
     return result;
   }
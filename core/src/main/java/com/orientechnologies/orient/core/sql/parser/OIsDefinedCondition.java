@@ -6,6 +6,7 @@ import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.record.OElement;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.Collections;
 import java.util.List;
@@ -114,5 +115,16 @@ public class OIsDefinedCondition extends OBooleanExpression implements OSimpleBo
   public List<String> getMatchPatternInvolvedAliases() {
     return expression.getMatchPatternInvolvedAliases();
   }
+
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("expression", expression.serialize());
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    expression = new OExpression(-1);
+    expression.deserialize(fromResult.getProperty("expression"));
+  }
 }
 /* JavaCC - OriginalChecksum=075954b212c8cb44c8538bf5dea047d3 (do not edit this line) */
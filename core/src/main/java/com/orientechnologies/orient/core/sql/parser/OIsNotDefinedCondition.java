@@ -6,6 +6,7 @@ import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.record.OElement;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.Collections;
 import java.util.List;
@@ -105,5 +106,16 @@ public class OIsNotDefinedCondition extends OBooleanExpression {
   @Override public int hashCode() {
     return expression != null ? expression.hashCode() : 0;
   }
+
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("expression", expression.serialize());
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    expression = new OExpression(-1);
+    expression.deserialize(fromResult.getProperty("expression"));
+  }
 }
 /* JavaCC - OriginalChecksum=1c766d6caf5ccae19c1c291396bb56f2 (do not edit this line) */
@@ -5,6 +5,7 @@ package com.orientechnologies.orient.core.sql.parser;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.Collections;
 import java.util.List;
@@ -105,5 +106,15 @@ public class OIsNotNullCondition extends OBooleanExpression {
     return expression.getMatchPatternInvolvedAliases();
   }
 
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("expression", expression.serialize());
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    expression = new OExpression(-1);
+    expression.deserialize(fromResult.getProperty("expression"));
+  }
 }
 /* JavaCC - OriginalChecksum=a292fa8a629abb7f6fe72a627fc91361 (do not edit this line) */
@@ -5,6 +5,7 @@ package com.orientechnologies.orient.core.sql.parser;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.Collections;
 import java.util.List;
@@ -112,5 +113,15 @@ public class OIsNullCondition extends OBooleanExpression{
     return expression.getMatchPatternInvolvedAliases();
   }
 
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("expression", expression.serialize());
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    expression = new OExpression(-1);
+    expression.deserialize(fromResult.getProperty("expression"));
+  }
 }
 /* JavaCC - OriginalChecksum=29ebbc506a98f90953af91a66a03aa1e (do not edit this line) */
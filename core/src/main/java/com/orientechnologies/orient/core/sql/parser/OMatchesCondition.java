@@ -5,6 +5,7 @@ package com.orientechnologies.orient.core.sql.parser;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.Collections;
 import java.util.List;
@@ -175,5 +176,23 @@ public class OMatchesCondition extends OBooleanExpression {
     return expression.getMatchPatternInvolvedAliases();
   }
 
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("expression", expression.serialize());
+    result.setProperty("right", right);
+    if (rightParam != null) {
+      result.setProperty("rightParam", rightParam.serialize());
+    }
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    expression = new OExpression(-1);
+    expression.deserialize(fromResult.getProperty("expression"));
+    right = fromResult.getProperty("right");
+    if (fromResult.getProperty("rightParam") != null) {
+      rightParam = OInputParameter.deserializeFromOResult(fromResult.getProperty("rightParam"));
+    }
+  }
 }
 /* JavaCC - OriginalChecksum=68712f476e2e633c2bbfc34cb6c39356 (do not edit this line) */
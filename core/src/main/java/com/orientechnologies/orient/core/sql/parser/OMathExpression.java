@@ -1010,7 +1010,7 @@ public class OMathExpression extends SimpleNode {
   public static OMathExpression deserializeFromResult(OResult fromResult) {
     String className = fromResult.getProperty("__class");
     try {
-      OMathExpression result = (OMathExpression) Class.forName(className).getConstructor(Integer.class).newInstance(-1);
+      OMathExpression result = (OMathExpression) Class.forName(className).getConstructor(Integer.TYPE).newInstance(-1);
       result.deserialize(fromResult);
       return result;
     } catch (Exception e) {
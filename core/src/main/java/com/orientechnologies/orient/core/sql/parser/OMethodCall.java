@@ -225,15 +225,14 @@ public class OMethodCall extends SimpleNode {
       result.setProperty("methodName", methodName.serialize());
     }
     if (params != null) {
-      result.setProperty("items", params.stream().map(x -> x.serialize()).collect(Collectors.toList()));
+      result.setProperty("params", params.stream().map(x -> x.serialize()).collect(Collectors.toList()));
     }
     return result;
   }
 
   public void deserialize(OResult fromResult) {
     if (fromResult.getProperty("methodName") != null) {
-      methodName = new OIdentifier(-1);
-      methodName.deserialize(fromResult.getProperty("methodName"));
+      methodName = OIdentifier.deserialize(fromResult.getProperty("methodName"));
     }
     if (fromResult.getProperty("params") != null) {
       List<OResult> ser = fromResult.getProperty("params");
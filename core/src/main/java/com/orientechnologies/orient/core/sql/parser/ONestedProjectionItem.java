@@ -148,7 +148,7 @@ public class ONestedProjectionItem extends SimpleNode {
   public void deserialize(OResult fromResult) {
     exclude = fromResult.getProperty("exclude");
     star = fromResult.getProperty("star");
-    if (fromResult.getProperty("field") != null) {
+    if (fromResult.getProperty("expression") != null) {
       expression = new OExpression(-1);
       expression.deserialize(fromResult.getProperty("expression"));
     }
@@ -158,8 +158,7 @@ public class ONestedProjectionItem extends SimpleNode {
       expansion.deserialize(fromResult.getProperty("expansion"));
     }
     if (fromResult.getProperty("alias") != null) {
-      alias = new OIdentifier(-1);
-      alias.deserialize(fromResult.getProperty("alias"));
+      alias = OIdentifier.deserialize(fromResult.getProperty("alias"));
     }
   }
 }
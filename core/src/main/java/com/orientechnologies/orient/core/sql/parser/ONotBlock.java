@@ -7,6 +7,7 @@ import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.List;
 import java.util.Map;
@@ -161,5 +162,17 @@ public class ONotBlock extends OBooleanExpression {
   public void translateLuceneOperator() {
     sub.translateLuceneOperator();
   }
+
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("sub", sub.serialize());
+    result.setProperty("negate", negate);
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    sub = OBooleanExpression.deserializeFromOResult(fromResult.getProperty("sub"));
+    negate = fromResult.getProperty("negate");
+  }
 }
 /* JavaCC - OriginalChecksum=1926313b3f854235aaa20811c22d583b (do not edit this line) */
@@ -2,9 +2,12 @@
 /* JavaCCOptions:MULTI=true,NODE_USES_PARSER=false,VISITOR=true,TRACK_TOKENS=true,NODE_PREFIX=O,NODE_EXTENDS=,NODE_FACTORY=,SUPPORT_CLASS_VISIBILITY_PUBLIC=true */
 package com.orientechnologies.orient.core.sql.parser;
 
+import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.exception.OCommandExecutionException;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -240,5 +243,44 @@ public class ONotInCondition extends OBooleanExpression {
     return result.size() == 0 ? null : result;
   }
 
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("left", left.serialize());
+    if (operator != null) {
+      result.setProperty("operator", operator.getClass().getName());
+    }
+    if (rightStatement != null) {
+      result.setProperty("rightStatement", rightStatement.serialize());
+    }
+    if (rightParam != null) {
+      result.setProperty("rightParam", rightParam.serialize());
+    }
+    if (rightMathExpression != null) {
+      result.setProperty("rightMathExpression", rightMathExpression.serialize());
+    }
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    left = new OExpression(-1);
+    left.deserialize(fromResult.getProperty("left"));
+    if (fromResult.getProperty("operator") != null) {
+      try {
+        operator = (OBinaryCompareOperator) Class.forName(fromResult.getProperty("operator"))
+            .getConstructor(Integer.TYPE).newInstance(-1);
+      } catch (Exception e) {
+        throw OException.wrapException(new OCommandExecutionException(""), e);
+      }
+    }
+    if (fromResult.getProperty("rightStatement") != null) {
+      rightStatement = (OSelectStatement) OStatement.deserializeFromOResult(fromResult.getProperty("rightStatement"));
+    }
+    if (fromResult.getProperty("rightParam") != null) {
+      rightParam = OInputParameter.deserializeFromOResult(fromResult.getProperty("rightParam"));
+    }
+    if (fromResult.getProperty("rightMathExpression") != null) {
+      rightMathExpression = OMathExpression.deserializeFromResult(fromResult.getProperty("rightMathExpression"));
+    }
+  }
 }
 /* JavaCC - OriginalChecksum=8fb82bf72cc7d9cbdf2f9e2323ca8ee1 (do not edit this line) */
@@ -2,7 +2,10 @@
 /* JavaCCOptions:MULTI=true,NODE_USES_PARSER=false,VISITOR=true,TRACK_TOKENS=true,NODE_PREFIX=O,NODE_EXTENDS=,NODE_FACTORY=,SUPPORT_CLASS_VISIBILITY_PUBLIC=true */
 package com.orientechnologies.orient.core.sql.parser;
 
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.orient.core.exception.OCommandExecutionException;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.Map;
 
@@ -37,7 +40,19 @@ public class ONumber extends SimpleNode {
   }
 
   public OResult serialize() {
-    throw new UnsupportedOperationException();
+    OResultInternal result = new OResultInternal();
+    result.setProperty("__class", getClass().getName());
+    return result;
+  }
+
+  public static ONumber deserializeFromOResult(OResult doc) {
+    try {
+      ONumber result = (ONumber) Class.forName(doc.getProperty("__class")).getConstructor(Integer.TYPE).newInstance(-1);
+      result.deserialize(doc);
+      return result;
+    } catch (Exception e) {
+      throw OException.wrapException(new OCommandExecutionException(""), e);
+    }
   }
 
   public void deserialize(OResult fromResult) {
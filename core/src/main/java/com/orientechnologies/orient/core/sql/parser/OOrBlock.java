@@ -8,6 +8,7 @@ import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -231,5 +232,22 @@ public class OOrBlock extends OBooleanExpression {
     subBlocks.forEach(x -> x.translateLuceneOperator());
   }
 
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    if (subBlocks != null) {
+      result.setProperty("subBlocks", subBlocks.stream().map(x -> x.serialize()).collect(Collectors.toList()));
+    }
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    if (fromResult.getProperty("subBlocks") != null) {
+      List<OResult> ser = fromResult.getProperty("subBlocks");
+      subBlocks = new ArrayList<>();
+      for (OResult r : ser) {
+        subBlocks.add(OBooleanExpression.deserializeFromOResult(r));
+      }
+    }
+  }
 }
 /* JavaCC - OriginalChecksum=98d3077303a598705894dbb7bd4e1573 (do not edit this line) */
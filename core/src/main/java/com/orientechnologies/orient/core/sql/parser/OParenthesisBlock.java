@@ -5,6 +5,7 @@ package com.orientechnologies.orient.core.sql.parser;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
 import java.util.List;
 import java.util.Map;
@@ -103,5 +104,15 @@ public class OParenthesisBlock extends OBooleanExpression {
   public void translateLuceneOperator() {
     subElement.translateLuceneOperator();
   }
+
+  public OResult serialize() {
+    OResultInternal result = (OResultInternal) super.serialize();
+    result.setProperty("subElement", subElement.serialize());
+    return result;
+  }
+
+  public void deserialize(OResult fromResult) {
+    subElement = OBooleanExpression.deserializeFromOResult(fromResult.getProperty("subElement"));
+  }
 }
 /* JavaCC - OriginalChecksum=9a16b6cf7d051382acb94c45067631a9 (do not edit this line) */
@@ -179,7 +179,8 @@ public class ORightBinaryCondition extends SimpleNode {
 
   public void deserialize(OResult fromResult) {
     try {
-      operator = (OBinaryCompareOperator) Class.forName(String.valueOf(fromResult.getProperty("operator"))).newInstance();
+      operator = (OBinaryCompareOperator) Class.forName(fromResult.getProperty("operator")).getConstructor(Integer.TYPE)
+          .newInstance(-1);
     } catch (Exception e) {
       throw OException.wrapException(new OCommandExecutionException(""), e);
     }
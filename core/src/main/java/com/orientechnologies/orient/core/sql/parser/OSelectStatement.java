@@ -9,6 +9,7 @@ package com.orientechnologies.orient.core.sql.parser;
 import com.orientechnologies.orient.core.command.OBasicCommandContext;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.ODatabase;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.sql.OCommandSQLParsingException;
 import com.orientechnologies.orient.core.sql.executor.*;
 import com.orientechnologies.orient.core.storage.OStorage;
@@ -239,7 +240,7 @@ public class OSelectStatement extends OStatement {
       }
     }
     ctx.setInputParameters(params);
-    OInternalExecutionPlan executionPlan = createExecutionPlan(ctx, false);
+    OInternalExecutionPlan executionPlan = createCachedExecutionPlan(ctx);
 
     OLocalResultSet result = new OLocalResultSet(executionPlan);
     return result;
@@ -253,7 +254,7 @@ public class OSelectStatement extends OStatement {
     }
     ctx.setDatabase(db);
     ctx.setInputParameters(params);
-    OInternalExecutionPlan executionPlan = createExecutionPlan(ctx, false);
+    OInternalExecutionPlan executionPlan = createCachedExecutionPlan(ctx);
 
     OLocalResultSet result = new OLocalResultSet(executionPlan);
     return result;
@@ -264,6 +265,47 @@ public class OSelectStatement extends OStatement {
     return planner.createExecutionPlan(ctx, enableProfiling);
   }
 
+  /**
+   * returns an execution plan for current statement (with profiling disabled), taking it from the execution plan cache if
+   * possible
+   *
+   * @param ctx the context that will be used to execute the statement
+   *
+   * @return an execution plan
+   */
+  protected OInternalExecutionPlan createCachedExecutionPlan(OCommandContext ctx) {
+    if (!executionPlanCanBeCached() || !(ctx.getDatabase() instanceof ODatabaseDocumentInternal)) {
+      return createExecutionPlan(ctx, false);
+    }
+    ODatabaseDocumentInternal db = (ODatabaseDocumentInternal) ctx.getDatabase();
+    OInternalExecutionPlan result = OExecutionPlanCache.get(originalStatement, ctx, db);
+    if (result != null) {
+      return result;
+    }
+    long generation = OExecutionPlanCache.getGeneration(db);
+    result = createExecutionPlan(ctx, false);
+    if (result.canBeCached()) {
+      OExecutionPlanCache.put(originalStatement, result, generation, db);
+    }
+    return result;
+  }
+
+  @Override
+  public boolean executionPlanCanBeCached() {
+    if (originalStatement == null) {
+      return false;
+    }
+    if (target != null && target.getItem() != null && target.getItem().getInputParam() != null) {
+      //the target is resolved at planning time
+      return false;
+    }
+    if ((skip != null && skip.inputParam != null) || (limit != null && limit.inputParam != null)) {
+      //SKIP and LIMIT are used at planning time to size the ORDER BY buffer
+      return false;
+    }
+    return true;
+  }
+
   @Override
   public OSelectStatement copy() {
     OSelectStatement result = null;
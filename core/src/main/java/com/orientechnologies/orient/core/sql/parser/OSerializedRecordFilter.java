@@ -0,0 +1,282 @@
+package com.orientechnologies.orient.core.sql.parser;
+
+import com.orientechnologies.common.collection.OMultiValue;
+import com.orientechnologies.orient.core.collate.ODefaultCollate;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.ORecord;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.*;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pre-filter for table scans, that checks the simple conditions of a WHERE clause (<code>field = value</code>, <code>field
+ * &lt; value</code>, <code>field IN [values]</code>...) directly on the serialized content of the records, with {@link
+ * OBinaryComparator}, so that the records that do not match are discarded without being deserialized.
+ * <p>
+ * The filter is conservative: it discards a record only when one of the top level AND conditions is certainly false. When the
+ * condition cannot be evaluated on the serialized content (eg. a field of a different type, or with a custom collate, or a record
+ * that was already deserialized) the record is accepted, so the full WHERE clause still has to be evaluated on the records that pass
+ * the filter.
+ * <p>
+ * Instances are bound to a single execution (values of input parameters are serialized on first use), use {@link #copy()} to get a
+ * new one.
+ */
+public class OSerializedRecordFilter {
+
+  private final List<Condition> conditions;
+
+  private OSerializedRecordFilter(List<Condition> conditions) {
+    this.conditions = conditions;
+  }
+
+  /**
+   * @param whereClause a WHERE clause
+   *
+   * @return a filter for the simple conditions of the WHERE clause, null if no condition can be evaluated on serialized records
+   */
+  public static OSerializedRecordFilter create(OWhereClause whereClause) {
+    if (whereClause == null || whereClause.baseExpression == null) {
+      return null;
+    }
+    List<Condition> conditions = new ArrayList<>();
+    addConditions(whereClause.baseExpression, conditions);
+    return conditions.isEmpty() ? null : new OSerializedRecordFilter(conditions);
+  }
+
+  private static void addConditions(OBooleanExpression expression, List<Condition> conditions) {
+    if (expression instanceof OParenthesisBlock) {
+      addConditions(((OParenthesisBlock) expression).subElement, conditions);
+    } else if (expression instanceof ONotBlock) {
+      if (!((ONotBlock) expression).negate) {
+        addConditions(((ONotBlock) expression).sub, conditions);
+      }
+    } else if (expression instanceof OAndBlock) {
+      List<OBooleanExpression> blocks = ((OAndBlock) expression).getSubBlocks();
+      if (blocks != null) {
+        for (OBooleanExpression block : blocks) {
+          addConditions(block, conditions);
+        }
+      }
+    } else if (expression instanceof OOrBlock) {
+      List<OBooleanExpression> blocks = ((OOrBlock) expression).getSubBlocks();
+      if (blocks != null && blocks.size() == 1) {
+        addConditions(blocks.get(0), conditions);
+      }
+    } else if (expression instanceof OBinaryCondition) {
+      OBinaryCondition condition = (OBinaryCondition) expression;
+      OCompiledFilter.ComparisonKind kind = OCompiledFilter.ComparisonKind.of(condition.operator);
+      String field = getFieldName(condition.left);
+      if (kind != null && field != null && isValue(condition.right)) {
+        conditions.add(new Condition(field, kind, condition.right, null));
+      }
+    } else if (expression instanceof OInCondition) {
+      OInCondition condition = (OInCondition) expression;
+      String field = getFieldName(condition.left);
+      if (field != null && condition.rightStatement == null && condition.right == null) {
+        if (condition.rightParam != null) {
+          conditions.add(new Condition(field, null, null, condition.rightParam));
+        } else if (isLiteralCollection(condition.rightMathExpression)) {
+          OExpression right = new OExpression(-1);
+          right.mathExpression = condition.rightMathExpression;
+          conditions.add(new Condition(field, null, right, null));
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the name of the field, if the expression is a plain field name, null otherwise
+   */
+  private static String getFieldName(OExpression expression) {
+    OCompiledFilter.Operand operand = OCompiledFilter.compileOperand(expression);
+    if (!(operand instanceof OCompiledFilter.Property)) {
+      return null;
+    }
+    String name = ((OCompiledFilter.Property) operand).getName();
+    return name.startsWith("$") || name.startsWith("@") ? null : name;
+  }
+
+  /**
+   * @return true if the expression is a literal or an input parameter
+   */
+  private static boolean isValue(OExpression expression) {
+    OCompiledFilter.Operand operand = OCompiledFilter.compileOperand(expression);
+    return operand instanceof OCompiledFilter.Constant || operand instanceof OCompiledFilter.Parameter;
+  }
+
+  private static boolean isLiteralCollection(OMathExpression expression) {
+    if (!(expression instanceof OBaseExpression)) {
+      return false;
+    }
+    OBaseExpression base = (OBaseExpression) expression;
+    if (base.modifier != null || base.identifier == null || base.identifier.levelZero == null
+        || base.identifier.levelZero.collection == null) {
+      return false;
+    }
+    for (OExpression item : base.identifier.levelZero.collection.expressions) {
+      if (!(OCompiledFilter.compileOperand(item) instanceof OCompiledFilter.Constant)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return a new filter, with the same conditions, for a new execution
+   */
+  public OSerializedRecordFilter copy() {
+    List<Condition> result = new ArrayList<>();
+    for (Condition condition : conditions) {
+      result.add(new Condition(condition.field, condition.kind, condition.right, condition.rightParam));
+    }
+    return new OSerializedRecordFilter(result);
+  }
+
+  /**
+   * @param record a record
+   * @param ctx    the query context
+   *
+   * @return false if the record certainly does not match the conditions, true if it matches or if it cannot be determined without
+   * deserializing it
+   */
+  public boolean canMatch(ORecord record, OCommandContext ctx) {
+    if (!(record instanceof ODocument)) {
+      return true;
+    }
+    byte[] content = ODocumentInternal.getSerializedContent((ODocument) record);
+    if (content == null || content[0] != ORecordSerializerBinary.INSTANCE.getCurrentVersion()) {
+      return true;
+    }
+    OClass clazz = ((ODocument) record).getSchemaClass();
+    if (clazz == null) {
+      return true;
+    }
+    ODocumentSerializer serializer = ORecordSerializerBinary.INSTANCE.getCurrentSerializer();
+    for (Condition condition : conditions) {
+      if (!condition.bind(serializer, ctx)) {
+        continue;
+      }
+      if (ctx.getVariable(condition.field) != null) {
+        //the name refers to a context variable, not to the field
+        continue;
+      }
+      OBinaryField field = serializer.deserializeField(new BytesContainer(content).skip(1), clazz, condition.field);
+      if (field != null && !condition.canMatch(field, serializer.getComparator())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static class Condition {
+    private final String                         field;
+    /**
+     * the comparison operator, null for IN conditions
+     */
+    private final OCompiledFilter.ComparisonKind kind;
+    private final OExpression                    right;
+    private final OInputParameter                rightParam;
+
+    private boolean        bound = false;
+    /**
+     * the serialized values on the right of the condition, null if they cannot be compared in binary form
+     */
+    private OBinaryField[] values;
+
+    Condition(String field, OCompiledFilter.ComparisonKind kind, OExpression right, OInputParameter rightParam) {
+      this.field = field;
+      this.kind = kind;
+      this.right = right;
+      this.rightParam = rightParam;
+    }
+
+    /**
+     * calculates and serializes the values on the right of the condition
+     *
+     * @return true if the condition can be evaluated on serialized records
+     */
+    boolean bind(ODocumentSerializer serializer, OCommandContext ctx) {
+      if (bound) {
+        return values != null;
+      }
+      bound = true;
+      Object value;
+      if (rightParam != null) {
+        value = rightParam.getValue(ctx.getInputParameters());
+      } else {
+        value = right.execute((OResult) null, ctx);
+      }
+      List<Object> items = new ArrayList<>();
+      if (kind != null) {
+        items.add(value);
+      } else if (OMultiValue.isMultiValue(value) && !(value instanceof java.util.Map)) {
+        for (Object item : OMultiValue.getMultiValueIterable(value, false)) {
+          items.add(item);
+        }
+      } else {
+        return false;
+      }
+      OBinaryField[] result = new OBinaryField[items.size()];
+      for (int i = 0; i < result.length; i++) {
+        Object item = items.get(i);
+        OType type = item == null ? null : OType.getTypeByValue(item);
+        if (!isSupported(type)) {
+          return false;
+        }
+        BytesContainer bytes = new BytesContainer();
+        serializer.serializeValue(bytes, item, type, null);
+        bytes.offset = 0;
+        result[i] = new OBinaryField(null, type, bytes, null);
+      }
+      values = result;
+      return true;
+    }
+
+    /**
+     * only types whose binary comparison is exactly the same as the comparison performed by the SQL operators
+     */
+    private static boolean isSupported(OType type) {
+      return type == OType.INTEGER || type == OType.LONG || type == OType.SHORT || type == OType.STRING;
+    }
+
+    boolean canMatch(OBinaryField fieldValue, OBinaryComparator comparator) {
+      if (fieldValue.collate != null && !ODefaultCollate.NAME.equals(fieldValue.collate.getName())) {
+        return true;
+      }
+      if (kind == null) {
+        //IN
+        for (OBinaryField value : values) {
+          if (value.type != fieldValue.type || comparator.isEqual(fieldValue, value)) {
+            return true;
+          }
+        }
+        return false;
+      }
+      OBinaryField value = values[0];
+      if (value.type != fieldValue.type) {
+        return true;
+      }
+      switch (kind) {
+      case EQ:
+        return comparator.isEqual(fieldValue, value);
+      case NE:
+        return !comparator.isEqual(fieldValue, value);
+      case LT:
+        return comparator.compare(fieldValue, value) < 0;
+      case LE:
+        return comparator.compare(fieldValue, value) <= 0;
+      case GT:
+        return comparator.compare(fieldValue, value) > 0;
+      case GE:
+        return comparator.compare(fieldValue, value) >= 0;
+      }
+      return true;
+    }
+  }
+}
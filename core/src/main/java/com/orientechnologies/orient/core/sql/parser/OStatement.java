@@ -21,6 +21,11 @@ public class OStatement extends SimpleNode {
 
   public static final String CUSTOM_STRICT_SQL = "strictSql";
 
+  /**
+   * the statement text, as passed to the parser (with parameter placeholders). It is used as a key for the execution plan cache
+   */
+  protected String originalStatement;
+
   public OStatement(int id) {
     super(id);
   }
@@ -94,6 +99,22 @@ public class OStatement extends SimpleNode {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * @return true if the execution plan of this statement depends only on the statement text and on the database metadata (ie. not
+   * on input parameters), so that it can be stored in the execution plan cache
+   */
+  public boolean executionPlanCanBeCached() {
+    return false;
+  }
+
+  public String getOriginalStatement() {
+    return originalStatement;
+  }
+
+  public void setOriginalStatement(String originalStatement) {
+    this.originalStatement = originalStatement;
+  }
+
   public OStatement copy() {
     throw new UnsupportedOperationException("IMPLEMENT copy() ON " + getClass().getSimpleName());
   }
@@ -108,12 +129,12 @@ public class OStatement extends SimpleNode {
 
   public static OStatement deserializeFromOResult(OResult doc) {
     try {
-      OStatement result = (OStatement) Class.forName(doc.getProperty("__class")).getConstructor(Integer.class).newInstance(-1);
+      OStatement result = (OStatement) Class.forName(doc.getProperty("__class")).getConstructor(Integer.TYPE).newInstance(-1);
       result.deserialize(doc);
+      return result;
     } catch (Exception e) {
       throw OException.wrapException(new OCommandExecutionException(""), e);
     }
-    return null;
   }
 
   public OResult serialize() {
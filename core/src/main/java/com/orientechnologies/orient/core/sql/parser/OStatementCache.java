@@ -125,6 +125,7 @@ public class OStatementCache {
         }
       }
       OStatement result = osql.parse();
+      result.originalStatement = statement;
 
       return result;
     } catch (ParseException e) {
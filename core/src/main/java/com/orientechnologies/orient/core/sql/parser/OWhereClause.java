@@ -259,6 +259,63 @@ public class OWhereClause extends SimpleNode {
     return result;
   }
 
+  /**
+   * returns the conditions in the form <code>field = value</code> (where value is a literal or an input parameter) that all the
+   * records matching this WHERE clause have to satisfy, ie. the ones that are top level AND conditions
+   *
+   * @param ctx the command context, used to calculate the values of the input parameters
+   *
+   * @return a map of field name -&gt; value. Conditions with null values are not returned
+   */
+  public Map<String, Object> getRequiredEqualities(OCommandContext ctx) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    if (baseExpression != null) {
+      addRequiredEqualities(baseExpression, ctx, result);
+    }
+    return result;
+  }
+
+  private static void addRequiredEqualities(OBooleanExpression expression, OCommandContext ctx, Map<String, Object> result) {
+    if (expression instanceof OParenthesisBlock) {
+      addRequiredEqualities(((OParenthesisBlock) expression).subElement, ctx, result);
+    } else if (expression instanceof ONotBlock) {
+      if (!((ONotBlock) expression).negate) {
+        addRequiredEqualities(((ONotBlock) expression).sub, ctx, result);
+      }
+    } else if (expression instanceof OAndBlock) {
+      List<OBooleanExpression> blocks = ((OAndBlock) expression).getSubBlocks();
+      if (blocks != null) {
+        for (OBooleanExpression block : blocks) {
+          addRequiredEqualities(block, ctx, result);
+        }
+      }
+    } else if (expression instanceof OOrBlock) {
+      List<OBooleanExpression> blocks = ((OOrBlock) expression).getSubBlocks();
+      if (blocks != null && blocks.size() == 1) {
+        addRequiredEqualities(blocks.get(0), ctx, result);
+      }
+    } else if (expression instanceof OBinaryCondition) {
+      OBinaryCondition condition = (OBinaryCondition) expression;
+      if (OCompiledFilter.ComparisonKind.of(condition.operator) != OCompiledFilter.ComparisonKind.EQ) {
+        return;
+      }
+      OCompiledFilter.Operand left = OCompiledFilter.compileOperand(condition.left);
+      OCompiledFilter.Operand right = OCompiledFilter.compileOperand(condition.right);
+      if (!(left instanceof OCompiledFilter.Property) || !(right instanceof OCompiledFilter.Constant
+          || right instanceof OCompiledFilter.Parameter)) {
+        return;
+      }
+      String name = ((OCompiledFilter.Property) left).getName();
+      if (name.startsWith("$") || name.startsWith("@") || result.containsKey(name)) {
+        return;
+      }
+      Object value = right.execute(null, ctx);
+      if (value != null) {
+        result.put(name, value);
+      }
+    }
+  }
+
   public List<OAndBlock> flatten() {
     if (this.baseExpression == null) {
       return Collections.EMPTY_LIST;
@@ -1096,6 +1096,172 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     }
   }
 
+  /**
+   * Reads the atomic operations completed in the write ahead log, to ship them to a replica that applies them by {@link
+   * #applyWALShipment(OWALShipment)}. Only the records already flushed are read. An operation is returned only when all the
+   * operations started before it are completed too, so the replica needs only the LSN returned by {@link
+   * OWALShipment#getNextLsn()} to continue from. Creation and deletion of files are not shipped, because the configuration of the
+   * storage is not part of the write ahead log.
+   *
+   * @param lsn        LSN from which the write ahead log is read, included
+   * @param maxRecords Maximum number of records to read, exceeded only to complete the first operation
+   *
+   * @return The shipment, or <code>null</code> if the record with the passed in LSN is not in the write ahead log anymore
+   */
+  public OWALShipment readWALShipment(final OLogSequenceNumber lsn, final int maxRecords) {
+    try {
+      stateLock.acquireReadLock();
+      try {
+        checkOpenness();
+
+        if (writeAheadLog == null)
+          throw new OStorageException("Cannot ship the write ahead log of storage '" + name + "' because it has not one");
+
+        writeAheadLog.addCutTillLimit(lsn);
+        try {
+          if (writeAheadLog.read(lsn) == null) {
+            OLogManager.instance().info(this, "Cannot find requested LSN=%s for shipping the write ahead log", lsn);
+            return null;
+          }
+
+          final OLogSequenceNumber flushedLsn = writeAheadLog.getFlushedLsn();
+
+          // operations in the order they are started
+          final Map<OOperationUnitId, List<OWALRecord>> operationUnits = new LinkedHashMap<>();
+
+          OLogSequenceNumber lastLsn = lsn;
+          OLogSequenceNumber currentLsn = lsn;
+          int read = 0;
+          while (currentLsn != null && flushedLsn != null && currentLsn.compareTo(flushedLsn) <= 0 && (read < maxRecords
+              || isFirstOperationOpen(operationUnits))) {
+            final OWALRecord walRecord = writeAheadLog.read(currentLsn);
+
+            if (walRecord instanceof OFileCreatedWALRecord)
+              throw new ODatabaseException(
+                  "Cannot ship the write ahead log because a new file has been added. Filename: '" + ((OFileCreatedWALRecord)
+                      walRecord).getFileName() + "' (id=" + ((OFileCreatedWALRecord) walRecord).getFileId() + ")");
+
+            if (walRecord instanceof OFileDeletedWALRecord)
+              throw new ODatabaseException(
+                  "Cannot ship the write ahead log because a file has been deleted. File id: " + ((OFileDeletedWALRecord)
+                      walRecord).getFileId());
+
+            if (walRecord instanceof ONonTxOperationPerformedWALRecord)
+              throw new ODatabaseException("Cannot ship the write ahead log because non tx operations have been performed");
+
+            if (walRecord instanceof OAtomicUnitStartRecord) {
+              final List<OWALRecord> operationList = new ArrayList<>();
+              operationList.add(walRecord);
+              operationUnits.put(((OAtomicUnitStartRecord) walRecord).getOperationUnitId(), operationList);
+            } else if (walRecord instanceof OOperationUnitRecord) {
+              // the operations started before the passed in LSN have been already shipped
+              final List<OWALRecord> operationList = operationUnits.get(((OOperationUnitRecord) walRecord).getOperationUnitId());
+              if (operationList != null)
+                operationList.add(walRecord);
+            }
+
+            read++;
+            lastLsn = currentLsn;
+            currentLsn = writeAheadLog.next(currentLsn);
+          }
+
+          final List<OWALRecord> records = new ArrayList<>();
+          OLogSequenceNumber nextLsn = currentLsn != null ? currentLsn : lastLsn;
+          for (List<OWALRecord> operationList : operationUnits.values()) {
+            if (!(operationList.get(operationList.size() - 1) instanceof OAtomicUnitEndRecord)) {
+              // the operations started after it are shipped together with it
+              nextLsn = operationList.get(0).getLsn();
+              break;
+            }
+            records.addAll(operationList);
+          }
+
+          return new OWALShipment(nextLsn, records);
+        } finally {
+          writeAheadLog.removeCutTillLimit(lsn);
+        }
+      } catch (IOException e) {
+        throw OException.wrapException(new OStorageException("Error on reading the write ahead log from LSN " + lsn), e);
+      } finally {
+        stateLock.releaseReadLock();
+      }
+    } catch (RuntimeException e) {
+      throw logAndPrepareForRethrow(e);
+    } catch (Error e) {
+      throw logAndPrepareForRethrow(e);
+    } catch (Throwable t) {
+      throw logAndPrepareForRethrow(t);
+    }
+  }
+
+  private static boolean isFirstOperationOpen(final Map<OOperationUnitId, List<OWALRecord>> operationUnits) {
+    if (operationUnits.isEmpty())
+      return false;
+
+    final List<OWALRecord> operationList = operationUnits.values().iterator().next();
+    return !(operationList.get(operationList.size() - 1) instanceof OAtomicUnitEndRecord);
+  }
+
+  /**
+   * Applies the atomic operations read from the write ahead log of another storage by {@link #readWALShipment(OLogSequenceNumber,
+   * int)}, like the restore after a crash does. Every operation is logged in the write ahead log of this storage before its
+   * pages are changed, so it is durable like the local ones, and it is applied holding the exclusive lock of the storage, so the
+   * readers never see it partially applied. The storage must be a copy of the one that shipped the operations.
+   */
+  public void applyWALShipment(final OWALShipment shipment) {
+    try {
+      final OModifiableBoolean atLeastOnePageUpdate = new OModifiableBoolean();
+
+      List<OWALRecord> atomicUnit = new ArrayList<>();
+      for (OWALRecord walRecord : shipment.getRecords()) {
+        atomicUnit.add(walRecord);
+
+        if (walRecord instanceof OAtomicUnitEndRecord) {
+          applyShippedAtomicUnit(atomicUnit, atLeastOnePageUpdate);
+          atomicUnit = new ArrayList<>();
+        }
+      }
+
+      if (!atomicUnit.isEmpty())
+        throw new OStorageException("Cannot apply an atomic operation without end record shipped to storage '" + name + "'");
+
+    } catch (IOException e) {
+      throw OException
+          .wrapException(new OStorageException("Error on applying the write ahead log shipped to storage " + name), e);
+    } catch (RuntimeException e) {
+      throw logAndPrepareForRethrow(e);
+    } catch (Error e) {
+      throw logAndPrepareForRethrow(e);
+    } catch (Throwable t) {
+      throw logAndPrepareForRethrow(t);
+    }
+  }
+
+  private void applyShippedAtomicUnit(final List<OWALRecord> atomicUnit, final OModifiableBoolean atLeastOnePageUpdate)
+      throws IOException {
+    stateLock.acquireWriteLock();
+    try {
+      checkOpenness();
+
+      if (writeAheadLog == null)
+        throw new OStorageException("Cannot apply the write ahead log shipped to storage '" + name + "' because it has not one");
+
+      final OAtomicUnitStartRecord startRecord = (OAtomicUnitStartRecord) atomicUnit.get(0);
+      final OAtomicUnitEndRecord endRecord = (OAtomicUnitEndRecord) atomicUnit.get(atomicUnit.size() - 1);
+      final OOperationUnitId unitId = startRecord.getOperationUnitId();
+
+      // records are logged with the LSNs of this storage, the changed pages take them
+      final OLogSequenceNumber startLsn = writeAheadLog.logAtomicOperationStartRecord(startRecord.isRollbackSupported(), unitId);
+      for (int i = 1; i < atomicUnit.size() - 1; i++)
+        writeAheadLog.log(atomicUnit.get(i));
+      writeAheadLog.logAtomicOperationEndRecord(unitId, endRecord.isRollback(), startLsn, endRecord.getAtomicOperationMetadata());
+
+      restoreAtomicUnit(atomicUnit, atLeastOnePageUpdate);
+    } finally {
+      stateLock.releaseWriteLock();
+    }
+  }
+
   /**
    * This method finds all the records changed in the last X transactions.
    *
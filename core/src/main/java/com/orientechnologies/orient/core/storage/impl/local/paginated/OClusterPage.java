@@ -382,6 +382,22 @@ public class OClusterPage extends ODurablePage {
     }
   }
 
+  /**
+   * Copies a part of the record, starting at a non negative offset, into the passed array.
+   */
+  public void getRecordBinaryValue(final int recordPosition, final int offset, final byte[] destination,
+      final int destinationOffset, final int size) {
+    assert isPositionInsideInterval(recordPosition);
+    assert offset >= 0;
+
+    final int entryIndexPosition = PAGE_INDEXES_OFFSET + recordPosition * INDEX_ITEM_SIZE;
+    final int entryPointer = getIntValue(entryIndexPosition);
+    final int entryPosition = entryPointer & POSITION_MASK;
+
+    assert insideRecordBounds(entryPosition, offset, size);
+    getBinaryValue(entryPosition + offset + 3 * OIntegerSerializer.INT_SIZE, destination, destinationOffset, size);
+  }
+
   public byte getRecordByteValue(final int recordPosition, final int offset) {
     assert isPositionInsideInterval(recordPosition);
 
@@ -45,7 +45,6 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import static com.orientechnologies.orient.core.config.OGlobalConfiguration.DISK_CACHE_PAGE_SIZE;
@@ -677,24 +676,15 @@ public class OPaginatedCluster extends ODurableComponent implements OCluster {
             releasePageFromRead(atomicOperation, cacheEntry);
           }
 
-          final byte[] fullContent = readFullEntry(clusterPosition, pageIndex, recordPosition, atomicOperation, pageCount);
-          if (fullContent == null)
+          final ORawBuffer record = readRecordContent(clusterPosition, pageIndex, recordPosition, recordVersion, atomicOperation,
+              pageCount);
+          if (record == null)
             return null;
 
-          int fullContentPosition = 0;
+          record.buffer = encryption.decrypt(record.buffer);
+          record.buffer = compression.uncompress(record.buffer);
 
-          final byte recordType = fullContent[fullContentPosition];
-          fullContentPosition++;
-
-          final int readContentSize = OIntegerSerializer.INSTANCE.deserializeNative(fullContent, fullContentPosition);
-          fullContentPosition += OIntegerSerializer.INT_SIZE;
-
-          byte[] recordContent = Arrays.copyOfRange(fullContent, fullContentPosition, fullContentPosition + readContentSize);
-
-          recordContent = encryption.decrypt(recordContent);
-          recordContent = compression.uncompress(recordContent);
-
-          return new ORawBuffer(recordContent, recordVersion, recordType);
+          return record;
         } finally {
           releaseSharedLock();
         }
@@ -1803,14 +1793,22 @@ public class OPaginatedCluster extends ODurableComponent implements OCluster {
     return physicalPosition;
   }
 
-  @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS")
-  private byte[] readFullEntry(final long clusterPosition, long pageIndex, int recordPosition,
+  /**
+   * Copies the content of a record straight from its pages into the array of the returned buffer, the chunks of the record are
+   * not copied in between.
+   *
+   * @return the record, still encrypted and compressed, or null if it is deleted
+   */
+  private ORawBuffer readRecordContent(final long clusterPosition, long pageIndex, int recordPosition, final int recordVersion,
       final OAtomicOperation atomicOperation, final int pageCount) throws IOException {
     if (getFilledUpTo(atomicOperation, fileId) <= pageIndex)
       return null;
 
-    final List<byte[]> recordChunks = new ArrayList<>();
-    int contentSize = 0;
+    // THE ENTRY STARTS WITH THE TYPE AND THE SIZE OF THE RECORD
+    final byte[] header = new byte[OByteSerializer.BYTE_SIZE + OIntegerSerializer.INT_SIZE];
+    byte[] content = null;
+    int headerRead = 0;
+    int contentRead = 0;
 
     long nextPagePointer;
     boolean firstEntry = true;
@@ -1820,21 +1818,33 @@ public class OPaginatedCluster extends ODurableComponent implements OCluster {
         final OClusterPage localPage = new OClusterPage(cacheEntry, false);
 
         if (localPage.isDeleted(recordPosition)) {
-          if (recordChunks.isEmpty())
+          if (firstEntry)
             return null;
           else
             throw new OPaginatedClusterException("Content of record " + new ORecordId(id, clusterPosition) + " was broken", this);
         }
 
-        byte[] content = localPage.getRecordBinaryValue(recordPosition, 0, localPage.getRecordSize(recordPosition));
-
-        if (firstEntry && content[content.length - OLongSerializer.LONG_SIZE - OByteSerializer.BYTE_SIZE] == 0)
+        if (firstEntry && localPage.getRecordByteValue(recordPosition, -OLongSerializer.LONG_SIZE - OByteSerializer.BYTE_SIZE) == 0)
           return null;
 
-        recordChunks.add(content);
-        nextPagePointer = OLongSerializer.INSTANCE.deserializeNative(content, content.length - OLongSerializer.LONG_SIZE);
-        contentSize += content.length - OLongSerializer.LONG_SIZE - OByteSerializer.BYTE_SIZE;
+        final int chunkSize =
+            localPage.getRecordSize(recordPosition) - OLongSerializer.LONG_SIZE - OByteSerializer.BYTE_SIZE;
+        int chunkPosition = 0;
+        while (headerRead < header.length && chunkPosition < chunkSize)
+          header[headerRead++] = localPage.getRecordByteValue(recordPosition, chunkPosition++);
 
+        if (content == null && headerRead == header.length)
+          content = new byte[OIntegerSerializer.INSTANCE.deserializeNative(header, OByteSerializer.BYTE_SIZE)];
+
+        if (content != null) {
+          final int size = Math.min(chunkSize - chunkPosition, content.length - contentRead);
+          if (size > 0) {
+            localPage.getRecordBinaryValue(recordPosition, chunkPosition, content, contentRead, size);
+            contentRead += size;
+          }
+        }
+
+        nextPagePointer = localPage.getRecordLongValue(recordPosition, -OLongSerializer.LONG_SIZE);
         firstEntry = false;
       } finally {
         releasePageFromRead(atomicOperation, cacheEntry);
@@ -1844,20 +1854,10 @@ public class OPaginatedCluster extends ODurableComponent implements OCluster {
       recordPosition = getRecordPosition(nextPagePointer);
     } while (nextPagePointer >= 0);
 
-    byte[] fullContent;
-    if (recordChunks.size() == 1)
-      fullContent = recordChunks.get(0);
-    else {
-      fullContent = new byte[contentSize + OLongSerializer.LONG_SIZE + OByteSerializer.BYTE_SIZE];
-      int fullContentPosition = 0;
-      for (byte[] recordChuck : recordChunks) {
-        System.arraycopy(recordChuck, 0, fullContent, fullContentPosition,
-            recordChuck.length - OLongSerializer.LONG_SIZE - OByteSerializer.BYTE_SIZE);
-        fullContentPosition += recordChuck.length - OLongSerializer.LONG_SIZE - OByteSerializer.BYTE_SIZE;
-      }
-    }
+    if (content == null || contentRead < content.length)
+      throw new OPaginatedClusterException("Content of record " + new ORecordId(id, clusterPosition) + " was broken", this);
 
-    return fullContent;
+    return new ORawBuffer(content, recordVersion, header[0]);
   }
 
   private static long createPagePointer(long pageIndex, int pagePosition) {
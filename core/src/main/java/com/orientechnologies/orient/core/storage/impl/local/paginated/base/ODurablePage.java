@@ -158,6 +158,22 @@ public class ODurablePage {
     return changes.getBinaryValue(buffer, pageOffset, valLen);
   }
 
+  /**
+   * Copies the bytes of the page straight into the passed array.
+   */
+  protected void getBinaryValue(int pageOffset, byte[] destination, int destinationOffset, int valLen) {
+    assert cacheEntry.getCachePointer().getSharedBuffer() == null || cacheEntry.isLockAcquiredByCurrentThread();
+
+    final ByteBuffer buffer = pointer.getSharedBuffer();
+    if (changes == null) {
+      buffer.position(pageOffset);
+      buffer.get(destination, destinationOffset, valLen);
+      return;
+    }
+
+    System.arraycopy(changes.getBinaryValue(buffer, pageOffset, valLen), 0, destination, destinationOffset, valLen);
+  }
+
   protected int getObjectSizeInDirectMemory(OBinarySerializer binarySerializer, int offset) {
     assert cacheEntry.getCachePointer().getSharedBuffer() == null || cacheEntry.isLockAcquiredByCurrentThread();
 
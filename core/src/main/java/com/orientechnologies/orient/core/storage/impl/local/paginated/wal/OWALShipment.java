@@ -0,0 +1,96 @@
+/*
+  *
+  *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+  *  *
+  *  *  Licensed under the Apache License, Version 2.0 (the "License");
+  *  *  you may not use this file except in compliance with the License.
+  *  *  You may obtain a copy of the License at
+  *  *
+  *  *       http://www.apache.org/licenses/LICENSE-2.0
+  *  *
+  *  *  Unless required by applicable law or agreed to in writing, software
+  *  *  distributed under the License is distributed on an "AS IS" BASIS,
+  *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  *  *  See the License for the specific language governing permissions and
+  *  *  limitations under the License.
+  *  *
+  *  * For more information: http://orientdb.com
+  *
+  */
+
+package com.orientechnologies.orient.core.storage.impl.local.paginated.wal;
+
+import com.orientechnologies.orient.core.serialization.OStreamable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Portion of the write ahead log of a storage shipped to a replica. It contains only completed atomic operations, every one from
+ * its start record to its end record, so the replica can apply them like the restore after a crash does.
+ *
+ * @see com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage#readWALShipment(OLogSequenceNumber, int)
+ * @see com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage#applyWALShipment(OWALShipment)
+ */
+public class OWALShipment implements OStreamable {
+  private OLogSequenceNumber nextLsn;
+  private List<OWALRecord>   records;
+
+  /**
+   * Constructor used by serializer.
+   */
+  public OWALShipment() {
+  }
+
+  public OWALShipment(final OLogSequenceNumber nextLsn, final List<OWALRecord> records) {
+    this.nextLsn = nextLsn;
+    this.records = records;
+  }
+
+  /**
+   * Returns the LSN to read the next shipment from. The atomic operations not completed yet when this shipment has been read
+   * start from it, so they will be part of the next shipment.
+   */
+  public OLogSequenceNumber getNextLsn() {
+    return nextLsn;
+  }
+
+  public List<OWALRecord> getRecords() {
+    return records;
+  }
+
+  public boolean isEmpty() {
+    return records.isEmpty();
+  }
+
+  @Override
+  public void toStream(final DataOutput out) throws IOException {
+    nextLsn.toStream(out);
+    out.writeInt(records.size());
+    for (OWALRecord record : records) {
+      final byte[] content = OWALRecordsFactory.INSTANCE.toStream(record);
+      out.writeInt(content.length);
+      out.write(content);
+    }
+  }
+
+  @Override
+  public void fromStream(final DataInput in) throws IOException {
+    nextLsn = new OLogSequenceNumber(in);
+    final int size = in.readInt();
+    records = new ArrayList<OWALRecord>(size);
+    for (int i = 0; i < size; ++i) {
+      final byte[] content = new byte[in.readInt()];
+      in.readFully(content);
+      records.add(OWALRecordsFactory.INSTANCE.fromStream(content));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "records=" + records.size() + " nextLsn=" + nextLsn;
+  }
+}
@@ -45,6 +45,8 @@ public abstract class OChannelBinary extends OChannel implements OChannelDataInp
   private final   int              maxChunkSize;
   public          DataInputStream  in;
   public          DataOutputStream out;
+  // NULL UNTIL THE COMPRESSION IS NEGOTIATED
+  private volatile OChannelCompression compression;
 
   public OChannelBinary(final Socket iSocket, final OContextConfiguration iConfig) throws IOException {
     super(iSocket, iConfig);
@@ -157,6 +159,11 @@ public abstract class OChannelBinary extends OChannel implements OChannelDataInp
           .info(this, "%s - Reading chunk of bytes. Reading chunk length as int (4 bytes)...", socket.getRemoteSocketAddress());
 
     final int len = in.readInt();
+    if (len == OChannelCompression.COMPRESSED && compression != null) {
+      final byte[] content = compression.read(in, maxChunkSize);
+      updateMetricReceivedBytes(OBinaryProtocol.SIZE_INT + content.length);
+      return content;
+    }
     if (len > maxChunkSize) {
       throw OException.wrapException(new OIOException(
           "Impossible to read a chunk of length:" + len + " max allowed chunk length:" + maxChunkSize
@@ -276,6 +283,13 @@ public abstract class OChannelBinary extends OChannel implements OChannelDataInp
                 + " see NETWORK_BINARY_MAX_CONTENT_LENGTH settings "), null);
       }
 
+      final OChannelCompression compression = this.compression;
+      final int written = compression != null ? compression.write(out, iContent, iLength) : 0;
+      if (written > 0) {
+        updateMetricTransmittedBytes(written);
+        return this;
+      }
+
       out.writeInt(iLength);
       out.write(iContent, 0, iLength);
       updateMetricTransmittedBytes(OBinaryProtocol.SIZE_INT + iLength);
@@ -283,6 +297,18 @@ public abstract class OChannelBinary extends OChannel implements OChannelDataInp
     return this;
   }
 
+  /**
+   * Compresses the byte arrays written on the channel from now on, and uncompresses the compressed ones read from the channel.
+   * Both the peers have to enable it, see {@link OChannelBinaryProtocol#REQUEST_COMPRESSION}.
+   */
+  public void enableCompression(final OChannelCompression compression) {
+    this.compression = compression;
+  }
+
+  public boolean isCompressed() {
+    return compression != null;
+  }
+
   public void writeRID(final ORID iRID) throws IOException {
     writeShort((short) iRID.getClusterId());
     writeLong(iRID.getClusterPosition());
@@ -352,6 +378,10 @@ public abstract class OChannelBinary extends OChannel implements OChannelDataInp
       OLogManager.instance().debug(this, "Error during closing of output stream", e);
     }
 
+    final OChannelCompression compression = this.compression;
+    if (compression != null)
+      compression.close();
+
     super.close();
   }
 
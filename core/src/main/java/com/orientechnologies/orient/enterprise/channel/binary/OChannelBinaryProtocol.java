@@ -37,6 +37,8 @@ public class OChannelBinaryProtocol {
   public static final byte REQUEST_SHUTDOWN  = 1;
   public static final byte REQUEST_CONNECT   = 2;
   public static final byte REQUEST_HANDSHAKE = 20;
+  public static final byte REQUEST_MULTIPLEX = 21;                 // since 3.0, ONLY AFTER THE HANDSHAKE
+  public static final byte REQUEST_COMPRESSION = 22;               // since 3.0, ONLY AFTER THE HANDSHAKE
 
   public static final byte REQUEST_DB_OPEN         = 3;
   public static final byte REQUEST_DB_CREATE       = 4;
@@ -75,6 +77,9 @@ public class OChannelBinaryProtocol {
   public static final byte REQUEST_QUERY                             = 45;                 // since 3.0
   public static final byte REQUEST_CLOSE_QUERY                       = 46;                 // since 3.0
   public static final byte REQUEST_QUERY_NEXT_PAGE                   = 47;                 // since 3.0
+  public static final byte REQUEST_QUERY_STREAM                      = 48;                 // since 3.0, ONLY ON MULTIPLEXED CONNECTIONS
+  public static final byte REQUEST_QUERY_CREDIT                      = 49;                 // since 3.0, NO RESPONSE
+  public static final byte REQUEST_BULK_INSERT                       = 50;                 // since 3.0
 
   public static final byte REQUEST_TX_COMMIT   = 60;
   public static final byte REQUEST_TX_BEGIN    = 61;
@@ -96,6 +101,7 @@ public class OChannelBinaryProtocol {
   // Lock + sync
   public static final byte REQUEST_DB_FREEZE  = 94;                 // SINCE 1.1.0
   public static final byte REQUEST_DB_RELEASE = 95;                 // SINCE 1.1.0
+  public static final byte REQUEST_DB_CONSISTENCY_TOKEN = 96;       // since 3.0
 
   // IMPORT
   public static final byte REQUEST_DB_IMPORT = 98;
@@ -115,6 +121,8 @@ public class OChannelBinaryProtocol {
   public static final byte DISTRIBUTED_REQUEST  = 120;
   public static final byte DISTRIBUTED_RESPONSE = 121;
   public static final byte DISTRIBUTED_CONNECT  = 122;
+  public static final byte DISTRIBUTED_BATCH    = 123;                // since 3.0
+  public static final byte DISTRIBUTED_ACKS     = 124;                // since 3.0, ONLY INSIDE A DISTRIBUTED_BATCH
 
   // INCOMING
   public static final byte RESPONSE_STATUS_OK    = 0;
@@ -159,6 +167,7 @@ public class OChannelBinaryProtocol {
   public static final byte SUBSCRIBE_PUSH_INDEX_MANAGER  = 5;
   public static final byte SUBSCRIBE_PUSH_FUNCTIONS      = 6;
   public static final byte SUBSCRIBE_PUSH_SEQUENCES      = 7;
+  public static final byte SUBSCRIBE_PUSH_RECORD_INVALIDATION = 8;   // since 3.0
 
   //Used by the client to identify what data was pushed
   public static final byte REQUEST_PUSH_DISTRIB_CONFIG = 80;
@@ -168,6 +177,7 @@ public class OChannelBinaryProtocol {
   public static final byte REQUEST_PUSH_INDEX_MANAGER  = 84;
   public static final byte REQUEST_PUSH_FUNCTIONS      = 85;
   public static final byte REQUEST_PUSH_SEQUENCES      = 86;
+  public static final byte REQUEST_PUSH_RECORD_INVALIDATION = 87;    // since 3.0
 
   // Default encoding, in future will be possible to have other encodings
   public static final byte ENCODING_DEFAULT = 0;
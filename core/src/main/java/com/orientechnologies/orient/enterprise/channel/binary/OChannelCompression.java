@@ -0,0 +1,130 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.enterprise.channel.binary;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of the byte arrays of a binary channel, negotiated with {@link OChannelBinaryProtocol#REQUEST_COMPRESSION}. A
+ * compressed array is sent as the {@link #COMPRESSED} length marker, followed by the length of the content, the length of the
+ * compressed content and the compressed content; the arrays shorter than the threshold, or that do not shrink, are sent as they
+ * are.
+ * <p>
+ * The deflater, the inflater and the buffers are owned by the channel and reused by all its payloads.
+ */
+public class OChannelCompression {
+  public static final String NONE       = "none";
+  public static final String DEFLATE    = "deflate";
+  public static final int    COMPRESSED = -2;
+
+  private final int      threshold;
+  private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+  private final Inflater inflater = new Inflater();
+  private       byte[]   writeBuffer;
+  private       byte[]   readBuffer;
+  private       boolean  closed;
+
+  public OChannelCompression(final int threshold) {
+    this.threshold = threshold;
+  }
+
+  public static boolean isSupported(final String name) {
+    return DEFLATE.equals(name);
+  }
+
+  /**
+   * Writes the content compressed, if it pays off.
+   *
+   * @return the bytes written, 0 if the content has to be written as it is
+   */
+  public synchronized int write(final DataOutputStream out, final byte[] content, final int length) throws IOException {
+    if (length < threshold)
+      return 0;
+    checkOpen();
+
+    if (writeBuffer == null || writeBuffer.length < length)
+      writeBuffer = new byte[length];
+
+    deflater.reset();
+    deflater.setInput(content, 0, length);
+    deflater.finish();
+    int compressedLength = 0;
+    while (!deflater.finished() && compressedLength < length)
+      compressedLength += deflater.deflate(writeBuffer, compressedLength, length - compressedLength);
+    if (!deflater.finished())
+      // DOES NOT SHRINK
+      return 0;
+
+    out.writeInt(COMPRESSED);
+    out.writeInt(length);
+    out.writeInt(compressedLength);
+    out.write(writeBuffer, 0, compressedLength);
+    return 3 * 4 + compressedLength;
+  }
+
+  /**
+   * Reads a compressed content, after its {@link #COMPRESSED} marker.
+   */
+  public synchronized byte[] read(final DataInputStream in, final int maxLength) throws IOException {
+    final int length = in.readInt();
+    final int compressedLength = in.readInt();
+    if (length < 0 || length > maxLength || compressedLength < 0 || compressedLength > length)
+      throw new IOException("Invalid compressed chunk of length:" + length + " compressed length:" + compressedLength);
+    checkOpen();
+
+    if (readBuffer == null || readBuffer.length < compressedLength)
+      readBuffer = new byte[compressedLength];
+    in.readFully(readBuffer, 0, compressedLength);
+
+    final byte[] content = new byte[length];
+    inflater.reset();
+    inflater.setInput(readBuffer, 0, compressedLength);
+    try {
+      int read = 0;
+      while (read < length && !inflater.finished()) {
+        final int n = inflater.inflate(content, read, length - read);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+          break;
+        read += n;
+      }
+      if (read != length)
+        throw new IOException("Compressed chunk truncated: expected " + length + " bytes, read " + read);
+    } catch (DataFormatException e) {
+      throw new IOException("Invalid compressed chunk", e);
+    }
+    return content;
+  }
+
+  public synchronized void close() {
+    closed = true;
+    deflater.end();
+    inflater.end();
+  }
+
+  private void checkOpen() throws IOException {
+    if (closed)
+      throw new IOException("Channel closed");
+  }
+}
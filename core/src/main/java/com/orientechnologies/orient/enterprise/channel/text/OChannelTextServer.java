@@ -22,19 +22,30 @@ package com.orientechnologies.orient.enterprise.channel.text;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 
 import com.orientechnologies.orient.core.config.OContextConfiguration;
 
 public class OChannelTextServer extends OChannelText {
   public OChannelTextServer(final Socket iSocket, final OContextConfiguration iConfiguration) throws IOException {
+    this(iSocket, iSocket.getInputStream(), iSocket.getOutputStream(), iConfiguration);
+  }
+
+  /**
+   * Creates a channel that reads and writes through the passed streams instead of the streams of the socket (eg. streams on top of a
+   * non blocking socket channel).
+   */
+  public OChannelTextServer(final Socket iSocket, final InputStream iInput, final OutputStream iOutput,
+      final OContextConfiguration iConfiguration) throws IOException {
     super(iSocket, iConfiguration);
     if (socketBufferSize > 0) {
-      inStream = new BufferedInputStream(socket.getInputStream(), socketBufferSize);
-      outStream = new BufferedOutputStream(socket.getOutputStream(), socketBufferSize);
+      inStream = new BufferedInputStream(iInput, socketBufferSize);
+      outStream = new BufferedOutputStream(iOutput, socketBufferSize);
     } else {
-      inStream = new BufferedInputStream(socket.getInputStream());
-      outStream = new BufferedOutputStream(socket.getOutputStream());
+      inStream = new BufferedInputStream(iInput);
+      outStream = new BufferedOutputStream(iOutput);
     }
   }
 }
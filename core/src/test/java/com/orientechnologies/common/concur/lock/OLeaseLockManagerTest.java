@@ -0,0 +1,100 @@
+package com.orientechnologies.common.concur.lock;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class OLeaseLockManagerTest {
+
+  @Test
+  public void testLockAllOrNothing() {
+    final OLeaseLockManager<Integer> manager = new OLeaseLockManager<Integer>(50, 60000);
+
+    manager.lock(Arrays.asList(1, 2, 3), "tx1");
+    Assert.assertEquals(3, manager.size());
+
+    // THE SAME OWNER RENEWS ITS LOCKS
+    manager.lock(Collections.singletonList(2), "tx1");
+    Assert.assertEquals(3, manager.size());
+
+    try {
+      manager.lock(Arrays.asList(4, 5, 3), "tx2");
+      Assert.fail();
+    } catch (OLockException e) {
+      // EXPECTED
+    }
+    Assert.assertEquals(3, manager.size());
+
+    manager.unlock(Arrays.asList(1, 2, 3), "tx1");
+    Assert.assertEquals(0, manager.size());
+
+    manager.lock(Arrays.asList(4, 5, 3), "tx2");
+    Assert.assertEquals(3, manager.size());
+  }
+
+  @Test
+  public void testExpiredLeaseIsTaken() throws InterruptedException {
+    final OLeaseLockManager<Integer> manager = new OLeaseLockManager<Integer>(5000, 100);
+
+    manager.lock(Arrays.asList(1, 2), "tx1");
+
+    // TX1 NEVER UNLOCKS: TX2 WAITS FOR THE LEASE EXPIRATION
+    final long start = System.currentTimeMillis();
+    manager.lock(Arrays.asList(2, 3), "tx2");
+    Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+
+    // THE LATE UNLOCK OF TX1 DOES NOT RELEASE THE LOCK OF TX2
+    manager.unlock(Arrays.asList(1, 2), "tx1");
+    Assert.assertEquals(2, manager.size());
+
+    manager.unlock(Arrays.asList(2, 3), "tx2");
+    Assert.assertEquals(0, manager.size());
+  }
+
+  @Test
+  public void testExpiredOwnerIsStopped() {
+    final List<Object> stopped = new ArrayList<Object>();
+    final OLeaseLockManager<Integer>[] manager = new OLeaseLockManager[1];
+    manager[0] = new OLeaseLockManager<Integer>(5000, 100, new OLeaseLockManager.OExpiredLeaseListener() {
+      @Override
+      public void onLeaseExpired(final Object owner) {
+        // THE OWNER RELEASES ALL ITS LOCKS
+        stopped.add(owner);
+        manager[0].unlock(Arrays.asList(1, 2), owner);
+      }
+    });
+
+    manager[0].lock(Arrays.asList(1, 2), "tx1");
+    manager[0].lock(Arrays.asList(2, 3), "tx2");
+
+    Assert.assertEquals(Collections.singletonList("tx1"), stopped);
+    Assert.assertEquals(2, manager[0].size());
+  }
+
+  @Test
+  public void testWaitForUnlock() throws InterruptedException {
+    final OLeaseLockManager<Integer> manager = new OLeaseLockManager<Integer>(5000, 60000);
+    manager.lock(Collections.singletonList(1), "tx1");
+
+    final Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          // IGNORE IT
+        }
+        manager.unlock(Collections.singletonList(1), "tx1");
+      }
+    });
+    thread.start();
+
+    manager.lock(Arrays.asList(1, 2), "tx2");
+    thread.join();
+    Assert.assertEquals(2, manager.size());
+  }
+}
@@ -0,0 +1,139 @@
+package com.orientechnologies.orient.core.query.live;
+
+import com.orientechnologies.orient.core.db.record.ORecordOperation;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+public class OLiveQuerySubscriptionIndexTest {
+
+  private static class TestListener implements OLiveQueryListenerV2 {
+    private final int    token;
+    private final String className;
+    private final String field;
+    private final Object value;
+
+    TestListener(int token, String className, String field, Object value) {
+      this.token = token;
+      this.className = className;
+      this.field = field;
+      this.value = value;
+    }
+
+    @Override
+    public void onLiveResult(OLiveQueryHookV2.OLiveQueryOp iRecord) {
+    }
+
+    @Override
+    public void onLiveResultEnd() {
+    }
+
+    @Override
+    public int getToken() {
+      return token;
+    }
+
+    @Override
+    public String getClassName() {
+      return className;
+    }
+
+    @Override
+    public String getRoutingField() {
+      return field;
+    }
+
+    @Override
+    public Object getRoutingValue() {
+      return value;
+    }
+  }
+
+  private static OLiveQueryHookV2.OLiveQueryOp op(byte type, String before, Object after, String... classes) {
+    OResultInternal beforeResult = null;
+    if (type != ORecordOperation.CREATED) {
+      beforeResult = new OResultInternal();
+      beforeResult.setProperty("name", before);
+    }
+    OResultInternal afterResult = null;
+    if (type != ORecordOperation.DELETED) {
+      afterResult = new OResultInternal();
+      afterResult.setProperty("name", after);
+    }
+    OLiveQueryHookV2.OLiveQueryOp result = new OLiveQueryHookV2.OLiveQueryOp(null, beforeResult, afterResult, type);
+    result.classNames = classes.length == 0 ? null : new HashSet<>(Arrays.asList(classes));
+    return result;
+  }
+
+  @Test
+  public void testRouteByClassAndValue() {
+    OLiveQuerySubscriptionIndex index = new OLiveQuerySubscriptionIndex();
+    TestListener all = new TestListener(1, null, null, null);
+    TestListener person = new TestListener(2, "Person", null, null);
+    TestListener foo = new TestListener(3, "Person", "name", "foo");
+    TestListener bar = new TestListener(4, "Person", "name", "bar");
+    TestListener other = new TestListener(5, "Other", null, null);
+    index.put(1, all);
+    index.put(2, person);
+    index.put(3, foo);
+    index.put(4, bar);
+    index.put(5, other);
+
+    Collection<OLiveQueryListenerV2> candidates = index.getCandidates(op(ORecordOperation.CREATED, null, "foo", "person"));
+    Assert.assertEquals(3, candidates.size());
+    Assert.assertTrue(candidates.containsAll(Arrays.asList(all, person, foo)));
+
+    //subclass of Person
+    candidates = index.getCandidates(op(ORecordOperation.CREATED, null, "bar", "employee", "person"));
+    Assert.assertEquals(3, candidates.size());
+    Assert.assertTrue(candidates.containsAll(Arrays.asList(all, person, bar)));
+
+    //the update moves the record from a subscriber to the other one
+    candidates = index.getCandidates(op(ORecordOperation.UPDATED, "foo", "bar", "person"));
+    Assert.assertEquals(4, candidates.size());
+    Assert.assertFalse(candidates.contains(other));
+
+    candidates = index.getCandidates(op(ORecordOperation.DELETED, "bar", null, "person"));
+    Assert.assertEquals(3, candidates.size());
+    Assert.assertTrue(candidates.contains(bar));
+
+    candidates = index.getCandidates(op(ORecordOperation.CREATED, null, null, "person"));
+    Assert.assertEquals(2, candidates.size());
+
+    //no class: all the subscribers
+    candidates = index.getCandidates(op(ORecordOperation.CREATED, null, "foo"));
+    Assert.assertEquals(5, candidates.size());
+
+    index.remove(1);
+    index.remove(3);
+    candidates = index.getCandidates(op(ORecordOperation.CREATED, null, "foo", "person"));
+    Assert.assertEquals(1, candidates.size());
+    Assert.assertTrue(candidates.contains(person));
+  }
+
+  @Test
+  public void testValueConversions() {
+    OLiveQuerySubscriptionIndex index = new OLiveQuerySubscriptionIndex();
+    TestListener number = new TestListener(1, "Person", "name", 5);
+    TestListener string = new TestListener(2, "Person", "name", "12");
+    TestListener decimal = new TestListener(3, "Person", "name", "1.5");
+    index.put(1, number);
+    index.put(2, string);
+    index.put(3, decimal);
+
+    //the equality operator converts strings to numbers and vice versa
+    Collection<OLiveQueryListenerV2> candidates = index.getCandidates(op(ORecordOperation.CREATED, null, "5", "person"));
+    Assert.assertEquals(new HashSet<>(Arrays.asList(number, decimal)), new HashSet<>(candidates));
+
+    candidates = index.getCandidates(op(ORecordOperation.CREATED, null, 12L, "person"));
+    Assert.assertEquals(new HashSet<>(Arrays.asList(string, decimal)), new HashSet<>(candidates));
+
+    //values that cannot be indexed are sent to all the subscribers of the field
+    candidates = index.getCandidates(op(ORecordOperation.CREATED, null, 5.0d, "person"));
+    Assert.assertEquals(3, candidates.size());
+  }
+}
@@ -123,6 +123,42 @@ public class OLiveQueryV2Test {
     }
   }
 
+  @Test
+  public void testLiveWithCondition() throws InterruptedException {
+    ODatabaseDocumentTx db = new ODatabaseDocumentTx("memory:OLiveQueryV2Test_condition");
+    db.activateOnCurrentThread();
+    db.create();
+    try {
+      db.getMetadata().getSchema().createClass("test");
+      db.getMetadata().getSchema().createClass("subtest", db.getMetadata().getSchema().getClass("test"));
+      MyLiveQueryListener listener = new MyLiveQueryListener(new CountDownLatch(4));
+      MyLiveQueryListener paramListener = new MyLiveQueryListener(new CountDownLatch(1));
+
+      OLiveQueryMonitor monitor = db.live("select from test where name = 'foo'", listener);
+      OLiveQueryMonitor paramMonitor = db.live("select from test where name = ? and surname = 'baz'", paramListener, "bar");
+
+      db.command("insert into test set name = 'foo', surname = 'bar'").close();
+      db.command("insert into test set name = 'bar', surname = 'baz'").close();
+      db.command("insert into subtest set name = 'foo'").close();
+      db.command("update test set name = 'foo' where name = 'bar'").close();
+      db.command("delete from test where name = 'foo' and surname = 'bar'").close();
+
+      Assert.assertTrue(listener.latch.await(1, TimeUnit.MINUTES));
+      Assert.assertTrue(paramListener.latch.await(1, TimeUnit.MINUTES));
+      monitor.unSubscribe();
+      paramMonitor.unSubscribe();
+
+      Assert.assertEquals(4, listener.ops.size());
+      for (OResult doc : listener.ops) {
+        Assert.assertEquals("foo", doc.getProperty("name"));
+      }
+      Assert.assertEquals(1, paramListener.ops.size());
+      Assert.assertEquals("baz", paramListener.ops.get(0).getProperty("surname"));
+    } finally {
+      db.drop();
+    }
+  }
+
   @Test
   public void testRestrictedLiveInsert() throws ExecutionException, InterruptedException {
     ODatabaseDocumentTx db = new ODatabaseDocumentTx("memory:OLiveQueryTest");
@@ -0,0 +1,77 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.sql.parser.OSelectStatement;
+import com.orientechnologies.orient.core.sql.parser.OStatementCache;
+import com.orientechnologies.orient.core.sql.parser.OWhereClause;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FilterStepTest {
+
+  private static final String PROPERTY_NAME = "value";
+
+  @Test
+  public void shouldFillBatches() {
+    OCommandContext context = new OBasicCommandContext();
+    FilterStep step = new FilterStep(parseWhere("value % 3 = 0"), context, false);
+    step.setPrevious(createSource(context, 100));
+
+    int total = 0;
+    OResultBatch batch = step.syncPullBatch(context, 10);
+    while (!batch.isEmpty()) {
+      for (int i = 0; i < batch.size(); i++) {
+        Assert.assertEquals(0, (int) batch.get(i).getProperty(PROPERTY_NAME) % 3);
+      }
+      total += batch.size();
+      if (batch.size() < 10) {
+        break;
+      }
+      batch = step.syncPullBatch(context, 10);
+    }
+    Assert.assertEquals(34, total);
+    Assert.assertTrue(step.syncPullBatch(context, 10).isEmpty());
+  }
+
+  @Test
+  public void shouldMatchRowByRowResults() {
+    OCommandContext context = new OBasicCommandContext();
+    FilterStep rowStep = new FilterStep(parseWhere("value > 42"), context, false);
+    rowStep.setPrevious(createSource(context, 100));
+    FilterStep batchStep = new FilterStep(parseWhere("value > 42"), context, false);
+    batchStep.setPrevious(createSource(context, 100));
+
+    OResultSet rows = rowStep.syncPull(context, 1000);
+    OResultBatch batch = batchStep.syncPullBatch(context, 1000);
+    int i = 0;
+    while (rows.hasNext()) {
+      Assert.assertEquals((int) rows.next().getProperty(PROPERTY_NAME), (int) batch.get(i++).getProperty(PROPERTY_NAME));
+    }
+    Assert.assertEquals(57, i);
+    Assert.assertEquals(57, batch.size());
+  }
+
+  private OWhereClause parseWhere(String condition) {
+    OSelectStatement stm = (OSelectStatement) OStatementCache.get("select from foo where " + condition, null);
+    return stm.getWhereClause();
+  }
+
+  private AbstractExecutionStep createSource(OCommandContext context, int size) {
+    return new AbstractExecutionStep(context, false) {
+      int next = 0;
+
+      @Override
+      public OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException {
+        OInternalResultSet result = new OInternalResultSet();
+        for (int i = 0; i < nRecords && next < size; i++) {
+          OResultInternal item = new OResultInternal();
+          item.setProperty(PROPERTY_NAME, next++);
+          result.add(item);
+        }
+        return result;
+      }
+    };
+  }
+}
@@ -0,0 +1,188 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentEmbedded;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.BytesContainer;
+import com.orientechnologies.orient.core.serialization.serializer.result.binary.OResultSerializerNetwork;
+import com.orientechnologies.orient.core.sql.parser.*;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * Checks that the sub-plans pushed down to the nodes of a sharded query survive the serialization used to send them
+ */
+public class OSelectExecutionPlanSerializationTest {
+
+  private OrientDB                   orientDB;
+  private ODatabaseDocumentEmbedded db;
+
+  @Before
+  public void before() {
+    orientDB = new OrientDB("embedded:", OrientDBConfig.defaultConfig());
+    orientDB.create("OSelectExecutionPlanSerializationTest", ODatabaseType.MEMORY);
+    db = (ODatabaseDocumentEmbedded) orientDB.open("OSelectExecutionPlanSerializationTest", "admin", "admin");
+    db.getMetadata().getSchema().createClass("SerializedPlan");
+    for (int i = 0; i < 20; i++) {
+      OElement elem = db.newElement("SerializedPlan");
+      elem.setProperty("name", "name" + i);
+      elem.setProperty("value", i);
+      elem.setProperty("group", i % 2);
+      elem.save();
+    }
+  }
+
+  @After
+  public void after() {
+    db.close();
+    orientDB.drop("OSelectExecutionPlanSerializationTest");
+    orientDB.close();
+  }
+
+  @Test
+  public void testTopKSubPlan() {
+    OSelectStatement stm = parse("select name, value from SerializedPlan where value > 10 order by value desc");
+    OCommandContext ctx = newContext();
+    OSelectExecutionPlan plan = newFetchPlan(stm, ctx);
+    plan.chain(new ProjectionCalculationStep(stm.getProjection().copy(), ctx, false));
+    plan.chain(new OrderByStep(stm.getOrderBy().copy(), 3, ctx, false));
+
+    List<OResult> result = execute(roundTrip(plan));
+    Assert.assertEquals(3, result.size());
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals(19 - i, (int) result.get(i).getProperty("value"));
+      Assert.assertEquals("name" + (19 - i), result.get(i).getProperty("name"));
+    }
+  }
+
+  @Test
+  public void testPartialAggregationSubPlan() {
+    OSelectStatement stm = parse(
+        "select group, count(*) as cnt, max(value) as maxValue from SerializedPlan where value > 10 group by group");
+    OCommandContext ctx = newContext();
+    OSelectExecutionPlan plan = newFetchPlan(stm, ctx);
+
+    //split the projection as the planner does before pushing the aggregation down
+    OProjection preAggregate = new OProjection(-1);
+    preAggregate.setItems(new ArrayList<>());
+    OProjection aggregate = new OProjection(-1);
+    aggregate.setItems(new ArrayList<>());
+    AggregateProjectionSplit split = new AggregateProjectionSplit();
+    for (OProjectionItem item : stm.getProjection().copy().getItems()) {
+      if (item.isAggregate()) {
+        split.reset();
+        item.splitForAggregation(split);
+        preAggregate.getItems().addAll(split.getPreAggregate());
+        for (OProjectionItem aggr : split.getAggregate()) {
+          aggr.setAlias(item.getProjectionAlias());
+          aggregate.getItems().add(aggr);
+        }
+      } else {
+        preAggregate.getItems().add(item);
+        OProjectionItem aggItem = new OProjectionItem(-1);
+        aggItem.setExpression(new OExpression(item.getProjectionAlias()));
+        aggregate.getItems().add(aggItem);
+      }
+    }
+    plan.chain(new ProjectionCalculationStep(preAggregate, ctx, false));
+    plan.chain(new AggregateProjectionCalculationStep(aggregate, stm.getGroupBy().copy(), ctx, false));
+
+    Map<Integer, OResult> byGroup = new HashMap<>();
+    for (OResult item : execute(roundTrip(plan))) {
+      byGroup.put(item.getProperty("group"), item);
+    }
+    Assert.assertEquals(2, byGroup.size());
+    Assert.assertEquals(4L, (long) byGroup.get(0).getProperty("cnt"));
+    Assert.assertEquals(18, (int) byGroup.get(0).getProperty("maxValue"));
+    Assert.assertEquals(5L, (long) byGroup.get(1).getProperty("cnt"));
+    Assert.assertEquals(19, (int) byGroup.get(1).getProperty("maxValue"));
+  }
+
+  @Test
+  public void testComplexFilterSubPlan() {
+    OSelectStatement stm = parse("select from SerializedPlan where (value between 2 and 15 or name.toUpperCase() = 'NAME19')"
+        + " and not (group in [1]) and name is not null and value <> ?");
+    OCommandContext ctx = newContext();
+    OSelectExecutionPlan plan = newFetchPlan(stm, ctx);
+
+    Map<Object, Object> params = new HashMap<>();
+    params.put(0, 4);
+    Set<Integer> values = new TreeSet<>();
+    for (OResult item : execute(roundTrip(plan), params)) {
+      values.add(item.getProperty("value"));
+    }
+    Assert.assertEquals(new TreeSet<>(Arrays.asList(2, 6, 8, 10, 12, 14)), values);
+  }
+
+  @Test
+  public void testPushedDownStepsCanBeSerialized() {
+    OSelectStatement stm = parse("select name from SerializedPlan where value > 10 order by value");
+    OCommandContext ctx = newContext();
+    OSelectExecutionPlan plan = newFetchPlan(stm, ctx);
+    plan.chain(new ProjectionCalculationStep(stm.getProjection().copy(), ctx, false));
+    plan.chain(new OrderByStep(stm.getOrderBy().copy(), ctx, false));
+    for (OExecutionStep step : plan.getSteps()) {
+      Assert.assertTrue(step.getName(), ((OExecutionStepInternal) step).canBeSerialized());
+    }
+    Assert.assertFalse(new DistinctExecutionStep(ctx, false).canBeSerialized());
+  }
+
+  private OSelectStatement parse(String query) {
+    return (OSelectStatement) OStatementCache.get(query, db);
+  }
+
+  private OCommandContext newContext() {
+    OBasicCommandContext ctx = new OBasicCommandContext();
+    ctx.setDatabase(db);
+    return ctx;
+  }
+
+  private OSelectExecutionPlan newFetchPlan(OSelectStatement stm, OCommandContext ctx) {
+    OSelectExecutionPlan plan = new OSelectExecutionPlan(ctx);
+    plan.chain(new FetchFromClassExecutionStep("SerializedPlan", null, ctx, null, false));
+    plan.chain(new FilterStep(stm.getWhereClause().copy(), ctx, false));
+    return plan;
+  }
+
+  /**
+   * serializes the plan as it is sent to a remote node, and rebuilds it as the remote node does
+   */
+  private OInternalExecutionPlan roundTrip(OSelectExecutionPlan plan) {
+    OResultSerializerNetwork serializer = new OResultSerializerNetwork();
+    BytesContainer container = new BytesContainer();
+    serializer.serialize(plan.serialize(), container);
+    container.fitBytes();
+
+    OResult serialized = serializer.deserialize(new BytesContainer(container.bytes));
+    try {
+      OInternalExecutionPlan result = (OInternalExecutionPlan) Class
+          .forName(serialized.getProperty(OInternalExecutionPlan.JAVA_TYPE)).newInstance();
+      result.deserialize(serialized);
+      return result;
+    } catch (Exception e) {
+      throw new AssertionError("Cannot rebuild the execution plan", e);
+    }
+  }
+
+  private List<OResult> execute(OInternalExecutionPlan plan) {
+    return execute(plan, new HashMap<>());
+  }
+
+  private List<OResult> execute(OInternalExecutionPlan plan, Map<Object, Object> params) {
+    List<OResult> result = new ArrayList<>();
+    try (OResultSet rs = db.query(plan, params)) {
+      while (rs.hasNext()) {
+        result.add(rs.next());
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,120 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.parser.OSelectStatement;
+import com.orientechnologies.orient.core.sql.parser.OStatementCache;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * Checks the aggregations calculated in parts on the nodes of a sharded query, simulating two nodes that own one cluster each
+ */
+public class OSelectExecutionPlannerPartialAggregationTest {
+
+  private OrientDB          orientDB;
+  private ODatabaseDocument db;
+  private int[]             clusterIds;
+
+  @Before
+  public void before() {
+    orientDB = new OrientDB("embedded:", OrientDBConfig.defaultConfig());
+    orientDB.create("OSelectExecutionPlannerPartialAggregationTest", ODatabaseType.MEMORY);
+    db = orientDB.open("OSelectExecutionPlannerPartialAggregationTest", "admin", "admin");
+    OClass clazz = db.getMetadata().getSchema().createClass("PartialAggr", 2);
+    clusterIds = clazz.getClusterIds();
+
+    String[] names = { "A", "a", "B", "a", "b", "B", "b" };
+    for (int i = 0; i < names.length; i++) {
+      ODocument doc = new ODocument("PartialAggr");
+      doc.field("name", names[i]);
+      doc.field("value", i + 1);
+      doc.field("group", (i + 1) % 2);
+      //the first three records on the first node, the others on the second one
+      db.save(doc, db.getClusterNameById(clusterIds[i < 3 ? 0 : 1]));
+    }
+  }
+
+  @After
+  public void after() {
+    db.close();
+    orientDB.drop("OSelectExecutionPlannerPartialAggregationTest");
+    orientDB.close();
+  }
+
+  @Test
+  public void testGroupByExpression() {
+    List<OResult> result = execute(
+        "select name.toLowerCase() as key, count(*) as cnt, max(value) as maxValue from PartialAggr group by name.toLowerCase()");
+
+    Map<String, OResult> byKey = new HashMap<>();
+    for (OResult item : result) {
+      byKey.put(item.getProperty("key"), item);
+    }
+    Assert.assertEquals(2, byKey.size());
+    Assert.assertEquals(3L, (long) byKey.get("a").getProperty("cnt"));
+    Assert.assertEquals(4, (int) byKey.get("a").getProperty("maxValue"));
+    Assert.assertEquals(4L, (long) byKey.get("b").getProperty("cnt"));
+    Assert.assertEquals(7, (int) byKey.get("b").getProperty("maxValue"));
+  }
+
+  @Test
+  public void testGroupByManyKeys() {
+    List<OResult> result = execute(
+        "select name.toLowerCase() as key, group, count(*) as cnt from PartialAggr group by name.toLowerCase(), group");
+
+    Map<String, Long> counts = new HashMap<>();
+    for (OResult item : result) {
+      Assert.assertEquals(new HashSet<>(Arrays.asList("key", "group", "cnt")), item.getPropertyNames());
+      counts.put(item.getProperty("key") + "/" + item.getProperty("group"), item.getProperty("cnt"));
+    }
+    Map<String, Long> expected = new HashMap<>();
+    expected.put("a/1", 1L);
+    expected.put("a/0", 2L);
+    expected.put("b/1", 3L);
+    expected.put("b/0", 1L);
+    Assert.assertEquals(expected, counts);
+  }
+
+  private List<OResult> execute(String query) {
+    OBasicCommandContext ctx = new OBasicCommandContext();
+    ctx.setDatabase(db);
+
+    OSelectStatement statement = (OSelectStatement) OStatementCache.get(query, (ODatabaseDocumentInternal) db);
+    QueryPlanningInfo info = new OSelectExecutionPlanner(statement).info;
+    OSelectExecutionPlanner.optimizeQuery(info);
+    info.distributedFetchExecutionPlans = new LinkedHashMap<>();
+    info.distributedFetchExecutionPlans.put("node1", fetchCluster(clusterIds[0], ctx));
+    info.distributedFetchExecutionPlans.put("node2", fetchCluster(clusterIds[1], ctx));
+    OSelectExecutionPlanner.handlePartialAggregation(info, ctx, false);
+
+    //the coordinator merges the partial results of the nodes
+    OSelectExecutionPlan plan = new OSelectExecutionPlan(ctx);
+    plan.chain(new ParallelExecStep(new ArrayList<>(info.distributedFetchExecutionPlans.values()), ctx, false));
+    OSelectExecutionPlanner.handleProjectionsBlock(plan, info, ctx, false);
+
+    List<OResult> result = new ArrayList<>();
+    OResultSet rs = plan.fetchNext(100);
+    while (rs.hasNext()) {
+      result.add(rs.next());
+    }
+    return result;
+  }
+
+  private OSelectExecutionPlan fetchCluster(int clusterId, OCommandContext ctx) {
+    OSelectExecutionPlan plan = new OSelectExecutionPlan(ctx);
+    plan.chain(new FetchFromClusterExecutionStep(clusterId, ctx, false));
+    return plan;
+  }
+}
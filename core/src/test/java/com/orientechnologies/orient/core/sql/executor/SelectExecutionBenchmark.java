@@ -0,0 +1,118 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.sql.parser.OSelectStatement;
+import com.orientechnologies.orient.core.sql.parser.OStatementCache;
+
+/**
+ * Measures the throughput (scanned records/sec) of scan + filter + projection plans, comparing the batch pipeline used by {@link
+ * OSelectExecutionPlan#fetchNext(int)} with the one-row-at-a-time pipeline ({@link OExecutionStepInternal#syncPull(com.orientechnologies.orient.core.command.OCommandContext,
+ * int)}).
+ */
+public class SelectExecutionBenchmark {
+  private static final int RECORDS    = 200_000;
+  private static final int ITERATIONS = 20;
+
+  private static final String[] QUERIES = { "select from Bench", "select from Bench where a > 500",
+      "select a, b, a + b as c from Bench where b = 'b7'", "select count(*) from Bench where a < 100" };
+
+  private final ODatabaseDocumentInternal db;
+
+  public SelectExecutionBenchmark(ODatabaseDocumentInternal db) {
+    this.db = db;
+  }
+
+  public static void main(String[] args) {
+    ODatabaseDocumentTx db = new ODatabaseDocumentTx("memory:SelectExecutionBenchmark");
+    db.create();
+    try {
+      db.getMetadata().getSchema().createClass("Bench");
+      for (int i = 0; i < RECORDS; i++) {
+        OElement elem = db.newElement("Bench");
+        elem.setProperty("a", i % 1000);
+        elem.setProperty("b", "b" + (i % 10));
+        elem.save();
+      }
+      new SelectExecutionBenchmark(db).benchmark();
+    } finally {
+      db.drop();
+    }
+  }
+
+  public void benchmark() {
+    for (String query : QUERIES) {
+      //warm up
+      runRows(query);
+      runBatch(query);
+
+      long rowTime = 0;
+      long batchTime = 0;
+      for (int i = 0; i < ITERATIONS; i++) {
+        long start = System.nanoTime();
+        runRows(query);
+        rowTime += System.nanoTime() - start;
+
+        start = System.nanoTime();
+        runBatch(query);
+        batchTime += System.nanoTime() - start;
+      }
+      System.out.println(query);
+      System.out.println("  row pipeline   : " + throughput(rowTime) + " scanned records/sec");
+      System.out.println("  batch pipeline : " + throughput(batchTime) + " scanned records/sec");
+    }
+  }
+
+  private long throughput(long nanos) {
+    return (long) RECORDS * ITERATIONS * 1_000_000_000L / Math.max(nanos, 1);
+  }
+
+  private OBasicCommandContext createContext() {
+    OBasicCommandContext ctx = new OBasicCommandContext();
+    ctx.setDatabase(db);
+    return ctx;
+  }
+
+  private OSelectExecutionPlan createPlan(String query, OBasicCommandContext ctx) {
+    OSelectStatement stm = (OSelectStatement) OStatementCache.get(query, db);
+    return (OSelectExecutionPlan) stm.createExecutionPlan(ctx, false);
+  }
+
+  private long runBatch(String query) {
+    OSelectExecutionPlan plan = createPlan(query, createContext());
+    long count = 0;
+    while (true) {
+      OResultSet block = plan.fetchNext(100);
+      if (!block.hasNext()) {
+        break;
+      }
+      while (block.hasNext()) {
+        block.next();
+        count++;
+      }
+    }
+    plan.close();
+    return count;
+  }
+
+  private long runRows(String query) {
+    OBasicCommandContext ctx = createContext();
+    OSelectExecutionPlan plan = createPlan(query, ctx);
+    OExecutionStepInternal lastStep = (OExecutionStepInternal) plan.getSteps().get(plan.getSteps().size() - 1);
+    long count = 0;
+    while (true) {
+      OResultSet block = lastStep.syncPull(ctx, 100);
+      if (!block.hasNext()) {
+        break;
+      }
+      while (block.hasNext()) {
+        block.next();
+        count++;
+      }
+    }
+    plan.close();
+    return count;
+  }
+}
@@ -0,0 +1,63 @@
+package com.orientechnologies.orient.core.sql.parser;
+
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OCompiledFilterTest {
+
+  private static final String[] CONDITIONS = { "a = 3", "a = 3.0", "a <> 3", "a != 3", "a > 5", "a >= 5", "a < 2 * 3",
+      "a <= 6 - 1", "name = 'n4'", "name < 'n4'", "name = ?", "a = :a", "a > 3 and name <> 'n7'", "a < 2 or (a > 7 and a < 9)",
+      "not (a = 3)", "a = 3 and not b = 3", "b = 5", "b is null", "b is not null", "name like 'n%'", "a in [1, 2, 3]",
+      "name.length() = 2", "a + 1 = 4", "a = 3L", "@rid = #12:0", "(((a = 1)))" };
+
+  @Test
+  public void testSameResultsAsInterpreted() {
+    List<OResultInternal> records = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      OResultInternal record = new OResultInternal();
+      record.setProperty("a", i);
+      record.setProperty("name", "n" + i);
+      if (i % 2 == 0) {
+        record.setProperty("b", i);
+      }
+      records.add(record);
+    }
+
+    OBasicCommandContext ctx = new OBasicCommandContext();
+    Map<Object, Object> params = new HashMap<>();
+    params.put(0, "n3");
+    params.put("a", 5);
+    ctx.setInputParameters(params);
+
+    for (String condition : CONDITIONS) {
+      OWhereClause where = ((OSelectStatement) OStatementCache.get("select from foo where " + condition, null)).getWhereClause();
+      OCompiledFilter compiled = OCompiledFilter.compile(where);
+      for (OResultInternal record : records) {
+        Assert.assertEquals(condition + " " + record, where.matchesFilters(record, ctx), compiled.matches(record, ctx));
+      }
+    }
+  }
+
+  @Test
+  public void testConstantFolding() {
+    OWhereClause where = ((OSelectStatement) OStatementCache.get("select from foo where a = 2 * 3 + 1", null)).getWhereClause();
+    OCompiledFilter compiled = OCompiledFilter.compile(where);
+    Assert.assertTrue(compiled instanceof OCompiledFilter.Comparison);
+
+    OResultInternal record = new OResultInternal();
+    record.setProperty("a", 7);
+    Assert.assertTrue(compiled.matches(record, new OBasicCommandContext()));
+  }
+
+  @Test
+  public void testEmptyCondition() {
+    Assert.assertSame(OCompiledFilter.TRUE, OCompiledFilter.compile(null));
+  }
+}
@@ -0,0 +1,98 @@
+package com.orientechnologies.orient.core.sql.parser;
+
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OExecutionPlanCacheTest {
+
+  private ODatabaseDocumentInternal db;
+
+  @Before
+  public void before() {
+    db = new ODatabaseDocumentTx("memory:OExecutionPlanCacheTest");
+    db.create();
+    OClass clazz = db.getMetadata().getSchema().createClass("PlanCacheTest");
+    clazz.createProperty("name", OType.STRING);
+    for (int i = 0; i < 10; i++) {
+      OElement elem = db.newElement("PlanCacheTest");
+      elem.setProperty("name", "name" + i);
+      elem.setProperty("surname", "surname" + i);
+      elem.save();
+    }
+  }
+
+  @After
+  public void after() {
+    db.drop();
+  }
+
+  @Test
+  public void testCacheParameterizedQuery() {
+    String query = "select from PlanCacheTest where name = ?";
+    OExecutionPlanCache cache = db.getSharedContext().getExecutionPlanCache();
+    Assert.assertFalse(cache.contains(query));
+
+    OResultSet result = db.query(query, "name1");
+    Assert.assertTrue(result.hasNext());
+    Assert.assertEquals("name1", result.next().getProperty("name"));
+    Assert.assertFalse(result.hasNext());
+    result.close();
+    Assert.assertTrue(cache.contains(query));
+
+    //the cached plan has to be reusable with different parameters
+    for (int i = 0; i < 10; i++) {
+      result = db.query(query, "name" + i);
+      Assert.assertTrue(result.hasNext());
+      Assert.assertEquals("surname" + i, result.next().getProperty("surname"));
+      Assert.assertFalse(result.hasNext());
+      result.close();
+    }
+  }
+
+  @Test
+  public void testInvalidateOnIndexChange() {
+    String query = "select from PlanCacheTest where name = ?";
+    OExecutionPlanCache cache = db.getSharedContext().getExecutionPlanCache();
+
+    db.query(query, "name2").close();
+    Assert.assertTrue(cache.contains(query));
+
+    db.command("create index PlanCacheTest.name on PlanCacheTest (name) NOTUNIQUE").close();
+    Assert.assertFalse(cache.contains(query));
+
+    OResultSet result = db.query(query, "name2");
+    Assert.assertTrue(result.hasNext());
+    Assert.assertEquals("surname2", result.next().getProperty("surname"));
+    Assert.assertFalse(result.hasNext());
+    Assert.assertTrue(result.getExecutionPlan().get().prettyPrint(0, 2).contains("INDEX"));
+    result.close();
+    Assert.assertTrue(cache.contains(query));
+  }
+
+  @Test
+  public void testInvalidateOnSchemaChange() {
+    String query = "select from PlanCacheTest where surname = :surname";
+    OExecutionPlanCache cache = db.getSharedContext().getExecutionPlanCache();
+
+    db.query(query, new Object[] { "surname3" }).close();
+    Assert.assertTrue(cache.contains("select from PlanCacheTest where surname = :surname"));
+
+    db.getMetadata().getSchema().getClass("PlanCacheTest").addCluster("PlanCacheTest_extra");
+    Assert.assertFalse(cache.contains(query));
+  }
+
+  @Test
+  public void testNoCacheForParameterTarget() {
+    String query = "select from ?";
+    db.query(query, "PlanCacheTest").close();
+    Assert.assertFalse(db.getSharedContext().getExecutionPlanCache().contains(query));
+  }
+}
@@ -65,6 +65,25 @@ public class OProjectionTest {
 
   }
 
+  @Test
+  public void testPartialAggregateMerge() throws ParseException {
+    OrientSql parser = getParserFor("select count(*), sum(a), min(a), max(a), avg(a), a from V");
+    OSelectStatement stm = (OSelectStatement) parser.parse();
+    OIdentifier alias = new OIdentifier("partial");
+
+    Assert.assertEquals("sum(partial)", mergeOf(stm, 0, alias));
+    Assert.assertEquals("sum(partial)", mergeOf(stm, 1, alias));
+    Assert.assertEquals("min(partial)", mergeOf(stm, 2, alias));
+    Assert.assertEquals("max(partial)", mergeOf(stm, 3, alias));
+    Assert.assertNull(mergeOf(stm, 4, alias));
+    Assert.assertNull(mergeOf(stm, 5, alias));
+  }
+
+  private String mergeOf(OSelectStatement stm, int item, OIdentifier alias) {
+    OExpression merge = stm.getProjection().getItems().get(item).getExpression().getPartialAggregateMerge(alias);
+    return merge == null ? null : merge.toString();
+  }
+
   protected OrientSql getParserFor(String string) {
     InputStream is = new ByteArrayInputStream(string.getBytes());
     OrientSql osql = new OrientSql(is);
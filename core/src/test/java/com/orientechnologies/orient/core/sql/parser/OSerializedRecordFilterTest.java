@@ -0,0 +1,103 @@
+package com.orientechnologies.orient.core.sql.parser;
+
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class OSerializedRecordFilterTest {
+
+  private ODatabaseDocumentInternal db;
+  private ORID                      rid;
+
+  @Before
+  public void before() {
+    db = new ODatabaseDocumentTx("memory:OSerializedRecordFilterTest");
+    db.create();
+    OClass clazz = db.getMetadata().getSchema().createClass("SerializedFilterTest");
+    clazz.createProperty("surname", OType.STRING);
+    for (int i = 0; i < 20; i++) {
+      ODocument doc = new ODocument("SerializedFilterTest");
+      doc.field("name", "name" + i);
+      doc.field("surname", "surname" + (i % 5));
+      doc.field("value", i);
+      doc.field("longValue", (long) i);
+      doc.save();
+      rid = doc.getIdentity();
+    }
+  }
+
+  @After
+  public void after() {
+    db.drop();
+  }
+
+  @Test
+  public void testCanMatch() {
+    OBasicCommandContext ctx = new OBasicCommandContext();
+    ctx.setDatabase(db);
+    ctx.setInputParameters(Collections.singletonMap(0, 19));
+
+    Assert.assertTrue(canMatch("name = 'name19'", ctx));
+    Assert.assertFalse(canMatch("name = 'name18'", ctx));
+    Assert.assertFalse(canMatch("surname = 'surname3' and value > 3", ctx));
+    Assert.assertTrue(canMatch("surname = 'surname4' and value > 3", ctx));
+    Assert.assertTrue(canMatch("value = ?", ctx));
+    Assert.assertFalse(canMatch("value < ?", ctx));
+    Assert.assertTrue(canMatch("value <= ?", ctx));
+    Assert.assertTrue(canMatch("value in [1, 19]", ctx));
+    Assert.assertFalse(canMatch("value in [1, 2, 3]", ctx));
+    Assert.assertFalse(canMatch("longValue > 20L", ctx));
+
+    //not decidable on the serialized record
+    Assert.assertTrue(canMatch("longValue > 20", ctx));
+    Assert.assertTrue(canMatch("value > 20 or name = 'foo'", ctx));
+    Assert.assertTrue(canMatch("value.asString() = 'foo'", ctx));
+    Assert.assertTrue(canMatch("not (value = 3)", ctx));
+    Assert.assertTrue(canMatch("nonExisting = 3", ctx));
+  }
+
+  @Test
+  public void testQueryResults() {
+    Assert.assertEquals(4, count("select from SerializedFilterTest where surname = 'surname3'"));
+    Assert.assertEquals(3, count("select from SerializedFilterTest where surname = 'surname3' and value > 3"));
+    Assert.assertEquals(19, count("select from SerializedFilterTest where value <> 3"));
+    Assert.assertEquals(2, count("select from SerializedFilterTest where value in [1, 3] and longValue < 10"));
+    Assert.assertEquals(10, count("select from SerializedFilterTest where value >= 5.0 and value < 15"));
+    Assert.assertEquals(1, count("select from SerializedFilterTest where value = '7'"));
+    Assert.assertEquals(2, count("select from SerializedFilterTest where surname = ? and value < ?", "surname1", 10));
+  }
+
+  private boolean canMatch(String condition, OBasicCommandContext ctx) {
+    OWhereClause where = ((OSelectStatement) OStatementCache.get("select from foo where " + condition, null)).getWhereClause();
+    OSerializedRecordFilter filter = OSerializedRecordFilter.create(where);
+    if (filter == null) {
+      return true;
+    }
+    db.getLocalCache().invalidate();
+    ODocument doc = db.load(rid);
+    return filter.canMatch(doc, ctx);
+  }
+
+  private int count(String query, Object... args) {
+    db.getLocalCache().invalidate();
+    int result = 0;
+    try (OResultSet rs = db.query(query, args)) {
+      while (rs.hasNext()) {
+        rs.next();
+        result++;
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,140 @@
+package com.orientechnologies.orient.core.storage.impl.local.paginated;
+
+import com.orientechnologies.common.io.OFileUtils;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.exception.ODatabaseException;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OWALShipment;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LocalPaginatedStorageWALShippingTest {
+  private ODatabaseDocumentTx originalDB;
+  private ODatabaseDocumentTx replicaDB;
+  private OLogSequenceNumber  shippingLsn;
+
+  @Before
+  public void before() throws IOException {
+    final String buildDirectory = System.getProperty("buildDirectory", ".");
+    final File originalDirectory = new File(buildDirectory, "WALShippingOriginal");
+    final File replicaDirectory = new File(buildDirectory, "WALShippingReplica");
+    OFileUtils.deleteRecursively(originalDirectory);
+    OFileUtils.deleteRecursively(replicaDirectory);
+
+    originalDB = new ODatabaseDocumentTx("plocal:" + originalDirectory.getAbsolutePath());
+    originalDB.create();
+    originalDB.getMetadata().getSchema().createClass("Sample");
+
+    // THE REPLICA STARTS AS A COPY OF THE ORIGINAL
+    final OAbstractPaginatedStorage originalStorage = (OAbstractPaginatedStorage) originalDB.getStorage();
+    originalStorage.freeze(false);
+    try {
+      shippingLsn = originalStorage.getLSN();
+      OFileUtils.copyDirectory(originalDirectory, replicaDirectory);
+    } finally {
+      originalStorage.release();
+    }
+
+    replicaDB = new ODatabaseDocumentTx("plocal:" + replicaDirectory.getAbsolutePath());
+    replicaDB.open("admin", "admin");
+  }
+
+  @After
+  public void after() {
+    originalDB.activateOnCurrentThread();
+    originalDB.drop();
+
+    replicaDB.activateOnCurrentThread();
+    replicaDB.drop();
+  }
+
+  @Test
+  public void testShippedOperationsAreApplied() throws IOException {
+    originalDB.activateOnCurrentThread();
+
+    final List<ODocument> docs = new ArrayList<ODocument>();
+    for (int tx = 0; tx < 20; ++tx) {
+      originalDB.begin();
+      for (int i = 0; i < 50; ++i)
+        docs.add(new ODocument("Sample").field("tx", tx).field("value", "value " + i).save());
+      originalDB.commit();
+    }
+
+    for (int i = 0; i < docs.size(); i += 3)
+      docs.get(i).field("value", "updated").save();
+    for (int i = 1; i < docs.size(); i += 7)
+      docs.get(i).delete();
+
+    ship(10);
+
+    assertReplicaIsInSync();
+
+    // THE SHIPPED OPERATIONS ARE IN THE WAL OF THE REPLICA TOO
+    replicaDB.activateOnCurrentThread();
+    final String replicaURL = replicaDB.getURL();
+    replicaDB.getStorage().close(true, false);
+    replicaDB = new ODatabaseDocumentTx(replicaURL);
+    replicaDB.open("admin", "admin");
+
+    assertReplicaIsInSync();
+  }
+
+  @Test(expected = ODatabaseException.class)
+  public void testNewFilesAreNotShipped() {
+    originalDB.activateOnCurrentThread();
+    originalDB.getMetadata().getSchema().createClass("Other");
+
+    final OAbstractPaginatedStorage originalStorage = (OAbstractPaginatedStorage) originalDB.getStorage();
+    originalStorage.getWALInstance().flush();
+    originalStorage.readWALShipment(shippingLsn, 1000);
+  }
+
+  private void ship(final int maxRecords) throws IOException {
+    final OAbstractPaginatedStorage originalStorage = (OAbstractPaginatedStorage) originalDB.getStorage();
+    final OAbstractPaginatedStorage replicaStorage = (OAbstractPaginatedStorage) replicaDB.getStorage();
+    originalStorage.getWALInstance().flush();
+
+    while (true) {
+      final OWALShipment shipment = originalStorage.readWALShipment(shippingLsn, maxRecords);
+      Assert.assertNotNull(shipment);
+      if (shipment.isEmpty())
+        break;
+
+      // THE SHIPMENT IS SENT OVER THE NETWORK
+      final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      shipment.toStream(new DataOutputStream(buffer));
+      final OWALShipment received = new OWALShipment();
+      received.fromStream(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+
+      replicaStorage.applyWALShipment(received);
+      shippingLsn = received.getNextLsn();
+    }
+  }
+
+  private void assertReplicaIsInSync() {
+    originalDB.activateOnCurrentThread();
+    final List<ODocument> originalDocs = new ArrayList<ODocument>();
+    for (ODocument doc : originalDB.browseClass("Sample"))
+      originalDocs.add(doc);
+
+    replicaDB.activateOnCurrentThread();
+    replicaDB.getLocalCache().clear();
+    Assert.assertEquals(originalDocs.size(), replicaDB.countClass("Sample"));
+
+    for (ODocument doc : originalDocs) {
+      final ODocument replicaDoc = replicaDB.load(doc.getIdentity());
+      Assert.assertNotNull(replicaDoc);
+      Assert.assertEquals(doc.getVersion(), replicaDoc.getVersion());
+      Assert.assertEquals(doc.<Object>field("value"), replicaDoc.field("value"));
+      Assert.assertEquals(doc.<Object>field("tx"), replicaDoc.field("tx"));
+    }
+  }
+}
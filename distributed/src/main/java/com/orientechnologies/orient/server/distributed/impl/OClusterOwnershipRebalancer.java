@@ -0,0 +1,189 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.orientechnologies.common.util.OCallable;
+import com.orientechnologies.common.util.OPair;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.server.OSystemDatabase;
+import com.orientechnologies.orient.server.distributed.ODistributedConfiguration;
+import com.orientechnologies.orient.server.distributed.ODistributedServerLog;
+import com.orientechnologies.orient.server.distributed.ODistributedServerLog.DIRECTION;
+import com.orientechnologies.orient.server.distributed.ODistributedServerManager;
+import com.orientechnologies.orient.server.distributed.OModifiableDistributedConfiguration;
+
+import java.util.*;
+
+/**
+ * Timer task that balances the write load between the master servers, by moving the ownership of one cluster per round from the
+ * server owning more clusters of a class to the one owning less. The servers joined after the creation of the classes so become
+ * owners of existent clusters, not only of the new ones. It runs only on the coordinator server and the ownership is switched in
+ * the distributed lock of the database. Only the clusters already present on the new owner are moved: in case of sharding the
+ * clusters not configured on the less loaded servers keep their owner.
+ * <p>
+ * The task is disabled by default. To enable it set {@link OGlobalConfiguration#DISTRIBUTED_REBALANCE_OWNERSHIP_EVERY}
+ * (distributed.rebalanceOwnershipEvery) to the interval in ms between two moves, for example 30000.
+ */
+public class OClusterOwnershipRebalancer extends TimerTask {
+  private final ODistributedAbstractPlugin manager;
+
+  public OClusterOwnershipRebalancer(final ODistributedAbstractPlugin manager) {
+    this.manager = manager;
+  }
+
+  @Override
+  public synchronized void run() {
+    final String localNodeName = manager.getLocalNodeName();
+    if (!localNodeName.equals(manager.getLockManagerServer()))
+      // ONLY THE COORDINATOR REBALANCES THE CLUSTERS
+      return;
+
+    for (String databaseName : manager.getMessageService().getDatabases()) {
+      if (OSystemDatabase.SYSTEM_DB_NAME.equals(databaseName))
+        continue;
+
+      if (manager.getDatabaseStatus(localNodeName, databaseName) != ODistributedServerManager.DB_STATUS.ONLINE)
+        continue;
+
+      try {
+        rebalance(databaseName);
+      } catch (HazelcastInstanceNotActiveException e) {
+        // SHUTDOWN IN PROGRESS
+        return;
+      } catch (Exception e) {
+        ODistributedServerLog.warn(this, localNodeName, null, DIRECTION.NONE,
+            "Error on re-balancing the ownership of clusters for database '%s'", e, databaseName);
+      }
+    }
+  }
+
+  protected void rebalance(final String databaseName) {
+    final ODistributedConfiguration cfg = manager.getDatabaseConfiguration(databaseName, false);
+    if (cfg == null)
+      return;
+
+    final Set<String> masters = manager.getAvailableNodeNames(databaseName);
+    for (Iterator<String> it = masters.iterator(); it.hasNext(); ) {
+      if (cfg.getServerRole(it.next()) != ODistributedConfiguration.ROLES.MASTER)
+        it.remove();
+    }
+
+    if (masters.size() < 2)
+      return;
+
+    final ODatabaseDocumentInternal db = manager.getServerInstance()
+        .openDatabase(databaseName, "internal", "internal", null, true);
+    try {
+      for (OClass clazz : db.getMetadata().getSchema().getClasses()) {
+        if (clazz.isAbstract())
+          continue;
+
+        final Set<String> clusterNames = new HashSet<String>();
+        for (int clusterId : clazz.getClusterIds()) {
+          final String clusterName = db.getClusterNameById(clusterId);
+          if (clusterName != null)
+            clusterNames.add(clusterName);
+        }
+
+        final OPair<String, String> move = chooseClusterToMove(cfg, clusterNames, masters);
+        if (move != null) {
+          moveOwnership(databaseName, clazz, move.getKey(), cfg.getClusterOwner(move.getKey()), move.getValue());
+          // ONE CLUSTER PER ROUND
+          return;
+        }
+      }
+    } finally {
+      db.activateOnCurrentThread();
+      db.close();
+    }
+  }
+
+  /**
+   * Returns the cluster to move as key and its new owner as value, or null if the clusters are already balanced between the
+   * servers.
+   */
+  protected static OPair<String, String> chooseClusterToMove(final ODistributedConfiguration cfg,
+      final Collection<String> clusterNames, final Set<String> masters) {
+    final List<OPair<String, List<String>>> owners = new ArrayList<OPair<String, List<String>>>(masters.size());
+    for (String server : masters) {
+      final List<String> ownedClusters = cfg.getOwnedClustersByServer(clusterNames, server);
+
+      // THE CLUSTERS WITH A STATIC OWNER CFG ARE NEVER MOVED
+      for (Iterator<String> it = ownedClusters.iterator(); it.hasNext(); ) {
+        if (cfg.getConfiguredClusterOwner(it.next()) != null)
+          it.remove();
+      }
+
+      owners.add(new OPair<String, List<String>>(server, ownedClusters));
+    }
+
+    // ORDER BY NODES OWNING THE LESS CLUSTERS
+    Collections.sort(owners, new Comparator<OPair<String, List<String>>>() {
+      @Override
+      public int compare(final OPair<String, List<String>> o1, final OPair<String, List<String>> o2) {
+        return o1.getValue().size() - o2.getValue().size();
+      }
+    });
+
+    for (OPair<String, List<String>> target : owners) {
+      for (int i = owners.size() - 1; i > -1; --i) {
+        final OPair<String, List<String>> source = owners.get(i);
+        if (source.getValue().size() - target.getValue().size() < 2)
+          // MOVING A CLUSTER WOULD NOT REDUCE THE DIFFERENCE
+          break;
+
+        for (String cluster : source.getValue()) {
+          final List<String> servers = cfg.getConfiguredServers(cluster);
+          if (servers != null && servers.contains(target.getKey()))
+            return new OPair<String, String>(cluster, target.getKey());
+        }
+      }
+    }
+    return null;
+  }
+
+  private void moveOwnership(final String databaseName, final OClass clazz, final String cluster, final String currentOwner,
+      final String newOwner) {
+    final boolean moved = manager.executeInDistributedDatabaseLock(databaseName, 20000, null,
+        new OCallable<Boolean, OModifiableDistributedConfiguration>() {
+          @Override
+          public Boolean call(final OModifiableDistributedConfiguration lastCfg) {
+            // THE CONFIGURATION COULD BE CHANGED BEFORE ACQUIRING THE LOCK
+            if (!currentOwner.equals(lastCfg.getClusterOwner(cluster)))
+              return false;
+
+            final List<String> servers = lastCfg.getConfiguredServers(cluster);
+            if (servers == null || !servers.contains(newOwner))
+              return false;
+
+            lastCfg.setServerOwner(cluster, newOwner);
+            return true;
+          }
+        });
+
+    if (moved)
+      ODistributedServerLog.info(this, manager.getLocalNodeName(), null, DIRECTION.NONE,
+          "Class '%s': moved ownership of cluster '%s.%s' from node '%s' to node '%s' to balance the write load", clazz,
+          databaseName, cluster, currentOwner, newOwner);
+  }
+}
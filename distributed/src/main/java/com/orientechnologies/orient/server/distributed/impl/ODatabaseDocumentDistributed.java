@@ -41,10 +41,7 @@ import com.orientechnologies.orient.server.distributed.impl.task.OSyncClusterTas
 import com.orientechnologies.orient.server.distributed.task.ORemoteTask;
 import com.orientechnologies.orient.server.hazelcast.OHazelcastPlugin;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.*;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
@@ -56,7 +53,9 @@ import static com.orientechnologies.orient.core.config.OGlobalConfiguration.DIST
  */
 public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
 
-  private final OHazelcastPlugin hazelcastPlugin;
+  private final OHazelcastPlugin     hazelcastPlugin;
+  // LAST OPERATION PER SERVER THE SESSION EXECUTED OR HAS SEEN, SEE getConsistencyToken()
+  private       ODistributedMomentum sessionMomentum;
 
   public ODatabaseDocumentDistributed(OStorage storage, OHazelcastPlugin hazelcastPlugin) {
     super(storage);
@@ -409,6 +408,49 @@ public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
     return task.getResult(result, this);
   }
 
+  /**
+   * The token is the momentum of the last operations the session executed or has seen: a server applied them when its last LSN
+   * of every server of the momentum is not lower.
+   */
+  @Override
+  public byte[] getConsistencyToken() {
+    if (sessionMomentum == null)
+      return null;
+
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try {
+      sessionMomentum.toStream(new DataOutputStream(buffer));
+    } catch (IOException e) {
+      throw OException.wrapException(new ODistributedException("Cannot serialize the consistency token"), e);
+    }
+    return buffer.toByteArray();
+  }
+
+  @Override
+  public boolean waitForConsistencyToken(final byte[] token, final long timeout) {
+    final ODistributedMomentum momentum = new ODistributedMomentum();
+    try {
+      momentum.fromStream(new DataInputStream(new ByteArrayInputStream(token)));
+    } catch (IOException e) {
+      throw OException.wrapException(new ODistributedException("Cannot deserialize the consistency token"), e);
+    }
+    mergeMomentum(momentum);
+
+    try {
+      return getStorageDistributed().getLocalDistributedDatabase().waitForMomentum(momentum, timeout);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void mergeMomentum(final ODistributedMomentum momentum) {
+    if (sessionMomentum == null)
+      sessionMomentum = new ODistributedMomentum();
+
+    sessionMomentum.merge(momentum);
+  }
+
   public ODistributedResponse executeTaskOnNode(ORemoteTask task, String nodeName) {
     final String dbUrl = getURL();
 
@@ -511,6 +553,12 @@ public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
         ((OAbstractPaginatedStorage) getStorage().getUnderlying()).preallocateRids(iTx);
 
         txManager.commit(this, iTx, getStorageDistributed().getEventListener());
+
+        if (txManager.getCommitLSN() != null) {
+          final ODistributedMomentum committed = new ODistributedMomentum();
+          committed.setLSN(localNodeName, txManager.getCommitLSN());
+          mergeMomentum(committed);
+        }
         return;
       } catch (OValidationException e) {
         throw e;
@@ -525,15 +573,13 @@ public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
     }
   }
 
-  public void acquireLocksForTx(OTransactionInternal tx, ODistributedTxContext txContext) {
-    //Sort and lock transaction entry in distributed environment
+  public void acquireLocksForTx(OTransactionInternal tx, ONewDistributedTxContextImpl txContext) {
+    //Sort and lock transaction entry in distributed environment, all the entries in one call to the lock manager
     Set<ORID> rids = new TreeSet<>();
     for (ORecordOperation entry : tx.getRecordOperations()) {
       rids.add(entry.getRID());
     }
-    for (ORID rid : rids) {
-      txContext.lock(rid);
-    }
+    txContext.lock(rids);
     Set<Object> keys = new TreeSet<>();
     for (Map.Entry<String, OTransactionIndexChanges> change : tx.getIndexOperations().entrySet()) {
       OIndex<?> index = getMetadata().getIndexManager().getIndex(change.getKey());
@@ -545,9 +591,7 @@ public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
         }
       }
     }
-    for (Object key : keys) {
-      txContext.lockIndexKey(key);
-    }
+    txContext.lockIndexKeys(keys);
 
   }
 
@@ -589,7 +633,12 @@ public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
     ODistributedDatabase localDistributedDatabase = getStorageDistributed().getLocalDistributedDatabase();
     ODistributedTxContext txContext = localDistributedDatabase.getTxContext(transactionId);
     if (txContext != null) {
-      txContext.commit(this);
+      synchronized (txContext) {
+        if (txContext.isCanceled())
+          // EXPIRED: ITS LOCKS HAVE BEEN RELEASED
+          return false;
+        txContext.commit(this);
+      }
       localDistributedDatabase.popTxContext(transactionId);
       return true;
     }
@@ -113,6 +113,7 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
   protected       TimerTask                                      publishLocalNodeConfigurationTask = null;
   protected       TimerTask                                      haStatsTask                       = null;
   protected       OClusterHealthChecker                          healthCheckerTask                 = null;
+  protected       OClusterOwnershipRebalancer                    ownershipRebalancerTask           = null;
 
   // LOCAL MSG COUNTER
   protected AtomicLong                          localMessageIdCounter     = new AtomicLong();
@@ -247,6 +248,9 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
     if (healthCheckerTask != null)
       healthCheckerTask.cancel();
 
+    if (ownershipRebalancerTask != null)
+      ownershipRebalancerTask.cancel();
+
     if (haStatsTask != null)
       haStatsTask.cancel();
 
@@ -564,7 +568,20 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
 
     final ODistributedDatabaseImpl db = messageService.getDatabase(iDatabaseName);
 
-    if (iTargetNodes == null || iTargetNodes.isEmpty()) {
+    Collection<String> targetNodes = iTargetNodes;
+    if (targetNodes != null && !iTask.isIdempotent() && iTask.isUsingDatabase()) {
+      // THE CHANGES ARE NOT SENT TO THE WAL REPLICAS: THEY RECEIVE THE WRITE AHEAD LOG OF A MASTER
+      final ODistributedConfiguration cfg = getDatabaseConfiguration(iDatabaseName, false);
+      if (cfg != null)
+        for (String node : iTargetNodes)
+          if (cfg.getServerRole(node) == ODistributedConfiguration.ROLES.WAL_REPLICA) {
+            if (targetNodes == iTargetNodes)
+              targetNodes = new ArrayList<String>(iTargetNodes);
+            targetNodes.remove(node);
+          }
+    }
+
+    if (targetNodes == null || targetNodes.isEmpty()) {
       ODistributedServerLog
           .error(this, nodeName, null, DIRECTION.OUT, "No nodes configured for partition '%s.%s' request: %s", iDatabaseName,
               iClusterNames, req);
@@ -579,10 +596,10 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
 
     messageService.updateMessageStats(iTask.getName());
     if (responseManagerFactory != null) {
-      return db.send2Nodes(req, iClusterNames, iTargetNodes, iExecutionMode, localResult, iAfterSentCallback, endCallback,
+      return db.send2Nodes(req, iClusterNames, targetNodes, iExecutionMode, localResult, iAfterSentCallback, endCallback,
           responseManagerFactory);
     } else {
-      return db.send2Nodes(req, iClusterNames, iTargetNodes, iExecutionMode, localResult, iAfterSentCallback, endCallback);
+      return db.send2Nodes(req, iClusterNames, targetNodes, iExecutionMode, localResult, iAfterSentCallback, endCallback);
     }
   }
 
@@ -932,8 +949,14 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
 
               try {
 
-                // CREATE THE DISTRIBUTED QUEUE
-                if (!distrDatabase.exists() || distrDatabase.getSyncConfiguration().getMomentum().isEmpty()) {
+                if (isPageSyncInterrupted(databaseName)) {
+                  // THE FILES CAN BE A MIX OF TWO VERSIONS OF THE DATABASE: NEITHER THE DELTA NOR THE PAGES CAN BE APPLIED
+                  ODistributedServerLog.warn(this, nodeName, null, DIRECTION.NONE,
+                      "The alignment by pages of database '%s' was interrupted, requesting the entire database...", databaseName);
+                  databaseInstalled = requestFullDatabase(distrDatabase, databaseName, true, cfg);
+
+                } else if (!distrDatabase.exists() || distrDatabase.getSyncConfiguration().getMomentum().isEmpty()) {
+                  // CREATE THE DISTRIBUTED QUEUE
 
                   if (deploy == null || !deploy) {
                     // NO AUTO DEPLOY
@@ -949,7 +972,7 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
                   databaseInstalled = requestFullDatabase(distrDatabase, databaseName, iStartup, cfg);
 
                 } else {
-                  if (tryWithDeltaFirst) {
+                  if (tryWithDeltaFirst && cfg.getServerRole(nodeName) != ODistributedConfiguration.ROLES.WAL_REPLICA) {
                     try {
 
                       // TRY WITH DELTA SYNC
@@ -1023,9 +1046,11 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
 
     for (int retry = 0; retry < DEPLOY_DB_MAX_RETRIES; ++retry) {
       // ASK DATABASE TO THE FIRST NODE, THE FIRST ATTEMPT, OTHERWISE ASK TO EVERYONE
-      if (requestDatabaseFullSync(distrDatabase, backupDatabase, databaseName, retry > 0, cfg))
-        // DEPLOYED
+      if (requestDatabaseFullSync(distrDatabase, backupDatabase, databaseName, retry > 0, cfg)) {
+        // DEPLOYED, THE FILES OF AN INTERRUPTED ALIGNMENT BY PAGES HAVE BEEN REPLACED
+        ODistributedPageSync.clearSyncInProgress(new File(serverInstance.getDatabaseDirectory() + databaseName));
         return true;
+      }
     }
     // RETRY COUNTER EXCEED
     return false;
@@ -1230,9 +1255,36 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
       return false;
     }
 
+    // A WAL REPLICA IS INSTALLED ONLY FROM THE MASTER IT SHIPS THE WRITE AHEAD LOG FROM
+    String walMaster = null;
+    if (cfg.getServerRole(nodeName) == ODistributedConfiguration.ROLES.WAL_REPLICA && distrDatabase.getWALReplica() != null) {
+      walMaster = distrDatabase.getWALReplica().selectMaster(cfg);
+      if (walMaster == null) {
+        ODistributedServerLog.warn(this, nodeName, null, DIRECTION.NONE,
+            "Cannot request full deploy of database '%s' because there are no masters available with such database",
+            databaseName);
+        return false;
+      }
+    }
+
+    if (walMaster == null && !iAskToAllNodes && OGlobalConfiguration.DISTRIBUTED_DEPLOYDB_PAGE_SYNC.getValueAsBoolean()
+        && !isPageSyncInterrupted(databaseName))
+      try {
+        if (requestDatabasePageSync(distrDatabase, databaseName, nodes, cfg))
+          return true;
+      } catch (ODatabaseIsOldException e) {
+        // MANAGE THIS EXCEPTION AT UPPER LEVEL
+        throw e;
+      } catch (Exception e) {
+        ODistributedServerLog.warn(this, nodeName, null, DIRECTION.NONE,
+            "Error on aligning the pages of database '%s' (err=%s), requesting the entire database...", databaseName, e.toString());
+      }
+
     final List<String> selectedNodes = new ArrayList<String>();
 
-    if (!iAskToAllNodes) {
+    if (walMaster != null)
+      selectedNodes.add(walMaster);
+    else if (!iAskToAllNodes) {
       // GET THE FIRST ONE IN BACKUP STATUS. THIS FORCES TO HAVE ONE NODE TO DO BACKUP SAVING RESOURCES IN CASE BACKUP IS STILL
       // VALID FOR FURTHER NODES
       for (String n : nodes) {
@@ -1309,6 +1361,17 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
         installDatabaseFromNetwork(dbPath, databaseName, distrDatabase, r.getKey(), (ODistributedDatabaseChunk) value, false,
             uniqueClustersBackupDirectory, cfg);
 
+        if (walMaster != null) {
+          // THE MOMENTUM OF THE BACKUP CONTAINS THE LSN OF THE WRITE AHEAD LOG OF THE MASTER
+          final ODistributedMomentum momentum = ((ODistributedDatabaseChunk) value).getMomentum();
+          try {
+            distrDatabase.getWALReplica().setInstalledFrom(walMaster, momentum != null ? momentum.getLSN(walMaster) : null);
+          } catch (IOException e) {
+            ODistributedServerLog.error(this, nodeName, walMaster, DIRECTION.IN,
+                "Error on setting the LSN of master '%s' after the installation of database '%s'", e, walMaster, databaseName);
+          }
+        }
+
         OStorage storage = storages.get(databaseName);
         replaceStorageInSessions(storage);
         distrDatabase.resume();
@@ -1322,6 +1385,126 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
     throw new ODistributedException("No response received from remote nodes for auto-deploy of database '" + databaseName + "'");
   }
 
+  /**
+   * Aligns the local copy of the database by receiving only the blocks of pages that differ from the copy of an online node,
+   * without transferring the entire database.
+   *
+   * @return false if the database is not present on the local server, it is sharded (the clusters owned only by the local server must
+   * be preserved) or no node can send the pages, so the entire database must be requested
+   */
+  protected boolean requestDatabasePageSync(final ODistributedDatabaseImpl distrDatabase, final String databaseName,
+      final Collection<String> nodes, final OModifiableDistributedConfiguration cfg) throws Exception {
+    if (cfg.isSharded())
+      return false;
+
+    final File dbDirectory = new File(serverInstance.getDatabaseDirectory() + databaseName);
+    final String[] localFiles = dbDirectory.list();
+    if (localFiles == null || localFiles.length == 0)
+      // NOTHING TO ALIGN
+      return false;
+
+    String sourceNode = null;
+    for (String n : nodes)
+      if (isNodeStatusEqualsTo(n, databaseName, DB_STATUS.ONLINE)) {
+        sourceNode = n;
+        break;
+      }
+    if (sourceNode == null)
+      return false;
+
+    // THE FILES CANNOT CHANGE UNTIL THE DELTA IS APPLIED
+    serverInstance.getDatabases().forceDatabaseClose(databaseName);
+
+    final int blockSize = OGlobalConfiguration.DISK_CACHE_PAGE_SIZE.getValueAsInteger() * 1024
+        * OGlobalConfiguration.DISTRIBUTED_DEPLOYDB_PAGE_SYNC_BLOCK.getValueAsInteger();
+    final ODistributedPageSync pageSync = new ODistributedPageSync(dbDirectory, blockSize);
+    final List<ODistributedPageSync.OFileManifest> manifest = pageSync.getManifest();
+
+    ODistributedServerLog.info(this, nodeName, sourceNode, DIRECTION.OUT,
+        "Requesting the pages of database '%s' that differ from the local copy (%d files)...", databaseName, manifest.size());
+
+    final OSyncDatabasePagesTask deployTask = new OSyncDatabasePagesTask(
+        distrDatabase.getSyncConfiguration().getLastLSN(getLocalNodeName()),
+        distrDatabase.getSyncConfiguration().getLastOperationTimestamp(), blockSize, manifest);
+
+    final Map<String, Object> results = (Map<String, Object>) sendRequest(databaseName, null,
+        OMultiValue.getSingletonList(sourceNode), deployTask, getNextMessageIdCounter(), ODistributedRequest.EXECUTION_MODE.RESPONSE,
+        null, null, null).getPayload();
+
+    final Object value = results.get(sourceNode);
+    if (value instanceof ODatabaseIsOldException)
+      throw (ODatabaseIsOldException) value;
+    else if (value instanceof Exception)
+      throw (Exception) value;
+    else if (!(value instanceof ODistributedDatabaseChunk))
+      return false;
+
+    // THE DELTA IS APPLIED ONLY ONCE COMPLETELY RECEIVED, SO AN INTERRUPTED TRANSFER LEAVES THE LOCAL COPY UNTOUCHED
+    final File deltaFile = new File(
+        Orient.getTempPath() + "install_" + databaseName + "_server" + getLocalNodeId() + ".delta");
+    deltaFile.getParentFile().mkdirs();
+
+    long fileSize = 0;
+    final OutputStream fOut = new FileOutputStream(deltaFile, false);
+    try {
+      ODistributedDatabaseChunk chunk = (ODistributedDatabaseChunk) value;
+      fileSize += writeDatabaseChunk(1, chunk, fOut);
+      for (int chunkNum = 2; !chunk.last; chunkNum++) {
+        chunk = requestDatabaseChunk(databaseName, sourceNode, chunk, chunkNum);
+        fileSize += writeDatabaseChunk(chunkNum, chunk, fOut);
+      }
+    } finally {
+      fOut.close();
+    }
+
+    ODistributedServerLog.info(this, nodeName, sourceNode, DIRECTION.IN, "Installing pages of database '%s' (size=%s)...",
+        databaseName, OFileUtils.getSizeAsString(fileSize));
+
+    try {
+      executeInDistributedDatabaseLock(databaseName, 20000, cfg, new OCallable<Void, OModifiableDistributedConfiguration>() {
+        @Override
+        public Void call(final OModifiableDistributedConfiguration cfg) {
+          try {
+            serverInstance.getDatabases().forceDatabaseClose(databaseName);
+
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(deltaFile)));
+            try {
+              final long blocks = pageSync.applyDelta(in);
+              ODistributedServerLog
+                  .info(this, nodeName, null, DIRECTION.NONE, "Installed %d blocks of database '%s'", blocks, databaseName);
+            } finally {
+              in.close();
+            }
+            return null;
+          } catch (IOException e) {
+            throw OException.wrapException(new OIOException("Error on distributed sync of database pages"), e);
+          }
+        }
+      });
+    } finally {
+      deltaFile.delete();
+    }
+
+    final ODatabaseDocumentInternal db = serverInstance.openDatabase(databaseName);
+
+    ODistributedServerLog.info(this, nodeName, null, DIRECTION.NONE, "Installed database '%s' (LSN=%s)", databaseName,
+        ((OAbstractPaginatedStorage) db.getStorage().getUnderlying()).getLSN());
+
+    completeDatabaseInstall(db, databaseName, distrDatabase, sourceNode, cfg);
+
+    replaceStorageInSessions(storages.get(databaseName));
+    distrDatabase.resume();
+    return true;
+  }
+
+  /**
+   * @return true if the files of the database were being replaced by an alignment by pages when it was interrupted, so only the
+   * install of the entire database is safe
+   */
+  protected boolean isPageSyncInterrupted(final String databaseName) {
+    return ODistributedPageSync.isSyncInProgress(new File(serverInstance.getDatabaseDirectory() + databaseName));
+  }
+
   private void replaceStorageInSessions(final OStorage storage) {
     for (OClientConnection conn : serverInstance.getClientConnectionManager().getConnections()) {
       final ODatabaseDocumentInternal connDb = conn.getDatabase();
@@ -1505,21 +1688,8 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
 
               long fileSize = writeDatabaseChunk(1, chunk, fOut);
               for (int chunkNum = 2; !chunk.last; chunkNum++) {
-                final ODistributedResponse response = sendRequest(databaseName, null, OMultiValue.getSingletonList(iNode),
-                    new OCopyDatabaseChunkTask(chunk.filePath, chunkNum, chunk.offset + chunk.buffer.length, false),
-                    getNextMessageIdCounter(), ODistributedRequest.EXECUTION_MODE.RESPONSE, null, null, null);
-
-                final Object result = response.getPayload();
-                if (result instanceof Boolean)
-                  continue;
-                else if (result instanceof Exception) {
-                  ODistributedServerLog
-                      .error(this, nodeName, iNode, DIRECTION.IN, "error on installing database %s in %s (chunk #%d)",
-                          (Exception) result, databaseName, dbPath, chunkNum);
-                } else if (result instanceof ODistributedDatabaseChunk) {
-                  chunk = (ODistributedDatabaseChunk) result;
-                  fileSize += writeDatabaseChunk(chunkNum, chunk, fOut);
-                }
+                chunk = requestDatabaseChunk(databaseName, iNode, chunk, chunkNum);
+                fileSize += writeDatabaseChunk(chunkNum, chunk, fOut);
               }
 
               fOut.flush();
@@ -1561,6 +1731,50 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
     if (db == null)
       return;
 
+    completeDatabaseInstall(db, databaseName, distrDatabase, iNode, cfg);
+  }
+
+  /**
+   * Asks the next chunk of a database to the node that is deploying it. In case of error the same chunk is asked again, up to
+   * {@link OGlobalConfiguration#DISTRIBUTED_DEPLOYCHUNK_MAX_RETRIES} times, so the transfer resumes from the last chunk received.
+   */
+  protected ODistributedDatabaseChunk requestDatabaseChunk(final String databaseName, final String iNode,
+      final ODistributedDatabaseChunk lastChunk, final int chunkNum) throws InterruptedException {
+    final int maxRetries = OGlobalConfiguration.DISTRIBUTED_DEPLOYCHUNK_MAX_RETRIES.getValueAsInteger();
+    for (int retry = 1; ; ++retry) {
+      Object result;
+      try {
+        result = sendRequest(databaseName, null, OMultiValue.getSingletonList(iNode),
+            new OCopyDatabaseChunkTask(lastChunk.filePath, chunkNum, lastChunk.offset + lastChunk.buffer.length, false),
+            getNextMessageIdCounter(), ODistributedRequest.EXECUTION_MODE.RESPONSE, null, null, null).getPayload();
+      } catch (RuntimeException e) {
+        result = e;
+      }
+
+      if (result instanceof ODistributedDatabaseChunk)
+        return (ODistributedDatabaseChunk) result;
+
+      if (retry >= maxRetries) {
+        if (result instanceof Throwable)
+          throw OException.wrapException(new ODistributedException(
+              "Error on transferring chunk #" + chunkNum + " of database '" + databaseName + "' from server '" + iNode + "'"),
+              (Throwable) result);
+        throw new ODistributedException(
+            "Error on transferring chunk #" + chunkNum + " of database '" + databaseName + "' from server '" + iNode + "': "
+                + result);
+      }
+
+      ODistributedServerLog.warn(this, nodeName, iNode, DIRECTION.IN,
+          "Error on transferring chunk #%d of database '%s' (err=%s), retrying (%d/%d)...", chunkNum, databaseName, result, retry,
+          maxRetries);
+      Thread.sleep(100 * retry);
+    }
+  }
+
+  private void completeDatabaseInstall(final ODatabaseDocumentInternal db, final String databaseName,
+      final ODistributedDatabaseImpl distrDatabase, final String iNode, final OModifiableDistributedConfiguration cfg) {
+    final String localNodeName = nodeName;
+
     // OVERWRITE THE MOMENTUM FROM THE ORIGINAL SERVER AND ADD LAST LOCAL LSN
     try {
       distrDatabase.getSyncConfiguration().load();
@@ -0,0 +1,131 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.server.distributed.ODistributedMomentum;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Tells if the operations of a momentum are applied on the local server. The last LSN applied from a server is not enough when
+ * its requests are executed in parallel: a request can complete before the ones received earlier. The requests are then
+ * registered when received ({@link #received(String, OLogSequenceNumber)}) until their execution is completed
+ * ({@link #completed(String, OLogSequenceNumber)}), and an LSN is applied only when no request of the same server with a lower or
+ * equal LSN is still pending.
+ * <p>
+ * For the same reason the last LSN saved in the sync configuration can be lower than the highest one applied: the highest one is
+ * kept here.
+ */
+public class ODistributedAppliedWatermark {
+  private final Function<String, OLogSequenceNumber>              lastApplied;
+  private final Map<String, OLogSequenceNumber>                   highestApplied = new HashMap<>();
+  // PENDING LSNS PER SERVER, WITH THE NUMBER OF REQUESTS FOR EACH ONE
+  private final Map<String, TreeMap<OLogSequenceNumber, Integer>> pending        = new HashMap<>();
+
+  /**
+   * @param lastApplied returns the last LSN applied from a server
+   */
+  public ODistributedAppliedWatermark(final Function<String, OLogSequenceNumber> lastApplied) {
+    this.lastApplied = lastApplied;
+  }
+
+  public synchronized void received(final String server, final OLogSequenceNumber lsn) {
+    TreeMap<OLogSequenceNumber, Integer> lsns = pending.get(server);
+    if (lsns == null) {
+      lsns = new TreeMap<>();
+      pending.put(server, lsns);
+    }
+    lsns.merge(lsn, 1, Integer::sum);
+  }
+
+  /**
+   * Called when the execution of a request registered with {@link #received(String, OLogSequenceNumber)} is completed or the
+   * request is discarded.
+   */
+  public synchronized void completed(final String server, final OLogSequenceNumber lsn) {
+    final TreeMap<OLogSequenceNumber, Integer> lsns = pending.get(server);
+    if (lsns == null || lsns.computeIfPresent(lsn, (k, v) -> v > 1 ? v - 1 : null) != null)
+      return;
+
+    if (lsns.isEmpty())
+      pending.remove(server);
+    notifyAll();
+  }
+
+  public synchronized void applied(final String server, final OLogSequenceNumber lsn) {
+    final OLogSequenceNumber highest = highestApplied.get(server);
+    if (highest == null || highest.compareTo(lsn) < 0)
+      highestApplied.put(server, lsn);
+    notifyAll();
+  }
+
+  /**
+   * Forgets the pending requests, when the received ones are discarded, and the applied LSNs, that are read again from the
+   * function passed to the constructor.
+   */
+  public synchronized void reset() {
+    pending.clear();
+    highestApplied.clear();
+    notifyAll();
+  }
+
+  public synchronized boolean isApplied(final ODistributedMomentum momentum) {
+    for (String server : momentum.getServers()) {
+      final OLogSequenceNumber required = momentum.getLSN(server);
+      if (required == null)
+        continue;
+
+      final OLogSequenceNumber highest = highestApplied.get(server);
+      if (highest == null || highest.compareTo(required) < 0) {
+        final OLogSequenceNumber applied = lastApplied.apply(server);
+        if (applied == null || applied.compareTo(required) < 0)
+          return false;
+      }
+
+      final TreeMap<OLogSequenceNumber, Integer> lsns = pending.get(server);
+      if (lsns != null && lsns.firstKey().compareTo(required) <= 0)
+        // A PREVIOUS REQUEST OF THE SERVER IS STILL IN EXECUTION
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Waits until the operations of a momentum are applied.
+   *
+   * @param timeout maximum time to wait in ms
+   *
+   * @return true if the operations are applied, false if the timeout is expired
+   */
+  public synchronized boolean waitFor(final ODistributedMomentum momentum, final long timeout) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + timeout;
+    while (!isApplied(momentum)) {
+      final long toWait = deadline - System.currentTimeMillis();
+      if (toWait <= 0)
+        return false;
+      wait(toWait);
+    }
+    return true;
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.server.distributed.ODistributedRequest;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Schedules the requests whose task declares the keys it works on (see
+ * {@link com.orientechnologies.orient.server.distributed.task.ORemoteTask#getConflictKeys}). A request waits only for the previous
+ * requests that share at least one key, so the requests that do not conflict are dispatched to the workers in parallel, while the
+ * conflicting ones are executed in the order they are received.
+ * <p>
+ * The requests that do not declare their keys can conflict with any other: they are registered as barriers (see
+ * {@link #scheduleBarrier(ODistributedRequest, long)}), executed alone once all the previous requests are completed.
+ */
+public class ODistributedConflictScheduler {
+  private final Consumer<ODistributedRequest>  dispatcher;
+  private final Map<Object, Node>              lastByKey = new HashMap<Object, Node>();
+  private final Map<ODistributedRequest, Node> scheduled = new IdentityHashMap<ODistributedRequest, Node>();
+  private       Node                           barrier;
+
+  private static class Node {
+    private final ODistributedRequest request;
+    private final Collection<Object>  keys;
+    private final List<Node>          dependents = new ArrayList<Node>(2);
+    private       int                 waitingFor;
+    private       boolean             dispatched;
+
+    private Node(final ODistributedRequest request, final Collection<Object> keys) {
+      this.request = request;
+      this.keys = keys;
+    }
+  }
+
+  /**
+   * @param dispatcher sends a request ready to be executed to a worker
+   */
+  public ODistributedConflictScheduler(final Consumer<ODistributedRequest> dispatcher) {
+    this.dispatcher = dispatcher;
+  }
+
+  /**
+   * Schedules a request: it is dispatched as soon as all the previous requests with a common key are completed.
+   */
+  public void schedule(final ODistributedRequest request, final Collection<Object> keys) {
+    final Node node = new Node(request, keys);
+
+    synchronized (this) {
+      if (barrier != null) {
+        barrier.dependents.add(node);
+        node.waitingFor++;
+      }
+
+      for (Object key : keys) {
+        final Node previous = lastByKey.put(key, node);
+        // THE SAME REQUEST CAN SHARE MORE KEYS WITH THE PREVIOUS ONE: IT WAS ADDED AS LAST DEPENDENT IN CASE
+        if (previous != null && previous != node && (previous.dependents.isEmpty()
+            || previous.dependents.get(previous.dependents.size() - 1) != node)) {
+          previous.dependents.add(node);
+          node.waitingFor++;
+        }
+      }
+      scheduled.put(request, node);
+
+      if (node.waitingFor > 0)
+        return;
+      node.dispatched = true;
+    }
+
+    dispatcher.accept(request);
+  }
+
+  /**
+   * Notifies the execution of a request is completed, the requests that were waiting for it can be dispatched. The requests not
+   * scheduled by this scheduler are ignored.
+   */
+  public void completed(final ODistributedRequest request) {
+    List<ODistributedRequest> ready = null;
+
+    synchronized (this) {
+      final Node node = scheduled.remove(request);
+      if (node == null)
+        return;
+
+      for (Object key : node.keys)
+        if (lastByKey.get(key) == node)
+          lastByKey.remove(key);
+      if (barrier == node)
+        barrier = null;
+
+      for (Node dependent : node.dependents) {
+        if (--dependent.waitingFor == 0) {
+          dependent.dispatched = true;
+          if (ready == null)
+            ready = new ArrayList<ODistributedRequest>(node.dependents.size());
+          ready.add(dependent.request);
+        }
+      }
+
+      if (scheduled.isEmpty())
+        notifyAll();
+    }
+
+    if (ready != null)
+      for (ODistributedRequest r : ready)
+        dispatcher.accept(r);
+  }
+
+  /**
+   * Waits for all the scheduled requests to be completed.
+   *
+   * @param timeout maximum time to wait in ms, 0 to wait with no limit
+   *
+   * @return true if all the requests are completed, false if the timeout is expired
+   */
+  public synchronized boolean waitForCompletion(final long timeout) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + timeout;
+    while (!scheduled.isEmpty()) {
+      if (timeout <= 0)
+        wait();
+      else {
+        final long toWait = deadline - System.currentTimeMillis();
+        if (toWait <= 0)
+          return false;
+        wait(toWait);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Waits for all the scheduled requests to be completed, then registers a request that does not declare its keys: the requests
+   * scheduled after it wait for its completion. The request is not dispatched: the caller sends it to the workers.
+   *
+   * @param timeout maximum time to wait in ms, 0 to wait with no limit
+   *
+   * @return true if the request is registered, false if the timeout is expired
+   */
+  public synchronized boolean scheduleBarrier(final ODistributedRequest request, final long timeout) throws InterruptedException {
+    if (!waitForCompletion(timeout))
+      return false;
+
+    final Node node = new Node(request, Collections.emptyList());
+    node.dispatched = true;
+    scheduled.put(request, node);
+    barrier = node;
+    return true;
+  }
+
+  /**
+   * Forgets all the scheduled requests, used when the queues of the workers are cleared.
+   */
+  public synchronized void reset() {
+    barrier = null;
+    lastByKey.clear();
+    scheduled.clear();
+    notifyAll();
+  }
+
+  /**
+   * Returns the number of scheduled requests that are not completed yet.
+   */
+  public synchronized int getPending() {
+    return scheduled.size();
+  }
+
+  /**
+   * Returns the number of scheduled requests waiting for a conflicting request to complete.
+   */
+  public synchronized int getWaiting() {
+    int waiting = 0;
+    for (Node node : scheduled.values())
+      if (!node.dispatched)
+        waiting++;
+    return waiting;
+  }
+}
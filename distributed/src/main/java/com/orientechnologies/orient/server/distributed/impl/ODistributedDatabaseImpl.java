@@ -20,10 +20,9 @@
 package com.orientechnologies.orient.server.distributed.impl;
 
 import com.orientechnologies.common.concur.OOfflineNodeException;
+import com.orientechnologies.common.concur.lock.OLeaseLockManager;
 import com.orientechnologies.common.concur.lock.OLockManager;
 import com.orientechnologies.common.concur.lock.OOneEntryPerKeyLockManager;
-import com.orientechnologies.common.concur.lock.OSimpleLockManager;
-import com.orientechnologies.common.concur.lock.OSimpleLockManagerImpl;
 import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.common.profiler.OAbstractProfiler;
@@ -50,6 +49,7 @@ import com.orientechnologies.orient.server.distributed.impl.task.ODistributedLoc
 import com.orientechnologies.orient.server.distributed.impl.task.OUnreachableServerLocalTask;
 import com.orientechnologies.orient.server.distributed.impl.task.OWaitForTask;
 import com.orientechnologies.orient.server.distributed.task.OAbstractRemoteTask;
+import com.orientechnologies.orient.server.distributed.task.OAbstractReplicatedTask;
 import com.orientechnologies.orient.server.distributed.task.ODistributedOperationException;
 import com.orientechnologies.orient.server.distributed.task.ODistributedRecordLockedException;
 import com.orientechnologies.orient.server.distributed.task.ORemoteTask;
@@ -67,6 +67,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.orientechnologies.orient.core.config.OGlobalConfiguration.DISTRIBUTED_ATOMIC_LOCK_TIMEOUT;
+import static com.orientechnologies.orient.core.config.OGlobalConfiguration.DISTRIBUTED_TX_EXPIRE_TIMEOUT;
 
 /**
  * Distributed database implementation. There is one instance per database. Each node creates own instance to talk with each
@@ -89,24 +90,28 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
   protected final List<ODistributedWorker>                                        workerThreads    = new ArrayList<ODistributedWorker>();
   protected ODistributedWorker lockThread;
   protected ODistributedWorker nowaitThread;
+  protected final ODistributedConflictScheduler conflictScheduler;
 
   private          AtomicLong                            totalSentRequests     = new AtomicLong();
   private          AtomicLong                            totalReceivedRequests = new AtomicLong();
   private          TimerTask                             txTimeoutTask         = null;
+  private          ODistributedWALReplica                walReplicaTask        = null;
   private          CountDownLatch                        waitForOnline         = new CountDownLatch(1);
   private volatile boolean                               running               = true;
   private          AtomicBoolean                         parsing               = new AtomicBoolean(true);
   private final    AtomicReference<ODistributedMomentum> filterByMomentum      = new AtomicReference<ODistributedMomentum>();
+  private final    ODistributedAppliedWatermark          appliedWatermark      = new ODistributedAppliedWatermark(
+      server -> getSyncConfiguration().getLastLSN(server));
 
   private String                     localNodeName;
-  private OSimpleLockManager<ORID>   recordLockManager;
-  private OSimpleLockManager<Object> indexKeyLockManager;
+  private OLeaseLockManager<ORID>   recordLockManager;
+  private OLeaseLockManager<Object> indexKeyLockManager;
 
-  public OSimpleLockManager<ORID> getRecordLockManager() {
+  public OLeaseLockManager<ORID> getRecordLockManager() {
     return recordLockManager;
   }
 
-  public OSimpleLockManager<Object> getIndexKeyLockManager() {
+  public OLeaseLockManager<Object> getIndexKeyLockManager() {
     return indexKeyLockManager;
   }
 
@@ -129,6 +134,9 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
     this.msgService = msgService;
     this.databaseName = iDatabaseName;
     this.localNodeName = manager.getLocalNodeName();
+    this.conflictScheduler = OGlobalConfiguration.DISTRIBUTED_CONFLICT_AWARE_SCHEDULING.getValueAsBoolean() ?
+        new ODistributedConflictScheduler(this::processRequestOnFreeWorker) :
+        null;
 
     // SELF REGISTERING ITSELF HERE BECAUSE IT'S NEEDED FURTHER IN THE CALL CHAIN
     final ODistributedDatabaseImpl prev = msgService.databases.put(iDatabaseName, this);
@@ -144,6 +152,11 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
 
     startTxTimeoutTimerTask();
 
+    // THE WAL IS PULLED ONLY WHEN THE LOCAL SERVER HAS ROLE WAL_REPLICA, CHECKED AT EVERY ROUND BECAUSE THE ROLE CAN CHANGE
+    final long walShippingInterval = OGlobalConfiguration.DISTRIBUTED_WAL_SHIPPING_INTERVAL.getValueAsLong();
+    walReplicaTask = new ODistributedWALReplica(manager, this);
+    Orient.instance().scheduleTask(walReplicaTask, walShippingInterval, walShippingInterval);
+
     repairer = new OConflictResolverDatabaseRepairer(manager, databaseName);
 
     Orient.instance().getProfiler()
@@ -190,9 +203,27 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
           }
         }, "distributed.db.*.recordLocks");
 
+    // THE EXPIRED TRANSACTIONS ARE NOT CANCELED BY A TIMER (SEE startTxTimeoutTimerTask()): THE LOCKS OF A TRANSACTION NEVER
+    // COMPLETED (E.G. COORDINATOR CRASHED) ARE TAKEN BY ANOTHER TRANSACTION ONCE EXPIRED, AFTER CANCELING THE FIRST ONE
     long timeout = manager.getServerInstance().getContextConfiguration().getValueAsLong(DISTRIBUTED_ATOMIC_LOCK_TIMEOUT);
-    recordLockManager = new OSimpleLockManagerImpl<>(timeout);
-    indexKeyLockManager = new OSimpleLockManagerImpl<>(timeout);
+    long leaseTime = manager.getServerInstance().getContextConfiguration().getValueAsLong(DISTRIBUTED_TX_EXPIRE_TIMEOUT);
+    recordLockManager = new OLeaseLockManager<>(timeout, leaseTime, this::cancelExpiredTxContext);
+    indexKeyLockManager = new OLeaseLockManager<>(timeout, leaseTime, this::cancelExpiredTxContext);
+  }
+
+  /**
+   * Cancels the transaction that owns a lock with an expired lease, so it releases all its locks and cannot commit anymore.
+   */
+  private void cancelExpiredTxContext(final Object owner) {
+    final ODistributedTxContext ctx = activeTxContexts.get(owner);
+    if (!(ctx instanceof ONewDistributedTxContextImpl) || !activeTxContexts.remove(owner, ctx))
+      // ALREADY COMPLETED, OR THE LOCKS ARE STILL BEING ACQUIRED
+      return;
+
+    ODistributedServerLog.warn(this, localNodeName, null, DIRECTION.NONE,
+        "Distributed transaction %s on database '%s' is canceled because the lease of its locks is expired", ctx.getReqId(),
+        databaseName);
+    ctx.cancel(manager, null);
   }
 
   public OLogSequenceNumber getLastLSN(final String server) {
@@ -238,6 +269,11 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
 
     totalReceivedRequests.incrementAndGet();
 
+    final OLogSequenceNumber taskLSN = getAppliedLSN(task);
+    if (taskLSN != null)
+      // THE LSN OF THE SOURCE SERVER IS NOT APPLIED UNTIL THE REQUEST IS COMPLETED
+      appliedWatermark.received(task.getNodeSource(), taskLSN);
+
     // final ODistributedMomentum lastMomentum = filterByMomentum.get();
     // if (lastMomentum != null && task instanceof OAbstractReplicatedTask) {
     // final OLogSequenceNumber taskLastLSN = ((OAbstractReplicatedTask) task).getLastLSN();
@@ -262,8 +298,23 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
           .debug(this, localNodeName, task.getNodeSource(), DIRECTION.IN, "Request %s on database '%s' partitionKeys=%s task=%s",
               request, databaseName, Arrays.toString(partitionKeys), task);
 
-    if (partitionKeys.length > 1 || partitionKeys[0] == -1) {
+    final Collection<Object> conflictKeys = conflictScheduler != null ? task.getConflictKeys(request.getId()) : null;
+    if (conflictKeys != null) {
+      // EXECUTED ON ANY WORKER AS SOON AS THE PREVIOUS REQUESTS WITH THE SAME KEYS ARE COMPLETED
+      ODistributedServerLog.debug(this, localNodeName, task.getNodeSource(), DIRECTION.IN,
+          "Request %s on database '%s' scheduled by conflict keys (waiting=%d)", request, databaseName,
+          conflictScheduler.getWaiting());
 
+      conflictScheduler.schedule(request, conflictKeys);
+      return;
+    }
+
+    // ANY OTHER REQUEST CAN TOUCH THE RECORDS OF THE SCHEDULED ONES, EXCEPT THE SERVICE REQUESTS (LOCK AND FAST_NOLOCK)
+    final boolean serviceRequest = partitionKeys.length == 1 && (partitionKeys[0] == -3 || partitionKeys[0] == -4);
+    if (conflictScheduler != null && !serviceRequest && !scheduleBarrier(request))
+      return;
+
+    if (partitionKeys.length > 1 || partitionKeys[0] == -1) {
       final Set<Integer> involvedWorkerQueues;
       if (partitionKeys.length > 1)
         involvedWorkerQueues = getInvolvedQueuesByPartitionKeys(partitionKeys);
@@ -321,6 +372,7 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
                   "Cannot execute distributed request (%s) because all worker threads (%d) are busy (pending=%d timeout=%d)",
                   request, workerThreads.size(), syncLatch.getCount(), taskTimeout);
               ODistributedWorker.sendResponseBack(this, manager, request, new ODistributedOperationException(msg));
+              onRequestCompleted(request);
               return;
             }
           }
@@ -331,6 +383,7 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
               .format("Cannot execute distributed request (%s) because all worker threads (%d) are busy", request,
                   workerThreads.size());
           ODistributedWorker.sendResponseBack(this, manager, request, new ODistributedOperationException(msg));
+          onRequestCompleted(request);
           return;
         }
 
@@ -354,30 +407,8 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
         }
       }
     } else if (partitionKeys.length == 1 && partitionKeys[0] == -2) {
-      // ANY PARTITION: USE THE FIRST EMPTY IF ANY, OTHERWISE THE FIRST IN THE LIST
-      boolean found = false;
-
-      for (ODistributedWorker q : workerThreads) {
-        if (q.isWaitingForNextRequest() && q.localQueue.isEmpty()) {
-          q.processRequest(request);
-          found = true;
-          break;
-        }
-      }
-
-      if (!found)
-        // ALL THE THREADS ARE BUSY, SELECT THE FIRST EMPTY ONE
-        for (ODistributedWorker q : workerThreads) {
-          if (q.localQueue.isEmpty()) {
-            q.processRequest(request);
-            found = true;
-            break;
-          }
-        }
-
-      if (!found)
-        // EXEC ON THE FIRST QUEUE
-        workerThreads.get(0).processRequest(request);
+      // ANY PARTITION
+      getFreeWorker().processRequest(request);
 
     } else if (partitionKeys.length == 1 && partitionKeys[0] == -3) {
       // SERVICE - LOCK
@@ -412,6 +443,88 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
       }
   }
 
+  /**
+   * Returns the first idle worker if any, otherwise the first with an empty queue, otherwise the one with the shortest queue.
+   */
+  protected ODistributedWorker getFreeWorker() {
+    if (workerThreads.isEmpty())
+      throw new ODistributedException("There are no worker threads to process requests on database '" + databaseName + "'");
+
+    for (ODistributedWorker q : workerThreads) {
+      if (q.isWaitingForNextRequest() && q.localQueue.isEmpty())
+        return q;
+    }
+
+    // ALL THE THREADS ARE BUSY, SELECT THE ONE WITH LESS PENDING REQUESTS
+    ODistributedWorker selected = workerThreads.get(0);
+    for (ODistributedWorker q : workerThreads) {
+      if (q.localQueue.size() < selected.localQueue.size())
+        selected = q;
+    }
+    return selected;
+  }
+
+  /**
+   * Dispatches a request released by the conflict scheduler.
+   */
+  protected void processRequestOnFreeWorker(final ODistributedRequest request) {
+    final ODistributedWorker worker = getFreeWorker();
+
+    ODistributedServerLog.debug(this, localNodeName, request.getTask().getNodeSource(), DIRECTION.IN,
+        "Request %s on database '%s' dispatched to the worker %d", request, databaseName, worker.id);
+
+    if (!(Thread.currentThread() instanceof ODistributedWorker))
+      worker.processRequest(request);
+    else if (!worker.localQueue.offer(request))
+      // NEVER BLOCK A WORKER ON A FULL QUEUE: IT COULD BE THE ONE THAT HAS TO EMPTY IT
+      Orient.instance().submit(() -> worker.processRequest(request));
+  }
+
+  /**
+   * Called by the workers when the execution of a request is completed or the request is discarded.
+   */
+  protected void onRequestCompleted(final ODistributedRequest request) {
+    if (conflictScheduler != null)
+      conflictScheduler.completed(request);
+
+    final OLogSequenceNumber taskLSN = getAppliedLSN(request.getTask());
+    if (taskLSN != null)
+      appliedWatermark.completed(request.getTask().getNodeSource(), taskLSN);
+  }
+
+  /**
+   * Returns the LSN of the source server the execution of a task applies, as in
+   * {@link ODistributedAbstractPlugin#executeOnLocalNode}, or null if it does not apply any.
+   */
+  private static OLogSequenceNumber getAppliedLSN(final ORemoteTask task) {
+    if (!(task instanceof OAbstractReplicatedTask) || task.isIdempotent() || task.getNodeSource() == null)
+      return null;
+    return ((OAbstractReplicatedTask) task).getLastLSN();
+  }
+
+  /**
+   * The requests scheduled by conflict keys can be executed by any worker: waits for their completion before executing a request
+   * without conflict keys, that can touch any record, and makes the requests received after it wait for its completion.
+   */
+  private boolean scheduleBarrier(final ODistributedRequest request) {
+    final long timeout = request.getTask().getDistributedTimeout();
+    try {
+      if (conflictScheduler.scheduleBarrier(request, timeout))
+        return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    final String msg = String.format("Cannot execute distributed request (%s) because %d scheduled requests are still pending",
+        request, conflictScheduler.getPending());
+    ODistributedWorker.sendResponseBack(this, manager, request, new ODistributedOperationException(msg));
+
+    final OLogSequenceNumber taskLSN = getAppliedLSN(request.getTask());
+    if (taskLSN != null)
+      appliedWatermark.completed(request.getTask().getNodeSource(), taskLSN);
+    return false;
+  }
+
   protected Set<Integer> getInvolvedQueuesByPartitionKeys(final int[] partitionKeys) {
     final Set<Integer> involvedWorkerQueues = new HashSet<Integer>(partitionKeys.length);
     for (int pk : partitionKeys) {
@@ -968,6 +1081,9 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
       if (txTimeoutTask != null)
         txTimeoutTask.cancel();
 
+      if (walReplicaTask != null)
+        walReplicaTask.cancel();
+
       if (repairer != null)
         repairer.shutdown();
 
@@ -1207,6 +1323,13 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
 
     final ODistributedSyncConfiguration cfg = getSyncConfiguration();
     cfg.setLastLSN(sourceNodeName, taskLastLSN, updateLastOperationTimestamp);
+
+    appliedWatermark.applied(sourceNodeName, taskLastLSN);
+  }
+
+  @Override
+  public boolean waitForMomentum(final ODistributedMomentum momentum, final long timeout) throws InterruptedException {
+    return appliedWatermark.waitFor(momentum, timeout);
   }
 
   @Override
@@ -1214,6 +1337,14 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
     return repairer;
   }
 
+  /**
+   * Returns the task that ships the write ahead log of a master when the local server has role WAL_REPLICA, null for the system
+   * database.
+   */
+  public ODistributedWALReplica getWALReplica() {
+    return walReplicaTask;
+  }
+
   private void startTxTimeoutTimerTask() {
     txTimeoutTask = new TimerTask() {
       @Override
@@ -1307,6 +1438,9 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
   public void suspend() {
     if (this.parsing.get()) {
       // RESET THE DATABASE
+      if (conflictScheduler != null)
+        conflictScheduler.reset();
+      appliedWatermark.reset();
       if (lockThread != null)
         lockThread.reset();
       if (nowaitThread != null)
@@ -1335,6 +1469,10 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
     buffer.append("\n- MESSAGES IN QUEUES");
     buffer.append(" (" + (workerThreads != null ? workerThreads.size() : 0) + " WORKERS):");
 
+    if (conflictScheduler != null && conflictScheduler.getPending() > 0)
+      buffer.append("\n - SCHEDULED BY CONFLICT KEYS: " + conflictScheduler.getPending() + " (WAITING=" + conflictScheduler
+          .getWaiting() + ")");
+
     if (lockThread != null) {
       final ODistributedRequest processing = lockThread.getProcessing();
       final ArrayBlockingQueue<ODistributedRequest> queue = lockThread.localQueue;
@@ -185,29 +185,51 @@ public class ODistributedMessageServiceImpl implements ODistributedMessageServic
    */
   public void dispatchResponseToThread(final ODistributedResponse response) {
     try {
-      final long msgId = response.getRequestId().getMessageId();
-
-      // GET ASYNCHRONOUS MSG MANAGER IF ANY
-      final ODistributedResponseManager asynchMgr = responsesByRequestIds.get(msgId);
-      if (asynchMgr == null) {
-        if (ODistributedServerLog.isDebugEnabled())
-          ODistributedServerLog.debug(this, manager.getLocalNodeName(), response.getExecutorNodeName(), DIRECTION.IN,
-              "received response for message %d after the timeout (%dms)", msgId,
-              OGlobalConfiguration.DISTRIBUTED_ASYNCH_RESPONSES_TIMEOUT.getValueAsLong());
-      } else if (asynchMgr.collectResponse(response)) {
-        // ALL RESPONSE RECEIVED, REMOVE THE RESPONSE MANAGER WITHOUT WAITING THE PURGE THREAD REMOVE THEM FOR TIMEOUT
-        responsesByRequestIds.remove(msgId);
-      }
+      collectResponse(response);
     } finally {
-      Orient.instance().getProfiler()
-          .updateCounter("distributed.node.msgReceived", "Number of replication messages received in current node", +1,
-              "distributed.node.msgReceived");
+      updateReceivedCounters(response.getExecutorNodeName(), 1);
+    }
+  }
 
-      Orient.instance().getProfiler().updateCounter("distributed.node." + response.getExecutorNodeName() + ".msgReceived",
-          "Number of replication messages received in current node from a node", +1, "distributed.node.*.msgReceived");
+  /**
+   * Dispatches the same response to all the requests it answers. The response managers are taken from the concurrent map, so only
+   * the managers of the requests are locked, one at a time.
+   */
+  public void dispatchAckToThreads(final ODistributedCumulativeAck ack) {
+    final List<ODistributedResponse> responses = ack.getResponses();
+    try {
+      for (ODistributedResponse response : responses)
+        collectResponse(response);
+    } finally {
+      updateReceivedCounters(ack.getExecutorNodeName(), responses.size());
     }
   }
 
+  private void collectResponse(final ODistributedResponse response) {
+    final long msgId = response.getRequestId().getMessageId();
+
+    // GET ASYNCHRONOUS MSG MANAGER IF ANY
+    final ODistributedResponseManager asynchMgr = responsesByRequestIds.get(msgId);
+    if (asynchMgr == null) {
+      if (ODistributedServerLog.isDebugEnabled())
+        ODistributedServerLog.debug(this, manager.getLocalNodeName(), response.getExecutorNodeName(), DIRECTION.IN,
+            "received response for message %d after the timeout (%dms)", msgId,
+            OGlobalConfiguration.DISTRIBUTED_ASYNCH_RESPONSES_TIMEOUT.getValueAsLong());
+    } else if (asynchMgr.collectResponse(response)) {
+      // ALL RESPONSE RECEIVED, REMOVE THE RESPONSE MANAGER WITHOUT WAITING THE PURGE THREAD REMOVE THEM FOR TIMEOUT
+      responsesByRequestIds.remove(msgId);
+    }
+  }
+
+  private void updateReceivedCounters(final String executorNodeName, final int received) {
+    Orient.instance().getProfiler()
+        .updateCounter("distributed.node.msgReceived", "Number of replication messages received in current node", received,
+            "distributed.node.msgReceived");
+
+    Orient.instance().getProfiler().updateCounter("distributed.node." + executorNodeName + ".msgReceived",
+        "Number of replication messages received in current node from a node", received, "distributed.node.*.msgReceived");
+  }
+
   /**
    * Removes a response manager because in timeout.
    */
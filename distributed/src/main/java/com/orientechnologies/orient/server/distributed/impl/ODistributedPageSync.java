@@ -0,0 +1,351 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.common.io.OFileUtils;
+import com.orientechnologies.orient.core.serialization.OStreamable;
+import com.orientechnologies.orient.core.storage.cache.local.twoq.O2QCache;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+
+/**
+ * Synchronizes the files of a database block by block, where a block is a fixed number of pages. The node to align sends the
+ * checksums of the blocks of its files ({@link #getManifest()}), the other node answers with a delta that contains only the blocks
+ * that differ, read straight from its files ({@link #writeDelta(List, DataOutput)}), and the files it does not have. The delta is
+ * applied by {@link #applyDelta(DataInput)} while the storage is closed.
+ * <p>
+ * The files are the same of the backup of the database: everything in the database directory, except the dirty flags and the
+ * statistics of the disk cache.
+ * <p>
+ * The delta is applied to copies of the changed files, that replace the files of the database only once the whole delta is
+ * applied. A marker file is kept in the database directory while the files are replaced: if it is found (see {@link
+ * #isSyncInProgress(File)}) the files can be a mix of the two versions, and the database has to be installed again entirely.
+ */
+public class ODistributedPageSync {
+  public static final  String SYNC_MARKER       = "pagesync.inprogress";
+  private static final String STAGING_DIRECTORY = "pagesync.staging";
+
+  private static final byte FILE_BLOCKS = 1;
+  private static final byte FILE_DELETE = 2;
+  private static final byte END         = 0;
+
+  private final File directory;
+  private final int  blockSize;
+
+  /**
+   * The checksums of the blocks of a file.
+   */
+  public static class OFileManifest implements OStreamable {
+    private String name;
+    private long   length;
+    private long[] checksums;
+
+    public OFileManifest() {
+    }
+
+    public OFileManifest(final String name, final long length, final long[] checksums) {
+      this.name = name;
+      this.length = length;
+      this.checksums = checksums;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getLength() {
+      return length;
+    }
+
+    @Override
+    public void toStream(final DataOutput out) throws IOException {
+      out.writeUTF(name);
+      out.writeLong(length);
+      out.writeInt(checksums.length);
+      for (long c : checksums)
+        out.writeLong(c);
+    }
+
+    @Override
+    public void fromStream(final DataInput in) throws IOException {
+      name = in.readUTF();
+      length = in.readLong();
+      checksums = new long[in.readInt()];
+      for (int i = 0; i < checksums.length; ++i)
+        checksums[i] = in.readLong();
+    }
+  }
+
+  public ODistributedPageSync(final File directory, final int blockSize) {
+    if (blockSize < 1)
+      throw new IllegalArgumentException("Invalid block size " + blockSize);
+    this.directory = directory;
+    this.blockSize = blockSize;
+  }
+
+  /**
+   * Computes the checksums of all the blocks of the files of the database.
+   */
+  public List<OFileManifest> getManifest() throws IOException {
+    final List<OFileManifest> manifest = new ArrayList<OFileManifest>();
+    final byte[] block = new byte[blockSize];
+    for (File f : getFiles()) {
+      final long length = f.length();
+      final long[] checksums = new long[(int) ((length + blockSize - 1) / blockSize)];
+
+      final InputStream in = new BufferedInputStream(new FileInputStream(f), blockSize);
+      try {
+        for (int i = 0; i < checksums.length; ++i)
+          checksums[i] = checksum(block, readBlock(in, block));
+      } finally {
+        in.close();
+      }
+      manifest.add(new OFileManifest(f.getName(), length, checksums));
+    }
+    return manifest;
+  }
+
+  /**
+   * Writes the blocks of the local files that are missing or different in the remote files described by the manifest. The files
+   * must not change while the delta is written.
+   *
+   * @return the number of blocks written
+   */
+  public long writeDelta(final List<OFileManifest> remoteManifest, final DataOutput out) throws IOException {
+    final Map<String, OFileManifest> remoteFiles = new HashMap<String, OFileManifest>();
+    for (OFileManifest m : remoteManifest)
+      remoteFiles.put(m.name, m);
+
+    long blocks = 0;
+    final byte[] block = new byte[blockSize];
+    for (File f : getFiles()) {
+      final OFileManifest remote = remoteFiles.remove(f.getName());
+
+      out.writeByte(FILE_BLOCKS);
+      out.writeUTF(f.getName());
+      out.writeLong(f.length());
+
+      final InputStream in = new BufferedInputStream(new FileInputStream(f), blockSize);
+      try {
+        for (int i = 0; ; ++i) {
+          final int read = readBlock(in, block);
+          if (read == 0)
+            break;
+
+          if (remote != null && i < remote.checksums.length && remote.checksums[i] == checksum(block, read))
+            // SAME CONTENT ON THE OTHER NODE
+            continue;
+
+          out.writeInt(i);
+          out.writeInt(read);
+          out.write(block, 0, read);
+          blocks++;
+        }
+      } finally {
+        in.close();
+      }
+      out.writeInt(-1);
+    }
+
+    // THE FILES THE OTHER NODE HAS, BUT THIS NODE DOES NOT
+    for (String name : remoteFiles.keySet()) {
+      out.writeByte(FILE_DELETE);
+      out.writeUTF(name);
+    }
+
+    out.writeByte(END);
+    return blocks;
+  }
+
+  /**
+   * Applies a delta written by {@link #writeDelta(List, DataOutput)} to the local files. The local files are not changed if the
+   * delta cannot be read entirely.
+   *
+   * @return the number of blocks written
+   */
+  public long applyDelta(final DataInput in) throws IOException {
+    final File marker = new File(directory, SYNC_MARKER);
+    final File staging = new File(directory, STAGING_DIRECTORY);
+
+    final FileOutputStream markerOut = new FileOutputStream(marker);
+    try {
+      markerOut.getFD().sync();
+    } finally {
+      markerOut.close();
+    }
+
+    long blocks = 0;
+    final List<File> stagedFiles = new ArrayList<File>();
+    final List<File> deletedFiles = new ArrayList<File>();
+    try {
+      OFileUtils.deleteRecursively(staging);
+      if (!staging.mkdirs())
+        throw new IOException("Cannot create directory '" + staging + "'");
+
+      final byte[] block = new byte[blockSize];
+      for (byte type = in.readByte(); type != END; type = in.readByte()) {
+        final File f = new File(directory, in.readUTF());
+        if (!f.getParentFile().equals(directory) || f.getName().equals(SYNC_MARKER) || f.getName().equals(STAGING_DIRECTORY))
+          throw new IOException("Invalid file name '" + f.getName() + "' in the delta of the database");
+
+        if (type == FILE_DELETE) {
+          deletedFiles.add(f);
+          continue;
+        } else if (type != FILE_BLOCKS)
+          throw new IOException("Invalid entry type " + type + " in the delta of the database");
+
+        final long length = in.readLong();
+        RandomAccessFile file = null;
+        try {
+          for (int i = in.readInt(); i > -1; i = in.readInt()) {
+            final int size = in.readInt();
+            if (size > blockSize)
+              throw new IOException("Invalid block size " + size + " in the delta of the database");
+            in.readFully(block, 0, size);
+            if (file == null)
+              file = openStagedFile(f, staging, length, stagedFiles);
+            file.seek((long) i * blockSize);
+            file.write(block, 0, size);
+            blocks++;
+          }
+          if (file == null && (!f.exists() || f.length() != length))
+            file = openStagedFile(f, staging, length, stagedFiles);
+          if (file != null)
+            file.getFD().sync();
+        } finally {
+          if (file != null)
+            file.close();
+        }
+      }
+    } catch (IOException e) {
+      // THE FILES OF THE DATABASE ARE STILL UNTOUCHED
+      OFileUtils.deleteRecursively(staging);
+      marker.delete();
+      throw e;
+    }
+
+    // FROM NOW ON THE MARKER STAYS IN PLACE IN CASE OF FAILURE
+    for (File staged : stagedFiles)
+      Files.move(staged.toPath(), new File(directory, staged.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    for (File f : deletedFiles)
+      if (f.exists() && !f.delete())
+        throw new IOException("Cannot delete file '" + f + "'");
+
+    OFileUtils.deleteRecursively(staging);
+    if (!marker.delete())
+      throw new IOException("Cannot delete file '" + marker + "'");
+    return blocks;
+  }
+
+  /**
+   * @return true if the files of the database in the directory were being replaced by {@link #applyDelta(DataInput)} when it was
+   * interrupted, so they can be a mix of two versions of the database
+   */
+  public static boolean isSyncInProgress(final File directory) {
+    return new File(directory, SYNC_MARKER).exists();
+  }
+
+  /**
+   * Removes the marker of an interrupted {@link #applyDelta(DataInput)}, once the files of the database have been replaced
+   * entirely.
+   */
+  public static void clearSyncInProgress(final File directory) {
+    OFileUtils.deleteRecursively(new File(directory, STAGING_DIRECTORY));
+    new File(directory, SYNC_MARKER).delete();
+  }
+
+  public static void writeManifest(final List<OFileManifest> manifest, final DataOutput out) throws IOException {
+    out.writeInt(manifest.size());
+    for (OFileManifest m : manifest)
+      m.toStream(out);
+  }
+
+  public static List<OFileManifest> readManifest(final DataInput in) throws IOException {
+    final int files = in.readInt();
+    final List<OFileManifest> manifest = new ArrayList<OFileManifest>(files);
+    for (int i = 0; i < files; ++i) {
+      final OFileManifest m = new OFileManifest();
+      m.fromStream(in);
+      manifest.add(m);
+    }
+    return manifest;
+  }
+
+  /**
+   * Copies a file of the database in the staging directory, where the blocks of the delta are written.
+   */
+  private static RandomAccessFile openStagedFile(final File f, final File staging, final long length,
+      final List<File> stagedFiles) throws IOException {
+    final File staged = new File(staging, f.getName());
+    if (f.exists())
+      Files.copy(f.toPath(), staged.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    stagedFiles.add(staged);
+
+    final RandomAccessFile file = new RandomAccessFile(staged, "rw");
+    try {
+      file.setLength(length);
+    } catch (IOException e) {
+      file.close();
+      throw e;
+    }
+    return file;
+  }
+
+  private List<File> getFiles() {
+    final List<File> result = new ArrayList<File>();
+    final File[] files = directory.listFiles();
+    if (files != null)
+      for (File f : files) {
+        final String name = f.getName();
+        if (f.isFile() && !name.endsWith(".fl") && !name.endsWith(O2QCache.CACHE_STATISTIC_FILE_EXTENSION) && !name
+            .equals(SYNC_MARKER))
+          result.add(f);
+      }
+
+    // SAME ORDER ON ALL THE NODES
+    Collections.sort(result);
+    return result;
+  }
+
+  private static int readBlock(final InputStream in, final byte[] block) throws IOException {
+    int total = 0;
+    while (total < block.length) {
+      final int read = in.read(block, total, block.length - total);
+      if (read < 0)
+        break;
+      total += read;
+    }
+    return total;
+  }
+
+  private static long checksum(final byte[] block, final int length) {
+    final CRC32 crc = new CRC32();
+    crc.update(block, 0, length);
+    final Adler32 adler = new Adler32();
+    adler.update(block, 0, length);
+    return (crc.getValue() << 32) | adler.getValue();
+  }
+}
@@ -1794,7 +1794,7 @@ public class ODistributedStorage implements OStorage, OFreezableStorageComponent
           setDistributedConfiguration(new OModifiableDistributedConfiguration(doc));
         } else
           // JUST LOAD THE FILE IN MEMORY
-          distributedConfiguration = new ODistributedConfiguration(doc);
+          distributedConfiguration = new ODistributedConfiguration(doc.copy());
 
         // LOADED FILE, PUBLISH IT IN THE CLUSTER
         dManager.updateCachedDatabaseConfiguration(getName(), new OModifiableDistributedConfiguration(doc), true);
@@ -0,0 +1,200 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.exception.ODatabaseException;
+import com.orientechnologies.orient.core.storage.OStorage;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OWALShipment;
+import com.orientechnologies.orient.server.distributed.*;
+import com.orientechnologies.orient.server.distributed.ODistributedServerLog.DIRECTION;
+import com.orientechnologies.orient.server.distributed.impl.task.OShipWALTask;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a database of a server with role WAL_REPLICA aligned to a master, by pulling periodically the operations of the master's
+ * write ahead log and applying them to the local storage. When the master cannot ship them anymore, the database is installed
+ * again.
+ * <p>
+ * The LSNs of the write ahead logs of two masters cannot be compared, so the replica is pinned to a single master: the database
+ * is installed from that master, the LSN of its write ahead log at the time of the backup is where the shipping starts, and the
+ * database is installed again when another master has to be used.
+ */
+public class ODistributedWALReplica extends TimerTask {
+  private final ODistributedServerManager manager;
+  private final ODistributedDatabaseImpl  distributedDatabase;
+  private final AtomicBoolean             shipping = new AtomicBoolean();
+  private       String                    master;
+  private       String                    installedFrom;
+
+  public ODistributedWALReplica(final ODistributedServerManager manager, final ODistributedDatabaseImpl distributedDatabase) {
+    this.manager = manager;
+    this.distributedDatabase = distributedDatabase;
+  }
+
+  @Override
+  public void run() {
+    if (!shipping.compareAndSet(false, true))
+      // PREVIOUS SHIPPING STILL RUNNING
+      return;
+
+    // THE SHIPPING DOES NOT BLOCK THE SHARED TIMER
+    Orient.instance().submit(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          ship();
+        } catch (Exception e) {
+          ODistributedServerLog.warn(ODistributedWALReplica.this, manager.getLocalNodeName(), null, DIRECTION.NONE,
+              "Error on shipping the write ahead log of database '%s', retrying later", e, distributedDatabase.getDatabaseName());
+        } finally {
+          shipping.set(false);
+        }
+      }
+    });
+  }
+
+  protected void ship() throws IOException {
+    final String databaseName = distributedDatabase.getDatabaseName();
+    final String localNodeName = manager.getLocalNodeName();
+
+    final ODistributedConfiguration cfg = manager.getDatabaseConfiguration(databaseName, false);
+    if (cfg == null || cfg.getServerRole(localNodeName) != ODistributedConfiguration.ROLES.WAL_REPLICA)
+      return;
+
+    if (manager.getDatabaseStatus(localNodeName, databaseName) != ODistributedServerManager.DB_STATUS.ONLINE)
+      // NOT INSTALLED YET OR UNDER SYNCHRONIZATION
+      return;
+
+    final String master = selectMaster(cfg);
+    if (master == null)
+      return;
+
+    if (!master.equals(getInstalledFrom())) {
+      // THE LSN KNOWN FOR THIS MASTER DOES NOT COME FROM ITS WRITE AHEAD LOG
+      ODistributedServerLog.warn(this, localNodeName, master, DIRECTION.IN,
+          "Database '%s' was not installed from master '%s', installing it again before shipping its write ahead log",
+          databaseName, master);
+      manager.installDatabase(false, databaseName, true, false);
+      return;
+    }
+
+    OLogSequenceNumber lsn = distributedDatabase.getSyncConfiguration().getLastLSN(master);
+
+    final int batch = OGlobalConfiguration.DISTRIBUTED_WAL_SHIPPING_BATCH.getValueAsInteger();
+    while (manager.getDatabaseStatus(localNodeName, databaseName) == ODistributedServerManager.DB_STATUS.ONLINE) {
+      final ODistributedResponse response = manager
+          .sendRequest(databaseName, null, Collections.singletonList(master), new OShipWALTask(lsn, batch),
+              manager.getNextMessageIdCounter(), ODistributedRequest.EXECUTION_MODE.RESPONSE, null, null, null);
+
+      final Object payload = response != null ? response.getPayload() : null;
+      if (payload == null || payload instanceof ODatabaseException) {
+        // THE WAL WAS CUT OR IT CONTAINS CHANGES THAT CANNOT BE SHIPPED
+        ODistributedServerLog.warn(this, localNodeName, master, DIRECTION.IN,
+            "Cannot ship the write ahead log of database '%s' from LSN %s (%s), installing the database", databaseName, lsn,
+            payload);
+        manager.installDatabase(false, databaseName, true, false);
+        return;
+      }
+
+      if (!(payload instanceof OWALShipment)) {
+        ODistributedServerLog.warn(this, localNodeName, master, DIRECTION.IN,
+            "Error on shipping the write ahead log of database '%s' from LSN %s (%s), retrying later", databaseName, lsn,
+            payload);
+        return;
+      }
+
+      final OWALShipment shipment = (OWALShipment) payload;
+      if (!shipment.isEmpty())
+        apply(shipment);
+
+      lsn = shipment.getNextLsn();
+      distributedDatabase.setLSN(master, lsn, true);
+
+      if (shipment.getRecords().size() < batch)
+        // ALIGNED: WAIT FOR THE NEXT ROUND
+        return;
+    }
+  }
+
+  private void apply(final OWALShipment shipment) {
+    final ODatabaseDocumentInternal db = distributedDatabase.getDatabaseInstance();
+    try {
+      final OStorage storage = db.getStorage().getUnderlying();
+      if (!(storage instanceof OAbstractPaginatedStorage))
+        throw new ODistributedException(
+            "Cannot apply the write ahead log to database '" + distributedDatabase.getDatabaseName() + "' with storage " + storage
+                .getType());
+
+      ((OAbstractPaginatedStorage) storage).applyWALShipment(shipment);
+    } finally {
+      db.close();
+    }
+  }
+
+  /**
+   * Returns the master the replica is pinned to, as long as it is online and still a master, otherwise pins the replica to the
+   * first online master. Returns null if no master is online.
+   */
+  public synchronized String selectMaster(final ODistributedConfiguration cfg) {
+    final String databaseName = distributedDatabase.getDatabaseName();
+    final List<String> onlineNodes = manager.getOnlineNodes(databaseName);
+    if (master != null && onlineNodes.contains(master) && cfg.getServerRole(master) == ODistributedConfiguration.ROLES.MASTER)
+      return master;
+
+    final String localNodeName = manager.getLocalNodeName();
+    for (String node : onlineNodes) {
+      if (!node.equals(localNodeName) && cfg.getServerRole(node) == ODistributedConfiguration.ROLES.MASTER) {
+        if (master != null)
+          ODistributedServerLog.info(this, localNodeName, node, DIRECTION.NONE,
+              "Master '%s' of database '%s' is not available anymore, switching to master '%s'", master, databaseName, node);
+        master = node;
+        return master;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Called once the database has been installed from a master: the write ahead log of the master is shipped from the LSN it had
+   * at the time of the backup.
+   */
+  public synchronized void setInstalledFrom(final String node, final OLogSequenceNumber lsn) throws IOException {
+    if (lsn == null) {
+      installedFrom = null;
+      return;
+    }
+    distributedDatabase.setLSN(node, lsn, true);
+    installedFrom = node;
+  }
+
+  private synchronized String getInstalledFrom() {
+    return installedFrom;
+  }
+}
@@ -87,6 +87,7 @@ public class ODistributedWorker extends Thread {
     if (!acceptsWhileNotOnline && manager.isOffline()) {
       ODistributedServerLog.debug(this, manager.getLocalNodeName(), null, DIRECTION.NONE,
           "Discard request '%s' for database '%s' because the server is not online", request, this.databaseName);
+      distributed.onRequestCompleted(request);
       return;
     }
 
@@ -119,7 +120,11 @@ public class ODistributedWorker extends Thread {
         if (message != null) {
           message.getId();
           reqId = message.getId();
-          onMessage(message);
+          try {
+            onMessage(message);
+          } finally {
+            distributed.onRequestCompleted(message);
+          }
         }
 
         currentExecuting = null;
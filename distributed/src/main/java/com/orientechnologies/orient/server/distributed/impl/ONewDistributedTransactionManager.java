@@ -54,6 +54,7 @@ public class ONewDistributedTransactionManager {
 
   private static final boolean SYNC_TX_COMPLETED = false;
   private ONewDistributedResponseManager responseManager;
+  private OLogSequenceNumber             commitLSN;
 
   public ONewDistributedTransactionManager(final ODistributedStorage storage, final ODistributedServerManager manager,
       final ODistributedDatabase iDDatabase) {
@@ -94,6 +95,7 @@ public class ONewDistributedTransactionManager {
     if (nodes.isEmpty()) {
       // NO FURTHER NODES TO INVOLVE
       localOk(requestId, database);
+      committed(localNodeName, getLsn());
       return null;
     }
     //TODO:check the lsn
@@ -119,6 +121,25 @@ public class ONewDistributedTransactionManager {
 
   }
 
+  /**
+   * Returns the LSN of the committed transaction, the one the other servers record as last operation of this server when they
+   * apply it. Null if the transaction is not committed.
+   */
+  public OLogSequenceNumber getCommitLSN() {
+    return commitLSN;
+  }
+
+  private void committed(final String localNodeName, final OLogSequenceNumber lsn) {
+    commitLSN = lsn;
+    try {
+      localDistributedDatabase.setLSN(localNodeName, lsn, true);
+    } catch (IOException e) {
+      ODistributedServerLog
+          .debug(this, localNodeName, null, ODistributedServerLog.DIRECTION.NONE, "Error on updating local LSN configuration for database '%s'",
+              storage.getName());
+    }
+  }
+
   public OLogSequenceNumber getLsn() {
     return ((OAbstractPaginatedStorage) storage.getUnderlying()).getLSN();
   }
@@ -140,7 +161,9 @@ public class ONewDistributedTransactionManager {
       case OTxSuccess.ID:
         //Success send ok
         localOk(requestId, database);
-        sendPhase2Task(involvedClusters, nodes, new OTransactionPhase2Task(requestId, true, involvedClustersIds, getLsn()));
+        final OLogSequenceNumber lsn = getLsn();
+        committed(dManager.getLocalNodeName(), lsn);
+        sendPhase2Task(involvedClusters, nodes, new OTransactionPhase2Task(requestId, true, involvedClustersIds, lsn));
         break;
       case OTxException.ID:
         //Exception send ko and throws the exception
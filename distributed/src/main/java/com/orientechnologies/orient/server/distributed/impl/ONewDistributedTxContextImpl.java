@@ -14,6 +14,8 @@ import com.orientechnologies.orient.server.distributed.ODistributedTxContext;
 import com.orientechnologies.orient.server.distributed.task.ORemoteTask;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -27,6 +29,7 @@ public class ONewDistributedTxContextImpl implements ODistributedTxContext {
   private final    List<ORID>   lockedRids = new ArrayList<>();
   private final    List<Object> lockedKeys = new ArrayList<>();
   private volatile boolean      began      = true;
+  private volatile boolean      canceled   = false;
 
   public ONewDistributedTxContextImpl(ODistributedDatabaseImpl shared, ODistributedRequestId reqId, OTransactionInternal tx) {
     this.shared = shared;
@@ -38,21 +41,34 @@ public class ONewDistributedTxContextImpl implements ODistributedTxContext {
 
   @Override
   public void lockIndexKey(Object key) {
-    shared.getIndexKeyLockManager().lock(key);
-    lockedKeys.add(key);
+    lockIndexKeys(Collections.singletonList(key));
+  }
+
+  /**
+   * Locks all the index keys in one call to the lock manager.
+   */
+  public void lockIndexKeys(Collection<Object> keys) {
+    shared.getIndexKeyLockManager().lock(keys, id);
+    lockedKeys.addAll(keys);
   }
 
   @Override
   public void lock(ORID rid) {
-    shared.getRecordLockManager().lock(rid);
-    lockedRids.add(rid);
+    lock(Collections.singletonList(rid));
   }
 
   @Override
   public void lock(ORID rid, long timeout) {
     //TODO: the timeout is only in the lock manager, this implementation may need evolution
-    shared.getRecordLockManager().lock(rid);
-    lockedRids.add(rid);
+    lock(rid);
+  }
+
+  /**
+   * Locks all the records in one call to the lock manager.
+   */
+  public void lock(Collection<ORID> rids) {
+    shared.getRecordLockManager().lock(rids, id);
+    lockedRids.addAll(rids);
   }
 
   @Override
@@ -107,13 +123,9 @@ public class ONewDistributedTxContextImpl implements ODistributedTxContext {
 
   @Override
   public void unlock() {
-    for (ORID lockedRid : lockedRids) {
-      shared.getRecordLockManager().unlock(lockedRid);
-    }
+    shared.getRecordLockManager().unlock(lockedRids, id);
     lockedRids.clear();
-    for (Object lockedKey : lockedKeys) {
-      shared.getIndexKeyLockManager().unlock(lockedKey);
-    }
+    shared.getIndexKeyLockManager().unlock(lockedKeys, id);
     lockedKeys.clear();
   }
 
@@ -122,14 +134,20 @@ public class ONewDistributedTxContextImpl implements ODistributedTxContext {
     return startedOn;
   }
 
+  /**
+   * Releases the locks of the transaction, whose changes are applied to the storage only by the commit. The commit is refused
+   * from now on.
+   */
   @Override
-  public Set<ORecordId> cancel(ODistributedServerManager current, ODatabaseDocumentInternal database) {
-    return null;
+  public synchronized Set<ORecordId> cancel(ODistributedServerManager current, ODatabaseDocumentInternal database) {
+    canceled = true;
+    destroy();
+    return new HashSet<>();
   }
 
   @Override
   public boolean isCanceled() {
-    return false;
+    return canceled;
   }
 
   @Override
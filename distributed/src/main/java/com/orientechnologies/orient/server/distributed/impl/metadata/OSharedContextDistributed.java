@@ -14,6 +14,7 @@ import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
 import com.orientechnologies.orient.core.schedule.OSchedulerImpl;
 import com.orientechnologies.orient.core.security.OSecurityManager;
 import com.orientechnologies.orient.core.sql.executor.OQueryStats;
+import com.orientechnologies.orient.core.sql.parser.OExecutionPlanCache;
 import com.orientechnologies.orient.core.sql.parser.OStatementCache;
 import com.orientechnologies.orient.core.storage.OStorage;
 
@@ -34,6 +35,9 @@ public class OSharedContextDistributed extends OSharedContext {
     commandCache = new OCommandCacheSoftRefs(storage);
     statementCache = new OStatementCache(
         storage.getConfiguration().getContextConfiguration().getValueAsInteger(OGlobalConfiguration.STATEMENT_CACHE_SIZE));
+    executionPlanCache = new OExecutionPlanCache(
+        storage.getConfiguration().getContextConfiguration().getValueAsInteger(OGlobalConfiguration.STATEMENT_PLAN_CACHE_SIZE));
+    registerListener(executionPlanCache);
     queryStats = new OQueryStats();
 
   }
@@ -71,6 +75,7 @@ public class OSharedContextDistributed extends OSharedContext {
     sequenceLibrary.close();
     commandCache.clear();
     commandCache.shutdown();
+    executionPlanCache.invalidate();
     liveQueryOps.close();
     liveQueryOpsV2.close();
   }
@@ -83,6 +88,7 @@ public class OSharedContextDistributed extends OSharedContext {
       functionLibrary.load(database);
       sequenceLibrary.load(database);
       commandCache.clear();
+      executionPlanCache.invalidate();
       scheduler.load(database);
       return null;
     });
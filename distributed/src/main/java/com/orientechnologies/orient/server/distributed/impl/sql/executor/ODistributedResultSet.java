@@ -33,29 +33,16 @@ public class ODistributedResultSet implements OResultSet {
     if (nextItem < 0) {
       throw new IllegalStateException();
     }
-    if (data.size() < nextItem) {
+    if (nextItem < data.size()) {
       return true;
     }
     fetchNextBlock();
-    if (data.size() < nextItem) {
-      return true;
-    }
-    return false;
+    return !finished && nextItem < data.size();
   }
 
   @Override
   public OResult next() {
-    if (nextItem < 0) {
-      throw new IllegalStateException();
-    }
-    if (finished) {
-      throw new NoSuchElementException();
-    }
-    if (data.size() < nextItem) {
-      return data.get(nextItem++);
-    }
-    fetchNextBlock();
-    if (finished || data.size() >= nextItem) {
+    if (!hasNext()) {
       throw new NoSuchElementException();
     }
     return data.get(nextItem++);
@@ -45,6 +45,7 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -324,6 +325,15 @@ public class OCreateRecordTask extends OAbstractRecordReplicatedTask {
     return FACTORYID;
   }
 
+  /**
+   * The creations in the same cluster conflict, to keep the order of the cluster positions.
+   */
+  @Override
+  public Collection<Object> getConflictKeys(final ODistributedRequestId requestId) {
+    return getConflictKeys(new ORecordId(rid.getClusterId() != ORID.CLUSTER_ID_INVALID ? rid.getClusterId() : clusterId,
+        ORID.CLUSTER_POS_INVALID));
+  }
+
   @Override
   public boolean isIdempotent() {
     return false;
@@ -142,6 +142,12 @@ public class ODefaultRemoteTaskFactoryV2 extends ODefaultRemoteTaskFactoryV1 {
     case OTransactionPhase2Task.FACTORYID: // 44
       return new OTransactionPhase2Task();
 
+    case OSyncDatabasePagesTask.FACTORYID: // 45
+      return new OSyncDatabasePagesTask();
+
+    case OShipWALTask.FACTORYID: // 46
+      return new OShipWALTask();
+
     case NodeOperationTask.FACTORYID: //55
       return new NodeOperationTask();
     }
@@ -151,6 +157,6 @@ public class ODefaultRemoteTaskFactoryV2 extends ODefaultRemoteTaskFactoryV1 {
 
   @Override
   public int getProtocolVersion() {
-    return 1;
+    return 2;
   }
 }
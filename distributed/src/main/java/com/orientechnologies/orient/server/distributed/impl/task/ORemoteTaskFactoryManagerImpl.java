@@ -33,12 +33,13 @@ import java.util.Collection;
  */
 public class ORemoteTaskFactoryManagerImpl implements ORemoteTaskFactoryManager {
   private final ODistributedServerManager dManager;
-  private ORemoteTaskFactory[] factories = new ODefaultRemoteTaskFactoryV0[2];
+  private ORemoteTaskFactory[] factories = new ORemoteTaskFactory[3];
 
   public ORemoteTaskFactoryManagerImpl(final ODistributedServerManager dManager) {
     this.dManager = dManager;
     factories[0] = new ODefaultRemoteTaskFactoryV0();
     factories[1] = new ODefaultRemoteTaskFactoryV1();
+    factories[2] = new ODefaultRemoteTaskFactoryV2();
   }
 
   @Override
@@ -88,9 +89,10 @@ public class ORemoteTaskFactoryManagerImpl implements ORemoteTaskFactoryManager
 
   @Override
   public ORemoteTaskFactory getFactoryByVersion(final int version) {
-    if (version < 0 || version >= factories.length)
+    if (version < 0)
       throw new IllegalArgumentException("Invalid remote task factory version " + version);
 
-    return factories[version];
+    // THE NEWER PROTOCOLS CHANGED ONLY THE CHANNEL, NOT THE TASKS
+    return factories[Math.min(version, factories.length - 1)];
   }
 }
\ No newline at end of file
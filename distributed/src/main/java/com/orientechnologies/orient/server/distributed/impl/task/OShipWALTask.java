@@ -0,0 +1,102 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl.task;
+
+import com.orientechnologies.orient.core.command.OCommandDistributedReplicateRequest;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.storage.OStorage;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OWALShipment;
+import com.orientechnologies.orient.server.OServer;
+import com.orientechnologies.orient.server.distributed.ODistributedException;
+import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
+import com.orientechnologies.orient.server.distributed.ODistributedServerManager;
+import com.orientechnologies.orient.server.distributed.ORemoteTaskFactory;
+import com.orientechnologies.orient.server.distributed.task.OAbstractRemoteTask;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Asks a master for the operations of its write ahead log starting from a LSN. It is sent by the servers with role WAL_REPLICA,
+ * the response is a {@link OWALShipment}, or null if the LSN is not in the write ahead log of the master anymore.
+ */
+public class OShipWALTask extends OAbstractRemoteTask {
+  public static final int FACTORYID = 46;
+
+  private OLogSequenceNumber lsn;
+  private int                maxRecords;
+
+  public OShipWALTask() {
+  }
+
+  public OShipWALTask(final OLogSequenceNumber lsn, final int maxRecords) {
+    this.lsn = lsn;
+    this.maxRecords = maxRecords;
+  }
+
+  @Override
+  public Object execute(final ODistributedRequestId requestId, final OServer iServer, final ODistributedServerManager iManager,
+      final ODatabaseDocumentInternal database) throws Exception {
+    if (database == null)
+      throw new ODistributedException("Database instance is null");
+
+    final OStorage storage = database.getStorage().getUnderlying();
+    if (!(storage instanceof OAbstractPaginatedStorage))
+      throw new ODistributedException(
+          "Cannot ship the write ahead log of database '" + database.getName() + "' because it is not a paginated database");
+
+    return ((OAbstractPaginatedStorage) storage).readWALShipment(lsn, maxRecords);
+  }
+
+  @Override
+  public OCommandDistributedReplicateRequest.QUORUM_TYPE getQuorumType() {
+    return OCommandDistributedReplicateRequest.QUORUM_TYPE.NONE;
+  }
+
+  @Override
+  public String getName() {
+    return "ship_wal";
+  }
+
+  @Override
+  public void toStream(final DataOutput out) throws IOException {
+    lsn.toStream(out);
+    out.writeInt(maxRecords);
+  }
+
+  @Override
+  public void fromStream(final DataInput in, final ORemoteTaskFactory factory) throws IOException {
+    lsn = new OLogSequenceNumber(in);
+    maxRecords = in.readInt();
+  }
+
+  @Override
+  public int getFactoryId() {
+    return FACTORYID;
+  }
+
+  @Override
+  public String toString() {
+    return getName() + "(lsn=" + lsn + " maxRecords=" + maxRecords + ")";
+  }
+}
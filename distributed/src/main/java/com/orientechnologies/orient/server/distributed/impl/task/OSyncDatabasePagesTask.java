@@ -0,0 +1,208 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl.task;
+
+import com.orientechnologies.common.concur.lock.OLockException;
+import com.orientechnologies.common.io.OFileUtils;
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.util.OUncaughtExceptionHandler;
+import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.storage.OStorage;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.OLocalPaginatedStorage;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.server.OServer;
+import com.orientechnologies.orient.server.distributed.*;
+import com.orientechnologies.orient.server.distributed.ODistributedServerLog.DIRECTION;
+import com.orientechnologies.orient.server.distributed.impl.ODistributedDatabaseChunk;
+import com.orientechnologies.orient.server.distributed.impl.ODistributedPageSync;
+
+import java.io.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ask for the pages of a database that differ from the copy of the requesting node. The requester sends the checksums of the
+ * blocks of its files, the response is the delta to apply, transferred in chunks like the backup of {@link OSyncDatabaseTask}.
+ */
+public class OSyncDatabasePagesTask extends OAbstractSyncDatabaseTask {
+  public static final int FACTORYID = 45;
+
+  private int                                     blockSize;
+  private List<ODistributedPageSync.OFileManifest> manifest;
+
+  public OSyncDatabasePagesTask() {
+  }
+
+  public OSyncDatabasePagesTask(final OLogSequenceNumber lastLSN, final long lastOperationTimestamp, final int blockSize,
+      final List<ODistributedPageSync.OFileManifest> manifest) {
+    super(lastOperationTimestamp);
+    this.lastLSN = lastLSN;
+    this.blockSize = blockSize;
+    this.manifest = manifest;
+  }
+
+  @Override
+  public Object execute(final ODistributedRequestId requestId, final OServer iServer, final ODistributedServerManager iManager,
+      final ODatabaseDocumentInternal database) throws Exception {
+
+    if (!iManager.getLocalNodeName().equals(getNodeSource())) {
+      if (database == null)
+        throw new ODistributedException("Database instance is null");
+
+      final String databaseName = database.getName();
+
+      final OStorage storage = database.getStorage().getUnderlying();
+      if (!(storage instanceof OLocalPaginatedStorage))
+        throw new ODistributedException("Cannot align database '" + databaseName + "' by pages because it is not a plocal database");
+
+      final ODistributedDatabase dDatabase = checkIfCurrentDatabaseIsNotOlder(iManager, databaseName);
+
+      try {
+        final Long lastDeployment = (Long) iManager.getConfigurationMap().get(DEPLOYDB + databaseName);
+        if (lastDeployment != null && lastDeployment.longValue() == random) {
+          // SKIP IT
+          ODistributedServerLog.debug(this, iManager.getLocalNodeName(), getNodeSource(), DIRECTION.NONE,
+              "Skip deploying pages of database '%s' because already executed", databaseName);
+          return Boolean.FALSE;
+        }
+
+        iManager.getConfigurationMap().put(DEPLOYDB + databaseName, random);
+
+        iManager.setDatabaseStatus(getNodeSource(), databaseName, ODistributedServerManager.DB_STATUS.SYNCHRONIZING);
+
+        final OLocalPaginatedStorage stg = (OLocalPaginatedStorage) storage;
+
+        final File deltaFile = new File(Orient.getTempPath() + "/pages_" + databaseName + "_" + getNodeSource() + ".delta");
+        if (deltaFile.exists())
+          deltaFile.delete();
+        else
+          deltaFile.getParentFile().mkdirs();
+        deltaFile.createNewFile();
+
+        final File completedFile = new File(deltaFile.getAbsolutePath() + ".completed");
+        if (completedFile.exists())
+          completedFile.delete();
+
+        ODistributedServerLog.info(this, iManager.getLocalNodeName(), getNodeSource(), DIRECTION.OUT,
+            "Comparing the pages of database '%s' (%d files, blockSize=%d) in file: %s...", databaseName, manifest.size(), blockSize,
+            deltaFile.getAbsolutePath());
+
+        final AtomicReference<ODistributedMomentum> momentum = new AtomicReference<ODistributedMomentum>();
+
+        Thread t = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            Thread.currentThread().setName("OrientDB SyncDatabasePages node=" + iManager.getLocalNodeName() + " db=" + databaseName);
+
+            try {
+              final DataOutputStream out = new DataOutputStream(
+                  new BufferedOutputStream(new FileOutputStream(deltaFile), CHUNK_MAX_SIZE));
+              try {
+                // THE FILES CANNOT CHANGE WHILE THE DELTA IS WRITTEN
+                stg.freeze(false);
+                try {
+                  momentum.set(dDatabase.getSyncConfiguration().getMomentum().copy());
+
+                  final long blocks = new ODistributedPageSync(stg.getStoragePath().toFile(), blockSize).writeDelta(manifest, out);
+
+                  ODistributedServerLog.info(this, iManager.getLocalNodeName(), getNodeSource(), DIRECTION.OUT,
+                      "Pages of database '%s' compared: %d blocks to transfer", databaseName, blocks);
+                } finally {
+                  stg.release();
+                }
+              } finally {
+                out.close();
+              }
+            } catch (Exception e) {
+              OLogManager.instance().error(this, "Cannot compare the pages of database '%s' for deploy database", e, databaseName);
+            } finally {
+              try {
+                completedFile.createNewFile();
+              } catch (IOException e) {
+                OLogManager.instance().error(this, "Cannot create file of delta completed: %s", e, completedFile);
+              }
+            }
+          }
+        });
+        t.setUncaughtExceptionHandler(new OUncaughtExceptionHandler());
+        t.start();
+
+        // WAIT FOR THE STORAGE TO BE FROZEN
+        while (momentum.get() == null && t.isAlive())
+          Thread.sleep(100);
+
+        if (momentum.get() == null)
+          throw new ODistributedException("Cannot compare the pages of database '" + databaseName + "'");
+
+        final ODistributedDatabaseChunk chunk = new ODistributedDatabaseChunk(deltaFile, 0, CHUNK_MAX_SIZE, momentum.get(), false);
+
+        ODistributedServerLog.info(this, iManager.getLocalNodeName(), getNodeSource(), ODistributedServerLog.DIRECTION.OUT,
+            "- transferring chunk #%d offset=%d size=%s lsn=%s...", 1, 0, OFileUtils.getSizeAsNumber(chunk.buffer.length),
+            momentum.get());
+
+        if (chunk.last)
+          // NO MORE CHUNKS: SET THE NODE ONLINE (SYNCHRONIZING ENDED)
+          iManager.setDatabaseStatus(iManager.getLocalNodeName(), databaseName, ODistributedServerManager.DB_STATUS.ONLINE);
+
+        return chunk;
+
+      } catch (OLockException e) {
+        ODistributedServerLog.debug(this, iManager.getLocalNodeName(), getNodeSource(), DIRECTION.NONE,
+            "Skip deploying pages of database %s because another node is doing it", databaseName);
+      } finally {
+        ODistributedServerLog.info(this, iManager.getLocalNodeName(), getNodeSource(), ODistributedServerLog.DIRECTION.OUT,
+            "Deploy database pages task completed");
+      }
+    } else
+      ODistributedServerLog.debug(this, iManager.getLocalNodeName(), getNodeSource(), DIRECTION.NONE,
+          "Skip deploying database pages from the same node");
+
+    return Boolean.FALSE;
+  }
+
+  @Override
+  public String getName() {
+    return "deploy_db_pages";
+  }
+
+  @Override
+  public void toStream(final DataOutput out) throws IOException {
+    writeOptionalLSN(out);
+    out.writeLong(random);
+    out.writeLong(lastOperationTimestamp);
+    out.writeInt(blockSize);
+    ODistributedPageSync.writeManifest(manifest, out);
+  }
+
+  @Override
+  public void fromStream(final DataInput in, final ORemoteTaskFactory factory) throws IOException {
+    readOptionalLSN(in);
+    random = in.readLong();
+    lastOperationTimestamp = in.readLong();
+    blockSize = in.readInt();
+    manifest = ODistributedPageSync.readManifest(in);
+  }
+
+  @Override
+  public int getFactoryId() {
+    return FACTORYID;
+  }
+}
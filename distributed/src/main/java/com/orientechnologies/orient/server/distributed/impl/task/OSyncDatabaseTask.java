@@ -27,6 +27,8 @@ import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.command.OCommandOutputListener;
 import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.storage.OStorage;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
 import com.orientechnologies.orient.server.OServer;
 import com.orientechnologies.orient.server.distributed.*;
@@ -86,7 +88,12 @@ public class OSyncDatabaseTask extends OAbstractSyncDatabaseTask {
 
         File backupFile = ((ODistributedStorage) database.getStorage()).getLastValidBackup();
 
-        if (backupFile == null || !backupFile.exists()) {
+        // A WAL REPLICA NEEDS THE LSN OF THE WRITE AHEAD LOG AT THE TIME OF THE BACKUP, NOT AVAILABLE FOR THE LAST ONE
+        final ODistributedConfiguration cfg = iManager.getDatabaseConfiguration(databaseName);
+        final boolean walReplica =
+            cfg != null && cfg.getServerRole(getNodeSource()) == ODistributedConfiguration.ROLES.WAL_REPLICA;
+
+        if (backupFile == null || !backupFile.exists() || walReplica) {
           // CREATE A BACKUP OF DATABASE FROM SCRATCH
           backupFile = new File(Orient.getTempPath() + "/backup_" + database.getName() + ".zip");
 
@@ -123,7 +130,12 @@ public class OSyncDatabaseTask extends OAbstractSyncDatabaseTask {
                 database.backup(fileOutputStream, null, new Callable<Object>() {
                   @Override
                   public Object call() throws Exception {
-                    momentum.set(dDatabase.getSyncConfiguration().getMomentum().copy());
+                    // THE STORAGE IS FROZEN: THE LSN OF THE WRITE AHEAD LOG IS THE ONE OF THE BACKUP
+                    final ODistributedMomentum m = dDatabase.getSyncConfiguration().getMomentum().copy();
+                    final OStorage storage = database.getStorage().getUnderlying();
+                    if (storage instanceof OAbstractPaginatedStorage)
+                      m.setLSN(iManager.getLocalNodeName(), ((OAbstractPaginatedStorage) storage).getLSN());
+                    momentum.set(m);
                     return null;
                   }
                 }, ODistributedServerLog.isDebugEnabled() ? new OCommandOutputListener() {
@@ -8,6 +8,7 @@ import com.orientechnologies.orient.core.command.OCommandDistributedReplicateReq
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.record.ORecordOperation;
 import com.orientechnologies.orient.core.exception.OConcurrentModificationException;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.record.ORecordInternal;
@@ -29,9 +30,7 @@ import com.orientechnologies.orient.server.distributed.task.ODistributedLockExce
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * @author Luigi Dell'Aquila (l.dellaquila - at - orientdb.com)
@@ -214,6 +213,31 @@ public class OTransactionPhase1Task extends OAbstractReplicatedTask {
     return false;
   }
 
+  /**
+   * The transaction conflicts with the transactions that update or delete the same records and, to keep the order of the cluster
+   * positions, with the transactions that create records in the same clusters. The id of the request is included to order the
+   * second phase after this one.
+   */
+  @Override
+  public Collection<Object> getConflictKeys(final ODistributedRequestId requestId) {
+    final Set<Object> keys = new HashSet<>();
+    keys.add(requestId);
+    if (operations.size() > 0) {
+      for (ORecordOperationRequest op : operations)
+        keys.add(getConflictKey(op.getType(), op.getId()));
+    } else {
+      for (ORecordOperation op : ops)
+        keys.add(getConflictKey(op.getType(), op.getRID()));
+    }
+    return keys;
+  }
+
+  private static ORID getConflictKey(final byte type, final ORID rid) {
+    if (type == ORecordOperation.CREATED)
+      return new ORecordId(rid.getClusterId(), ORID.CLUSTER_POS_INVALID);
+    return rid;
+  }
+
   @Override
   public int[] getPartitionKey() {
     if (operations.size() > 0)
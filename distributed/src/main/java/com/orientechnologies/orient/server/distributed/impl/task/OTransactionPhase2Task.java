@@ -15,6 +15,8 @@ import com.orientechnologies.orient.server.distributed.task.OAbstractReplicatedT
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 
 import static com.orientechnologies.orient.core.config.OGlobalConfiguration.DISTRIBUTED_CONCURRENT_TX_MAX_AUTORETRY;
 
@@ -125,6 +127,14 @@ public class OTransactionPhase2Task extends OAbstractReplicatedTask {
     return FACTORYID;
   }
 
+  /**
+   * Executed after the first phase of the same transaction.
+   */
+  @Override
+  public Collection<Object> getConflictKeys(final ODistributedRequestId requestId) {
+    return Collections.singleton(transactionId);
+  }
+
   @Override
   public int[] getPartitionKey() {
     return involvedClusters;
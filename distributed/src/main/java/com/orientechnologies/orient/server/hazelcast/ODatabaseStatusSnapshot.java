@@ -0,0 +1,104 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.hazelcast;
+
+import com.orientechnologies.orient.server.distributed.ODistributedServerManager.DB_STATUS;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the status of the databases on the servers of the cluster. Every change creates a new snapshot with a
+ * higher version, so the readers never lock and never see a partial update. The statuses are kept by the same key of the
+ * distributed configuration map, because the names of the servers and of the databases can contain dots.
+ */
+public final class ODatabaseStatusSnapshot {
+  public static final ODatabaseStatusSnapshot EMPTY = new ODatabaseStatusSnapshot(0, Collections.<String, DB_STATUS>emptyMap());
+
+  private final long                   version;
+  // <PREFIX><SERVER>.<DATABASE> -> STATUS
+  private final Map<String, DB_STATUS> statuses;
+
+  private ODatabaseStatusSnapshot(final long version, final Map<String, DB_STATUS> statuses) {
+    this.version = version;
+    this.statuses = statuses;
+  }
+
+  /**
+   * Returns the key of the status of a database on a server in the distributed configuration map.
+   */
+  public static String getKey(final String server, final String databaseName) {
+    return OHazelcastPlugin.CONFIG_DBSTATUS_PREFIX + server + "." + databaseName;
+  }
+
+  /**
+   * Returns the status of a database on a server, or NOT_AVAILABLE if unknown.
+   */
+  public DB_STATUS getStatus(final String server, final String databaseName) {
+    final DB_STATUS status = statuses.get(getKey(server, databaseName));
+    return status != null ? status : DB_STATUS.NOT_AVAILABLE;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns a new snapshot with the status of a database on a server changed.
+   *
+   * @param status the new status, or null to remove it
+   */
+  public ODatabaseStatusSnapshot set(final String server, final String databaseName, final DB_STATUS status) {
+    return set(getKey(server, databaseName), status);
+  }
+
+  /**
+   * Returns a new snapshot with the status changed.
+   *
+   * @param key    the key of the status in the distributed configuration map
+   * @param status the new status, or null to remove it
+   */
+  public ODatabaseStatusSnapshot set(final String key, final DB_STATUS status) {
+    if (statuses.get(key) == status)
+      // NOT CHANGED
+      return this;
+
+    final Map<String, DB_STATUS> newStatuses = new HashMap<String, DB_STATUS>(statuses);
+    if (status != null)
+      newStatuses.put(key, status);
+    else
+      newStatuses.remove(key);
+
+    return new ODatabaseStatusSnapshot(version + 1, newStatuses);
+  }
+
+  /**
+   * Returns a new empty snapshot with a higher version.
+   */
+  public ODatabaseStatusSnapshot clear() {
+    return new ODatabaseStatusSnapshot(version + 1, Collections.<String, DB_STATUS>emptyMap());
+  }
+
+  @Override
+  public String toString() {
+    return "v" + version + " " + statuses;
+  }
+}
@@ -25,21 +25,25 @@ import com.hazelcast.map.listener.EntryRemovedListener;
 import com.hazelcast.map.listener.EntryUpdatedListener;
 import com.hazelcast.map.listener.MapClearedListener;
 import com.orientechnologies.orient.server.distributed.ODistributedServerLog;
+import com.orientechnologies.orient.server.distributed.ODistributedServerManager.DB_STATUS;
 
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Optimized concurrent hash map implementation on top of Hazelcast distributed map.
+ * Optimized concurrent hash map implementation on top of Hazelcast distributed map. The status of the databases is also kept in
+ * an immutable {@link ODatabaseStatusSnapshot}, updated by the changes of the map, to read it without any lookup on the map.
  *
  * @author Luca Garulli (l.garulli--at--orientdb.com)
  */
 public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
     implements EntryAddedListener<String, Object>, EntryRemovedListener<String, Object>, MapClearedListener,
     EntryUpdatedListener<String, Object> {
-  private final OHazelcastPlugin     dManager;
-  private final IMap<String, Object> hzMap;
-  private final String               membershipListenerRegistration;
+  private final    OHazelcastPlugin        dManager;
+  private final    IMap<String, Object>    hzMap;
+  private final    String                  membershipListenerRegistration;
+  private final    Object                  statusLock     = new Object();
+  private volatile ODatabaseStatusSnapshot statusSnapshot = ODatabaseStatusSnapshot.EMPTY;
 
   public static final String ORIENTDB_MAP = "orientdb";
 
@@ -49,6 +53,14 @@ public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
     membershipListenerRegistration = hzMap.addEntryListener(this, true);
 
     super.putAll(hzMap);
+    reloadStatusSnapshot();
+  }
+
+  /**
+   * Returns the current snapshot of the status of the databases.
+   */
+  public ODatabaseStatusSnapshot getStatusSnapshot() {
+    return statusSnapshot;
   }
 
   public IMap<String, Object> getHazelcastMap() {
@@ -94,6 +106,7 @@ public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
     } catch (HazelcastInstanceNotActiveException e) {
       // IGNORE IT
     }
+    updateStatusSnapshot(key, value);
     return super.put(key, value);
   }
 
@@ -104,10 +117,14 @@ public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
     } catch (HazelcastInstanceNotActiveException e) {
       // IGNORE IT
     }
-    return super.putIfAbsent(key, value);
+    final Object prev = super.putIfAbsent(key, value);
+    if (prev == null)
+      updateStatusSnapshot(key, value);
+    return prev;
   }
 
   public Object putInLocalCache(final String key, final Object value) {
+    updateStatusSnapshot(key, value);
     return super.put(key, value);
   }
 
@@ -118,6 +135,8 @@ public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
     } catch (HazelcastInstanceNotActiveException e) {
       // IGNORE IT
     }
+    if (key instanceof String)
+      updateStatusSnapshot((String) key, null);
     return super.remove(key);
   }
 
@@ -128,7 +147,10 @@ public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
     } catch (HazelcastInstanceNotActiveException e) {
       // IGNORE IT
     }
-    return super.remove(key, value);
+    final boolean removed = super.remove(key, value);
+    if (removed && key instanceof String)
+      updateStatusSnapshot((String) key, null);
+    return removed;
   }
 
   @Override
@@ -136,6 +158,7 @@ public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
     if (ODistributedServerLog.isDebugEnabled())
       ODistributedServerLog.debug(this, dManager.getLocalNodeName(), null, ODistributedServerLog.DIRECTION.NONE,
           "Map entry added " + event.getKey() + "=" + event.getValue() + " from server " + dManager.getNodeName(event.getMember()));
+    updateStatusSnapshot(event.getKey(), event.getValue());
     super.put(event.getKey(), event.getValue());
   }
 
@@ -146,6 +169,7 @@ public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
           "Map entry updated " + event.getKey() + "=" + event.getValue() + " from server " + dManager
               .getNodeName(event.getMember()));
 
+    updateStatusSnapshot(event.getKey(), event.getValue());
     super.put(event.getKey(), event.getValue());
   }
 
@@ -154,6 +178,7 @@ public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
     if (ODistributedServerLog.isDebugEnabled())
       ODistributedServerLog.debug(this, dManager.getLocalNodeName(), null, ODistributedServerLog.DIRECTION.NONE,
           "Map entry removed " + event.getKey() + "=" + event.getValue() + " from " + dManager.getNodeName(event.getMember()));
+    updateStatusSnapshot(event.getKey(), null);
     super.remove(event.getKey());
   }
 
@@ -163,14 +188,51 @@ public class OHazelcastDistributedMap extends ConcurrentHashMap<String, Object>
       ODistributedServerLog.debug(this, dManager.getLocalNodeName(), null, ODistributedServerLog.DIRECTION.NONE,
           "Map cleared from server " + dManager.getNodeName(event.getMember()));
     super.clear();
+    synchronized (statusLock) {
+      statusSnapshot = statusSnapshot.clear();
+    }
   }
 
   public void destroy() {
     clear();
+    synchronized (statusLock) {
+      statusSnapshot = statusSnapshot.clear();
+    }
     hzMap.removeEntryListener(membershipListenerRegistration);
   }
 
   public void clearLocalCache() {
     super.clear();
+    // THE LOCAL CACHE FALLS BACK TO THE DISTRIBUTED MAP, WHILE THE SNAPSHOT MUST BE COMPLETE: RELOAD IT
+    reloadStatusSnapshot();
+  }
+
+  private void reloadStatusSnapshot() {
+    synchronized (statusLock) {
+      ODatabaseStatusSnapshot snapshot = statusSnapshot.clear();
+      try {
+        for (Entry<String, Object> entry : hzMap.entrySet())
+          snapshot = setStatus(snapshot, entry.getKey(), entry.getValue());
+      } catch (HazelcastInstanceNotActiveException e) {
+        // IGNORE IT
+      }
+      statusSnapshot = snapshot;
+    }
+  }
+
+  private void updateStatusSnapshot(final String key, final Object value) {
+    if (!key.startsWith(OHazelcastPlugin.CONFIG_DBSTATUS_PREFIX))
+      return;
+
+    synchronized (statusLock) {
+      statusSnapshot = setStatus(statusSnapshot, key, value);
+    }
+  }
+
+  private static ODatabaseStatusSnapshot setStatus(final ODatabaseStatusSnapshot snapshot, final String key, final Object value) {
+    if (!key.startsWith(OHazelcastPlugin.CONFIG_DBSTATUS_PREFIX))
+      return snapshot;
+
+    return snapshot.set(key, (DB_STATUS) value);
   }
 }
@@ -295,6 +295,12 @@ public class OHazelcastPlugin extends ODistributedAbstractPlugin
         Orient.instance().scheduleTask(healthCheckerTask, healthChecker, healthChecker);
       }
 
+      final long rebalanceOwnership = OGlobalConfiguration.DISTRIBUTED_REBALANCE_OWNERSHIP_EVERY.getValueAsLong();
+      if (rebalanceOwnership > 0) {
+        ownershipRebalancerTask = new OClusterOwnershipRebalancer(this);
+        Orient.instance().scheduleTask(ownershipRebalancerTask, rebalanceOwnership, rebalanceOwnership);
+      }
+
       for (OServerNetworkListener nl : serverInstance.getNetworkListeners())
         nl.registerBeforeConnectNetworkEventListener(this);
 
@@ -1331,9 +1337,7 @@ public class OHazelcastPlugin extends ODistributedAbstractPlugin
           ODistributedServerManager.DB_STATUS.NOT_AVAILABLE;
     }
 
-    final DB_STATUS status = (DB_STATUS) configurationMap
-        .getLocalCachedValue(OHazelcastPlugin.CONFIG_DBSTATUS_PREFIX + iNode + "." + iDatabaseName);
-    return status != null ? status : DB_STATUS.NOT_AVAILABLE;
+    return configurationMap.getStatusSnapshot().getStatus(iNode, iDatabaseName);
   }
 
   public DB_STATUS getDatabaseStatus(final String iNode, final String iDatabaseName, final boolean useCache) {
@@ -0,0 +1,54 @@
+package com.orientechnologies.orient.server.distributed;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+public class ODistributedCumulativeAckTest {
+
+  @Test
+  public void testAddOnlySameResponse() {
+    final ODistributedCumulativeAck ack = new ODistributedCumulativeAck(response(1, "node2", "OK"));
+
+    Assert.assertTrue(ack.add(response(2, "node2", "OK")));
+    Assert.assertFalse(ack.add(response(3, "node2", "KO")));
+    Assert.assertFalse(ack.add(response(4, "node3", "OK")));
+    Assert.assertEquals(2, ack.getRequestIds().size());
+
+    Assert.assertTrue(ODistributedCumulativeAck.isCumulable(response(5, "node2", Boolean.TRUE)));
+    Assert.assertFalse(ODistributedCumulativeAck.isCumulable(response(6, "node2", new Object[] { "OK" })));
+  }
+
+  @Test
+  public void testStreamAndResponses() throws IOException {
+    final ODistributedCumulativeAck ack = new ODistributedCumulativeAck(response(1, "node2", "OK"));
+    ack.add(response(2, "node2", "OK"));
+    ack.add(response(3, "node2", "OK"));
+
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    ack.toStream(new DataOutputStream(buffer));
+
+    final ODistributedCumulativeAck read = new ODistributedCumulativeAck();
+    read.fromStream(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+
+    final List<ODistributedResponse> responses = read.getResponses();
+    Assert.assertEquals(3, responses.size());
+    for (int i = 0; i < responses.size(); ++i) {
+      final ODistributedResponse response = responses.get(i);
+      Assert.assertEquals(new ODistributedRequestId(0, i + 1), response.getRequestId());
+      Assert.assertEquals("node2", response.getExecutorNodeName());
+      Assert.assertEquals("node1", response.getSenderNodeName());
+      Assert.assertEquals("OK", response.getPayload());
+    }
+  }
+
+  private static ODistributedResponse response(final long messageId, final String executor, final Object payload) {
+    return new ODistributedResponse(null, new ODistributedRequestId(0, messageId), executor, "node1", payload);
+  }
+}
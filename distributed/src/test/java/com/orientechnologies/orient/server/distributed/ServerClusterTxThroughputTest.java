@@ -0,0 +1,102 @@
+/*
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.orientechnologies.orient.server.distributed;
+
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the replicated transactions per second of a cluster of 3 servers: every server commits small transactions from
+ * concurrent threads, each commit waits for the other servers to apply it.
+ */
+public class ServerClusterTxThroughputTest extends AbstractServerClusterTest {
+  private static final int SERVERS = 3;
+  private static final int THREADS = 8;
+  private static final int TXS     = 200;
+
+  @Test
+  public void test() throws Exception {
+    init(SERVERS);
+    prepare(false);
+    execute();
+  }
+
+  @Override
+  protected void onAfterDatabaseCreation(final ODatabaseDocument db) {
+    db.command("create class Bench").close();
+  }
+
+  @Override
+  protected void executeTest() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(SERVERS * THREADS);
+    try {
+      final List<Callable<Void>> writers = new ArrayList<Callable<Void>>();
+      for (final ServerRun server : serverInstance)
+        for (int t = 0; t < THREADS; ++t) {
+          final String writer = server.getServerId() + "-" + t;
+          writers.add(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+              final ODatabaseDocument db = getDatabase(server);
+              try {
+                for (int i = 0; i < TXS; ++i) {
+                  db.begin();
+                  db.save(new ODocument("Bench").field("writer", writer).field("i", i));
+                  db.commit();
+                }
+              } finally {
+                db.close();
+              }
+              return null;
+            }
+          });
+        }
+
+      final long start = System.nanoTime();
+      for (Future<Void> f : executor.invokeAll(writers))
+        f.get();
+      final long elapsed = System.nanoTime() - start;
+
+      final long total = (long) SERVERS * THREADS * TXS;
+      log(String.format("Replicated %d transactions in %.2f seconds: %.0f tx/sec", total, elapsed / 1e9d, total * 1e9d / elapsed));
+
+      for (ServerRun server : serverInstance) {
+        final ODatabaseDocument db = getDatabase(server);
+        try {
+          Assert.assertEquals(total, db.countClass("Bench"));
+        } finally {
+          db.close();
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Override
+  public String getDatabaseName() {
+    return "distributed-txthroughput";
+  }
+}
@@ -0,0 +1,58 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.common.util.OPair;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.server.distributed.OModifiableDistributedConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class OClusterOwnershipRebalancerTest {
+  private static final List<String> CLUSTERS = Arrays.asList("client", "client_1", "client_2", "client_3");
+
+  @Test
+  public void testMoveToNewServer() {
+    final OModifiableDistributedConfiguration cfg = configuration(
+        "'client':{'servers':['europe','usa','asia']},'client_1':{'servers':['europe','usa','asia']},"
+            + "'client_2':{'servers':['europe','usa','asia']},'client_3':{'servers':['usa','europe','asia']}");
+    final Set<String> masters = new HashSet<String>(Arrays.asList("europe", "usa", "asia"));
+
+    // EUROPE OWNS 3 CLUSTERS, ASIA NONE
+    final OPair<String, String> move = OClusterOwnershipRebalancer.chooseClusterToMove(cfg, CLUSTERS, masters);
+    Assert.assertNotNull(move);
+    Assert.assertEquals("europe", cfg.getClusterOwner(move.getKey()));
+    Assert.assertEquals("asia", move.getValue());
+
+    cfg.setServerOwner(move.getKey(), move.getValue());
+
+    // 2-1-1 IS BALANCED
+    Assert.assertNull(OClusterOwnershipRebalancer.chooseClusterToMove(cfg, CLUSTERS, masters));
+  }
+
+  @Test
+  public void testNotConfiguredAndStaticOwnerAreNotMoved() {
+    final OModifiableDistributedConfiguration cfg = configuration(
+        "'client':{'servers':['europe','usa']},'client_1':{'servers':['europe','usa']},"
+            + "'client_2':{'owner':'europe','servers':['europe','asia']},'client_3':{'servers':['europe']}");
+    final Set<String> masters = new HashSet<String>(Arrays.asList("europe", "asia"));
+
+    // ASIA HAS ONLY CLIENT_2, THAT IS STATICALLY OWNED BY EUROPE
+    Assert.assertNull(OClusterOwnershipRebalancer.chooseClusterToMove(cfg, CLUSTERS, masters));
+
+    masters.add("usa");
+    final OPair<String, String> move = OClusterOwnershipRebalancer.chooseClusterToMove(cfg, CLUSTERS, masters);
+    Assert.assertNotNull(move);
+    Assert.assertEquals("usa", move.getValue());
+    Assert.assertTrue(move.getKey().equals("client") || move.getKey().equals("client_1"));
+  }
+
+  private static OModifiableDistributedConfiguration configuration(final String clusters) {
+    return new OModifiableDistributedConfiguration((ODocument) new ODocument().fromJSON(
+        ("{'version':1,'writeQuorum':'majority','servers':{'*':'master'},'clusters':{'internal':{}," + clusters
+            + ",'*':{'servers':['<NEW_NODE>']}}}").replace('\'', '"'), "noMap"));
+  }
+}
@@ -0,0 +1,168 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.server.distributed.ODistributedMomentum;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ODistributedAppliedWatermarkTest {
+  private Map<String, OLogSequenceNumber> lastApplied;
+  private ODistributedAppliedWatermark    watermark;
+
+  @Before
+  public void before() {
+    lastApplied = new ConcurrentHashMap<>();
+    watermark = new ODistributedAppliedWatermark(lastApplied::get);
+  }
+
+  @Test
+  public void testApplied() {
+    Assert.assertTrue(watermark.isApplied(new ODistributedMomentum()));
+    Assert.assertFalse(watermark.isApplied(momentum("node1", 10)));
+
+    apply("node1", 10);
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 10)));
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 5)));
+    Assert.assertFalse(watermark.isApplied(momentum("node1", 11)));
+
+    // EVERY SERVER OF THE MOMENTUM MUST BE APPLIED
+    final ODistributedMomentum momentum = momentum("node1", 10);
+    momentum.setLSN("node2", lsn(3));
+    Assert.assertFalse(watermark.isApplied(momentum));
+    apply("node2", 3);
+    Assert.assertTrue(watermark.isApplied(momentum));
+  }
+
+  @Test
+  public void testNotAppliedWhileAPreviousRequestIsPending() {
+    watermark.received("node1", lsn(10));
+    watermark.received("node1", lsn(20));
+
+    // THE SECOND REQUEST IS COMPLETED FIRST BY ANOTHER WORKER
+    apply("node1", 20);
+    watermark.completed("node1", lsn(20));
+    Assert.assertFalse(watermark.isApplied(momentum("node1", 20)));
+    Assert.assertFalse(watermark.isApplied(momentum("node1", 10)));
+
+    // THE LSN SET BY THE FIRST REQUEST IS LOWER THAN THE LAST ONE
+    apply("node1", 10);
+    watermark.completed("node1", lsn(10));
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 10)));
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 20)));
+
+    // THE REQUESTS OF THE OTHER SERVERS DO NOT MATTER
+    watermark.received("node2", lsn(5));
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 20)));
+  }
+
+  @Test
+  public void testRequestsWithTheSameLSN() {
+    watermark.received("node1", lsn(10));
+    watermark.received("node1", lsn(10));
+    apply("node1", 10);
+
+    watermark.completed("node1", lsn(10));
+    Assert.assertFalse(watermark.isApplied(momentum("node1", 10)));
+    watermark.completed("node1", lsn(10));
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 10)));
+  }
+
+  @Test
+  public void testLastAppliedOnStartup() {
+    lastApplied.put("node1", lsn(10));
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 10)));
+    Assert.assertFalse(watermark.isApplied(momentum("node1", 11)));
+
+    apply("node1", 11);
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 11)));
+  }
+
+  @Test
+  public void testReset() {
+    watermark.received("node1", lsn(10));
+    apply("node1", 10);
+    Assert.assertFalse(watermark.isApplied(momentum("node1", 10)));
+
+    // AFTER THE RESET THE LAST APPLIED LSN IS READ FROM THE SYNC CONFIGURATION
+    watermark.reset();
+    Assert.assertFalse(watermark.isApplied(momentum("node1", 10)));
+    lastApplied.put("node1", lsn(10));
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 10)));
+    // THE COMPLETION OF A FORGOTTEN REQUEST IS IGNORED
+    watermark.completed("node1", lsn(10));
+    Assert.assertTrue(watermark.isApplied(momentum("node1", 10)));
+  }
+
+  @Test
+  public void testWaitFor() throws Exception {
+    watermark.received("node1", lsn(10));
+    watermark.received("node1", lsn(20));
+    apply("node1", 20);
+    watermark.completed("node1", lsn(20));
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<Boolean> waiting = executor.submit(() -> watermark.waitFor(momentum("node1", 20), 10000));
+      Thread.sleep(100);
+      Assert.assertFalse(waiting.isDone());
+
+      apply("node1", 10);
+      watermark.completed("node1", lsn(10));
+      Assert.assertTrue(waiting.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testWaitForTimeout() throws Exception {
+    watermark.received("node1", lsn(10));
+    apply("node1", 10);
+
+    // THE READ SERVER ANSWERS THAT THE TOKEN IS NOT APPLIED, AND THE CLIENT READS FROM THE WRITE SERVER
+    final long start = System.currentTimeMillis();
+    Assert.assertFalse(watermark.waitFor(momentum("node1", 10), 100));
+    Assert.assertTrue(System.currentTimeMillis() - start >= 100);
+    Assert.assertTrue(watermark.waitFor(momentum("node1", 9), 0));
+  }
+
+  @Test
+  public void testMergeMomentum() {
+    final ODistributedMomentum session = momentum("node1", 10);
+    session.setLSN("node2", lsn(5));
+
+    final ODistributedMomentum seen = momentum("node1", 8);
+    seen.setLSN("node2", lsn(7));
+    seen.setLSN("node3", lsn(1));
+    session.merge(seen);
+
+    Assert.assertEquals(lsn(10), session.getLSN("node1"));
+    Assert.assertEquals(lsn(7), session.getLSN("node2"));
+    Assert.assertEquals(lsn(1), session.getLSN("node3"));
+
+    session.merge(new ODistributedMomentum());
+    Assert.assertEquals(3, session.getServers().size());
+  }
+
+  private void apply(final String server, final long position) {
+    watermark.applied(server, lsn(position));
+  }
+
+  private static ODistributedMomentum momentum(final String server, final long position) {
+    final ODistributedMomentum momentum = new ODistributedMomentum();
+    momentum.setLSN(server, lsn(position));
+    return momentum;
+  }
+
+  private static OLogSequenceNumber lsn(final long position) {
+    return new OLogSequenceNumber(1, position);
+  }
+}
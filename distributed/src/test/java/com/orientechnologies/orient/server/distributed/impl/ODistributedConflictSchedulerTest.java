@@ -0,0 +1,129 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.server.distributed.ODistributedRequest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ODistributedConflictSchedulerTest {
+  private List<ODistributedRequest>     dispatched;
+  private ODistributedConflictScheduler scheduler;
+
+  @Before
+  public void before() {
+    dispatched = new ArrayList<>();
+    scheduler = new ODistributedConflictScheduler(dispatched::add);
+  }
+
+  @Test
+  public void testNotConflictingAreDispatchedTogether() {
+    final ODistributedRequest first = request(1);
+    final ODistributedRequest second = request(2);
+    scheduler.schedule(first, Arrays.asList(new ORecordId(10, 1), new ORecordId(10, 2)));
+    scheduler.schedule(second, Arrays.asList(new ORecordId(10, 3), new ORecordId(11, 1)));
+
+    Assert.assertEquals(Arrays.asList(first, second), dispatched);
+    Assert.assertEquals(2, scheduler.getPending());
+    Assert.assertEquals(0, scheduler.getWaiting());
+
+    scheduler.completed(first);
+    scheduler.completed(second);
+    Assert.assertEquals(0, scheduler.getPending());
+  }
+
+  @Test
+  public void testConflictingAreOrdered() {
+    final ODistributedRequest first = request(1);
+    final ODistributedRequest second = request(2);
+    final ODistributedRequest third = request(3);
+    scheduler.schedule(first, Arrays.asList(new ORecordId(10, 1), new ORecordId(10, 2)));
+    scheduler.schedule(second, Arrays.asList(new ORecordId(10, 1), new ORecordId(10, 2)));
+    scheduler.schedule(third, Arrays.asList(new ORecordId(10, 2), new ORecordId(12, 1)));
+
+    Assert.assertEquals(Collections.singletonList(first), dispatched);
+    Assert.assertEquals(2, scheduler.getWaiting());
+
+    scheduler.completed(first);
+    Assert.assertEquals(Arrays.asList(first, second), dispatched);
+
+    scheduler.completed(second);
+    Assert.assertEquals(Arrays.asList(first, second, third), dispatched);
+
+    scheduler.completed(third);
+    Assert.assertEquals(0, scheduler.getPending());
+  }
+
+  @Test
+  public void testWaitForAllTheConflicts() {
+    final ODistributedRequest first = request(1);
+    final ODistributedRequest second = request(2);
+    final ODistributedRequest third = request(3);
+    scheduler.schedule(first, Collections.singletonList(new ORecordId(10, 1)));
+    scheduler.schedule(second, Collections.singletonList(new ORecordId(11, 1)));
+    scheduler.schedule(third, Arrays.asList(new ORecordId(10, 1), new ORecordId(11, 1)));
+
+    scheduler.completed(second);
+    Assert.assertEquals(Arrays.asList(first, second), dispatched);
+
+    scheduler.completed(first);
+    Assert.assertEquals(Arrays.asList(first, second, third), dispatched);
+  }
+
+  @Test
+  public void testUnknownAndResetRequests() throws InterruptedException {
+    scheduler.completed(request(5));
+
+    final ODistributedRequest first = request(1);
+    scheduler.schedule(first, Collections.singletonList(new ORecordId(10, 1)));
+    Assert.assertFalse(scheduler.waitForCompletion(10));
+
+    scheduler.reset();
+    Assert.assertTrue(scheduler.waitForCompletion(10));
+
+    // A KEY OF A FORGOTTEN REQUEST DOES NOT BLOCK THE NEXT ONES
+    final ODistributedRequest second = request(2);
+    scheduler.schedule(second, Collections.singletonList(new ORecordId(10, 1)));
+    Assert.assertEquals(Arrays.asList(first, second), dispatched);
+  }
+
+  @Test
+  public void testBarrier() throws InterruptedException {
+    final ODistributedRequest first = request(1);
+    scheduler.schedule(first, Collections.singletonList(new ORecordId(10, 1)));
+
+    // THE BARRIER WAITS FOR THE PREVIOUS REQUESTS
+    final ODistributedRequest barrier = request(2);
+    Assert.assertFalse(scheduler.scheduleBarrier(barrier, 10));
+    scheduler.completed(first);
+    Assert.assertTrue(scheduler.scheduleBarrier(barrier, 10));
+
+    // THE NEXT REQUESTS WAIT FOR THE BARRIER, EVEN WITHOUT COMMON KEYS
+    final ODistributedRequest third = request(3);
+    final ODistributedRequest fourth = request(4);
+    scheduler.schedule(third, Collections.singletonList(new ORecordId(11, 1)));
+    scheduler.schedule(fourth, Collections.singletonList(new ORecordId(11, 1)));
+    Assert.assertEquals(Collections.singletonList(first), dispatched);
+    Assert.assertEquals(2, scheduler.getWaiting());
+
+    scheduler.completed(barrier);
+    Assert.assertEquals(Arrays.asList(first, third), dispatched);
+
+    scheduler.completed(third);
+    Assert.assertEquals(Arrays.asList(first, third, fourth), dispatched);
+
+    // A COMPLETED BARRIER DOES NOT BLOCK THE NEXT REQUESTS
+    final ODistributedRequest fifth = request(5);
+    scheduler.schedule(fifth, Collections.singletonList(new ORecordId(12, 1)));
+    Assert.assertEquals(Arrays.asList(first, third, fourth, fifth), dispatched);
+  }
+
+  private static ODistributedRequest request(final long id) {
+    return new ODistributedRequest(null, 0, id, "db", null);
+  }
+}
@@ -0,0 +1,137 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.common.io.OFileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class ODistributedPageSyncTest {
+  private static final int BLOCK_SIZE = 1024;
+
+  private File source;
+  private File target;
+
+  @Before
+  public void before() {
+    source = new File("./target/pagesynctest/source");
+    target = new File("./target/pagesynctest/target");
+    OFileUtils.deleteRecursively(new File("./target/pagesynctest"));
+    source.mkdirs();
+    target.mkdirs();
+  }
+
+  @After
+  public void after() {
+    OFileUtils.deleteRecursively(new File("./target/pagesynctest"));
+  }
+
+  @Test
+  public void testOnlyDifferentBlocksAreTransferred() throws IOException {
+    final byte[] content = randomBytes(BLOCK_SIZE * 10 + 100);
+    write(new File(source, "v.pcl"), content);
+
+    final byte[] stale = Arrays.copyOf(content, BLOCK_SIZE * 8);
+    stale[BLOCK_SIZE * 3 + 5]++;
+    write(new File(target, "v.pcl"), stale);
+
+    write(new File(source, "v.cpm"), randomBytes(BLOCK_SIZE / 2));
+    write(new File(target, "dropped.pcl"), randomBytes(BLOCK_SIZE));
+    write(new File(target, "dirty.fl"), randomBytes(10));
+
+    final ByteArrayOutputStream delta = new ByteArrayOutputStream();
+    final List<ODistributedPageSync.OFileManifest> manifest = new ODistributedPageSync(target, BLOCK_SIZE).getManifest();
+    Assert.assertEquals(2, manifest.size());
+
+    // SEND THE MANIFEST ON THE WIRE
+    final ByteArrayOutputStream manifestBytes = new ByteArrayOutputStream();
+    ODistributedPageSync.writeManifest(manifest, new DataOutputStream(manifestBytes));
+    final List<ODistributedPageSync.OFileManifest> received = ODistributedPageSync
+        .readManifest(new DataInputStream(new ByteArrayInputStream(manifestBytes.toByteArray())));
+
+    // 1 CHANGED BLOCK, 3 MISSING BLOCKS AND THE NEW FILE
+    Assert.assertEquals(5, new ODistributedPageSync(source, BLOCK_SIZE).writeDelta(received, new DataOutputStream(delta)));
+
+    Assert.assertEquals(5, new ODistributedPageSync(target, BLOCK_SIZE)
+        .applyDelta(new DataInputStream(new ByteArrayInputStream(delta.toByteArray()))));
+
+    Assert.assertArrayEquals(content, Files.readAllBytes(new File(target, "v.pcl").toPath()));
+    Assert.assertArrayEquals(Files.readAllBytes(new File(source, "v.cpm").toPath()),
+        Files.readAllBytes(new File(target, "v.cpm").toPath()));
+    Assert.assertFalse(new File(target, "dropped.pcl").exists());
+    Assert.assertTrue(new File(target, "dirty.fl").exists());
+  }
+
+  @Test
+  public void testShrunkFile() throws IOException {
+    final byte[] content = randomBytes(BLOCK_SIZE * 4);
+    write(new File(target, "v.pcl"), content);
+    write(new File(source, "v.pcl"), Arrays.copyOf(content, BLOCK_SIZE * 2));
+
+    final ByteArrayOutputStream delta = new ByteArrayOutputStream();
+    Assert.assertEquals(0, new ODistributedPageSync(source, BLOCK_SIZE)
+        .writeDelta(new ODistributedPageSync(target, BLOCK_SIZE).getManifest(), new DataOutputStream(delta)));
+    new ODistributedPageSync(target, BLOCK_SIZE).applyDelta(new DataInputStream(new ByteArrayInputStream(delta.toByteArray())));
+
+    Assert.assertArrayEquals(Arrays.copyOf(content, BLOCK_SIZE * 2), Files.readAllBytes(new File(target, "v.pcl").toPath()));
+  }
+
+  @Test
+  public void testTruncatedDeltaLeavesTheFilesUntouched() throws IOException {
+    final byte[] content = randomBytes(BLOCK_SIZE * 4);
+    final byte[] stale = Arrays.copyOf(content, content.length);
+    stale[5]++;
+    stale[BLOCK_SIZE * 3 + 5]++;
+    write(new File(source, "v.pcl"), content);
+    write(new File(target, "v.pcl"), stale);
+    write(new File(target, "dropped.pcl"), randomBytes(BLOCK_SIZE));
+
+    final ByteArrayOutputStream delta = new ByteArrayOutputStream();
+    Assert.assertEquals(2, new ODistributedPageSync(source, BLOCK_SIZE)
+        .writeDelta(new ODistributedPageSync(target, BLOCK_SIZE).getManifest(), new DataOutputStream(delta)));
+
+    // THE CONNECTION DROPS AFTER THE FIRST BLOCK
+    final byte[] truncated = Arrays.copyOf(delta.toByteArray(), delta.size() - BLOCK_SIZE);
+    try {
+      new ODistributedPageSync(target, BLOCK_SIZE).applyDelta(new DataInputStream(new ByteArrayInputStream(truncated)));
+      Assert.fail();
+    } catch (EOFException e) {
+      // EXPECTED
+    }
+
+    Assert.assertArrayEquals(stale, Files.readAllBytes(new File(target, "v.pcl").toPath()));
+    Assert.assertTrue(new File(target, "dropped.pcl").exists());
+    Assert.assertFalse(ODistributedPageSync.isSyncInProgress(target));
+    Assert.assertEquals(2, target.list().length);
+  }
+
+  @Test
+  public void testInterruptedSync() throws IOException {
+    write(new File(target, "v.pcl"), randomBytes(BLOCK_SIZE));
+    write(new File(target, ODistributedPageSync.SYNC_MARKER), new byte[0]);
+    Assert.assertTrue(ODistributedPageSync.isSyncInProgress(target));
+
+    // THE MARKER IS NOT PART OF THE DATABASE
+    Assert.assertEquals(1, new ODistributedPageSync(target, BLOCK_SIZE).getManifest().size());
+
+    ODistributedPageSync.clearSyncInProgress(target);
+    Assert.assertFalse(ODistributedPageSync.isSyncInProgress(target));
+    Assert.assertTrue(new File(target, "v.pcl").exists());
+  }
+
+  private static byte[] randomBytes(final int size) {
+    final byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    return bytes;
+  }
+
+  private static void write(final File file, final byte[] content) throws IOException {
+    Files.write(file.toPath(), content);
+  }
+}
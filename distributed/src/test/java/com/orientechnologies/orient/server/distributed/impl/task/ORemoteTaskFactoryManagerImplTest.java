@@ -0,0 +1,26 @@
+package com.orientechnologies.orient.server.distributed.impl.task;
+
+import com.orientechnologies.orient.server.distributed.ORemoteServerController;
+import com.orientechnologies.orient.server.distributed.ORemoteTaskFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ORemoteTaskFactoryManagerImplTest {
+
+  @Test
+  public void testCurrentProtocolCreatesPageSyncTask() {
+    final ORemoteTaskFactory factory = new ORemoteTaskFactoryManagerImpl(null)
+        .getFactoryByVersion(ORemoteServerController.CURRENT_PROTOCOL_VERSION);
+
+    Assert.assertTrue(factory.createTask(OSyncDatabasePagesTask.FACTORYID) instanceof OSyncDatabasePagesTask);
+  }
+
+  @Test
+  public void testOlderProtocolsKeepTheirFactory() {
+    final ORemoteTaskFactoryManagerImpl manager = new ORemoteTaskFactoryManagerImpl(null);
+
+    Assert.assertEquals(0, manager.getFactoryByVersion(0).getProtocolVersion());
+    Assert.assertEquals(1, manager.getFactoryByVersion(1).getProtocolVersion());
+    Assert.assertEquals(2, manager.getFactoryByVersion(2).getProtocolVersion());
+  }
+}
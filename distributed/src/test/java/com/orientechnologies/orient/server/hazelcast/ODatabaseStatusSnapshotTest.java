@@ -0,0 +1,58 @@
+package com.orientechnologies.orient.server.hazelcast;
+
+import com.orientechnologies.orient.server.distributed.ODistributedServerManager.DB_STATUS;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ODatabaseStatusSnapshotTest {
+
+  @Test
+  public void testUnknownIsNotAvailable() {
+    Assert.assertEquals(DB_STATUS.NOT_AVAILABLE, ODatabaseStatusSnapshot.EMPTY.getStatus("node1", "db"));
+  }
+
+  @Test
+  public void testSetCreatesNewVersion() {
+    final ODatabaseStatusSnapshot first = ODatabaseStatusSnapshot.EMPTY.set("node1", "db", DB_STATUS.ONLINE);
+    final ODatabaseStatusSnapshot second = first.set("node2", "db", DB_STATUS.SYNCHRONIZING);
+
+    Assert.assertEquals(1, first.getVersion());
+    Assert.assertEquals(2, second.getVersion());
+
+    // THE OLD SNAPSHOT IS NOT CHANGED
+    Assert.assertEquals(DB_STATUS.NOT_AVAILABLE, first.getStatus("node2", "db"));
+    Assert.assertEquals(DB_STATUS.ONLINE, second.getStatus("node1", "db"));
+    Assert.assertEquals(DB_STATUS.SYNCHRONIZING, second.getStatus("node2", "db"));
+  }
+
+  @Test
+  public void testSameStatusKeepsSnapshot() {
+    final ODatabaseStatusSnapshot snapshot = ODatabaseStatusSnapshot.EMPTY.set("node1", "db", DB_STATUS.ONLINE);
+    Assert.assertSame(snapshot, snapshot.set("node1", "db", DB_STATUS.ONLINE));
+    Assert.assertSame(snapshot, snapshot.set("node2", "db", null));
+  }
+
+  @Test
+  public void testRemoveAndClear() {
+    final ODatabaseStatusSnapshot snapshot = ODatabaseStatusSnapshot.EMPTY.set("node1", "db", DB_STATUS.ONLINE)
+        .set("node1", "other", DB_STATUS.BACKUP);
+
+    final ODatabaseStatusSnapshot removed = snapshot.set("node1", "db", null);
+    Assert.assertEquals(DB_STATUS.NOT_AVAILABLE, removed.getStatus("node1", "db"));
+    Assert.assertEquals(DB_STATUS.BACKUP, removed.getStatus("node1", "other"));
+
+    final ODatabaseStatusSnapshot cleared = removed.clear();
+    Assert.assertEquals(DB_STATUS.NOT_AVAILABLE, cleared.getStatus("node1", "other"));
+    Assert.assertTrue(cleared.getVersion() > removed.getVersion());
+  }
+
+  @Test
+  public void testServerNameWithDots() {
+    final ODatabaseStatusSnapshot snapshot = ODatabaseStatusSnapshot.EMPTY
+        .set(OHazelcastPlugin.CONFIG_DBSTATUS_PREFIX + "node1.example.com.db", DB_STATUS.ONLINE)
+        .set(OHazelcastPlugin.CONFIG_DBSTATUS_PREFIX + "node2.example.com.my.db", DB_STATUS.SYNCHRONIZING);
+
+    Assert.assertEquals(DB_STATUS.ONLINE, snapshot.getStatus("node1.example.com", "db"));
+    Assert.assertEquals(DB_STATUS.SYNCHRONIZING, snapshot.getStatus("node2.example.com", "my.db"));
+  }
+}
@@ -25,6 +25,7 @@ import com.orientechnologies.common.profiler.OAbstractProfiler.OProfilerHookValu
 import com.orientechnologies.common.profiler.OProfiler.METRIC_TYPE;
 import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.command.OCommandRequestText;
+import com.orientechnologies.orient.core.config.OContextConfiguration;
 import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.metadata.security.OToken;
 import com.orientechnologies.orient.core.record.impl.ODocument;
@@ -52,8 +53,9 @@ public class OClientConnectionManager {
   protected final ConcurrentMap<Integer, OClientConnection>  connections      = new ConcurrentHashMap<Integer, OClientConnection>();
   protected       AtomicInteger                              connectionSerial = new AtomicInteger(0);
   protected final ConcurrentMap<OHashToken, OClientSessions> sessions         = new ConcurrentHashMap<OHashToken, OClientSessions>();
-  protected final TimerTask timerTask;
-  private         OServer   server;
+  protected final TimerTask               timerTask;
+  private         OServer                 server;
+  private final   OClientRequestScheduler requestScheduler;
 
   public OClientConnectionManager(OServer server) {
     final int delay = OGlobalConfiguration.SERVER_CHANNEL_CLEAN_DELAY.getValueAsInteger();
@@ -79,6 +81,23 @@ public class OClientConnectionManager {
               }
             });
     this.server = server;
+
+    final OContextConfiguration configuration = server.getContextConfiguration();
+    requestScheduler = new OClientRequestScheduler(configuration != null ? configuration : new OContextConfiguration());
+    Orient.instance().getProfiler()
+        .registerHookValue("server.requests.queued", "Number of client requests waiting in the queue of the server",
+            METRIC_TYPE.COUNTER, new OProfilerHookValue() {
+              public Object getValue() {
+                return (long) requestScheduler.getQueued();
+              }
+            });
+  }
+
+  /**
+   * @return the admission control of the requests of the connections
+   */
+  public OClientRequestScheduler getRequestScheduler() {
+    return requestScheduler;
   }
 
   public void cleanExpiredConnections() {
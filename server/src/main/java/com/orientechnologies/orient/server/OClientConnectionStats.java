@@ -13,6 +13,9 @@ public class OClientConnectionStats {
   public String              lastDatabase              = null;
   public String              lastUser                  = null;
   public long                totalCommandExecutionTime = 0;
+  public long                lastRequestQueueTime      = 0;
+  public long                totalRequestQueueTime     = 0;
+  public int                 totalQueuedRequests       = 0;
 
 
 }
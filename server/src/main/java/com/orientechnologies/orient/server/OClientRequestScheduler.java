@@ -0,0 +1,317 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server;
+
+import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.common.concur.lock.OInterruptedException;
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.orient.core.config.OContextConfiguration;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control of the client requests: limits the requests executed at the same time, in total, by user and by database,
+ * the other requests wait in a queue. The queue is served with start-time fair queuing among the flows of requests of every user
+ * on every database, where a batch request costs {@link OGlobalConfiguration#NETWORK_REQUEST_BATCH_COST} and any other request 1:
+ * a user that sends many batch requests is throttled instead of starving the users of short requests.
+ */
+public class OClientRequestScheduler {
+
+  private final int                maxConcurrent;
+  private final int                maxConcurrentPerUser;
+  private final int                maxConcurrentPerDatabase;
+  private final int                batchCost;
+  private final long               queueTimeout;
+  private final Lock               lock              = new ReentrantLock();
+  private final Map<String, Flow>  flows             = new HashMap<String, Flow>();
+  private final Map<String, int[]> runningByUser     = new HashMap<String, int[]>();
+  private final Map<String, int[]> runningByDatabase = new HashMap<String, int[]>();
+  // THE WAITING REQUESTS, ORDERED BY START TAG
+  private final List<Ticket>       queue             = new ArrayList<Ticket>();
+  private       int                running;
+  private       long               virtualTime;
+
+  public OClientRequestScheduler(final OContextConfiguration configuration) {
+    maxConcurrent = configuration.getValueAsInteger(OGlobalConfiguration.NETWORK_MAX_CONCURRENT_REQUESTS);
+    maxConcurrentPerUser = configuration.getValueAsInteger(OGlobalConfiguration.NETWORK_MAX_CONCURRENT_REQUESTS_PER_USER);
+    maxConcurrentPerDatabase = configuration.getValueAsInteger(OGlobalConfiguration.NETWORK_MAX_CONCURRENT_REQUESTS_PER_DATABASE);
+    batchCost = Math.max(1, configuration.getValueAsInteger(OGlobalConfiguration.NETWORK_REQUEST_BATCH_COST));
+    queueTimeout = configuration.getValueAsLong(OGlobalConfiguration.NETWORK_REQUEST_QUEUE_TIMEOUT);
+  }
+
+  public boolean isEnabled() {
+    return maxConcurrent > 0 || maxConcurrentPerUser > 0 || maxConcurrentPerDatabase > 0;
+  }
+
+  /**
+   * @return true if the request is a batch one, that costs more in the fair queue
+   */
+  public static boolean isBatch(final byte command) {
+    switch (command) {
+    case OChannelBinaryProtocol.REQUEST_COMMAND:
+    case OChannelBinaryProtocol.REQUEST_BATCH_OPERATIONS:
+    case OChannelBinaryProtocol.REQUEST_BULK_INSERT:
+    case OChannelBinaryProtocol.REQUEST_INCREMENTAL_BACKUP:
+    case OChannelBinaryProtocol.REQUEST_DB_IMPORT:
+      return true;
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * Waits until the request of a connection can be executed, the queue time is added to the stats of the connection.
+   *
+   * @param batch true if the request is a batch one, see {@link #isBatch(byte)}
+   *
+   * @return the ticket to pass to {@link #release(Ticket)} at the end of the request, null if the scheduler is not enabled
+   *
+   * @throws OTimeoutException if the request waited more than {@link OGlobalConfiguration#NETWORK_REQUEST_QUEUE_TIMEOUT}
+   */
+  public Ticket acquire(final OClientConnection connection, final boolean batch) {
+    if (!isEnabled())
+      return null;
+
+    final String database;
+    final String user;
+    final ODatabaseDocumentInternal db = connection.getDatabase();
+    if (db != null) {
+      database = db.getName();
+      user = db.getUser() != null ? db.getUser().getName() : connection.getData().serverUsername;
+    } else {
+      database = null;
+      user = connection.getData().serverUsername;
+    }
+
+    final Ticket ticket = acquire(user, database, batch);
+    final OClientConnectionStats stats = connection.getStats();
+    stats.lastRequestQueueTime = ticket.queueTime;
+    stats.totalRequestQueueTime += ticket.queueTime;
+    if (ticket.queueTime > 0)
+      stats.totalQueuedRequests++;
+    return ticket;
+  }
+
+  /**
+   * Waits until a request of a user on a database can be executed.
+   *
+   * @return the ticket to pass to {@link #release(Ticket)} at the end of the request, null if the scheduler is not enabled
+   */
+  public Ticket acquire(final String user, final String database, final boolean batch) {
+    if (!isEnabled())
+      return null;
+
+    final long begin = System.nanoTime();
+    final Ticket ticket;
+    lock.lock();
+    try {
+      final String flowKey = user + "@" + database;
+      Flow flow = flows.get(flowKey);
+      if (flow == null) {
+        flow = new Flow(flowKey);
+        flows.put(flowKey, flow);
+      }
+      ticket = new Ticket(flow, user, database, Math.max(virtualTime, flow.finish), lock.newCondition());
+      flow.finish = ticket.start + (batch ? batchCost : 1);
+      flow.pending++;
+
+      enqueue(ticket);
+      dispatch();
+
+      long remaining = TimeUnit.MILLISECONDS.toNanos(queueTimeout);
+      while (!ticket.running) {
+        if (queueTimeout > 0 && remaining <= 0) {
+          dequeue(ticket);
+          throw new OTimeoutException(
+              "Request of user '" + user + "' on database '" + database + "' waited more than " + queueTimeout
+                  + "ms in the queue of the server (network.requestQueueTimeout)");
+        }
+        try {
+          if (queueTimeout > 0)
+            remaining = ticket.admitted.awaitNanos(remaining);
+          else
+            ticket.admitted.await();
+        } catch (InterruptedException e) {
+          dequeue(ticket);
+          Thread.currentThread().interrupt();
+          throw OException.wrapException(new OInterruptedException("Interrupted on waiting in the queue of the server"), e);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    ticket.queueTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+    return ticket;
+  }
+
+  /**
+   * Ends a request admitted by {@link #acquire(OClientConnection, boolean)}, the next requests in the queue are admitted.
+   */
+  public void release(final Ticket ticket) {
+    if (ticket == null)
+      return;
+    lock.lock();
+    try {
+      running--;
+      decrement(runningByUser, ticket.user);
+      decrement(runningByDatabase, ticket.database);
+      done(ticket.flow);
+      dispatch();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of requests waiting in the queue
+   */
+  public int getQueued() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of requests admitted and not ended yet
+   */
+  public int getRunning() {
+    lock.lock();
+    try {
+      return running;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void enqueue(final Ticket ticket) {
+    int i = queue.size();
+    while (i > 0 && queue.get(i - 1).start > ticket.start)
+      i--;
+    queue.add(i, ticket);
+  }
+
+  private void dequeue(final Ticket ticket) {
+    queue.remove(ticket);
+    done(ticket.flow);
+    // THE TICKET COULD HAVE BLOCKED THE OTHER REQUESTS OF ITS FLOW
+    dispatch();
+  }
+
+  /**
+   * Admits the requests in the queue that do not exceed the limits, in order of start tag.
+   */
+  private void dispatch() {
+    final Iterator<Ticket> iterator = queue.iterator();
+    while (iterator.hasNext() && (maxConcurrent <= 0 || running < maxConcurrent)) {
+      final Ticket ticket = iterator.next();
+      if (count(runningByUser, ticket.user) >= maxConcurrentPerUser && maxConcurrentPerUser > 0)
+        continue;
+      if (count(runningByDatabase, ticket.database) >= maxConcurrentPerDatabase && maxConcurrentPerDatabase > 0)
+        continue;
+
+      iterator.remove();
+      running++;
+      increment(runningByUser, ticket.user);
+      increment(runningByDatabase, ticket.database);
+      virtualTime = Math.max(virtualTime, ticket.start);
+      ticket.running = true;
+      ticket.admitted.signal();
+    }
+  }
+
+  private void done(final Flow flow) {
+    flow.pending--;
+    if (flow.pending == 0 && flow.finish <= virtualTime)
+      // AN IDLE FLOW HAS NO CREDIT TO KEEP
+      flows.remove(flow.key);
+  }
+
+  private static int count(final Map<String, int[]> counters, final String key) {
+    final int[] counter = counters.get(key);
+    return counter != null ? counter[0] : 0;
+  }
+
+  private static void increment(final Map<String, int[]> counters, final String key) {
+    final int[] counter = counters.get(key);
+    if (counter == null)
+      counters.put(key, new int[] { 1 });
+    else
+      counter[0]++;
+  }
+
+  private static void decrement(final Map<String, int[]> counters, final String key) {
+    final int[] counter = counters.get(key);
+    if (counter != null && --counter[0] <= 0)
+      counters.remove(key);
+  }
+
+  private static final class Flow {
+    private final String key;
+    private       long   finish;
+    private       int    pending;
+
+    private Flow(final String key) {
+      this.key = key;
+    }
+  }
+
+  /**
+   * A request waiting in the queue or admitted.
+   */
+  public static final class Ticket {
+    private final Flow      flow;
+    private final String    user;
+    private final String    database;
+    private final long      start;
+    private final Condition admitted;
+    private       boolean   running;
+    private       long      queueTime;
+
+    private Ticket(final Flow flow, final String user, final String database, final long start, final Condition admitted) {
+      this.flow = flow;
+      this.user = user;
+      this.database = database;
+      this.start = start;
+      this.admitted = admitted;
+    }
+
+    /**
+     * @return the time in ms the request waited in the queue
+     */
+    public long getQueueTime() {
+      return queueTime;
+    }
+  }
+}
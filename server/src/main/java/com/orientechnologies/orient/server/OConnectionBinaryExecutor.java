@@ -643,6 +643,44 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
     return new OBatchOperationsResponse(database.getTransaction().getId(), createdRecords, updatedRecords, deletedRecords);
   }
 
+  @Override
+  public OBinaryResponse executeBulkInsert(OBulkInsertRequest request) {
+    ODatabaseDocumentInternal database = connection.getDatabase();
+    if (database.getTransaction().isActive())
+      throw new ODatabaseException("Cannot execute a bulk insert inside a transaction");
+
+    // THE WHOLE BATCH IS A SINGLE ATOMIC OPERATION
+    database.begin();
+    try {
+      for (ORecord record : request.getRecords()) {
+        if (record instanceof ODocument)
+          ODocumentInternal.autoConvertValueToClass(database, (ODocument) record);
+        database.save(record, request.getClusterName());
+      }
+      database.commit();
+    } catch (RuntimeException e) {
+      if (database.getTransaction().isActive())
+        database.rollback();
+      throw e;
+    }
+
+    List<ORecordId> identities = new ArrayList<>(request.getRecords().size());
+    List<Integer> versions = new ArrayList<>(request.getRecords().size());
+    for (ORecord record : request.getRecords()) {
+      identities.add((ORecordId) record.getIdentity());
+      versions.add(record.getVersion());
+    }
+    return new OBulkInsertResponse(identities, versions);
+  }
+
+  @Override
+  public OBinaryResponse executeConsistencyToken(OConsistencyTokenRequest request) {
+    final ODatabaseDocumentInternal database = connection.getDatabase();
+    final boolean applied = request.getToken() == null || database
+        .waitForConsistencyToken(request.getToken(), request.getTimeout());
+    return new OConsistencyTokenResponse(applied, database.getConsistencyToken());
+  }
+
   @Override
   public OBinaryResponse executeCommit(OCommitRequest request) {
     final OTransactionOptimisticProxy tx = new OTransactionOptimisticProxy(connection.getDatabase(), request.getTxId(),
@@ -1356,6 +1394,14 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
     return new OSubscribeSequencesResponse();
   }
 
+  @Override
+  public OBinaryResponse executeSubscribeRecordInvalidation(OSubscribeRecordInvalidationRequest request) {
+    OPushManager manager = server.getPushManager();
+    boolean subscribed = manager
+        .subscribeRecordInvalidation(connection.getDatabase(), (ONetworkProtocolBinary) connection.getProtocol());
+    return new OSubscribeRecordInvalidationResponse(subscribed);
+  }
+
   @Override
   public OBinaryResponse executeUnsubscribeLiveQuery(OUnsubscribeLiveQueryRequest request) {
     ODatabaseDocumentInternal database = connection.getDatabase();
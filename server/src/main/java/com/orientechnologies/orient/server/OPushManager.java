@@ -5,9 +5,13 @@ import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.config.OStorageConfiguration;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.OMetadataUpdateListener;
+import com.orientechnologies.orient.core.db.record.ORecordOperation;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.index.OIndexManager;
 import com.orientechnologies.orient.core.index.OIndexManagerShared;
 import com.orientechnologies.orient.core.metadata.schema.OSchemaShared;
+import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
+import com.orientechnologies.orient.core.query.live.OLiveQueryListenerV2;
 import com.orientechnologies.orient.server.network.protocol.binary.ONetworkProtocolBinary;
 
 import java.io.IOException;
@@ -22,6 +26,10 @@ public class OPushManager implements OMetadataUpdateListener {
   protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> indexManager          = new HashMap<>();
   protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> functions             = new HashMap<>();
   protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> sequences             = new HashMap<>();
+  protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> records               = new HashMap<>();
+  // ONE LISTENER OF THE RECORD CHANGES PER DATABASE WITH SUBSCRIBERS OF THE RECORD INVALIDATION
+  private final   Map<String, ORecordInvalidationListener>                recordListeners       = new HashMap<>();
+  private final   Random                                                  random                = new Random();
   private         Set<String>                                             registerDatabase      = new HashSet<>();
 
   public synchronized void pushDistributedConfig(String database, List<String> hosts) {
@@ -59,6 +67,8 @@ public class OPushManager implements OMetadataUpdateListener {
     cleanListeners(indexManager);
     cleanListeners(functions);
     cleanListeners(sequences);
+    cleanListeners(records);
+    unsubscribeUnusedRecordListeners();
   }
 
   private void cleanListeners(Map<String, Set<WeakReference<ONetworkProtocolBinary>>> toClean) {
@@ -110,6 +120,61 @@ public class OPushManager implements OMetadataUpdateListener {
     genericSubscribe(sequences, database, protocol);
   }
 
+  /**
+   * Subscribes the protocol to the ids of the records updated or deleted in the database, pushed in batches after the commit of
+   * the changes. The changes are collected by the live query support, so it has to be enabled.
+   *
+   * @return false if the changes of the database cannot be collected, so the protocol is not subscribed
+   */
+  public synchronized boolean subscribeRecordInvalidation(ODatabaseDocumentInternal database, ONetworkProtocolBinary protocol) {
+    if (!recordListeners.containsKey(database.getName())) {
+      ORecordInvalidationListener listener = new ORecordInvalidationListener(database.getName(), random.nextInt(),
+          OLiveQueryHookV2.getOpsReference(database));
+      if (OLiveQueryHookV2.subscribe(listener.getToken(), listener, database) == -1)
+        return false;
+      recordListeners.put(database.getName(), listener);
+    }
+    genericSubscribe(records, database, protocol);
+    return true;
+  }
+
+  /**
+   * Removes all the subscriptions of a protocol, called when its connection is closed.
+   */
+  public synchronized void unsubscribe(ONetworkProtocolBinary protocol) {
+    removeProtocol(distributedConfigPush, protocol);
+    for (Map<String, Set<WeakReference<ONetworkProtocolBinary>>> context : Arrays
+        .asList(storageConfigurations, schema, indexManager, functions, sequences, records)) {
+      for (Set<WeakReference<ONetworkProtocolBinary>> value : context.values())
+        removeProtocol(value, protocol);
+    }
+    unsubscribeUnusedRecordListeners();
+  }
+
+  private static void removeProtocol(Set<WeakReference<ONetworkProtocolBinary>> pushSockets, ONetworkProtocolBinary protocol) {
+    Iterator<WeakReference<ONetworkProtocolBinary>> iter = pushSockets.iterator();
+    while (iter.hasNext()) {
+      ONetworkProtocolBinary subscribed = iter.next().get();
+      if (subscribed == null || subscribed == protocol)
+        iter.remove();
+    }
+  }
+
+  /**
+   * Stops collecting the changes of the databases without subscribers of the record invalidation left.
+   */
+  private void unsubscribeUnusedRecordListeners() {
+    Iterator<ORecordInvalidationListener> iter = recordListeners.values().iterator();
+    while (iter.hasNext()) {
+      ORecordInvalidationListener listener = iter.next();
+      Set<WeakReference<ONetworkProtocolBinary>> subscribers = records.get(listener.database);
+      if (subscribers == null || subscribers.isEmpty()) {
+        iter.remove();
+        listener.ops.getQueueThread().unsubscribe(listener.token);
+      }
+    }
+  }
+
   @Override
   public void onSchemaUpdate(String database, OSchemaShared schema) {
     OPushSchemaRequest request = new OPushSchemaRequest(schema.toStream());
@@ -142,27 +207,85 @@ public class OPushManager implements OMetadataUpdateListener {
 
   private void genericNotify(Map<String, Set<WeakReference<ONetworkProtocolBinary>>> context, String database,
       OBinaryPushRequest<?> request) {
-    Orient.instance().submit(() -> {
-      synchronized (OPushManager.this) {
-        Set<WeakReference<ONetworkProtocolBinary>> clients = context.get(database);
-        if (clients != null) {
-          Iterator<WeakReference<ONetworkProtocolBinary>> iter = clients.iterator();
-          while (iter.hasNext()) {
-            WeakReference<ONetworkProtocolBinary> ref = iter.next();
-            ONetworkProtocolBinary protocolBinary = ref.get();
-            if (protocolBinary != null) {
-              try {
-                OBinaryPushResponse response = protocolBinary.push(request);
-              } catch (IOException e) {
-                iter.remove();
-              }
-            } else {
-              iter.remove();
-            }
+    Orient.instance().submit(() -> push(context, database, request));
+  }
+
+  private synchronized void push(Map<String, Set<WeakReference<ONetworkProtocolBinary>>> context, String database,
+      OBinaryPushRequest<?> request) {
+    Set<WeakReference<ONetworkProtocolBinary>> clients = context.get(database);
+    if (clients != null) {
+      Iterator<WeakReference<ONetworkProtocolBinary>> iter = clients.iterator();
+      while (iter.hasNext()) {
+        WeakReference<ONetworkProtocolBinary> ref = iter.next();
+        ONetworkProtocolBinary protocolBinary = ref.get();
+        if (protocolBinary != null) {
+          try {
+            OBinaryPushResponse response = protocolBinary.push(request);
+          } catch (IOException e) {
+            iter.remove();
           }
+        } else {
+          iter.remove();
         }
       }
-    });
+      if (context == records && clients.isEmpty())
+        unsubscribeUnusedRecordListeners();
+    }
+  }
+
+  /**
+   * Collects the ids of the changed records while a batch is being pushed, so a burst of changes is pushed with few messages.
+   */
+  private final class ORecordInvalidationListener implements OLiveQueryListenerV2 {
+    private final String                         database;
+    private final int                            token;
+    private final OLiveQueryHookV2.OLiveQueryOps ops;
+    private       Set<ORID>                      pending = new HashSet<>();
+    private       boolean                        scheduled;
+
+    private ORecordInvalidationListener(String database, int token, OLiveQueryHookV2.OLiveQueryOps ops) {
+      this.database = database;
+      this.token = token;
+      this.ops = ops;
+    }
+
+    @Override
+    public void onLiveResult(OLiveQueryHookV2.OLiveQueryOp op) {
+      if (op.type == ORecordOperation.CREATED || op.before == null)
+        return;
+      final ORID rid = op.before.getProperty("@rid");
+      if (rid == null)
+        return;
+      synchronized (this) {
+        pending.add(rid.copy());
+        if (scheduled)
+          return;
+        scheduled = true;
+      }
+      Orient.instance().submit(this::flush);
+    }
+
+    private void flush() {
+      final Set<ORID> rids;
+      synchronized (this) {
+        rids = pending;
+        pending = new HashSet<>();
+        scheduled = false;
+      }
+      push(records, database, new OPushRecordInvalidationRequest(rids));
+    }
+
+    @Override
+    public void onLiveResultEnd() {
+      synchronized (OPushManager.this) {
+        recordListeners.remove(database, this);
+      }
+    }
+
+    @Override
+    public int getToken() {
+      return token;
+    }
   }
 
 }
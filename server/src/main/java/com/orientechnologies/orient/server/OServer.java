@@ -345,12 +345,13 @@ public class OServer {
     if (shutdownLatch == null)
       shutdownLatch = new CountDownLatch(1);
 
+    // THE CONNECTION MANAGER READS THE CONTEXT CONFIGURATION
+    initFromConfiguration();
+
     clientConnectionManager = new OClientConnectionManager(this);
     pushManager = new OPushManager();
     rejectRequests = false;
 
-    initFromConfiguration();
-
     if (contextConfiguration.getValueAsBoolean(OGlobalConfiguration.ENVIRONMENT_DUMP_CFG_AT_STARTUP)) {
       System.out.println("Dumping environment after server startup...");
       OGlobalConfiguration.dumpConfiguration(System.out);
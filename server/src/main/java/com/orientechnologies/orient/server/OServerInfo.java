@@ -102,6 +102,9 @@ public class OServerInfo {
       writeField(json, 2, "lastCommandDetail", stats.lastCommandDetail);
       writeField(json, 2, "lastExecutionTime", stats.lastCommandExecutionTime);
       writeField(json, 2, "totalWorkingTime", stats.totalCommandExecutionTime);
+      writeField(json, 2, "lastQueueTime", stats.lastRequestQueueTime);
+      writeField(json, 2, "totalQueueTime", stats.totalRequestQueueTime);
+      writeField(json, 2, "totalQueuedRequests", stats.totalQueuedRequests);
       writeField(json, 2, "connectedOn", connectedOn);
       writeField(json, 2, "protocol", c.getProtocol().getType());
       writeField(json, 2, "sessionId", data.sessionId);
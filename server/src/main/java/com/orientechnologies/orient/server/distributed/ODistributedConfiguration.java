@@ -24,6 +24,7 @@ import com.orientechnologies.orient.core.exception.OConfigurationException;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Immutable Distributed configuration. It uses an ODocument object to store the configuration. Every changes must be done by
@@ -58,9 +59,14 @@ public class ODistributedConfiguration {
   protected final ODocument configuration;
   protected static final List<String>         DEFAULT_CLUSTER_NAME = Collections.singletonList(ALL_WILDCARD);
   private static         ThreadLocal<Integer> overwriteWriteQuorum = new ThreadLocal<Integer>();
+  // ROLES ALREADY RESOLVED: THE CONFIGURATION IS IMMUTABLE SO THEY NEVER CHANGE
+  private final          Map<String, ROLES>   serverRoles          = new ConcurrentHashMap<String, ROLES>();
 
+  /**
+   * A REPLICA executes the changes sent by the masters, a WAL_REPLICA receives the write ahead log of a master and applies it.
+   */
   public enum ROLES {
-    MASTER, REPLICA
+    MASTER, REPLICA, WAL_REPLICA
   }
 
   public enum NEW_NODE_STRATEGIES {
@@ -533,7 +539,15 @@ public class ODistributedConfiguration {
    * Returns the server role between MASTER (default) and REPLICA.
    */
   public ROLES getServerRole(final String iServerName) {
+    ROLES role = serverRoles.get(iServerName);
+    if (role == null) {
+      role = readServerRole(iServerName);
+      serverRoles.put(iServerName, role);
+    }
+    return role;
+  }
 
+  protected ROLES readServerRole(final String iServerName) {
     final ODocument servers = configuration.field(SERVERS);
     if (servers == null)
       // DEFAULT: MASTER
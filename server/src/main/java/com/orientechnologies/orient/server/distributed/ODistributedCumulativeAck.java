@@ -0,0 +1,131 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed;
+
+import com.orientechnologies.orient.core.serialization.OStreamableHelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Same response sent by a server to many requests of the same sender, like the "OK" of the second phase of the transactions. It is
+ * written once with the ids of all the requests it answers.
+ */
+public class ODistributedCumulativeAck {
+  private String                      executorNodeName;
+  private String                      senderNodeName;
+  private Object                      payload;
+  private List<ODistributedRequestId> requestIds;
+
+  /**
+   * Constructor used by serializer.
+   */
+  public ODistributedCumulativeAck() {
+  }
+
+  public ODistributedCumulativeAck(final ODistributedResponse first) {
+    this.executorNodeName = first.getExecutorNodeName();
+    this.senderNodeName = first.getSenderNodeName();
+    this.payload = first.getPayload();
+    this.requestIds = new ArrayList<ODistributedRequestId>();
+    this.requestIds.add(first.getRequestId());
+  }
+
+  /**
+   * Returns true if the response has a payload small and immutable enough to be shared between requests.
+   */
+  public static boolean isCumulable(final ODistributedResponse response) {
+    final Object payload = response.getPayload();
+    return payload == null || payload instanceof String || payload instanceof Boolean;
+  }
+
+  /**
+   * Adds the response if it is the same of this ack.
+   *
+   * @return true if the response has been added, otherwise false
+   */
+  public boolean add(final ODistributedResponse response) {
+    if (!executorNodeName.equals(response.getExecutorNodeName()) || !senderNodeName.equals(response.getSenderNodeName()))
+      return false;
+
+    final Object responsePayload = response.getPayload();
+    if (payload == null ? responsePayload != null : !payload.equals(responsePayload))
+      return false;
+
+    requestIds.add(response.getRequestId());
+    return true;
+  }
+
+  /**
+   * Returns one response per request.
+   */
+  public List<ODistributedResponse> getResponses() {
+    final List<ODistributedResponse> responses = new ArrayList<ODistributedResponse>(requestIds.size());
+    for (ODistributedRequestId requestId : requestIds)
+      responses.add(new ODistributedResponse(null, requestId, executorNodeName, senderNodeName, payload));
+    return responses;
+  }
+
+  public List<ODistributedRequestId> getRequestIds() {
+    return requestIds;
+  }
+
+  public String getExecutorNodeName() {
+    return executorNodeName;
+  }
+
+  public String getSenderNodeName() {
+    return senderNodeName;
+  }
+
+  public Object getPayload() {
+    return payload;
+  }
+
+  public void toStream(final DataOutput out) throws IOException {
+    out.writeUTF(executorNodeName);
+    out.writeUTF(senderNodeName);
+    OStreamableHelper.toStream(out, payload);
+    out.writeInt(requestIds.size());
+    for (ODistributedRequestId requestId : requestIds)
+      requestId.toStream(out);
+  }
+
+  public void fromStream(final DataInput in) throws IOException {
+    executorNodeName = in.readUTF();
+    senderNodeName = in.readUTF();
+    payload = OStreamableHelper.fromStream(in);
+    final int size = in.readInt();
+    requestIds = new ArrayList<ODistributedRequestId>(size);
+    for (int i = 0; i < size; ++i) {
+      final ODistributedRequestId requestId = new ODistributedRequestId();
+      requestId.fromStream(in);
+      requestIds.add(requestId);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return payload + " x" + requestIds.size() + " " + requestIds;
+  }
+}
@@ -137,5 +137,14 @@ public interface ODistributedDatabase {
 
   void setLSN(String sourceNodeName, OLogSequenceNumber taskLastLSN, boolean writeLastOperation) throws IOException;
 
+  /**
+   * Waits until the last operations of the servers of a momentum are applied on the local server.
+   *
+   * @param timeout maximum time to wait in ms
+   *
+   * @return true if the operations are applied, false if the timeout is expired
+   */
+  boolean waitForMomentum(ODistributedMomentum momentum, long timeout) throws InterruptedException;
+
   ODistributedDatabaseRepairer getDatabaseRepairer();
 }
\ No newline at end of file
@@ -37,6 +37,8 @@ public interface ODistributedMessageService {
 
   void dispatchResponseToThread(final ODistributedResponse response);
 
+  void dispatchAckToThreads(final ODistributedCumulativeAck ack);
+
   void updateLatency(String metricName, long sentOn);
 
   ODocument getLatencies();
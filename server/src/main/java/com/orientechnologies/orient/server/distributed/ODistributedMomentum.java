@@ -68,6 +68,18 @@ public class ODistributedMomentum implements OStreamable {
     }
   }
 
+  /**
+   * Keeps, for every server, the highest LSN between the current one and the one of another momentum.
+   */
+  public void merge(final ODistributedMomentum other) {
+    for (String server : other.getServers()) {
+      final OLogSequenceNumber lsn = other.getLSN(server);
+      final OLogSequenceNumber current = getLSN(server);
+      if (lsn != null && (current == null || current.compareTo(lsn) < 0))
+        setLSN(server, lsn);
+    }
+  }
+
   public long getLastOperationTimestamp() {
     synchronized (configuration) {
       final Long ts = configuration.field("lastOperationTimeStamp");
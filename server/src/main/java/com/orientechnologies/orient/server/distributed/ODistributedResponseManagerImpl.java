@@ -201,8 +201,10 @@ public class ODistributedResponseManagerImpl implements ODistributedResponseMana
 
     if (completed || isMinimumQuorumReached(false)) {
       // NOTIFY TO THE WAITER THE RESPONSE IS COMPLETE NOW
-      ODistributedServerLog.debug(this, dManager.getLocalNodeName(), null, DIRECTION.NONE,
-          "Sending signal of synchronous request completed (reqId=%s thread=%d)", request.getId(), Thread.currentThread().getId());
+      if (ODistributedServerLog.isDebugEnabled())
+        ODistributedServerLog.debug(this, dManager.getLocalNodeName(), null, DIRECTION.NONE,
+            "Sending signal of synchronous request completed (reqId=%s thread=%d)", request.getId(),
+            Thread.currentThread().getId());
 
       synchronousResponsesArrived.countDown();
     }
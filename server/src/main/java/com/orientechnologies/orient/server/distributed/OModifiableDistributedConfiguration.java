@@ -43,6 +43,12 @@ public class OModifiableDistributedConfiguration extends ODistributedConfigurati
     return this;
   }
 
+  @Override
+  public ROLES getServerRole(final String iServerName) {
+    // THE ROLES CAN CHANGE: NEVER CACHE THEM
+    return readServerRole(iServerName);
+  }
+
   /**
    * Sets the server role between MASTER (default) and REPLICA.
    */
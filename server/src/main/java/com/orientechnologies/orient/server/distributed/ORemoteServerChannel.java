@@ -32,17 +32,27 @@ import com.orientechnologies.orient.client.remote.message.ODistributedConnectReq
 import com.orientechnologies.orient.client.remote.message.ODistributedConnectResponse;
 import com.orientechnologies.orient.core.OConstants;
 import com.orientechnologies.orient.core.config.OContextConfiguration;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
 import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Remote server channel.
+ * Remote server channel. The requests and the responses are queued and written by the first thread that gets the channel, together
+ * with the messages queued by the other threads in the meantime: they are sent in a single {@link
+ * OChannelBinaryProtocol#DISTRIBUTED_BATCH} frame when the other server supports it, then flushed once. The senders of requests
+ * wait for their frame to be sent, the senders of responses do not wait. In a frame the responses with the same payload, like the
+ * acks of the second phase of the transactions, are written once as a {@link ODistributedCumulativeAck}.
  *
  * @author Luca Garulli
  */
@@ -67,6 +77,44 @@ public class ORemoteServerChannel {
 
   private volatile     int totalConsecutiveErrors = 0;
   private final static int MAX_CONSECUTIVE_ERRORS = 10;
+  public final static  int BATCH_PROTOCOL_VERSION = 2;
+  public final static  int ACK_PROTOCOL_VERSION   = 3;
+
+  private final Queue<OPendingMessage> pending   = new ConcurrentLinkedQueue<OPendingMessage>();
+  private final ReentrantLock          writeLock = new ReentrantLock();
+  private final int                    batchSize;
+
+  private static final class OPendingMessage {
+    private final byte                      type;
+    private final ODistributedRequest       request;
+    private final ODistributedResponse      response;
+    private final ODistributedCumulativeAck ack;
+    private volatile boolean                sent;
+    private volatile RuntimeException       error;
+
+    private OPendingMessage(final ODistributedRequest request, final ODistributedResponse response) {
+      this.type = request != null ? OChannelBinaryProtocol.DISTRIBUTED_REQUEST : OChannelBinaryProtocol.DISTRIBUTED_RESPONSE;
+      this.request = request;
+      this.response = response;
+      this.ack = null;
+    }
+
+    private OPendingMessage(final ODistributedCumulativeAck ack) {
+      this.type = OChannelBinaryProtocol.DISTRIBUTED_ACKS;
+      this.request = null;
+      this.response = null;
+      this.ack = ack;
+    }
+
+    private void toStream(final OChannelBinarySynchClient channel) throws IOException {
+      if (request != null)
+        request.toStream(channel.getDataOutput());
+      else if (response != null)
+        response.toStream(channel.getDataOutput());
+      else
+        ack.toStream(channel.getDataOutput());
+    }
+  }
 
   public ORemoteServerChannel(final ODistributedServerManager manager, final String iServer, final String iURL, final String user,
       final String passwd, final int currentProtocolVersion) throws IOException {
@@ -81,6 +129,7 @@ public class ORemoteServerChannel {
     remotePort = Integer.parseInt(iURL.substring(sepPos + 1));
 
     protocolVersion = currentProtocolVersion;
+    batchSize = Math.max(1, OGlobalConfiguration.DISTRIBUTED_CHANNEL_BATCH_SIZE.getValueAsInteger());
 
     connect();
   }
@@ -93,28 +142,131 @@ public class ORemoteServerChannel {
     T execute() throws IOException;
   }
 
+  /**
+   * Sends a request, waiting for the frame that contains it to be written.
+   */
   public void sendRequest(final ODistributedRequest request) {
-    networkOperation(OChannelBinaryProtocol.DISTRIBUTED_REQUEST, new OStorageRemoteOperation<Object>() {
-      @Override
-      public Object execute() throws IOException {
-        request.toStream(channel.getDataOutput());
-        channel.flush();
-        return null;
-      }
-    }, "Cannot send distributed request", MAX_RETRY, true);
+    final OPendingMessage message = new OPendingMessage(request, null);
+    pending.add(message);
+
+    writeLock.lock();
+    try {
+      // THE REQUEST COULD HAVE BEEN SENT BY THE PREVIOUS OWNER OF THE CHANNEL
+      while (!message.sent)
+        writePending();
+    } finally {
+      writeLock.unlock();
+    }
+    writeLeftPending();
 
+    if (message.error != null)
+      throw message.error;
   }
 
+  /**
+   * Queues a response, it is sent by the current thread only if no other thread is writing on the channel.
+   */
   public void sendResponse(final ODistributedResponse response) {
-    networkOperation(OChannelBinaryProtocol.DISTRIBUTED_RESPONSE, new OStorageRemoteOperation<Object>() {
-      @Override
-      public Object execute() throws IOException {
-        response.toStream(channel.getDataOutput());
-        channel.flush();
-        return null;
+    pending.add(new OPendingMessage(null, response));
+    writeLeftPending();
+  }
+
+  /**
+   * Writes the messages queued while the owner of the channel was releasing it.
+   */
+  private void writeLeftPending() {
+    while (!pending.isEmpty() && writeLock.tryLock()) {
+      try {
+        writePending();
+      } finally {
+        writeLock.unlock();
+      }
+    }
+  }
+
+  private void writePending() {
+    final List<OPendingMessage> batch = new ArrayList<OPendingMessage>();
+    OPendingMessage message;
+    while (batch.size() < batchSize && (message = pending.poll()) != null)
+      batch.add(message);
+    if (batch.isEmpty())
+      return;
+
+    try {
+      if (batch.size() > 1 && protocolVersion >= BATCH_PROTOCOL_VERSION) {
+        final List<OPendingMessage> frame = protocolVersion >= ACK_PROTOCOL_VERSION ? coalesceResponses(batch) : batch;
+
+        networkOperation(OChannelBinaryProtocol.DISTRIBUTED_BATCH, new OStorageRemoteOperation<Object>() {
+          @Override
+          public Object execute() throws IOException {
+            channel.writeInt(frame.size());
+            for (OPendingMessage m : frame) {
+              channel.writeByte(m.type);
+              m.toStream(channel);
+            }
+            channel.flush();
+            return null;
+          }
+        }, "Cannot send " + batch.size() + " distributed messages", MAX_RETRY, true);
+      } else
+        networkOperation(batch.get(0).type, new OStorageRemoteOperation<Object>() {
+          @Override
+          public Object execute() throws IOException {
+            // OLD SERVERS: ONE MESSAGE PER REQUEST, FLUSHED ONCE
+            for (int i = 0; i < batch.size(); ++i) {
+              final OPendingMessage m = batch.get(i);
+              if (i > 0)
+                channel.beginRequest(m.type, sessionId, sessionToken);
+              m.toStream(channel);
+            }
+            channel.flush();
+            return null;
+          }
+        }, batch.size() == 1 && batch.get(0).response != null ?
+            "Cannot send response back to the sender node '" + batch.get(0).response.getSenderNodeName() + "'" :
+            "Cannot send distributed request", MAX_RETRY, true);
+    } catch (RuntimeException e) {
+      for (OPendingMessage m : batch) {
+        m.error = e;
+        if (m.response != null)
+          ODistributedServerLog.debug(this, manager.getLocalNodeName(), server, ODistributedServerLog.DIRECTION.OUT,
+              "Error on sending response '%s' back (err=%s)", m.response, e.toString());
       }
-    }, "Cannot send response back to the sender node '" + response.getSenderNodeName() + "'", MAX_RETRY, true);
+    } finally {
+      for (OPendingMessage m : batch)
+        m.sent = true;
+    }
+  }
+
+  /**
+   * Replaces the responses that have the same payload for the same sender with a cumulative ack, written in place of the first of
+   * them. The other messages keep their order.
+   */
+  private static List<OPendingMessage> coalesceResponses(final List<OPendingMessage> batch) {
+    final List<OPendingMessage> frame = new ArrayList<OPendingMessage>(batch.size());
+    final List<ODistributedCumulativeAck> acks = new ArrayList<ODistributedCumulativeAck>();
+
+    for (OPendingMessage m : batch) {
+      if (m.response == null || !ODistributedCumulativeAck.isCumulable(m.response)) {
+        frame.add(m);
+        continue;
+      }
+
+      boolean added = false;
+      for (ODistributedCumulativeAck ack : acks)
+        if (ack.add(m.response)) {
+          added = true;
+          break;
+        }
+
+      if (!added) {
+        final ODistributedCumulativeAck ack = new ODistributedCumulativeAck(m.response);
+        acks.add(ack);
+        frame.add(new OPendingMessage(ack));
+      }
+    }
 
+    return frame;
   }
 
   public void connect() throws IOException {
@@ -30,13 +30,12 @@ import java.io.IOException;
  */
 public class ORemoteServerController {
   private final ORemoteServerChannel[] requestChannels;
-  private volatile int requestChannelIndex = 0;
 
   private final ORemoteServerChannel[] responseChannels;
   private volatile int responseChannelIndex = 0;
 
   private             int protocolVersion          = -1;
-  public final static int CURRENT_PROTOCOL_VERSION = 1;
+  public final static int CURRENT_PROTOCOL_VERSION = ORemoteServerChannel.ACK_PROTOCOL_VERSION;
 
   public ORemoteServerController(final ODistributedServerManager manager, final String iServer, final String iURL,
       final String user, final String passwd) throws IOException {
@@ -59,11 +58,17 @@ public class ORemoteServerController {
       responseChannels[i] = new ORemoteServerChannel(manager, iServer, iURL, user, passwd, CURRENT_PROTOCOL_VERSION);
   }
 
+  /**
+   * Sends the request on the channel of its partition, so the requests of the same partition are received in the same order they
+   * are sent. The requests that involve more partitions use the first channel. The order between different channels is not
+   * guaranteed, so the total order of the requests is kept only with one channel (the default).
+   */
   public void sendRequest(final ODistributedRequest req) {
-    int idx = requestChannelIndex++;
-    if (idx < 0)
-      idx = 0;
-    requestChannels[idx % responseChannels.length].sendRequest(req);
+    int idx = 0;
+    final int[] partitionKeys = req.getTask() != null ? req.getTask().getPartitionKey() : null;
+    if (partitionKeys != null && partitionKeys.length == 1 && partitionKeys[0] >= 0)
+      idx = partitionKeys[0];
+    requestChannels[idx % requestChannels.length].sendRequest(req);
   }
 
   public void sendResponse(final ODistributedResponse response) {
@@ -29,6 +29,7 @@ import com.orientechnologies.orient.server.distributed.ORemoteTaskFactory;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * Remote Task interface.
@@ -51,6 +52,18 @@ public interface ORemoteTask {
 
   int[] getPartitionKey();
 
+  /**
+   * Returns the keys of the resources the task works on, used to execute in parallel the tasks that do not conflict. The tasks that
+   * share at least one key are executed in the order they are received.
+   *
+   * @param requestId the id of the request that carries the task
+   *
+   * @return the conflict keys, or null to dispatch the task by {@link #getPartitionKey()}
+   */
+  default Collection<Object> getConflictKeys(final ODistributedRequestId requestId) {
+    return null;
+  }
+
   long getDistributedTimeout();
 
   long getSynchronousTimeout(final int iSynchNodes);
@@ -31,12 +31,16 @@ import com.orientechnologies.orient.server.OServer;
 import com.orientechnologies.orient.server.config.OServerCommandConfiguration;
 import com.orientechnologies.orient.server.config.OServerParameterConfiguration;
 import com.orientechnologies.orient.server.network.protocol.OBeforeDatabaseOpenNetworkEventListener;
+import com.orientechnologies.orient.server.network.protocol.ONetworkEventLoop;
 import com.orientechnologies.orient.server.network.protocol.ONetworkProtocol;
+import com.orientechnologies.orient.server.network.protocol.binary.ONetworkProtocolBinary;
+import com.orientechnologies.orient.server.network.protocol.http.ONetworkProtocolHttpAbstract;
 import com.orientechnologies.orient.server.network.protocol.http.command.OServerCommand;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.net.*;
+import java.nio.channels.ServerSocketChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -53,6 +57,7 @@ public class OServerNetworkListener extends Thread {
   private OServer                                       server;
   private int                                           protocolVersion = -1;
   private List<OBeforeDatabaseOpenNetworkEventListener> beforeDatabaseOpenNetworkEventListener = new ArrayList<OBeforeDatabaseOpenNetworkEventListener>();
+  private ONetworkEventLoop                             eventLoop;
 
   public OServerNetworkListener(final OServer iServer, final OServerSocketFactory iSocketFactory, final String iHostName,
       final String iHostPortRange, final String iProtocolName, final Class<? extends ONetworkProtocol> iProtocol,
@@ -73,10 +78,35 @@ public class OServerNetworkListener extends Thread {
       throw OException.wrapException(new ONetworkProtocolException(message), e);
     }
 
-    listen(iHostName, iHostPortRange, iProtocolName, iProtocol);
+    readParameters(iServer.getContextConfiguration(), iParameters);
+
+    final boolean useEventLoop;
+    final int workers;
+    if (ONetworkProtocolBinary.class.isAssignableFrom(iProtocol)) {
+      useEventLoop = configuration.getValueAsBoolean(OGlobalConfiguration.NETWORK_BINARY_EVENT_LOOP);
+      workers = configuration.getValueAsInteger(OGlobalConfiguration.NETWORK_BINARY_WORKERS);
+    } else if (ONetworkProtocolHttpAbstract.class.isAssignableFrom(iProtocol)) {
+      useEventLoop = configuration.getValueAsBoolean(OGlobalConfiguration.NETWORK_HTTP_EVENT_LOOP);
+      workers = configuration.getValueAsInteger(OGlobalConfiguration.NETWORK_HTTP_WORKERS);
+    } else {
+      useEventLoop = false;
+      workers = 0;
+    }
+    listen(iHostName, iHostPortRange, iProtocolName, iProtocol, useEventLoop);
     protocolType = iProtocol;
 
-    readParameters(iServer.getContextConfiguration(), iParameters);
+    if (useEventLoop) {
+      if (serverSocket.getChannel() != null) {
+        try {
+          eventLoop = new ONetworkEventLoop(iServer.getThreadGroup(), getName(), workers);
+          eventLoop.start();
+        } catch (IOException e) {
+          OLogManager.instance().error(this, "Cannot start the event loop, using a thread per connection", e);
+        }
+      } else
+        OLogManager.instance().warn(this, "The event loop is not supported by the socket factory '%s', using a thread per connection",
+            socketFactory.getName());
+    }
 
     if (iCommands != null) {
       for (int i = 0; i < iCommands.length; ++i) {
@@ -167,6 +197,9 @@ public class OServerNetworkListener extends Thread {
   public void shutdown() {
     this.active = false;
 
+    if (eventLoop != null)
+      eventLoop.shutdown();
+
     if (serverSocket != null)
       try {
         serverSocket.close();
@@ -174,6 +207,13 @@ public class OServerNetworkListener extends Thread {
       }
   }
 
+  /**
+   * @return the event loop that serves the connections of this listener, null if every connection is served by its own thread
+   */
+  public ONetworkEventLoop getEventLoop() {
+    return eventLoop;
+  }
+
   public boolean isActive() {
     return active;
   }
@@ -327,12 +367,16 @@ public class OServerNetworkListener extends Thread {
    * @param iHostName
    */
   private void listen(final String iHostName, final String iHostPortRange, final String iProtocolName,
-      Class<? extends ONetworkProtocol> protocolClass) {
+      Class<? extends ONetworkProtocol> protocolClass, final boolean iNonBlocking) {
 
     for (int port : getPorts(iHostPortRange)) {
       inboundAddr = new InetSocketAddress(iHostName, port);
       try {
-        serverSocket = socketFactory.createServerSocket(port, 0, InetAddress.getByName(iHostName));
+        if (iNonBlocking && socketFactory == OServerSocketFactory.getDefault())
+          // THE SOCKETS ACCEPTED BY A CHANNEL CAN BE REGISTERED IN A SELECTOR
+          serverSocket = createChannelServerSocket(port, InetAddress.getByName(iHostName));
+        else
+          serverSocket = socketFactory.createServerSocket(port, 0, InetAddress.getByName(iHostName));
 
         if (serverSocket.isBound()) {
           OLogManager.instance().info(this,
@@ -359,6 +403,17 @@ public class OServerNetworkListener extends Thread {
     throw new OSystemException("Unable to listen for connections using the configured ports '%s' on host '%s'");
   }
 
+  private static ServerSocket createChannelServerSocket(final int port, final InetAddress address) throws IOException {
+    final ServerSocketChannel channel = ServerSocketChannel.open();
+    try {
+      channel.socket().bind(new InetSocketAddress(address, port), 0);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return channel.socket();
+  }
+
   /**
    * Initializes connection parameters by the reading XML configuration. If not specified, get the parameters defined as global
    * configuration.
@@ -0,0 +1,215 @@
+package com.orientechnologies.orient.server.network.protocol;
+
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.thread.OThreadPoolExecutorWithLogging;
+import com.orientechnologies.common.util.OUncaughtExceptionHandler;
+import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the connections of a listener with a single selector thread and a pool of workers, instead of a thread per connection.
+ * <p>
+ * Idle connections are only registered in the selector. When some data arrives on a connection its key is disabled and the
+ * connection is handed to a worker, that reads and executes the requests with the usual code of the protocol (so the wire format
+ * does not change) until there is no more data to read, then the connection goes back to the selector. A connection is served by
+ * at most one worker at a time, so the requests of a client, also the ones pipelined by HTTP clients, are executed and answered
+ * in order.
+ */
+public class ONetworkEventLoop extends Thread {
+
+  /**
+   * how often (in ms) the connections are checked for a shutdown requested by the server
+   */
+  private static final int SWEEP_INTERVAL = 1000;
+
+  private final Selector                selector;
+  private final ExecutorService         workers;
+  private final Queue<ONetworkProtocol> toRegister = new ConcurrentLinkedQueue<ONetworkProtocol>();
+  private volatile boolean              active     = true;
+
+  /**
+   * @param threadGroup the thread group of the selector thread and of the workers
+   * @param name        the name of the listener
+   * @param workers     the number of worker threads, 0 or less to use a virtual thread for every connection that has data to read
+   *                    (if the JVM supports them)
+   */
+  public ONetworkEventLoop(final ThreadGroup threadGroup, final String name, final int workers) throws IOException {
+    super(threadGroup, name + " event loop");
+    setDaemon(true);
+    setUncaughtExceptionHandler(new OUncaughtExceptionHandler());
+    this.selector = Selector.open();
+    this.workers = createWorkers(threadGroup, name, workers);
+  }
+
+  private static ExecutorService createWorkers(final ThreadGroup threadGroup, final String name, final int size) {
+    if (size <= 0) {
+      try {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException ignore) {
+        OLogManager.instance().warn(ONetworkEventLoop.class, "Virtual threads are not supported by the JVM, using %d worker threads",
+            Runtime.getRuntime().availableProcessors() * 8);
+        return createWorkers(threadGroup, name, Runtime.getRuntime().availableProcessors() * 8);
+      }
+    }
+    return new OThreadPoolExecutorWithLogging(size, size, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+        new WorkerThreadFactory(threadGroup, name));
+  }
+
+  /**
+   * starts serving a connection
+   *
+   * @param protocol the protocol of the connection, configured with the streams of {@link OSocketChannelStreams}
+   */
+  public void register(final ONetworkProtocol protocol) {
+    toRegister.add(protocol);
+    selector.wakeup();
+  }
+
+  public void shutdown() {
+    active = false;
+    selector.wakeup();
+  }
+
+  @Override
+  public void run() {
+    long lastSweep = System.currentTimeMillis();
+    try {
+      while (active) {
+        selector.select(SWEEP_INTERVAL);
+        registerPending();
+
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          final SelectionKey key = keys.next();
+          keys.remove();
+          try {
+            if (key.isValid() && key.isReadable()) {
+              key.interestOps(0);
+              workers.execute(() -> serve(key));
+            }
+          } catch (CancelledKeyException ignore) {
+            // CONNECTION CLOSED IN THE MEANTIME
+          }
+        }
+
+        if (System.currentTimeMillis() - lastSweep >= SWEEP_INTERVAL) {
+          closeShutdownConnections();
+          lastSweep = System.currentTimeMillis();
+        }
+      }
+    } catch (IOException e) {
+      OLogManager.instance().error(this, "Error on network event loop", e);
+    } finally {
+      for (SelectionKey key : selector.keys()) {
+        close(key);
+      }
+      try {
+        selector.close();
+      } catch (IOException e) {
+        OLogManager.instance().debug(this, "Error on closing the selector", e);
+      }
+      workers.shutdown();
+    }
+  }
+
+  private void registerPending() {
+    ONetworkProtocol protocol;
+    while ((protocol = toRegister.poll()) != null) {
+      SocketChannel channel = protocol.getChannel().socket.getChannel();
+      try {
+        channel.register(selector, SelectionKey.OP_READ, protocol);
+      } catch (ClosedChannelException ignore) {
+        protocol.shutdown();
+      }
+    }
+  }
+
+  /**
+   * executes the requests that are available on the connection, then gives the connection back to the selector
+   */
+  private void serve(final SelectionKey key) {
+    final ONetworkProtocol protocol = (ONetworkProtocol) key.attachment();
+    try {
+      do {
+        try {
+          protocol.executeRequest();
+        } catch (Exception e) {
+          if (protocol.isDumpExceptions())
+            OLogManager.instance().error(this, "Error during request execution", e);
+        }
+      } while (!protocol.isShutdownFlag() && protocol.getChannel().inStream != null
+          && protocol.getChannel().inStream.available() > 0);
+    } catch (IOException e) {
+      protocol.sendShutdown();
+    } finally {
+      ODatabaseRecordThreadLocal.instance().remove();
+    }
+
+    if (protocol.isShutdownFlag() || !active) {
+      close(key);
+      return;
+    }
+    try {
+      key.interestOps(SelectionKey.OP_READ);
+      selector.wakeup();
+    } catch (CancelledKeyException ignore) {
+      close(key);
+    }
+  }
+
+  /**
+   * closes the idle connections that received a shutdown from the server (eg. a kill of the connection)
+   */
+  private void closeShutdownConnections() {
+    for (SelectionKey key : selector.keys()) {
+      ONetworkProtocol protocol = (ONetworkProtocol) key.attachment();
+      try {
+        if (protocol.isShutdownFlag() && key.interestOps() != 0) {
+          close(key);
+        }
+      } catch (CancelledKeyException ignore) {
+        // ALREADY CLOSED
+      }
+    }
+  }
+
+  private void close(final SelectionKey key) {
+    key.cancel();
+    ((ONetworkProtocol) key.attachment()).shutdown();
+  }
+
+  private static class WorkerThreadFactory implements ThreadFactory {
+    private final ThreadGroup   threadGroup;
+    private final String        name;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private WorkerThreadFactory(final ThreadGroup threadGroup, final String name) {
+      this.threadGroup = threadGroup;
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(final Runnable r) {
+      Thread thread = new Thread(threadGroup, r);
+      thread.setDaemon(true);
+      thread.setName(name + " worker " + counter.incrementAndGet());
+      thread.setUncaughtExceptionHandler(new OUncaughtExceptionHandler());
+      return thread;
+    }
+  }
+}
@@ -59,4 +59,12 @@ public abstract class ONetworkProtocol extends OSoftThread {
   }
 
   public abstract OBinaryRequestExecutor executor(OClientConnection connection);
+
+  /**
+   * Reads and executes the next request of the connection, when the connection is served by a {@link ONetworkEventLoop} instead
+   * of the thread of the protocol.
+   */
+  public void executeRequest() throws Exception {
+    execute();
+  }
 }
@@ -0,0 +1,162 @@
+package com.orientechnologies.orient.server.network.protocol;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Blocking streams on top of a non blocking {@link SocketChannel}, used by the protocols when the connection is served by
+ * {@link ONetworkEventLoop}: the channel stays registered (and non blocking) in the selector of the event loop, while the request
+ * decoders and the response writers keep using the usual stream based API.
+ * <p>
+ * When the channel has no data to read (or no space to write), the current thread waits on a temporary selector.
+ */
+public class OSocketChannelStreams {
+
+  private OSocketChannelStreams() {
+  }
+
+  /**
+   * waits until the channel is ready for an operation
+   *
+   * @param timeout the timeout in ms, 0 to wait forever
+   *
+   * @return false if the timeout expired
+   */
+  private static boolean await(SocketChannel channel, int operation, int timeout) throws IOException {
+    try (Selector selector = Selector.open()) {
+      SelectionKey key = channel.register(selector, operation);
+      try {
+        return selector.select(timeout) > 0;
+      } finally {
+        key.cancel();
+        selector.selectNow();
+      }
+    }
+  }
+
+  public static class Input extends InputStream {
+    private final SocketChannel channel;
+    private final ByteBuffer    buffer;
+    private final int           timeout;
+
+    /**
+     * @param channel    a non blocking channel
+     * @param bufferSize the size of the read buffer
+     * @param timeout    the read timeout in ms, 0 to wait forever
+     */
+    public Input(SocketChannel channel, int bufferSize, int timeout) {
+      this.channel = channel;
+      this.buffer = ByteBuffer.allocate(bufferSize);
+      this.buffer.flip();
+      this.timeout = timeout;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!fill()) {
+        return -1;
+      }
+      return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (!fill()) {
+        return -1;
+      }
+      int read = Math.min(len, buffer.remaining());
+      buffer.get(b, off, read);
+      return read;
+    }
+
+    /**
+     * @return the bytes that can be read without waiting
+     */
+    @Override
+    public int available() throws IOException {
+      if (!buffer.hasRemaining() && channel.isOpen()) {
+        buffer.clear();
+        try {
+          channel.read(buffer);
+        } finally {
+          buffer.flip();
+        }
+      }
+      return buffer.remaining();
+    }
+
+    /**
+     * @return false if the end of the stream is reached
+     */
+    private boolean fill() throws IOException {
+      while (!buffer.hasRemaining()) {
+        buffer.clear();
+        int read;
+        try {
+          read = channel.read(buffer);
+        } finally {
+          buffer.flip();
+        }
+        if (read < 0) {
+          return false;
+        }
+        if (read == 0 && !await(channel, SelectionKey.OP_READ, timeout)) {
+          throw new SocketTimeoutException("Read timed out");
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+
+  public static class Output extends OutputStream {
+    private final SocketChannel channel;
+    private final int           timeout;
+
+    /**
+     * @param channel a non blocking channel
+     * @param timeout the write timeout in ms, 0 to wait forever
+     */
+    public Output(SocketChannel channel, int timeout) {
+      this.channel = channel;
+      this.timeout = timeout;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+      while (buffer.hasRemaining()) {
+        if (!channel.isOpen()) {
+          throw new EOFException("Channel closed");
+        }
+        if (channel.write(buffer) == 0 && !await(channel, SelectionKey.OP_WRITE, timeout)) {
+          throw new SocketTimeoutException("Write timed out");
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.orientechnologies.orient.server.network.protocol.binary;
 
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
 import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerNetworkFactory;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelCompression;
 
 /**
  * Created by tglman on 29/12/16.
@@ -14,6 +15,7 @@ public class HandshakeInfo {
   private byte              encoding;
   private byte              errorEncoding;
   private ORecordSerializer serializer;
+  private String            compression = OChannelCompression.NONE;
 
   public HandshakeInfo(short protocolVersion, String driverName, String driverVersion, byte encoding, byte errorEncoding) {
     this.protocolVersion = protocolVersion;
@@ -59,4 +61,12 @@ public class HandshakeInfo {
   public byte getErrorEncoding() {
     return errorEncoding;
   }
+
+  public String getCompression() {
+    return compression;
+  }
+
+  public void setCompression(String compression) {
+    this.compression = compression;
+  }
 }
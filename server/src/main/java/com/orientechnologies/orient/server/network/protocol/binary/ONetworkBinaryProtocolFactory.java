@@ -155,6 +155,9 @@ public class ONetworkBinaryProtocolFactory {
     case OChannelBinaryProtocol.REQUEST_QUERY_NEXT_PAGE:
       return new OQueryNextPageRequest();
 
+    case OChannelBinaryProtocol.REQUEST_QUERY_STREAM:
+      return new OQueryStreamRequest();
+
     case OChannelBinaryProtocol.REQUEST_TX_COMMIT:
       return new OCommitRequest();
 
@@ -240,6 +243,12 @@ public class ONetworkBinaryProtocolFactory {
     case OChannelBinaryProtocol.REQUEST_BATCH_OPERATIONS:
       return new OBatchOperationsRequest();
 
+    case OChannelBinaryProtocol.REQUEST_BULK_INSERT:
+      return new OBulkInsertRequest();
+
+    case OChannelBinaryProtocol.REQUEST_DB_CONSISTENCY_TOKEN:
+      return new OConsistencyTokenRequest();
+
     case OChannelBinaryProtocol.REQUEST_DB_OPEN:
       return new OOpen37Request();
 
@@ -339,6 +348,9 @@ public class ONetworkBinaryProtocolFactory {
     case OChannelBinaryProtocol.REQUEST_QUERY_NEXT_PAGE:
       return new OQueryNextPageRequest();
 
+    case OChannelBinaryProtocol.REQUEST_QUERY_STREAM:
+      return new OQueryStreamRequest();
+
     case OChannelBinaryProtocol.REQUEST_CONFIG_GET:
       return new OGetGlobalConfigurationRequest();
 
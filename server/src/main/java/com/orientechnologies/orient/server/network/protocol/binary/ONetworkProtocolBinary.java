@@ -25,6 +25,8 @@ import com.orientechnologies.common.exception.OErrorCode;
 import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.common.io.OIOException;
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.thread.OThreadPoolExecutorWithLogging;
+import com.orientechnologies.common.util.OUncaughtExceptionHandler;
 import com.orientechnologies.orient.client.binary.OBinaryRequestExecutor;
 import com.orientechnologies.orient.client.remote.OBinaryRequest;
 import com.orientechnologies.orient.client.remote.OBinaryResponse;
@@ -53,11 +55,14 @@ import com.orientechnologies.orient.core.serialization.serializer.record.string.
 import com.orientechnologies.orient.core.storage.ridbag.sbtree.OSBTreeCollectionManager;
 import com.orientechnologies.orient.enterprise.channel.binary.*;
 import com.orientechnologies.orient.server.OClientConnection;
+import com.orientechnologies.orient.server.OClientRequestScheduler;
 import com.orientechnologies.orient.server.OConnectionBinaryExecutor;
 import com.orientechnologies.orient.server.OServer;
 import com.orientechnologies.orient.server.distributed.*;
 import com.orientechnologies.orient.server.network.OServerNetworkListener;
+import com.orientechnologies.orient.server.network.protocol.ONetworkEventLoop;
 import com.orientechnologies.orient.server.network.protocol.ONetworkProtocol;
+import com.orientechnologies.orient.server.network.protocol.OSocketChannelStreams;
 import com.orientechnologies.orient.server.plugin.OServerPluginHelper;
 
 import java.io.ByteArrayOutputStream;
@@ -67,10 +72,18 @@ import java.io.PrintStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.logging.Level;
 
@@ -81,11 +94,16 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   protected volatile int            requestType;
   protected          int            clientTxId;
   protected          boolean        okSent;
+  protected          int            requestId;
   private boolean tokenConnection = true;
   private long    requests        = 0;
   private          HandshakeInfo       handshakeInfo;
   private volatile OBinaryPushResponse expectedPushResponse;
   private BlockingQueue<OBinaryPushResponse> pushResponse = new SynchronousQueue<OBinaryPushResponse>();
+  // EXECUTES THE REQUESTS WHEN THE CONNECTION IS MULTIPLEXED
+  private volatile ThreadPoolExecutor        requestExecutor;
+  // THE QUERIES WHOSE PAGES ARE PUSHED TO THE CLIENT, BY QUERY ID
+  private final Map<String, QueryStream> queryStreams = new ConcurrentHashMap<String, QueryStream>();
 
   private Function<Integer, OBinaryRequest<? extends OBinaryResponse>> factory = ONetworkBinaryProtocolFactory.defaultProtocol();
 
@@ -113,15 +131,29 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   public void config(final OServerNetworkListener iListener, final OServer iServer, final Socket iSocket,
       final OContextConfiguration iConfig) throws IOException {
 
-    OChannelBinaryServer channel = new OChannelBinaryServer(iSocket, iConfig);
+    final ONetworkEventLoop eventLoop = iListener != null ? iListener.getEventLoop() : null;
+    OChannelBinaryServer channel;
+    if (eventLoop != null && iSocket.getChannel() != null) {
+      // SERVED BY THE EVENT LOOP: THE SOCKET STAYS NON BLOCKING
+      final int timeout = iConfig.getValueAsInteger(OGlobalConfiguration.NETWORK_SOCKET_TIMEOUT);
+      final int bufferSize = iConfig.getValueAsInteger(OGlobalConfiguration.NETWORK_SOCKET_BUFFER_SIZE);
+      iSocket.getChannel().configureBlocking(false);
+      channel = new OChannelBinaryServer(iSocket,
+          new OSocketChannelStreams.Input(iSocket.getChannel(), bufferSize > 0 ? bufferSize : 8192, timeout),
+          new OSocketChannelStreams.Output(iSocket.getChannel(), timeout), iConfig);
+    } else
+      channel = new OChannelBinaryServer(iSocket, iConfig);
     initVariables(iServer, channel);
 
     // SEND PROTOCOL VERSION
     channel.writeShort((short) getVersion());
 
     channel.flush();
-    start();
     setName("OrientDB (" + iSocket.getLocalSocketAddress() + ") <- BinaryClient (" + iSocket.getRemoteSocketAddress() + ")");
+    if (eventLoop != null && iSocket.getChannel() != null)
+      eventLoop.register(this);
+    else
+      start();
   }
 
   @Override
@@ -133,6 +165,12 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   public void shutdown() {
     sendShutdown();
     channel.close();
+    if (server != null && server.getPushManager() != null)
+      // THE PUSHES TO THIS CONNECTION ARE NOT NEEDED ANYMORE
+      server.getPushManager().unsubscribe(this);
+    final ThreadPoolExecutor executor = requestExecutor;
+    if (executor != null)
+      executor.shutdown();
   }
 
   private boolean isHandshaking(int requestType) {
@@ -142,7 +180,8 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   }
 
   private boolean isDistributed(int requestType) {
-    return requestType == OChannelBinaryProtocol.DISTRIBUTED_REQUEST || requestType == OChannelBinaryProtocol.DISTRIBUTED_RESPONSE;
+    return requestType == OChannelBinaryProtocol.DISTRIBUTED_REQUEST || requestType == OChannelBinaryProtocol.DISTRIBUTED_RESPONSE
+        || requestType == OChannelBinaryProtocol.DISTRIBUTED_BATCH;
   }
 
   @Override
@@ -158,6 +197,7 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
       return;
 
     clientTxId = 0;
+    requestId = 0;
     okSent = false;
     try {
       requestType = channel.readByte();
@@ -165,12 +205,26 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
         handleHandshake();
         return;
       }
+      if (requestType == OChannelBinaryProtocol.REQUEST_MULTIPLEX) {
+        handleMultiplex();
+        return;
+      }
+      if (requestType == OChannelBinaryProtocol.REQUEST_COMPRESSION) {
+        handleCompression();
+        return;
+      }
       if (requestType == OChannelBinaryProtocol.REQUEST_OK_PUSH) {
         handlePushResponse();
         return;
       }
+      if (requestType == OChannelBinaryProtocol.REQUEST_QUERY_CREDIT) {
+        handleQueryCredit();
+        return;
+      }
 
       clientTxId = channel.readInt();
+      if (isMultiplexed())
+        requestId = channel.readInt();
       // GET THE CONNECTION IF EXIST
       OClientConnection connection = server.getClientConnectionManager().getConnection(clientTxId, this);
       if (isDistributed(requestType)) {
@@ -195,6 +249,56 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
     this.factory = ONetworkBinaryProtocolFactory.matchProtocol(protocolVersion);
   }
 
+  /**
+   * From now on every request of the connection has an id, sent back with the response, and the requests that do not change the
+   * sessions of the connection are executed concurrently by a pool of threads, so their responses can be sent out of order.
+   */
+  private void handleMultiplex() {
+    if (handshakeInfo == null) {
+      OLogManager.instance().error(this, "Multiplexing requested before the handshake", null);
+      sendShutdown();
+      return;
+    }
+    if (requestExecutor == null) {
+      final int threads = Math.max(1,
+          server.getContextConfiguration().getValueAsInteger(OGlobalConfiguration.NETWORK_BINARY_MULTIPLEX_THREADS));
+      final ThreadPoolExecutor executor = new OThreadPoolExecutorWithLogging(threads, threads, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(), new RequestThreadFactory(server.getThreadGroup(), getName()));
+      executor.allowCoreThreadTimeOut(true);
+      requestExecutor = executor;
+    }
+  }
+
+  /**
+   * Answers with the requested compression if supported, otherwise with {@link OChannelCompression#NONE}. From now on both the
+   * peers compress the byte arrays of the requests and responses above the threshold.
+   */
+  private void handleCompression() throws IOException {
+    final String requested = channel.readString();
+    if (handshakeInfo == null) {
+      OLogManager.instance().error(this, "Compression requested before the handshake", null);
+      sendShutdown();
+      return;
+    }
+    final String accepted = OChannelCompression.isSupported(requested) ? requested : OChannelCompression.NONE;
+    channel.acquireWriteLock();
+    try {
+      if (!OChannelCompression.NONE.equals(accepted)) {
+        channel.enableCompression(new OChannelCompression(
+            server.getContextConfiguration().getValueAsInteger(OGlobalConfiguration.NETWORK_BINARY_COMPRESSION_THRESHOLD)));
+        handshakeInfo.setCompression(accepted);
+      }
+      channel.writeString(accepted);
+      channel.flush();
+    } finally {
+      channel.releaseWriteLock();
+    }
+  }
+
+  public boolean isMultiplexed() {
+    return requestExecutor != null;
+  }
+
   public void setHandshakeInfo(HandshakeInfo handshakeInfo) {
     this.handshakeInfo = handshakeInfo;
   }
@@ -257,28 +361,22 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
           return;
         }
 
+        if (exception == null && connection != null && isMultiplexed() && !isHandshaking(requestType)) {
+          // EXECUTED BY ANOTHER THREAD, WHILE THIS ONE READS THE NEXT REQUESTS OF THE CONNECTION
+          connection.release();
+          ODatabaseRecordThreadLocal.instance().remove();
+          if (request instanceof OQueryStreamRequest)
+            startQueryStream(connection, (OQueryStreamRequest) request, requestType, clientTxId, requestId);
+          else
+            executeMultiplexed(connection, request, requestType, clientTxId, requestId);
+          return;
+        }
+
         OBinaryResponse response = null;
         if (exception == null) {
           try {
-            if (request.requireServerUser()) {
-              checkServerAccess(request.requiredServerRole(), connection);
-            }
-
-            if (connection == null)
-              throw new ODatabaseException("Required session");
-
-            if (request.requireDatabaseSession()) {
-              if (connection.getDatabase() == null)
-                throw new ODatabaseException("Required database session");
-            }
-            response = request.execute(connection.getExecutor());
+            response = executeRequest(connection, request);
           } catch (RuntimeException t) {
-            // This should be moved in the execution of the command that manipulate data
-            if (connection != null && connection.getDatabase() != null) {
-              final OSBTreeCollectionManager collectionManager = connection.getDatabase().getSbTreeCollectionManager();
-              if (collectionManager != null)
-                collectionManager.clearChangedIds();
-            }
             exception = t;
           }
         }
@@ -329,6 +427,148 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
 
   }
 
+  private OBinaryResponse executeRequest(OClientConnection connection, OBinaryRequest<? extends OBinaryResponse> request) {
+    try {
+      if (request.requireServerUser()) {
+        checkServerAccess(request.requiredServerRole(), connection);
+      }
+
+      if (connection == null)
+        throw new ODatabaseException("Required session");
+
+      if (request.requireDatabaseSession()) {
+        if (connection.getDatabase() == null)
+          throw new ODatabaseException("Required database session");
+      }
+      final OClientRequestScheduler scheduler = server.getClientConnectionManager().getRequestScheduler();
+      // ONLY THE REQUESTS ON A DATABASE ARE QUEUED, THE SESSIONS CAN ALWAYS BE OPENED AND CLOSED
+      final OClientRequestScheduler.Ticket ticket = request.requireDatabaseSession() ?
+          scheduler.acquire(connection, OClientRequestScheduler.isBatch(request.getCommand())) :
+          null;
+      try {
+        return request.execute(connection.getExecutor());
+      } finally {
+        scheduler.release(ticket);
+      }
+    } catch (RuntimeException t) {
+      // This should be moved in the execution of the command that manipulate data
+      if (connection != null && connection.getDatabase() != null) {
+        final OSBTreeCollectionManager collectionManager = connection.getDatabase().getSbTreeCollectionManager();
+        if (collectionManager != null)
+          collectionManager.clearChangedIds();
+      }
+      throw t;
+    }
+  }
+
+  /**
+   * Executes a request of a multiplexed connection with the request executor, the response is sent as soon as it is ready.
+   */
+  private void executeMultiplexed(final OClientConnection connection, final OBinaryRequest<? extends OBinaryResponse> request,
+      final int requestType, final int clientTxId, final int requestId) {
+    requestExecutor.execute(() -> {
+      connection.acquire();
+      try {
+        if (connection.getDatabase() != null)
+          connection.getDatabase().activateOnCurrentThread();
+
+        OBinaryResponse response = null;
+        Exception exception = null;
+        try {
+          response = executeRequest(connection, request);
+        } catch (RuntimeException t) {
+          exception = t;
+        }
+        sendResponse(connection, requestType, clientTxId, requestId, response, exception);
+      } catch (IOException e) {
+        OLogManager.instance().debug(this, "I/O Error on client clientId=%d reqType=%d", clientTxId, requestType, e);
+        sendShutdown();
+      } finally {
+        afterOperationRequest(connection, requestType);
+        ODatabaseRecordThreadLocal.instance().remove();
+        OSerializationThreadLocal.INSTANCE.get().clear();
+      }
+    });
+  }
+
+  private void sendResponse(final OClientConnection connection, final int requestType, final int clientTxId, final int requestId,
+      final OBinaryResponse response, final Exception exception) throws IOException {
+    if (exception != null)
+      sendError(connection, requestType, clientTxId, requestId, exception);
+    else if (response != null) {
+      beginResponse();
+      try {
+        sendOk(connection, requestType, clientTxId, requestId);
+        response.write(channel, connection.getData().protocolVersion, connection.getData().getSerializer());
+      } finally {
+        endResponse();
+      }
+    }
+  }
+
+  /**
+   * Pushes the pages of a query to the client, each one sent with the id of the stream request, until the client runs out of
+   * credit or the query has no more results.
+   */
+  private void startQueryStream(final OClientConnection connection, final OQueryStreamRequest request, final int requestType,
+      final int clientTxId, final int requestId) {
+    final QueryStream stream = new QueryStream(connection, request, requestType, clientTxId, requestId);
+    queryStreams.put(request.getQueryId(), stream);
+    sendStreamPage(stream);
+  }
+
+  private void handleQueryCredit() throws IOException {
+    final String queryId = channel.readString();
+    final int credit = channel.readInt();
+    final QueryStream stream = queryStreams.get(queryId);
+    if (stream != null && stream.addCredit(credit))
+      // THE STREAM WAS WAITING FOR CREDIT
+      sendStreamPage(stream);
+  }
+
+  private void sendStreamPage(final QueryStream stream) {
+    requestExecutor.execute(() -> {
+      final OClientConnection connection = stream.connection;
+      final String queryId = stream.request.getQueryId();
+      boolean hasNextPage = false;
+      connection.acquire();
+      try {
+        if (connection.getDatabase() != null)
+          connection.getDatabase().activateOnCurrentThread();
+
+        OBinaryResponse response = null;
+        Exception exception = null;
+        try {
+          if (stream.isCancelled()) {
+            // THE LAST PAGE OF THE STREAM IS EMPTY
+            executeRequest(connection, new OCloseQueryRequest(queryId));
+            response = new OQueryResponse(queryId, false, Collections.emptyList(), Optional.empty(), false,
+                Collections.emptyMap(), false);
+          } else {
+            response = executeRequest(connection, stream.request.toNextPageRequest());
+            hasNextPage = ((OQueryResponse) response).isHasNextPage();
+          }
+        } catch (RuntimeException t) {
+          exception = t;
+        }
+        sendResponse(connection, stream.requestType, stream.clientTxId, stream.requestId, response, exception);
+      } catch (IOException e) {
+        OLogManager.instance().debug(this, "I/O Error on client clientId=%d reqType=%d", stream.clientTxId, stream.requestType, e);
+        hasNextPage = false;
+        sendShutdown();
+      } finally {
+        afterOperationRequest(connection, stream.requestType);
+        ODatabaseRecordThreadLocal.instance().remove();
+        OSerializationThreadLocal.INSTANCE.get().clear();
+      }
+
+      if (!hasNextPage)
+        queryStreams.remove(queryId);
+      else if (stream.pageSent())
+        sendStreamPage(stream);
+    });
+  }
+
   private OClientConnection onBeforeHandshakeRequest(OClientConnection connection, byte[] tokenBytes) {
     try {
       if (requestType != OChannelBinaryProtocol.REQUEST_DB_REOPEN) {
@@ -387,6 +627,10 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
         case OChannelBinaryProtocol.DISTRIBUTED_RESPONSE:
           executeDistributedResponse(connection);
           break;
+
+        case OChannelBinaryProtocol.DISTRIBUTED_BATCH:
+          executeDistributedBatch(connection);
+          break;
         }
       } finally {
         requests++;
@@ -479,6 +723,10 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   }
 
   protected void afterOperationRequest(OClientConnection connection) {
+    afterOperationRequest(connection, requestType);
+  }
+
+  private void afterOperationRequest(OClientConnection connection, int requestType) {
     requests++;
     OServerPluginHelper.invokeHandlerCallbackOnAfterClientRequest(server, connection, (byte) requestType);
 
@@ -511,6 +759,21 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
     }
   }
 
+  private void executeDistributedBatch(OClientConnection connection) throws IOException {
+    final int messages = channel.readInt();
+    for (int i = 0; i < messages; ++i) {
+      final byte type = channel.readByte();
+      if (type == OChannelBinaryProtocol.DISTRIBUTED_REQUEST)
+        executeDistributedRequest(connection);
+      else if (type == OChannelBinaryProtocol.DISTRIBUTED_RESPONSE)
+        executeDistributedResponse(connection);
+      else if (type == OChannelBinaryProtocol.DISTRIBUTED_ACKS)
+        executeDistributedAcks(connection);
+      else
+        throw new ODistributedException("Unknown message type " + type + " in distributed batch");
+    }
+  }
+
   private void executeDistributedRequest(OClientConnection connection) throws IOException {
     setDataCommandInfo(connection, "Distributed request");
 
@@ -566,12 +829,45 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
     manager.getMessageService().dispatchResponseToThread(response);
   }
 
+  private void executeDistributedAcks(OClientConnection connection) throws IOException {
+    setDataCommandInfo(connection, "Distributed acks");
+
+    checkServerAccess("server.replication", connection);
+
+    final ODistributedServerManager manager = server.getDistributedManager();
+    final ODistributedCumulativeAck ack = new ODistributedCumulativeAck();
+
+    ack.fromStream(channel.getDataInput());
+
+    if (ODistributedServerLog.isDebugEnabled())
+      ODistributedServerLog
+          .debug(this, manager.getLocalNodeName(), ack.getExecutorNodeName(), ODistributedServerLog.DIRECTION.IN,
+              "Executing distributed acks %s", ack);
+
+    // WHILE MSG SERVICE IS UP & RUNNING
+    while (manager.getMessageService() == null)
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        return;
+      }
+
+    manager.getMessageService().dispatchAckToThreads(ack);
+  }
+
   protected void sendError(final OClientConnection connection, final int iClientTxId, final Throwable t) throws IOException {
+    sendError(connection, requestType, iClientTxId, requestId, t);
+  }
+
+  private void sendError(final OClientConnection connection, final int requestType, final int iClientTxId, final int requestId,
+      final Throwable t) throws IOException {
     channel.acquireWriteLock();
     try {
 
       channel.writeByte(OChannelBinaryProtocol.RESPONSE_STATUS_ERROR);
       channel.writeInt(iClientTxId);
+      if (isMultiplexed())
+        channel.writeInt(requestId);
       if (handshakeInfo != null) {
         byte[] renewedToken = null;
         if (connection != null && connection.getToken() != null) {
@@ -681,9 +977,16 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   }
 
   protected void sendOk(OClientConnection connection, final int iClientTxId) throws IOException {
+    okSent = true;
+    sendOk(connection, requestType, iClientTxId, requestId);
+  }
+
+  private void sendOk(OClientConnection connection, final int requestType, final int iClientTxId, final int requestId)
+      throws IOException {
     channel.writeByte(OChannelBinaryProtocol.RESPONSE_STATUS_OK);
     channel.writeInt(iClientTxId);
-    okSent = true;
+    if (isMultiplexed())
+      channel.writeInt(requestId);
     if (handshakeInfo != null) {
       byte[] renewedToken = null;
       if (connection != null && connection.getToken() != null) {
@@ -863,4 +1166,74 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
     this.pushResponse.offer(expectedPushResponse);
   }
 
+  private static final class QueryStream {
+    private final OClientConnection   connection;
+    private final OQueryStreamRequest request;
+    private final int                 requestType;
+    private final int                 clientTxId;
+    private final int                 requestId;
+    private       int                 credit;
+    private       boolean             parked;
+    private       boolean             cancelled;
+
+    private QueryStream(final OClientConnection connection, final OQueryStreamRequest request, final int requestType,
+        final int clientTxId, final int requestId) {
+      this.connection = connection;
+      this.request = request;
+      this.requestType = requestType;
+      this.clientTxId = clientTxId;
+      this.requestId = requestId;
+      this.credit = Math.max(1, request.getCredit());
+    }
+
+    /**
+     * @return true if the stream was waiting for credit and has to be resumed
+     */
+    private synchronized boolean addCredit(final int credit) {
+      if (credit < 0)
+        cancelled = true;
+      else
+        this.credit += credit;
+      if (parked && (this.credit > 0 || cancelled)) {
+        parked = false;
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * @return true if the next page can be sent, otherwise the stream waits for credit
+     */
+    private synchronized boolean pageSent() {
+      credit--;
+      if (credit > 0 || cancelled)
+        return true;
+      parked = true;
+      return false;
+    }
+
+    private synchronized boolean isCancelled() {
+      return cancelled;
+    }
+  }
+
+  private static class RequestThreadFactory implements ThreadFactory {
+    private final ThreadGroup   threadGroup;
+    private final String        name;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private RequestThreadFactory(final ThreadGroup threadGroup, final String name) {
+      this.threadGroup = threadGroup;
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(final Runnable r) {
+      Thread thread = new Thread(threadGroup, r);
+      thread.setDaemon(true);
+      thread.setName(name + " request " + counter.incrementAndGet());
+      thread.setUncaughtExceptionHandler(new OUncaughtExceptionHandler());
+      return thread;
+    }
+  }
 }
@@ -25,11 +25,19 @@ import java.io.IOException;
 public class OChunkedResponse extends OutputStream {
 
    private OHttpResponse response;
-   private byte[]        buffer     = new byte[8192];
+   private byte[]        buffer;
    private int           bufferSize = 0;
 
    public OChunkedResponse(final OHttpResponse iHttpResponse) {
+     this(iHttpResponse, 8192);
+   }
+
+   /**
+    * @param iChunkSize the maximum size of the chunks, the content is buffered up to this size
+    */
+   public OChunkedResponse(final OHttpResponse iHttpResponse, final int iChunkSize) {
      response = iHttpResponse;
+     buffer = new byte[iChunkSize];
    }
 
    @Override
@@ -39,10 +47,24 @@ public class OChunkedResponse extends OutputStream {
        writeContent();
    }
 
+   @Override
+   public void write(final byte[] b, int off, int len) throws IOException {
+     while (len > 0) {
+       final int copy = Math.min(len, buffer.length - bufferSize);
+       System.arraycopy(b, off, buffer, bufferSize, copy);
+       bufferSize += copy;
+       off += copy;
+       len -= copy;
+       if (bufferSize >= buffer.length)
+         writeContent();
+     }
+   }
+
    @Override
    public void flush() throws IOException {
      writeContent();
-     response.flush();
+     // THE RESPONSE IS NOT FLUSHED BECAUSE IT CLOSES THE CONNECTION IF NOT KEPT ALIVE
+     response.getOutputStream().flush();
    }
 
    @Override
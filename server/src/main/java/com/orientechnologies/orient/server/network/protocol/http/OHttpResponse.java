@@ -66,12 +66,15 @@ public class OHttpResponse {
   public boolean jsonErrorResponse = true;
   public OClientConnection connection;
   private boolean streaming = OGlobalConfiguration.NETWORK_HTTP_STREAMING.getValueAsBoolean();
+  private int     streamingBuffer;
 
   public OHttpResponse(final OutputStream iOutStream, final String iHttpVersion, final String[] iAdditionalHeaders,
       final String iResponseCharSet, final String iServerInfo, final String iSessionId, final String iCallbackFunction,
       final boolean iKeepAlive, OClientConnection connection) {
     streaming = connection.getProtocol().getServer().getContextConfiguration()
         .getValueAsBoolean(OGlobalConfiguration.NETWORK_HTTP_STREAMING);
+    streamingBuffer = connection.getProtocol().getServer().getContextConfiguration()
+        .getValueAsInteger(OGlobalConfiguration.NETWORK_HTTP_STREAMING_BUFFER);
     out = iOutStream;
     httpVersion = iHttpVersion;
     additionalHeaders = iAdditionalHeaders;
@@ -336,12 +339,18 @@ public class OHttpResponse {
         iFormat = JSON_FORMAT + "," + iFormat;
 
       final String sendFormat = iFormat;
-      if (streaming) {
+      if (isStreaming()) {
         sendStream(OHttpUtils.STATUS_OK_CODE, OHttpUtils.STATUS_OK_DESCRIPTION, OHttpUtils.CONTENT_JSON, null, iArgument -> {
           try {
-            OutputStreamWriter writer = new OutputStreamWriter(iArgument);
+            // THE RECORDS ARE SERIALIZED ONE BY ONE AND SENT IN CHUNKS, WITHOUT BUILDING THE WHOLE RESPONSE IN MEMORY
+            final GZIPOutputStream gzip = OHttpUtils.CONTENT_ACCEPT_GZIP_ENCODED.equals(contentEncoding) ?
+                new GZIPOutputStream(iArgument, 16384) :
+                null;
+            final Writer writer = new OutputStreamWriter(gzip != null ? gzip : iArgument, utf8);
             writeRecordsOnStream(iFetchPlan, sendFormat, iAdditionalProperties, it, writer);
             writer.flush();
+            if (gzip != null)
+              gzip.finish();
           } catch (IOException e) {
             OLogManager.instance().error(this, "Error during writing of records to the HTTP response", e);
           }
@@ -510,6 +519,7 @@ public class OHttpResponse {
 
   public void sendStream(final int iCode, final String iReason, final String iContentType, final String iFileName,
       final OCallable<Void, OChunkedResponse> iWriter) throws IOException {
+    sendStarted = true;
     writeStatus(iCode, iReason);
     writeHeaders(iContentType);
     writeLine("Content-Transfer-Encoding: binary");
@@ -521,7 +531,7 @@ public class OHttpResponse {
 
     writeLine(null);
 
-    final OChunkedResponse chunkedOutput = new OChunkedResponse(this);
+    final OChunkedResponse chunkedOutput = new OChunkedResponse(this, streamingBuffer);
     iWriter.call(chunkedOutput);
     chunkedOutput.close();
 
@@ -631,4 +641,11 @@ public class OHttpResponse {
     this.streaming = streaming;
   }
 
+  /**
+   * @return true if the records are sent with a chunked transfer as soon as they are serialized, supported since HTTP/1.1
+   */
+  public boolean isStreaming() {
+    return streaming && !"HTTP/1.0".equalsIgnoreCase(httpVersion);
+  }
+
 }
@@ -36,7 +36,9 @@ import com.orientechnologies.orient.server.OClientConnection;
 import com.orientechnologies.orient.server.OServer;
 import com.orientechnologies.orient.server.config.OServerCommandConfiguration;
 import com.orientechnologies.orient.server.network.OServerNetworkListener;
+import com.orientechnologies.orient.server.network.protocol.ONetworkEventLoop;
 import com.orientechnologies.orient.server.network.protocol.ONetworkProtocol;
+import com.orientechnologies.orient.server.network.protocol.OSocketChannelStreams;
 import com.orientechnologies.orient.server.network.protocol.http.command.OServerCommand;
 import com.orientechnologies.orient.server.network.protocol.http.command.all.OServerCommandFunction;
 import com.orientechnologies.orient.server.network.protocol.http.command.delete.*;
@@ -106,14 +108,26 @@ public abstract class ONetworkProtocolHttpAbstract extends ONetworkProtocol {
 
     jsonResponseError = iConfiguration.getValueAsBoolean(OGlobalConfiguration.NETWORK_HTTP_JSON_RESPONSE_ERROR);
 
-    channel = new OChannelTextServer(iSocket, iConfiguration);
+    final ONetworkEventLoop eventLoop = iListener != null ? iListener.getEventLoop() : null;
+    if (eventLoop != null && iSocket.getChannel() != null) {
+      // SERVED BY THE EVENT LOOP: THE SOCKET STAYS NON BLOCKING
+      final int bufferSize = iConfiguration.getValueAsInteger(OGlobalConfiguration.NETWORK_SOCKET_BUFFER_SIZE);
+      iSocket.getChannel().configureBlocking(false);
+      channel = new OChannelTextServer(iSocket,
+          new OSocketChannelStreams.Input(iSocket.getChannel(), bufferSize > 0 ? bufferSize : 8192, socketTimeout),
+          new OSocketChannelStreams.Output(iSocket.getChannel(), socketTimeout), iConfiguration);
+    } else
+      channel = new OChannelTextServer(iSocket, iConfiguration);
     channel.connected();
 
     connection.getData().caller = channel.toString();
 
     listeningAddress = getListeningAddress();
 
-    start();
+    if (eventLoop != null && iSocket.getChannel() != null)
+      eventLoop.register(this);
+    else
+      start();
   }
 
   public void service() throws ONetworkProtocolException, IOException {
@@ -61,6 +61,20 @@ public class OServerCommandGetQuery extends OServerCommandAuthenticatedDbAbstrac
       if (localFetchPlan != null) {
         fetchPlan = localFetchPlan;
       }
+
+      if (iResponse.isStreaming()) {
+        // THE RESULTS ARE READ WHILE THE RESPONSE IS SENT
+        Map<String, Object> additionalContent = new HashMap<>();
+        result.getExecutionPlan().ifPresent(x -> additionalContent.put("executionPlan", x.toResult().toElement()));
+        try {
+          iResponse.writeRecords(OServerCommandPostCommand.limitResults(result, limit), fetchPlan, null, accept,
+              additionalContent);
+        } finally {
+          result.close();
+        }
+        return false;
+      }
+
       int i = 0;
       List response = new ArrayList();
       while (result.hasNext()) {
@@ -24,6 +24,7 @@ import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.OSQLEngine;
+import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
 import com.orientechnologies.orient.core.sql.parser.*;
 import com.orientechnologies.orient.server.network.protocol.http.OHttpRequest;
@@ -87,6 +88,27 @@ public class OServerCommandPostCommand extends OServerCommandAuthenticatedDbAbst
       if (localFetchPlan != null) {
         fetchPlan = localFetchPlan;
       }
+
+      String format = null;
+      if (fetchPlan != null) {
+        format = "fetchPlan:" + fetchPlan;
+      }
+
+      if (iRequest.getHeader("TE") != null)
+        iResponse.setStreaming(true);
+
+      if (iResponse.isStreaming()) {
+        // THE RESULTS ARE READ WHILE THE RESPONSE IS SENT
+        Map<String, Object> additionalContent = new HashMap<>();
+        result.getExecutionPlan().ifPresent(x -> additionalContent.put("executionPlan", x.toResult().toElement()));
+        try {
+          iResponse.writeRecords(limitResults(result, limit), null, format, accept, additionalContent, mode);
+        } finally {
+          result.close();
+        }
+        return false;
+      }
+
       int i = 0;
       List response = new ArrayList();
       while (result.hasNext()) {
@@ -103,14 +125,6 @@ public class OServerCommandPostCommand extends OServerCommandAuthenticatedDbAbst
 
       result.close();
 
-      String format = null;
-      if (fetchPlan != null) {
-        format = "fetchPlan:" + fetchPlan;
-      }
-
-      if (iRequest.getHeader("TE") != null)
-        iResponse.setStreaming(true);
-
       iResponse.writeResult(response, format, accept, additionalContent, mode);
 
     } finally {
@@ -123,6 +137,28 @@ public class OServerCommandPostCommand extends OServerCommandAuthenticatedDbAbst
     return false;
   }
 
+  /**
+   * @return the results up to the limit (if not negative), read lazily from the result set
+   */
+  public static Iterator<OResult> limitResults(final OResultSet result, final int limit) {
+    return new Iterator<OResult>() {
+      private int read;
+
+      @Override
+      public boolean hasNext() {
+        return (limit < 0 || read < limit) && result.hasNext();
+      }
+
+      @Override
+      public OResult next() {
+        if (!hasNext())
+          throw new NoSuchElementException();
+        read++;
+        return result.next();
+      }
+    };
+  }
+
   public static String getFetchPlanFromStatement(OStatement statement) {
     if (statement instanceof OSelectStatement) {
       OFetchPlan fp = ((OSelectStatement) statement).getFetchPlan();
@@ -0,0 +1,124 @@
+package com.orientechnologies.orient.server;
+
+import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.orient.core.config.OContextConfiguration;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class OClientRequestSchedulerTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  private static OClientRequestScheduler scheduler(int maxConcurrent, int maxPerUser, int timeout) {
+    OContextConfiguration configuration = new OContextConfiguration();
+    configuration.setValue(OGlobalConfiguration.NETWORK_MAX_CONCURRENT_REQUESTS, maxConcurrent);
+    configuration.setValue(OGlobalConfiguration.NETWORK_MAX_CONCURRENT_REQUESTS_PER_USER, maxPerUser);
+    configuration.setValue(OGlobalConfiguration.NETWORK_REQUEST_BATCH_COST, 8);
+    configuration.setValue(OGlobalConfiguration.NETWORK_REQUEST_QUEUE_TIMEOUT, timeout);
+    return new OClientRequestScheduler(configuration);
+  }
+
+  @Test
+  public void testDisabled() {
+    OClientRequestScheduler scheduler = scheduler(0, 0, 0);
+    Assert.assertFalse(scheduler.isEnabled());
+    Assert.assertNull(scheduler.acquire("admin", "db", false));
+  }
+
+  @Test
+  public void testConcurrencyLimit() throws Exception {
+    OClientRequestScheduler scheduler = scheduler(1, 0, 0);
+    OClientRequestScheduler.Ticket first = scheduler.acquire("admin", "db", false);
+    CompletableFuture<OClientRequestScheduler.Ticket> second = CompletableFuture
+        .supplyAsync(() -> scheduler.acquire("reader", "db", false), executor);
+    waitQueued(scheduler, 1);
+    Thread.sleep(20);
+    Assert.assertFalse(second.isDone());
+
+    scheduler.release(first);
+    OClientRequestScheduler.Ticket ticket = second.get(10, TimeUnit.SECONDS);
+    Assert.assertTrue(ticket.getQueueTime() > 0);
+    Assert.assertEquals(1, scheduler.getRunning());
+    scheduler.release(ticket);
+    Assert.assertEquals(0, scheduler.getRunning());
+  }
+
+  @Test
+  public void testUserLimit() throws Exception {
+    OClientRequestScheduler scheduler = scheduler(0, 1, 0);
+    OClientRequestScheduler.Ticket first = scheduler.acquire("admin", "db", true);
+    CompletableFuture<OClientRequestScheduler.Ticket> sameUser = CompletableFuture
+        .supplyAsync(() -> scheduler.acquire("admin", "db", false), executor);
+    waitQueued(scheduler, 1);
+
+    // THE OTHER USERS ARE NOT BLOCKED
+    OClientRequestScheduler.Ticket otherUser = scheduler.acquire("reader", "db", false);
+    Assert.assertNotNull(otherUser);
+    Assert.assertFalse(sameUser.isDone());
+
+    scheduler.release(first);
+    scheduler.release(sameUser.get(10, TimeUnit.SECONDS));
+    scheduler.release(otherUser);
+  }
+
+  @Test
+  public void testBatchRequestsDoNotStarveTheOthers() throws Exception {
+    OClientRequestScheduler scheduler = scheduler(1, 0, 0);
+    OClientRequestScheduler.Ticket running = scheduler.acquire("admin", "db", false);
+
+    List<String> admitted = Collections.synchronizedList(new ArrayList<>());
+    List<CompletableFuture<Void>> requests = new ArrayList<>();
+    // THE BATCH REQUESTS ARE QUEUED FIRST
+    for (String user : new String[] { "batch", "batch", "batch", "oltp", "oltp", "oltp" }) {
+      requests.add(CompletableFuture.runAsync(() -> {
+        OClientRequestScheduler.Ticket ticket = scheduler.acquire(user, "db", "batch".equals(user));
+        admitted.add(user);
+        scheduler.release(ticket);
+      }, executor));
+      waitQueued(scheduler, requests.size());
+    }
+
+    scheduler.release(running);
+    for (CompletableFuture<Void> request : requests)
+      request.get(10, TimeUnit.SECONDS);
+    Assert.assertEquals(Arrays.asList("batch", "oltp", "oltp", "oltp", "batch", "batch"), admitted);
+  }
+
+  @Test
+  public void testQueueTimeout() {
+    OClientRequestScheduler scheduler = scheduler(1, 0, 50);
+    OClientRequestScheduler.Ticket running = scheduler.acquire("admin", "db", false);
+    try {
+      scheduler.acquire("admin", "db", false);
+      Assert.fail();
+    } catch (OTimeoutException e) {
+      // EXPECTED
+    }
+    Assert.assertEquals(0, scheduler.getQueued());
+    scheduler.release(running);
+    scheduler.release(scheduler.acquire("admin", "db", false));
+  }
+
+  private static void waitQueued(OClientRequestScheduler scheduler, int queued) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (scheduler.getQueued() < queued && System.currentTimeMillis() < deadline)
+      Thread.sleep(1);
+    Assert.assertEquals(queued, scheduler.getQueued());
+  }
+}
@@ -0,0 +1,105 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.common.io.OFileUtils;
+import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.server.OServer;
+import com.orientechnologies.orient.server.config.*;
+import com.orientechnologies.orient.server.network.protocol.binary.ONetworkProtocolBinary;
+import com.orientechnologies.orient.server.network.protocol.http.ONetworkProtocolHttpDb;
+import org.junit.After;
+import org.junit.Before;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts a server with a binary and an http listener, and a remote client connected to it as root. The global settings
+ * changed with {@link #setGlobalValue(OGlobalConfiguration, Object)} are restored to their previous value at the end of the test.
+ */
+public abstract class AbstractNetworkServerTest {
+
+  protected static final String SERVER_DIRECTORY = "./target/networktest";
+
+  protected OServer  server;
+  protected OrientDB orientDB;
+
+  private final Map<OGlobalConfiguration, Object> prevGlobalValues = new LinkedHashMap<>();
+
+  @Before
+  public void startServer() throws Exception {
+    OServerConfiguration configuration = new OServerConfiguration();
+    configuration.network = new OServerNetworkConfiguration();
+    configuration.network.protocols = new ArrayList<OServerNetworkProtocolConfiguration>();
+    configuration.network.protocols
+        .add(new OServerNetworkProtocolConfiguration("binary", ONetworkProtocolBinary.class.getName()));
+    configuration.network.protocols.add(new OServerNetworkProtocolConfiguration("http", ONetworkProtocolHttpDb.class.getName()));
+    configuration.network.listeners = new ArrayList<OServerNetworkListenerConfiguration>();
+    configuration.network.listeners.add(newListener("binary", "2424-2430"));
+    configuration.network.listeners.add(newListener("http", "2480-2490"));
+    OServerUserConfiguration rootUser = new OServerUserConfiguration();
+    rootUser.name = "root";
+    rootUser.password = "root";
+    rootUser.resources = "*";
+    configuration.users = new OServerUserConfiguration[] { rootUser };
+    beforeStartup(configuration);
+
+    server = new OServer(false);
+    server.setServerRootDirectory(SERVER_DIRECTORY);
+    server.startup(configuration);
+    server.activate();
+
+    orientDB = new OrientDB("remote:localhost", "root", "root", OrientDBConfig.defaultConfig());
+  }
+
+  /**
+   * Called before the server is started, to change the global settings or the configuration of the server.
+   */
+  protected void beforeStartup(OServerConfiguration configuration) {
+  }
+
+  private static OServerNetworkListenerConfiguration newListener(String protocol, String portRange) {
+    OServerNetworkListenerConfiguration listener = new OServerNetworkListenerConfiguration();
+    listener.protocol = protocol;
+    listener.portRange = portRange;
+    return listener;
+  }
+
+  protected void setGlobalValue(OGlobalConfiguration setting, Object value) {
+    if (!prevGlobalValues.containsKey(setting))
+      prevGlobalValues.put(setting, setting.getValue());
+    setting.setValue(value);
+  }
+
+  protected static void addListenerParameters(OServerConfiguration configuration, String protocol,
+      OServerParameterConfiguration... parameters) {
+    for (OServerNetworkListenerConfiguration listener : configuration.network.listeners) {
+      if (protocol.equals(listener.protocol)) {
+        OServerParameterConfiguration[] merged = listener.parameters != null ?
+            Arrays.copyOf(listener.parameters, listener.parameters.length + parameters.length) :
+            new OServerParameterConfiguration[parameters.length];
+        System.arraycopy(parameters, 0, merged, merged.length - parameters.length, parameters.length);
+        listener.parameters = merged;
+      }
+    }
+  }
+
+  @After
+  public void stopServer() {
+    orientDB.close();
+    server.shutdown();
+
+    Orient.instance().shutdown();
+    OFileUtils.deleteRecursively(new File(SERVER_DIRECTORY));
+    Orient.instance().startup();
+
+    for (Map.Entry<OGlobalConfiguration, Object> entry : prevGlobalValues.entrySet()) {
+      entry.getKey().setValue(entry.getValue());
+    }
+  }
+}
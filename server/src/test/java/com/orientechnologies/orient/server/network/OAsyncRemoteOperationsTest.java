@@ -0,0 +1,177 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.exception.OConcurrentModificationException;
+import com.orientechnologies.orient.core.hook.ORecordHookAbstract;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.record.ORecord;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class OAsyncRemoteOperationsTest extends AbstractNetworkServerTest {
+
+  @Before
+  public void before() {
+    orientDB.create(OAsyncRemoteOperationsTest.class.getSimpleName(), ODatabaseType.MEMORY);
+  }
+
+  @Test
+  public void testMultiplexed() throws Exception {
+    setGlobalValue(OGlobalConfiguration.CLIENT_CHANNEL_MULTIPLEXING, true);
+    checkAsyncOperations();
+  }
+
+  @Test
+  public void testExclusiveChannels() throws Exception {
+    checkAsyncOperations();
+  }
+
+  @Test
+  public void testMultiplexedHookSendsRequests() throws Exception {
+    setGlobalValue(OGlobalConfiguration.CLIENT_CHANNEL_MULTIPLEXING, true);
+    ODatabaseSession session = null;
+    ODatabaseSession other = null;
+    try {
+      other = orientDB.open(OAsyncRemoteOperationsTest.class.getSimpleName(), "admin", "admin");
+      session = orientDB.open(OAsyncRemoteOperationsTest.class.getSimpleName(), "admin", "admin");
+      OElement element = session.newElement("V");
+      element.setProperty("name", "hooked");
+      final ORID rid = session.save(element).getIdentity();
+      session.getLocalCache().clear();
+
+      // THE HOOK SENDS AN ASYNCHRONOUS AND A SYNCHRONOUS REQUEST ON THE CHANNEL SHARED BY THE TWO SESSIONS: THE RESPONSE OF THE
+      // FIRST ONE HAS TO BE READ BY THE RESPONSE READER WHILE THE HOOK WAITS FOR THE SECOND ONE
+      final ODatabaseSession hooked = session;
+      final ODatabaseSession hookedOther = other;
+      final List<Long> counts = new ArrayList<>();
+      session.registerHook(new ORecordHookAbstract() {
+        @Override
+        public void onRecordAfterRead(ORecord iRecord) {
+          hookedOther.activateOnCurrentThread();
+          CompletableFuture<OResultSet> otherCount = hookedOther.queryAsync("select count(*) as count from V");
+          hooked.activateOnCurrentThread();
+          try (OResultSet result = hooked.query("select count(*) as count from V")) {
+            counts.add(result.next().getProperty("count"));
+          }
+          try (OResultSet result = otherCount.get(30, TimeUnit.SECONDS)) {
+            counts.add(result.next().getProperty("count"));
+          } catch (Exception e) {
+            throw new IllegalStateException(e);
+          } finally {
+            hooked.activateOnCurrentThread();
+          }
+        }
+
+        @Override
+        public DISTRIBUTED_EXECUTION_MODE getDistributedExecutionMode() {
+          return DISTRIBUTED_EXECUTION_MODE.SOURCE_NODE;
+        }
+      });
+
+      OElement loaded = session.<OElement>loadAsync(rid).get(30, TimeUnit.SECONDS);
+      Assert.assertEquals("hooked", loaded.getProperty("name"));
+      Assert.assertEquals(Arrays.asList(1L, 1L), counts);
+    } finally {
+      for (ODatabaseSession opened : new ODatabaseSession[] { session, other }) {
+        if (opened != null) {
+          opened.activateOnCurrentThread();
+          opened.close();
+        }
+      }
+    }
+  }
+
+  private void checkAsyncOperations() throws Exception {
+    final int sessions = 20;
+    List<ODatabaseSession> opened = new ArrayList<>();
+    try {
+      List<CompletableFuture<Void>> commits = new ArrayList<>();
+      for (int i = 0; i < sessions; i++) {
+        ODatabaseSession session = orientDB.open(OAsyncRemoteOperationsTest.class.getSimpleName(), "admin", "admin");
+        opened.add(session);
+        session.begin();
+        OElement element = session.newElement("V");
+        element.setProperty("name", "session" + i);
+        session.save(element);
+        commits.add(session.commitAsync());
+      }
+      for (CompletableFuture<Void> commit : commits) {
+        commit.get();
+      }
+
+      // ALL THE QUERIES ARE IN FLIGHT AT THE SAME TIME, SENT BY A SINGLE THREAD
+      List<CompletableFuture<OResultSet>> queries = new ArrayList<>();
+      for (int i = 0; i < sessions; i++) {
+        ODatabaseSession session = opened.get(i);
+        session.activateOnCurrentThread();
+        queries.add(session.queryAsync("select from V where name = ?", "session" + i));
+      }
+      List<ORID> rids = new ArrayList<>();
+      for (int i = 0; i < sessions; i++) {
+        opened.get(i).activateOnCurrentThread();
+        try (OResultSet result = queries.get(i).get()) {
+          OElement element = result.next().getElement().get();
+          Assert.assertEquals("session" + i, element.getProperty("name"));
+          Assert.assertTrue(element.getIdentity().isPersistent());
+          Assert.assertFalse(result.hasNext());
+          rids.add(element.getIdentity());
+        }
+      }
+
+      List<CompletableFuture<OElement>> loads = new ArrayList<>();
+      for (int i = 0; i < sessions; i++) {
+        ODatabaseSession session = opened.get(i);
+        session.activateOnCurrentThread();
+        session.getLocalCache().clear();
+        loads.add(session.loadAsync(rids.get((i + 1) % sessions)));
+      }
+      for (int i = 0; i < sessions; i++) {
+        Assert.assertEquals("session" + ((i + 1) % sessions), loads.get(i).get().getProperty("name"));
+      }
+
+      // THE ERRORS OF THE SERVER COMPLETE THE FUTURE
+      ODatabaseSession first = opened.get(0);
+      ODatabaseSession second = opened.get(1);
+      first.activateOnCurrentThread();
+      OElement stale = first.load(rids.get(2));
+      second.activateOnCurrentThread();
+      OElement current = second.load(rids.get(2));
+      current.setProperty("value", 1);
+      second.begin();
+      second.save(current);
+      second.commitAsync().get();
+
+      first.activateOnCurrentThread();
+      stale.setProperty("value", 2);
+      first.begin();
+      first.save(stale);
+      try {
+        first.commitAsync().get();
+        Assert.fail();
+      } catch (ExecutionException e) {
+        Assert.assertTrue(e.getCause() instanceof OConcurrentModificationException);
+      }
+      Assert.assertFalse(first.getTransaction().isActive());
+      try (OResultSet result = first.query("select count(*) as count from V")) {
+        Assert.assertEquals((long) sessions, (long) result.next().getProperty("count"));
+      }
+    } finally {
+      for (ODatabaseSession session : opened) {
+        session.activateOnCurrentThread();
+        session.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.server.config.*;
+import com.orientechnologies.orient.server.network.protocol.binary.ONetworkProtocolBinary;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class OBinaryEventLoopTest extends AbstractNetworkServerTest {
+
+  @Override
+  protected void beforeStartup(OServerConfiguration configuration) {
+    addListenerParameters(configuration, "binary",
+        new OServerParameterConfiguration(OGlobalConfiguration.NETWORK_BINARY_EVENT_LOOP.getKey(), "true"),
+        new OServerParameterConfiguration(OGlobalConfiguration.NETWORK_BINARY_WORKERS.getKey(), "2"));
+  }
+
+  @Before
+  public void before() {
+    orientDB.create(OBinaryEventLoopTest.class.getSimpleName(), ODatabaseType.MEMORY);
+  }
+
+  @Test
+  public void testConcurrentClients() throws Exception {
+    Assert.assertNotNull(server.getListenerByProtocol(ONetworkProtocolBinary.class).getEventLoop());
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Long>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        final String name = "client" + i;
+        futures.add(executor.submit(() -> {
+          try (ODatabaseSession session = orientDB.open(OBinaryEventLoopTest.class.getSimpleName(), "admin", "admin")) {
+            for (int j = 0; j < 20; j++) {
+              OElement element = session.newElement("V");
+              element.setProperty("name", name);
+              element.setProperty("value", j);
+              session.save(element);
+            }
+            try (OResultSet result = session.query("select count(*) as count from V where name = ?", name)) {
+              return result.next().getProperty("count");
+            }
+          }
+        }));
+      }
+      for (Future<Long> future : futures) {
+        Assert.assertEquals(20L, (long) future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.OBulkInsert;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.exception.OValidationException;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.server.config.*;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class OBulkInsertTest extends AbstractNetworkServerTest {
+
+  @Override
+  protected void beforeStartup(OServerConfiguration configuration) {
+    setGlobalValue(OGlobalConfiguration.CLIENT_BULK_INSERT_BATCH_SIZE, 100);
+  }
+
+  @Before
+  public void before() {
+    orientDB.create(OBulkInsertTest.class.getSimpleName(), ODatabaseType.MEMORY);
+    try (ODatabaseSession session = orientDB.open(OBulkInsertTest.class.getSimpleName(), "admin", "admin")) {
+      OClass person = session.createClass("Person");
+      person.createProperty("name", OType.STRING).setMandatory(true);
+    }
+  }
+
+  @Test
+  public void testMultiplexed() throws Exception {
+    setGlobalValue(OGlobalConfiguration.CLIENT_CHANNEL_MULTIPLEXING, true);
+    checkBulkInsert();
+  }
+
+  @Test
+  public void testExclusiveChannels() throws Exception {
+    checkBulkInsert();
+  }
+
+  private void checkBulkInsert() {
+    try (ODatabaseSession session = orientDB.open(OBulkInsertTest.class.getSimpleName(), "admin", "admin")) {
+      final int records = 2550;
+      List<OElement> inserted = new ArrayList<>();
+      try (OBulkInsert bulkInsert = session.bulkInsert(null)) {
+        for (int i = 0; i < records; i++) {
+          OElement element = session.newElement("Person");
+          element.setProperty("name", "person" + i);
+          bulkInsert.insert(element);
+          inserted.add(element);
+        }
+        bulkInsert.flush();
+        Assert.assertEquals(records, bulkInsert.getInserted());
+      }
+
+      Set<ORID> rids = new HashSet<>();
+      for (OElement element : inserted) {
+        Assert.assertTrue(element.getIdentity().isPersistent());
+        Assert.assertTrue(rids.add(element.getIdentity()));
+      }
+      session.getLocalCache().clear();
+      Assert.assertEquals("person42", session.<OElement>load(inserted.get(42).getIdentity()).getProperty("name"));
+      try (OResultSet result = session.query("select count(*) as count from Person")) {
+        Assert.assertEquals((long) records, (long) result.next().getProperty("count"));
+      }
+
+      // THE BATCH WITH THE INVALID RECORD IS NOT INSERTED
+      try (OBulkInsert bulkInsert = session.bulkInsert(null)) {
+        for (int i = 0; i < 150; i++) {
+          OElement element = session.newElement("Person");
+          if (i != 120)
+            element.setProperty("name", "other" + i);
+          bulkInsert.insert(element);
+        }
+        bulkInsert.flush();
+        Assert.fail();
+      } catch (OValidationException e) {
+        // EXPECTED
+      }
+      try (OResultSet result = session.query("select count(*) as count from Person where name like 'other%'")) {
+        Assert.assertEquals(100L, (long) result.next().getProperty("count"));
+      }
+      session.command("delete from Person where name like 'other%'").close();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinary;
+import com.orientechnologies.orient.server.OClientConnection;
+import com.orientechnologies.orient.server.config.*;
+import com.orientechnologies.orient.server.network.protocol.ONetworkProtocol;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OCompressedChannelTest extends AbstractNetworkServerTest {
+
+  @Override
+  protected void beforeStartup(OServerConfiguration configuration) {
+    setGlobalValue(OGlobalConfiguration.CLIENT_CHANNEL_COMPRESSION, "deflate");
+    setGlobalValue(OGlobalConfiguration.NETWORK_BINARY_COMPRESSION_THRESHOLD, 64);
+  }
+
+  @Before
+  public void before() {
+    orientDB.create(OCompressedChannelTest.class.getSimpleName(), ODatabaseType.MEMORY);
+  }
+
+  @Test
+  public void testCompressedPayloads() {
+    checkCompressedPayloads();
+  }
+
+  @Test
+  public void testCompressedMultiplexedPayloads() {
+    setGlobalValue(OGlobalConfiguration.CLIENT_CHANNEL_MULTIPLEXING, true);
+    checkCompressedPayloads();
+  }
+
+  private void checkCompressedPayloads() {
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append("compressed payload ").append(i % 10).append(' ');
+    }
+
+    try (ODatabaseSession session = orientDB.open(OCompressedChannelTest.class.getSimpleName(), "admin", "admin")) {
+      List<ORID> rids = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        OElement element = session.newElement("V");
+        element.setProperty("index", i);
+        element.setProperty("text", text.toString() + i);
+        // SHORTER THAN THE THRESHOLD
+        element.setProperty("short", "s" + i);
+        rids.add(session.save(element).getIdentity());
+      }
+
+      session.getLocalCache().clear();
+      for (int i = 0; i < 20; i++) {
+        OElement element = session.load(rids.get(i));
+        Assert.assertEquals(text.toString() + i, element.getProperty("text"));
+        Assert.assertEquals("s" + i, element.getProperty("short"));
+      }
+
+      int count = 0;
+      try (OResultSet result = session.query("select from V order by index")) {
+        while (result.hasNext()) {
+          Assert.assertEquals(text.toString() + count, result.next().getProperty("text"));
+          count++;
+        }
+      }
+      Assert.assertEquals(20, count);
+
+      boolean compressed = false;
+      for (OClientConnection connection : server.getClientConnectionManager().getConnections()) {
+        ONetworkProtocol protocol = connection.getProtocol();
+        if (protocol != null && protocol.getChannel() instanceof OChannelBinary)
+          compressed |= ((OChannelBinary) protocol.getChannel()).isCompressed();
+      }
+      Assert.assertTrue(compressed);
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.server.config.*;
+import com.orientechnologies.orient.server.network.protocol.http.ONetworkProtocolHttpDb;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class OHttpEventLoopTest extends AbstractNetworkServerTest {
+
+  private static final String DB_NAME = OHttpEventLoopTest.class.getSimpleName();
+
+  @Override
+  protected void beforeStartup(OServerConfiguration configuration) {
+    setGlobalValue(OGlobalConfiguration.NETWORK_HTTP_STREAMING_BUFFER, 512);
+    addListenerParameters(configuration, "http",
+        new OServerParameterConfiguration(OGlobalConfiguration.NETWORK_HTTP_EVENT_LOOP.getKey(), "true"),
+        new OServerParameterConfiguration(OGlobalConfiguration.NETWORK_HTTP_WORKERS.getKey(), "2"));
+  }
+
+  @Before
+  public void before() {
+    server.createDatabase(DB_NAME, ODatabaseType.MEMORY, OrientDBConfig.defaultConfig());
+    try (ODatabaseSession session = server.getContext().open(DB_NAME, "admin", "admin")) {
+      for (int i = 0; i < 200; i++) {
+        OElement element = session.newElement("V");
+        element.setProperty("name", "name" + i);
+        session.save(element);
+      }
+    }
+  }
+
+  @Test
+  public void testPipelinedRequests() throws Exception {
+    Assert.assertNotNull(server.getListenerByProtocol(ONetworkProtocolHttpDb.class).getEventLoop());
+
+    try (Socket socket = new Socket("localhost", 2480)) {
+      final String command = "{\"command\":\"select from V\"}";
+      final OutputStream out = socket.getOutputStream();
+      // ALL THE REQUESTS ARE SENT BEFORE READING THE RESPONSES
+      out.write((get("/query/" + DB_NAME + "/sql/" + URLEncoder.encode("select count(*) as count from V", "UTF-8") + "/-1")
+          + post("/command/" + DB_NAME + "/sql", command, "TE: trailers") + get(
+          "/query/" + DB_NAME + "/sql/" + URLEncoder.encode("select from V where name = 'name3'", "UTF-8") + "/-1")).getBytes(
+          StandardCharsets.UTF_8));
+      out.flush();
+
+      final InputStream in = socket.getInputStream();
+
+      Map<String, String> headers = new HashMap<>();
+      ODocument count = new ODocument().fromJSON(readResponse(in, headers));
+      Collection<Map<String, Object>> result = count.field("result");
+      Assert.assertEquals(200L, ((Number) result.iterator().next().get("count")).longValue());
+
+      // THE STREAMED RESPONSE IS SENT IN CHUNKS
+      headers.clear();
+      ODocument all = new ODocument().fromJSON(readResponse(in, headers));
+      Assert.assertEquals("chunked", headers.get("transfer-encoding"));
+      Assert.assertEquals(200, ((Collection) all.field("result")).size());
+
+      headers.clear();
+      ODocument one = new ODocument().fromJSON(readResponse(in, headers));
+      Collection<ODocument> records = one.field("result");
+      Assert.assertEquals(1, records.size());
+      Assert.assertEquals("name3", records.iterator().next().field("name"));
+    }
+  }
+
+  private static String get(String url) {
+    return "GET " + url + " HTTP/1.1\r\n" + "Host: localhost\r\n" + authorization() + "Connection: Keep-Alive\r\n\r\n";
+  }
+
+  private static String post(String url, String content, String header) {
+    return "POST " + url + " HTTP/1.1\r\n" + "Host: localhost\r\n" + authorization() + "Connection: Keep-Alive\r\n" + header
+        + "\r\n" + "Content-Length: " + content.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n" + content;
+  }
+
+  private static String authorization() {
+    return "Authorization: Basic " + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8)) + "\r\n";
+  }
+
+  private static String readResponse(InputStream in, Map<String, String> headers) throws IOException {
+    final String status = readLine(in);
+    Assert.assertTrue(status, status.startsWith("HTTP/1.1 200"));
+    String line;
+    while (!(line = readLine(in)).isEmpty()) {
+      final int separator = line.indexOf(':');
+      headers.put(line.substring(0, separator).trim().toLowerCase(), line.substring(separator + 1).trim());
+    }
+
+    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    if ("chunked".equals(headers.get("transfer-encoding"))) {
+      int size;
+      while ((size = Integer.parseInt(readLine(in).trim(), 16)) > 0) {
+        content.write(readBytes(in, size));
+        readLine(in);
+      }
+      readLine(in);
+    } else
+      content.write(readBytes(in, Integer.parseInt(headers.get("content-length"))));
+    return new String(content.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    final StringBuilder line = new StringBuilder();
+    int c;
+    while ((c = in.read()) != '\n') {
+      if (c == -1)
+        throw new IOException("Connection closed");
+      if (c != '\r')
+        line.append((char) c);
+    }
+    return line.toString();
+  }
+
+  private static byte[] readBytes(InputStream in, int size) throws IOException {
+    final byte[] bytes = new byte[size];
+    int read = 0;
+    while (read < size) {
+      final int r = in.read(bytes, read, size - read);
+      if (r == -1)
+        throw new IOException("Connection closed");
+      read += r;
+    }
+    return bytes;
+  }
+}
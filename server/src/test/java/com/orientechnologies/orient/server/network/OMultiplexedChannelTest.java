@@ -0,0 +1,79 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.server.OClientConnection;
+import com.orientechnologies.orient.server.config.*;
+import com.orientechnologies.orient.server.network.protocol.ONetworkProtocol;
+import com.orientechnologies.orient.server.network.protocol.binary.ONetworkProtocolBinary;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class OMultiplexedChannelTest extends AbstractNetworkServerTest {
+
+  @Override
+  protected void beforeStartup(OServerConfiguration configuration) {
+    setGlobalValue(OGlobalConfiguration.CLIENT_CHANNEL_MULTIPLEXING, true);
+  }
+
+  @Before
+  public void before() {
+    orientDB.create(OMultiplexedChannelTest.class.getSimpleName(), ODatabaseType.MEMORY);
+  }
+
+  @Test
+  public void testConcurrentSessions() throws Exception {
+    final int sessions = 8;
+    final CyclicBarrier barrier = new CyclicBarrier(sessions);
+    final Set<ONetworkProtocol> multiplexed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    ExecutorService executor = Executors.newFixedThreadPool(sessions);
+    try {
+      List<Future<Long>> futures = new ArrayList<>();
+      for (int i = 0; i < sessions; i++) {
+        final String name = "client" + i;
+        futures.add(executor.submit(() -> {
+          try (ODatabaseSession session = orientDB.open(OMultiplexedChannelTest.class.getSimpleName(), "admin", "admin")) {
+            barrier.await();
+            for (int j = 0; j < 20; j++) {
+              OElement element = session.newElement("V");
+              element.setProperty("name", name);
+              element.setProperty("value", j);
+              session.save(element);
+            }
+            barrier.await();
+            for (OClientConnection connection : server.getClientConnectionManager().getConnections()) {
+              ONetworkProtocol protocol = connection.getProtocol();
+              if (protocol instanceof ONetworkProtocolBinary && ((ONetworkProtocolBinary) protocol).isMultiplexed())
+                multiplexed.add(protocol);
+            }
+            try (OResultSet result = session.query("select count(*) as count from V where name = ?", name)) {
+              return result.next().getProperty("count");
+            }
+          }
+        }));
+      }
+      for (Future<Long> future : futures) {
+        Assert.assertEquals(20L, (long) future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // THE SESSIONS SHARE A SINGLE MULTIPLEXED CONNECTION
+    Assert.assertEquals(1, multiplexed.size());
+  }
+}
@@ -0,0 +1,131 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.orient.client.remote.ORemoteRecordCache;
+import com.orientechnologies.orient.client.remote.OStorageRemote;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseInternal;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
+import com.orientechnologies.orient.core.query.live.OLiveQueryQueueThreadV2;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.server.config.*;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ONearCacheTest extends AbstractNetworkServerTest {
+
+  private OrientDB second;
+
+  @Override
+  protected void beforeStartup(OServerConfiguration configuration) {
+    setGlobalValue(OGlobalConfiguration.CLIENT_NEAR_CACHE_SIZE, 1024 * 1024);
+  }
+
+  @Before
+  public void before() {
+    // TWO CLIENTS, EACH ONE WITH ITS OWN STORAGE AND NEAR CACHE
+    orientDB.create(ONearCacheTest.class.getSimpleName(), ODatabaseType.MEMORY);
+    second = new OrientDB("remote:localhost", "root", "root", OrientDBConfig.defaultConfig());
+  }
+
+  @After
+  public void after() {
+    second.close();
+  }
+
+  @Test
+  public void testInvalidation() throws Exception {
+    ODatabaseSession reader = orientDB.open(ONearCacheTest.class.getSimpleName(), "admin", "admin");
+    ODatabaseSession writer = second.open(ONearCacheTest.class.getSimpleName(), "admin", "admin");
+    try {
+      writer.activateOnCurrentThread();
+      OElement element = writer.newElement("V");
+      element.setProperty("name", "first");
+      ORID rid = writer.save(element).getIdentity();
+
+      reader.activateOnCurrentThread();
+      Assert.assertEquals("first", reader.<OElement>load(rid).getProperty("name"));
+      ORemoteRecordCache cache = getRecordCache(reader);
+      Assert.assertTrue(cache.isEnabled());
+      Assert.assertEquals(1, cache.getRecords());
+      reader.getLocalCache().clear();
+      Assert.assertEquals("first", reader.<OElement>load(rid).getProperty("name"));
+
+      // THE CHANGE OF ANOTHER CLIENT IS PUSHED TO THE READER
+      writer.activateOnCurrentThread();
+      OElement loaded = writer.load(rid);
+      loaded.setProperty("name", "second");
+      writer.save(loaded);
+
+      reader.activateOnCurrentThread();
+      long timeout = System.currentTimeMillis() + 10000;
+      while (cache.getRecords() > 0 && System.currentTimeMillis() < timeout)
+        Thread.sleep(10);
+      Assert.assertEquals(0, cache.getRecords());
+      reader.getLocalCache().clear();
+      Assert.assertEquals("second", reader.<OElement>load(rid).getProperty("name"));
+
+      // THE CHANGES OF THE CLIENT ARE VISIBLE RIGHT AWAY
+      OElement own = reader.load(rid);
+      own.setProperty("name", "third");
+      reader.save(own);
+      reader.getLocalCache().clear();
+      Assert.assertEquals("third", reader.<OElement>load(rid).getProperty("name"));
+
+      reader.delete(rid);
+      reader.getLocalCache().clear();
+      Assert.assertNull(reader.load(rid));
+    } finally {
+      reader.activateOnCurrentThread();
+      reader.close();
+      writer.activateOnCurrentThread();
+      writer.close();
+    }
+  }
+
+  @Test
+  public void testDisabledWithoutLiveQuerySupport() {
+    // THE SERVER CANNOT COLLECT THE CHANGES TO PUSH
+    setGlobalValue(OGlobalConfiguration.QUERY_LIVE_SUPPORT, false);
+    try (ODatabaseSession reader = orientDB.open(ONearCacheTest.class.getSimpleName(), "admin", "admin")) {
+      OElement element = reader.newElement("V");
+      element.setProperty("name", "first");
+      ORID rid = reader.save(element).getIdentity();
+      reader.getLocalCache().clear();
+      Assert.assertEquals("first", reader.<OElement>load(rid).getProperty("name"));
+
+      ORemoteRecordCache cache = getRecordCache(reader);
+      Assert.assertFalse(cache.isEnabled());
+      Assert.assertEquals(0, cache.getRecords());
+    }
+  }
+
+  @Test
+  public void testUnsubscribeOnClose() throws Exception {
+    try (ODatabaseSession session = server.openDatabase(ONearCacheTest.class.getSimpleName())) {
+      OLiveQueryQueueThreadV2 queueThread = OLiveQueryHookV2.getOpsReference((ODatabaseInternal) session).getQueueThread();
+      ODatabaseSession reader = second.open(ONearCacheTest.class.getSimpleName(), "admin", "admin");
+      Assert.assertTrue(getRecordCache(reader).isEnabled());
+      Assert.assertTrue(queueThread.hasListeners());
+
+      // THE CHANGES ARE NOT COLLECTED ANYMORE WHEN THE CLIENT IS CLOSED
+      reader.close();
+      long timeout = System.currentTimeMillis() + 10000;
+      while (queueThread.hasListeners() && System.currentTimeMillis() < timeout)
+        Thread.sleep(10);
+      Assert.assertFalse(queueThread.hasListeners());
+      session.activateOnCurrentThread();
+    }
+  }
+
+  private static ORemoteRecordCache getRecordCache(ODatabaseSession session) {
+    return ((OStorageRemote) ((ODatabaseDocumentInternal) session).getStorage()).getRecordCache();
+  }
+}
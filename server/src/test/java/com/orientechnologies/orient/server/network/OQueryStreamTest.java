@@ -0,0 +1,67 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.server.config.*;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OQueryStreamTest extends AbstractNetworkServerTest {
+
+  @Override
+  protected void beforeStartup(OServerConfiguration configuration) {
+    setGlobalValue(OGlobalConfiguration.QUERY_REMOTE_RESULTSET_PAGE_SIZE, 10);
+    setGlobalValue(OGlobalConfiguration.CLIENT_CHANNEL_MULTIPLEXING, true);
+  }
+
+  @Before
+  public void before() {
+    orientDB.create(OQueryStreamTest.class.getSimpleName(), ODatabaseType.MEMORY);
+    try (ODatabaseSession session = orientDB.open(OQueryStreamTest.class.getSimpleName(), "admin", "admin")) {
+      session.begin();
+      for (int i = 0; i < 500; i++) {
+        OElement element = session.newElement("V");
+        element.setProperty("value", i);
+        session.save(element);
+      }
+      session.commit();
+    }
+  }
+
+  @Test
+  public void testStreamAllPages() {
+    try (ODatabaseSession session = orientDB.open(OQueryStreamTest.class.getSimpleName(), "admin", "admin")) {
+      long sum = 0;
+      int count = 0;
+      try (OResultSet result = session.query("select from V")) {
+        while (result.hasNext()) {
+          sum += (Integer) result.next().getProperty("value");
+          count++;
+        }
+      }
+      Assert.assertEquals(500, count);
+      Assert.assertEquals(499 * 500 / 2, sum);
+    }
+  }
+
+  @Test
+  public void testCloseBeforeTheEnd() {
+    try (ODatabaseSession session = orientDB.open(OQueryStreamTest.class.getSimpleName(), "admin", "admin")) {
+      for (int i = 0; i < 5; i++) {
+        try (OResultSet result = session.query("select from V")) {
+          for (int j = 0; j < 25; j++) {
+            Assert.assertNotNull(result.next());
+          }
+        }
+      }
+      // THE SESSION IS STILL USABLE AFTER THE STREAMS ARE STOPPED
+      try (OResultSet result = session.query("select count(*) as count from V")) {
+        Assert.assertEquals(500L, (long) result.next().getProperty("count"));
+      }
+    }
+  }
+}
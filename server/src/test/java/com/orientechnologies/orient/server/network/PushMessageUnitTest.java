@@ -120,7 +120,7 @@ public class PushMessageUnitTest {
     this.channelBinaryClient = new MockPipeChannel(inputClient, outputClient);
     this.channelBinaryServer = new MockPipeChannel(inputServer, outputServer);
     Mockito.when(server.getContextConfiguration()).thenReturn(new OContextConfiguration());
-    Mockito.when(remote.getNetwork(Mockito.anyString())).thenReturn(channelBinaryClient);
+    Mockito.when(remote.getPushNetwork(Mockito.anyString())).thenReturn(channelBinaryClient);
     Mockito.when(remote.createPush((byte) 100)).thenReturn(new MockPushRequest());
     Mockito.when(remote.createPush((byte) 101)).thenReturn(new MockPushRequestNoResponse());
     requestWritten = new CountDownLatch(1);